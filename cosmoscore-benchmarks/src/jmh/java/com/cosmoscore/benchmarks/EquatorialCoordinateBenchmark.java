@@ -0,0 +1,59 @@
+package com.cosmoscore.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+
+/**
+ * Benchmarks angular separation, pairwise and over arrays.
+ * Array benchmarks report throughput per pair so both forms are directly comparable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EquatorialCoordinateBenchmark {
+
+	private static final int BATCH_SIZE = 1024;
+
+	private EquatorialCoordinate vega = new EquatorialCoordinate(279.2347, 38.7837);
+	private EquatorialCoordinate sirius = new EquatorialCoordinate(101.2872, -16.7161);
+
+	private final double[] rightAscension1 = new double[BATCH_SIZE];
+	private final double[] declination1 = new double[BATCH_SIZE];
+	private final double[] rightAscension2 = new double[BATCH_SIZE];
+	private final double[] declination2 = new double[BATCH_SIZE];
+	private final double[] separation = new double[BATCH_SIZE];
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			rightAscension1[i] = random.nextDouble() * 360.0;
+			declination1[i] = random.nextDouble() * 180.0 - 90.0;
+			rightAscension2[i] = random.nextDouble() * 360.0;
+			declination2[i] = random.nextDouble() * 180.0 - 90.0;
+		}
+	}
+
+	@Benchmark
+	public double angularSeparation() {
+		return vega.angularSeparation(sirius);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public double[] angularSeparationBatch() {
+		EquatorialCoordinate.angularSeparation(rightAscension1, declination1, rightAscension2, declination2, separation);
+		return separation;
+	}
+}
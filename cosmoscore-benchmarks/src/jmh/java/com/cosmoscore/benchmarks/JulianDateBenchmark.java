@@ -0,0 +1,40 @@
+package com.cosmoscore.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Benchmarks Julian Date conversions, which run once per coordinate conversion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JulianDateBenchmark {
+
+	private LocalDateTime dateTime = LocalDateTime.of(2025, 1, 1, 12, 34, 56, 789_000_000);
+	private JulianDate julianDate = JulianDate.fromLocalDateTime(dateTime);
+
+	@Benchmark
+	public JulianDate fromLocalDateTime() {
+		return JulianDate.fromLocalDateTime(dateTime);
+	}
+
+	@Benchmark
+	public LocalDateTime toLocalDateTime() {
+		return julianDate.toLocalDateTime();
+	}
+
+	@Benchmark
+	public double julianCenturies() {
+		return julianDate.julianCenturies();
+	}
+}
@@ -0,0 +1,35 @@
+package com.cosmoscore.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.common.time.LocalSiderealTime;
+
+/**
+ * Benchmarks sidereal time, which runs once per coordinate conversion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LocalSiderealTimeBenchmark {
+
+	private JulianDate julianDate = new JulianDate(2460677.0240138);
+	private double longitude = 126.9780;
+
+	@Benchmark
+	public double greenwichSiderealTime() {
+		return LocalSiderealTime.calculateGST(julianDate);
+	}
+
+	@Benchmark
+	public double localSiderealTime() {
+		return LocalSiderealTime.calculate(julianDate, longitude);
+	}
+}
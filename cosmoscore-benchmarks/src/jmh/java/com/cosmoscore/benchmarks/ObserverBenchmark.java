@@ -0,0 +1,67 @@
+package com.cosmoscore.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.coordinate.HorizontalCoordinate;
+import com.cosmoscore.common.coordinate.HorizontalTransform;
+import com.cosmoscore.common.coordinate.Observer;
+
+/**
+ * Benchmarks equatorial/horizontal conversions, one coordinate at a time and in batches.
+ * Batch benchmarks report throughput per coordinate so both forms are directly comparable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ObserverBenchmark {
+
+	private static final int BATCH_SIZE = 1024;
+
+	private Observer observer = new Observer(37.5665, 126.9780);
+	private LocalDateTime observationTime = LocalDateTime.of(2025, 1, 1, 12, 0);
+	private EquatorialCoordinate equatorial = new EquatorialCoordinate(279.2347, 38.7837);
+	private HorizontalCoordinate horizontal = new HorizontalCoordinate(180.0, 45.0);
+
+	private final double[] rightAscension = new double[BATCH_SIZE];
+	private final double[] declination = new double[BATCH_SIZE];
+	private final double[] azimuth = new double[BATCH_SIZE];
+	private final double[] altitude = new double[BATCH_SIZE];
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			rightAscension[i] = random.nextDouble() * 360.0;
+			declination[i] = random.nextDouble() * 180.0 - 90.0;
+		}
+	}
+
+	@Benchmark
+	public HorizontalCoordinate toHorizontal() {
+		return observer.toHorizontal(equatorial, observationTime);
+	}
+
+	@Benchmark
+	public EquatorialCoordinate toEquatorial() {
+		return observer.toEquatorial(horizontal, observationTime);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public double[] toHorizontalBatch() {
+		HorizontalTransform.toHorizontal(observer, observationTime, rightAscension, declination, azimuth, altitude);
+		return altitude;
+	}
+}
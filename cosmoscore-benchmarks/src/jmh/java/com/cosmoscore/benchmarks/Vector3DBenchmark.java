@@ -0,0 +1,107 @@
+package com.cosmoscore.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.math.Vector3DBuffer;
+
+/**
+ * Benchmarks Vector3D operations and their Vector3DBuffer bulk counterparts.
+ * Buffer benchmarks report throughput per vector so both forms are directly comparable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class Vector3DBenchmark {
+
+	private static final int BATCH_SIZE = 1024;
+
+	private Vector3D a = new Vector3D(6524.834, 6862.875, 6448.296);
+	private Vector3D b = new Vector3D(4.901327, 5.533756, -1.976341);
+
+	private final Vector3DBuffer left = new Vector3DBuffer(BATCH_SIZE);
+	private final Vector3DBuffer right = new Vector3DBuffer(BATCH_SIZE);
+	private final Vector3DBuffer result = new Vector3DBuffer(BATCH_SIZE);
+	private final double[] scalars = new double[BATCH_SIZE];
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			left.set(i, random.nextDouble() + 1.0, random.nextDouble(), random.nextDouble());
+			right.set(i, random.nextDouble(), random.nextDouble() + 1.0, random.nextDouble());
+		}
+	}
+
+	@Benchmark
+	public Vector3D add() {
+		return a.add(b);
+	}
+
+	@Benchmark
+	public Vector3D subtract() {
+		return a.subtract(b);
+	}
+
+	@Benchmark
+	public Vector3D multiply() {
+		return a.multiply(60.0);
+	}
+
+	@Benchmark
+	public double magnitude() {
+		return a.magnitude();
+	}
+
+	@Benchmark
+	public Vector3D normalize() {
+		return a.normalize();
+	}
+
+	@Benchmark
+	public double dot() {
+		return a.dot(b);
+	}
+
+	@Benchmark
+	public Vector3D cross() {
+		return a.cross(b);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public double[] bufferDot() {
+		left.dot(right, scalars);
+		return scalars;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public Vector3DBuffer bufferCross() {
+		left.cross(right, result);
+		return result;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public double[] bufferMagnitude() {
+		left.magnitude(scalars);
+		return scalars;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public Vector3DBuffer bufferNormalize() {
+		return left.normalize();
+	}
+}
@@ -1,5 +1,7 @@
 package com.cosmoscore.common.coordinate;
 
+import com.cosmoscore.common.math.VectorKernels;
+
 /**
  * Represents a point on the celestial sphere using the equatorial coordinate system.
  * This system uses right ascension (RA) and declination (Dec) to specify positions.
@@ -110,6 +112,23 @@ public record EquatorialCoordinate(double rightAscension, double declination) {
 		return Math.toDegrees(Math.acos(Math.min(1.0, Math.max(-1.0, cosAngle))));
 	}
 
+	/**
+	 * Calculates angular separations between two sets of coordinates held in parallel arrays,
+	 * pairing elements at the same index. Runs on SIMD kernels when available.
+	 *
+	 * @param rightAscension1 right ascensions of the first set in degrees
+	 * @param declination1 declinations of the first set in degrees
+	 * @param rightAscension2 right ascensions of the second set in degrees
+	 * @param declination2 declinations of the second set in degrees
+	 * @param result receives angular separations in degrees
+	 * @throws IllegalArgumentException if the arrays do not all have the same length
+	 * @see VectorKernels#angularSeparation
+	 */
+	public static void angularSeparation(double[] rightAscension1, double[] declination1,
+		double[] rightAscension2, double[] declination2, double[] result) {
+		VectorKernels.angularSeparation(rightAscension1, declination1, rightAscension2, declination2, result);
+	}
+
 	/**
 	 * Formats the right ascension in hours, minutes, and seconds.
 	 *
@@ -0,0 +1,97 @@
+package com.cosmoscore.common.coordinate;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.common.time.LocalSiderealTime;
+
+/**
+ * Converts many equatorial coordinates to horizontal coordinates for a single observer and instant.
+ * The Julian Date, the Local Sidereal Time and the observer's latitude terms are computed once per batch,
+ * and results are written into caller-supplied arrays so no objects are allocated per coordinate.
+ * Callers converting repeatedly for a fixed site can keep an {@link ObserverFrame} instead.
+ * Results are identical to {@link Observer#toHorizontal(EquatorialCoordinate, LocalDateTime)}.
+ */
+public class HorizontalTransform {
+
+	/**
+	 * Converts equatorial coordinates held in parallel arrays to horizontal coordinates.
+	 *
+	 * @param observer the observer's position
+	 * @param observationTime the instant shared by every coordinate in the batch
+	 * @param rightAscension right ascensions in degrees (0 to 360)
+	 * @param declination declinations in degrees (-90 to +90)
+	 * @param azimuth receives azimuths in degrees (0 to 360), measured clockwise from north
+	 * @param altitude receives altitudes in degrees (-90 to +90)
+	 * @throws IllegalArgumentException if the arrays do not all have the same length
+	 */
+	public static void toHorizontal(Observer observer, LocalDateTime observationTime,
+		double[] rightAscension, double[] declination, double[] azimuth, double[] altitude) {
+		Objects.requireNonNull(rightAscension, "Right ascension array must not be null");
+		toHorizontal(observer, observationTime, rightAscension, declination, azimuth, altitude,
+			0, rightAscension.length);
+	}
+
+	/**
+	 * Converts a range of equatorial coordinates held in parallel arrays to horizontal coordinates.
+	 * Only the elements from {@code offset} to {@code offset + length - 1} are read and written.
+	 *
+	 * @param observer the observer's position
+	 * @param observationTime the instant shared by every coordinate in the batch
+	 * @param rightAscension right ascensions in degrees (0 to 360)
+	 * @param declination declinations in degrees (-90 to +90)
+	 * @param azimuth receives azimuths in degrees (0 to 360), measured clockwise from north
+	 * @param altitude receives altitudes in degrees (-90 to +90)
+	 * @param offset index of the first element to convert
+	 * @param length number of elements to convert
+	 * @throws IllegalArgumentException if the arrays do not all have the same length
+	 * @throws IndexOutOfBoundsException if the range is outside the arrays
+	 */
+	public static void toHorizontal(Observer observer, LocalDateTime observationTime,
+		double[] rightAscension, double[] declination, double[] azimuth, double[] altitude,
+		int offset, int length) {
+		Objects.requireNonNull(observer, "Observer must not be null");
+		JulianDate jd = JulianDate.fromLocalDateTime(observationTime);
+		toHorizontal(observer, LocalSiderealTime.calculate(jd, observer.longitude()),
+			rightAscension, declination, azimuth, altitude, offset, length);
+	}
+
+	/**
+	 * Converts a range of equatorial coordinates held in parallel arrays to horizontal coordinates
+	 * at a precomputed Local Sidereal Time.
+	 *
+	 * @param observer the observer's position
+	 * @param lst Local Sidereal Time for the observer's longitude in hours
+	 * @param rightAscension right ascensions in degrees (0 to 360)
+	 * @param declination declinations in degrees (-90 to +90)
+	 * @param azimuth receives azimuths in degrees (0 to 360), measured clockwise from north
+	 * @param altitude receives altitudes in degrees (-90 to +90)
+	 * @param offset index of the first element to convert
+	 * @param length number of elements to convert
+	 * @throws IllegalArgumentException if the arrays do not all have the same length
+	 * @throws IndexOutOfBoundsException if the range is outside the arrays
+	 */
+	public static void toHorizontal(Observer observer, double lst,
+		double[] rightAscension, double[] declination, double[] azimuth, double[] altitude,
+		int offset, int length) {
+		Objects.requireNonNull(observer, "Observer must not be null");
+		checkArrays(rightAscension, declination, azimuth, altitude);
+		Objects.checkFromIndexSize(offset, length, rightAscension.length);
+
+		new ObserverFrame(observer).toHorizontal(lst, rightAscension, declination, azimuth, altitude, offset, length);
+	}
+
+	private static void checkArrays(double[] rightAscension, double[] declination,
+		double[] azimuth, double[] altitude) {
+		Objects.requireNonNull(rightAscension, "Right ascension array must not be null");
+		Objects.requireNonNull(declination, "Declination array must not be null");
+		Objects.requireNonNull(azimuth, "Azimuth array must not be null");
+		Objects.requireNonNull(altitude, "Altitude array must not be null");
+
+		int length = rightAscension.length;
+		if (declination.length != length || azimuth.length != length || altitude.length != length) {
+			throw new IllegalArgumentException("Coordinate arrays must all have the same length");
+		}
+	}
+}
@@ -37,50 +37,47 @@ public record Observer(double latitude, double longitude) {
 	 */
 	public HorizontalCoordinate toHorizontal(EquatorialCoordinate equatorial, LocalDateTime observationTime) {
 		JulianDate jd = JulianDate.fromLocalDateTime(observationTime);
-		double lst = LocalSiderealTime.calculate(jd, longitude);
-
-		double ha = (lst * 15.0) - equatorial.rightAscension();
+		return toHorizontal(equatorial, LocalSiderealTime.calculate(jd, longitude));
+	}
 
-		double haRad = Math.toRadians(ha);
+	/**
+	 * Converts equatorial coordinates to horizontal coordinates for this observer's position
+	 * at a precomputed Local Sidereal Time, e.g. from a
+	 * {@link com.cosmoscore.common.time.SiderealTimeCache} or {@link com.cosmoscore.common.time.SiderealTimeTable}.
+	 *
+	 * @param equatorial the equatorial coordinates to convert
+	 * @param lst Local Sidereal Time for this observer's longitude in hours
+	 * @return the equivalent horizontal coordinates
+	 */
+	public HorizontalCoordinate toHorizontal(EquatorialCoordinate equatorial, double lst) {
 		double latRad = Math.toRadians(latitude);
-		double decRad = Math.toRadians(equatorial.declination());
-
-		double sinAlt = Math.sin(decRad) * Math.sin(latRad) +
-			Math.cos(decRad) * Math.cos(latRad) * Math.cos(haRad);
-		double altitude = Math.toDegrees(Math.asin(sinAlt));
-
-		double sinAz = -Math.sin(haRad) * Math.cos(decRad) / Math.cos(Math.toRadians(altitude));
-		double cosAz = (Math.sin(decRad) - Math.sin(latRad) * sinAlt) /
-			(Math.cos(latRad) * Math.cos(Math.toRadians(altitude)));
-
-		double azimuth = Math.toDegrees(Math.atan2(sinAz, cosAz));
-		azimuth = (azimuth + 360.0) % 360.0;
-
-		return new HorizontalCoordinate(azimuth, altitude);
+		return ObserverFrame.toHorizontal(equatorial, lst, Math.sin(latRad), Math.cos(latRad));
 	}
 
 	public EquatorialCoordinate toEquatorial(HorizontalCoordinate horizontal, LocalDateTime observationTime) {
 		JulianDate jd = JulianDate.fromLocalDateTime(observationTime);
-		double lst = LocalSiderealTime.calculate(jd, longitude);
+		return toEquatorial(horizontal, LocalSiderealTime.calculate(jd, longitude));
+	}
 
-		double azRad = Math.toRadians(horizontal.azimuth());
-		double altRad = Math.toRadians(horizontal.altitude());
+	/**
+	 * Converts horizontal coordinates to equatorial coordinates for this observer's position
+	 * at a precomputed Local Sidereal Time.
+	 *
+	 * @param horizontal the horizontal coordinates to convert
+	 * @param lst Local Sidereal Time for this observer's longitude in hours
+	 * @return the equivalent equatorial coordinates
+	 */
+	public EquatorialCoordinate toEquatorial(HorizontalCoordinate horizontal, double lst) {
 		double latRad = Math.toRadians(latitude);
+		return ObserverFrame.toEquatorial(horizontal, lst, Math.sin(latRad), Math.cos(latRad));
+	}
 
-		double sinDec = Math.sin(altRad) * Math.sin(latRad) +
-			Math.cos(altRad) * Math.cos(latRad) * Math.cos(azRad);
-		double declination = Math.toDegrees(Math.asin(sinDec));
-
-		double cosH = (Math.sin(altRad) - Math.sin(latRad) * sinDec) /
-			(Math.cos(latRad) * Math.cos(Math.asin(sinDec)));
-		double sinH = -Math.sin(azRad) * Math.cos(altRad) / Math.cos(Math.asin(sinDec));
-		double ha = Math.toDegrees(Math.atan2(sinH, cosH));
-
-		double rightAscension = (lst * 15.0 - ha) % 360.0;
-		if (rightAscension < 0) {
-			rightAscension += 360.0;
-		}
-
-		return new EquatorialCoordinate(rightAscension, declination);
+	/**
+	 * Prepares this observer's local frame, which caches the latitude terms for repeated conversions.
+	 *
+	 * @return the prepared frame
+	 */
+	public ObserverFrame frame() {
+		return new ObserverFrame(this);
 	}
 }
@@ -0,0 +1,217 @@
+package com.cosmoscore.common.coordinate;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.common.time.LocalSiderealTime;
+
+/**
+ * An observer's local frame, prepared once per site and reused for every conversion.
+ * <p>
+ * The rotation from the hour angle/declination frame to the horizon frame is a single rotation
+ * about the east-west axis by the observer's colatitude. Its matrix entries are exactly
+ * 0, 1 and ±sin/cos of the latitude, so the frame caches those two terms and conversions only
+ * evaluate the trigonometry that depends on the target.
+ * <p>
+ * {@link Observer} and {@link HorizontalTransform} run on the same arithmetic, so all three give identical results.
+ */
+public final class ObserverFrame {
+
+	private final Observer observer;
+	private final double sinLat;
+	private final double cosLat;
+
+	/**
+	 * Prepares the local frame of an observer.
+	 *
+	 * @param observer the observer's position
+	 */
+	public ObserverFrame(Observer observer) {
+		this.observer = Objects.requireNonNull(observer, "Observer must not be null");
+		double latRad = Math.toRadians(observer.latitude());
+		this.sinLat = Math.sin(latRad);
+		this.cosLat = Math.cos(latRad);
+	}
+
+	/**
+	 * Returns the observer this frame was prepared for
+	 */
+	public Observer observer() {
+		return observer;
+	}
+
+	/**
+	 * Returns the sine of the observer's latitude
+	 */
+	public double sinLatitude() {
+		return sinLat;
+	}
+
+	/**
+	 * Returns the cosine of the observer's latitude
+	 */
+	public double cosLatitude() {
+		return cosLat;
+	}
+
+	/**
+	 * Calculates the Local Sidereal Time at this site.
+	 *
+	 * @param jd Julian Date
+	 * @return Local Sidereal Time in hours
+	 */
+	public double localSiderealTime(JulianDate jd) {
+		return LocalSiderealTime.calculate(jd, observer.longitude());
+	}
+
+	/**
+	 * Converts a shared Greenwich Sidereal Time to the Local Sidereal Time at this site.
+	 *
+	 * @param gst Greenwich Sidereal Time in hours
+	 * @return Local Sidereal Time in hours
+	 */
+	public double localSiderealTime(double gst) {
+		return LocalSiderealTime.fromGreenwich(gst, observer.longitude());
+	}
+
+	/**
+	 * Calculates only the altitude of an equatorial position, without allocating.
+	 *
+	 * @param rightAscension right ascension in degrees
+	 * @param declination declination in degrees
+	 * @param lst Local Sidereal Time at this site in hours
+	 * @return altitude in degrees (-90 to +90)
+	 */
+	public double altitude(double rightAscension, double declination, double lst) {
+		double haRad = Math.toRadians(lst * 15.0 - rightAscension);
+		double decRad = Math.toRadians(declination);
+		return altitude(Math.sin(decRad), Math.cos(decRad), Math.cos(haRad), sinLat, cosLat);
+	}
+
+	/**
+	 * Calculates only the azimuth of an equatorial position, without allocating.
+	 *
+	 * @param rightAscension right ascension in degrees
+	 * @param declination declination in degrees
+	 * @param lst Local Sidereal Time at this site in hours
+	 * @return azimuth in degrees (0 to 360), measured clockwise from north
+	 */
+	public double azimuth(double rightAscension, double declination, double lst) {
+		double haRad = Math.toRadians(lst * 15.0 - rightAscension);
+		double decRad = Math.toRadians(declination);
+		return azimuth(Math.sin(decRad), Math.cos(decRad), Math.sin(haRad), Math.cos(haRad), sinLat, cosLat);
+	}
+
+	/**
+	 * Converts equatorial coordinates to horizontal coordinates at a given Local Sidereal Time.
+	 *
+	 * @param equatorial the equatorial coordinates to convert
+	 * @param lst Local Sidereal Time at this site in hours
+	 * @return the equivalent horizontal coordinates
+	 */
+	public HorizontalCoordinate toHorizontal(EquatorialCoordinate equatorial, double lst) {
+		return toHorizontal(equatorial, lst, sinLat, cosLat);
+	}
+
+	/**
+	 * Converts horizontal coordinates to equatorial coordinates at a given Local Sidereal Time.
+	 *
+	 * @param horizontal the horizontal coordinates to convert
+	 * @param lst Local Sidereal Time at this site in hours
+	 * @return the equivalent equatorial coordinates
+	 */
+	public EquatorialCoordinate toEquatorial(HorizontalCoordinate horizontal, double lst) {
+		return toEquatorial(horizontal, lst, sinLat, cosLat);
+	}
+
+	/**
+	 * Converts a range of equatorial coordinates held in parallel arrays to horizontal coordinates,
+	 * writing into caller-supplied arrays without allocating.
+	 *
+	 * @param lst Local Sidereal Time at this site in hours
+	 * @param rightAscension right ascensions in degrees
+	 * @param declination declinations in degrees
+	 * @param azimuth receives azimuths in degrees (0 to 360), measured clockwise from north
+	 * @param altitude receives altitudes in degrees (-90 to +90)
+	 * @param offset index of the first element to convert
+	 * @param length number of elements to convert
+	 * @throws IndexOutOfBoundsException if the range is outside any of the arrays
+	 */
+	public void toHorizontal(double lst, double[] rightAscension, double[] declination,
+		double[] azimuth, double[] altitude, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, rightAscension.length);
+		Objects.checkFromIndexSize(offset, length, declination.length);
+		Objects.checkFromIndexSize(offset, length, azimuth.length);
+		Objects.checkFromIndexSize(offset, length, altitude.length);
+
+		double lstDegrees = lst * 15.0;
+		for (int i = offset, end = offset + length; i < end; i++) {
+			double haRad = Math.toRadians(lstDegrees - rightAscension[i]);
+			double decRad = Math.toRadians(declination[i]);
+			double sinDec = Math.sin(decRad);
+			double cosDec = Math.cos(decRad);
+			double sinHa = Math.sin(haRad);
+			double cosHa = Math.cos(haRad);
+
+			altitude[i] = altitude(sinDec, cosDec, cosHa, sinLat, cosLat);
+			azimuth[i] = azimuth(sinDec, cosDec, sinHa, cosHa, sinLat, cosLat);
+		}
+	}
+
+	static HorizontalCoordinate toHorizontal(EquatorialCoordinate equatorial, double lst,
+		double sinLat, double cosLat) {
+		double haRad = Math.toRadians(lst * 15.0 - equatorial.rightAscension());
+		double decRad = Math.toRadians(equatorial.declination());
+		double sinDec = Math.sin(decRad);
+		double cosDec = Math.cos(decRad);
+		double sinHa = Math.sin(haRad);
+		double cosHa = Math.cos(haRad);
+
+		return new HorizontalCoordinate(
+			azimuth(sinDec, cosDec, sinHa, cosHa, sinLat, cosLat),
+			altitude(sinDec, cosDec, cosHa, sinLat, cosLat));
+	}
+
+	static EquatorialCoordinate toEquatorial(HorizontalCoordinate horizontal, double lst,
+		double sinLat, double cosLat) {
+		double azRad = Math.toRadians(horizontal.azimuth());
+		double altRad = Math.toRadians(horizontal.altitude());
+		double sinAlt = Math.sin(altRad);
+		double cosAlt = Math.cos(altRad);
+		double sinAz = Math.sin(azRad);
+		double cosAz = Math.cos(azRad);
+
+		// The horizon-to-equator rotation has the same form as the equator-to-horizon one
+		double declination = altitude(sinAlt, cosAlt, cosAz, sinLat, cosLat);
+		double ha = Math.toDegrees(Math.atan2(-sinAz * cosAlt, sinAlt * cosLat - cosAlt * sinLat * cosAz));
+
+		double rightAscension = (lst * 15.0 - ha) % 360.0;
+		if (rightAscension < 0) {
+			rightAscension += 360.0;
+		}
+		if (rightAscension >= 360.0) {
+			rightAscension -= 360.0;
+		}
+
+		return new EquatorialCoordinate(rightAscension, declination);
+	}
+
+	/**
+	 * Altitude in degrees from the target's declination and hour angle terms.
+	 */
+	static double altitude(double sinDec, double cosDec, double cosHa, double sinLat, double cosLat) {
+		double sinAlt = sinDec * sinLat + cosDec * cosLat * cosHa;
+		return Math.toDegrees(Math.asin(Math.max(-1.0, Math.min(1.0, sinAlt))));
+	}
+
+	/**
+	 * Azimuth in degrees (0 to 360, clockwise from north) from the target's declination and hour angle terms.
+	 * Both atan2 arguments carry the same positive factor cos(altitude), so it is left out.
+	 */
+	static double azimuth(double sinDec, double cosDec, double sinHa, double cosHa,
+		double sinLat, double cosLat) {
+		double azimuth = Math.toDegrees(Math.atan2(-sinHa * cosDec, sinDec * cosLat - cosDec * sinLat * cosHa));
+		azimuth = (azimuth + 360.0) % 360.0;
+		return azimuth;
+	}
+}
@@ -0,0 +1,48 @@
+package com.cosmoscore.common.index;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cross-matches a range of an index's sorted slots against another index, splitting the range in half
+ * until it is small enough to run directly. Because slots are ordered by declination zone, every leaf
+ * covers a contiguous declination band and its cone queries touch the same few zones of the other index.
+ * Each query searches the other index in full, so matches across band edges are never missed.
+ */
+final class CrossMatchTask extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Number of slots below which a task matches directly instead of splitting
+	 */
+	static final int THRESHOLD = 1024;
+
+	// Tasks are never serialized, so the references they share are not part of their serial form
+	private final transient SkyIndex index;
+	private final transient SkyIndex other;
+	private final double radius;
+	private final transient SkyIndex.MatchConsumer consumer;
+	private final int from;
+	private final int to;
+
+	CrossMatchTask(SkyIndex index, SkyIndex other, double radius, SkyIndex.MatchConsumer consumer, int from, int to) {
+		this.index = index;
+		this.other = other;
+		this.radius = radius;
+		this.consumer = consumer;
+		this.from = from;
+		this.to = to;
+	}
+
+	@Override
+	protected void compute() {
+		if (to - from <= THRESHOLD) {
+			index.crossMatch(other, radius, consumer, from, to);
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		invokeAll(
+			new CrossMatchTask(index, other, radius, consumer, from, mid),
+			new CrossMatchTask(index, other, radius, consumer, mid, to));
+	}
+}
@@ -0,0 +1,481 @@
+package com.cosmoscore.common.index;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+
+/**
+ * A static spatial index over equatorial positions for cone search, nearest neighbours and cross-matching.
+ * <p>
+ * The sky is partitioned into declination zones of equal height, and positions are sorted by
+ * right ascension within each zone. A query only visits the zones its cone overlaps and, within each,
+ * the right ascension range the cone spans, found by binary search. Candidates are then accepted by
+ * comparing the chord length between precomputed unit vectors against the search radius, so no
+ * trigonometry is evaluated per candidate.
+ * <p>
+ * Results are reported as indices into the arrays the index was built from. The index is immutable
+ * and safe to query from multiple threads.
+ */
+public final class SkyIndex {
+
+	/**
+	 * Default zone height in degrees, suited to arcsecond to arcminute search radii
+	 */
+	public static final double DEFAULT_ZONE_HEIGHT = 0.25;
+
+	private static final double FULL_SKY_AREA = 4.0 * Math.PI * Math.toDegrees(1.0) * Math.toDegrees(1.0);
+
+	private final double zoneHeight;
+	private final int[] zoneStart;
+	private final int[] ids;
+	private final double[] ra;
+	private final double[] x;
+	private final double[] y;
+	private final double[] z;
+
+	private SkyIndex(double zoneHeight, int[] zoneStart, int[] ids, double[] ra, double[] x, double[] y, double[] z) {
+		this.zoneHeight = zoneHeight;
+		this.zoneStart = zoneStart;
+		this.ids = ids;
+		this.ra = ra;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	/**
+	 * Receives pairs found by {@link #crossMatch}.
+	 */
+	@FunctionalInterface
+	public interface MatchConsumer {
+		/**
+		 * @param index index of the position in the first catalog
+		 * @param otherIndex index of the position in the second catalog
+		 * @param separation angular separation in degrees
+		 */
+		void accept(int index, int otherIndex, double separation);
+	}
+
+	/**
+	 * Builds an index with the default zone height.
+	 *
+	 * @param rightAscension right ascensions in degrees (0 to 360)
+	 * @param declination declinations in degrees (-90 to +90)
+	 * @return the index
+	 */
+	public static SkyIndex build(double[] rightAscension, double[] declination) {
+		return build(rightAscension, declination, DEFAULT_ZONE_HEIGHT);
+	}
+
+	/**
+	 * Builds an index from positions held in parallel arrays.
+	 *
+	 * @param rightAscension right ascensions in degrees (0 to 360)
+	 * @param declination declinations in degrees (-90 to +90)
+	 * @param zoneHeight height of each declination zone in degrees
+	 * @return the index
+	 * @throws IllegalArgumentException if the arrays differ in length, a coordinate is out of range,
+	 *                                  or the zone height is not between 0 and 180 degrees
+	 */
+	public static SkyIndex build(double[] rightAscension, double[] declination, double zoneHeight) {
+		Objects.requireNonNull(rightAscension, "Right ascension array must not be null");
+		Objects.requireNonNull(declination, "Declination array must not be null");
+		if (rightAscension.length != declination.length) {
+			throw new IllegalArgumentException("Coordinate arrays must all have the same length");
+		}
+		if (!(zoneHeight > 0 && zoneHeight <= 180)) {
+			throw new IllegalArgumentException("Zone height must be between 0 and 180 degrees");
+		}
+
+		int size = rightAscension.length;
+		int zoneCount = (int) Math.ceil(180.0 / zoneHeight);
+		double[] keys = new double[size];
+		int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			double ra = rightAscension[i];
+			double dec = declination[i];
+			if (ra < 0 || ra >= 360) {
+				throw new IllegalArgumentException("Right ascension must be between 0 and 360 degrees");
+			}
+			if (dec < -90 || dec > 90) {
+				throw new IllegalArgumentException("Declination must be between -90 and +90 degrees");
+			}
+			// Zone number and right ascension combined into one sort key
+			keys[i] = zoneOf(dec, zoneHeight, zoneCount) * 360.0 + ra;
+			order[i] = i;
+		}
+		sort(keys, order, 0, size - 1);
+
+		int[] zoneStart = new int[zoneCount + 1];
+		double[] sortedRa = new double[size];
+		double[] x = new double[size];
+		double[] y = new double[size];
+		double[] z = new double[size];
+		for (int i = 0; i < size; i++) {
+			int id = order[i];
+			double raRad = Math.toRadians(rightAscension[id]);
+			double decRad = Math.toRadians(declination[id]);
+			double cosDec = Math.cos(decRad);
+			sortedRa[i] = rightAscension[id];
+			x[i] = cosDec * Math.cos(raRad);
+			y[i] = cosDec * Math.sin(raRad);
+			z[i] = Math.sin(decRad);
+			zoneStart[zoneOf(declination[id], zoneHeight, zoneCount) + 1]++;
+		}
+		for (int zone = 0; zone < zoneCount; zone++) {
+			zoneStart[zone + 1] += zoneStart[zone];
+		}
+
+		return new SkyIndex(zoneHeight, zoneStart, order, sortedRa, x, y, z);
+	}
+
+	/**
+	 * Returns the number of indexed positions
+	 */
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * Finds every indexed position within a radius of a center.
+	 *
+	 * @param rightAscension right ascension of the center in degrees
+	 * @param declination declination of the center in degrees
+	 * @param radius search radius in degrees
+	 * @param consumer receives the index of each position found, in no particular order
+	 */
+	public void coneSearch(double rightAscension, double declination, double radius, IntConsumer consumer) {
+		Objects.requireNonNull(consumer, "Consumer must not be null");
+		double raRad = Math.toRadians(rightAscension);
+		double decRad = Math.toRadians(declination);
+		double cosDec = Math.cos(decRad);
+		search(cosDec * Math.cos(raRad), cosDec * Math.sin(raRad), Math.sin(decRad),
+			rightAscension, declination, radius, (slot, chordSquared) -> consumer.accept(ids[slot]));
+	}
+
+	/**
+	 * Finds every indexed position within a radius of a center.
+	 *
+	 * @param rightAscension right ascension of the center in degrees
+	 * @param declination declination of the center in degrees
+	 * @param radius search radius in degrees
+	 * @return indices of the positions found, in ascending order
+	 */
+	public int[] coneSearch(double rightAscension, double declination, double radius) {
+		IntCollector found = new IntCollector();
+		coneSearch(rightAscension, declination, radius, found::add);
+		int[] result = found.toArray();
+		Arrays.sort(result);
+		return result;
+	}
+
+	/**
+	 * Finds the k indexed positions closest to a center.
+	 * The search starts from a radius expected to hold k positions on a uniform sky and doubles it until enough are found.
+	 *
+	 * @param rightAscension right ascension of the center in degrees
+	 * @param declination declination of the center in degrees
+	 * @param k number of neighbours
+	 * @return indices of the nearest positions, closest first; fewer than k if the index is smaller
+	 */
+	public int[] nearest(double rightAscension, double declination, int k) {
+		if (k < 0) {
+			throw new IllegalArgumentException("Number of neighbours cannot be negative");
+		}
+		int wanted = Math.min(k, size());
+		if (wanted == 0) {
+			return new int[0];
+		}
+
+		double raRad = Math.toRadians(rightAscension);
+		double decRad = Math.toRadians(declination);
+		double cosDec = Math.cos(decRad);
+		double cx = cosDec * Math.cos(raRad);
+		double cy = cosDec * Math.sin(raRad);
+		double cz = Math.sin(decRad);
+
+		double radius = Math.min(180.0, Math.sqrt(wanted * FULL_SKY_AREA / size() / Math.PI));
+		while (true) {
+			IntCollector slots = new IntCollector();
+			DoubleCollector distances = new DoubleCollector();
+			search(cx, cy, cz, rightAscension, declination, radius, (slot, chordSquared) -> {
+				slots.add(slot);
+				distances.add(chordSquared);
+			});
+			if (slots.size() >= wanted || radius >= 180.0) {
+				double[] keys = distances.toArray();
+				int[] order = slots.toArray();
+				sort(keys, order, 0, order.length - 1);
+				int[] result = new int[wanted];
+				for (int i = 0; i < wanted; i++) {
+					result[i] = ids[order[i]];
+				}
+				return result;
+			}
+			radius = Math.min(180.0, radius * 2.0);
+		}
+	}
+
+	/**
+	 * Finds every pair of positions, one from this index and one from another, within a radius of each other.
+	 *
+	 * @param other the index to match against
+	 * @param radius match radius in degrees
+	 * @param consumer receives each pair with its angular separation
+	 */
+	public void crossMatch(SkyIndex other, double radius, MatchConsumer consumer) {
+		crossMatch(other, radius, consumer, 0, size());
+	}
+
+	/**
+	 * Finds every pair of positions, one from this index and one from another, within a radius of each other,
+	 * spreading the work over the common {@link ForkJoinPool}.
+	 * <p>
+	 * The consumer is called concurrently from pool threads, in no particular order, and must be thread-safe.
+	 * Pairs are streamed to it as they are found rather than collected.
+	 *
+	 * @param other the index to match against
+	 * @param radius match radius in degrees
+	 * @param consumer receives each pair with its angular separation
+	 */
+	public void parallelCrossMatch(SkyIndex other, double radius, MatchConsumer consumer) {
+		Objects.requireNonNull(other, "Index must not be null");
+		Objects.requireNonNull(consumer, "Consumer must not be null");
+		if (!(radius >= 0)) {
+			throw new IllegalArgumentException("Search radius cannot be negative");
+		}
+		ForkJoinPool.commonPool().invoke(new CrossMatchTask(this, other, radius, consumer, 0, size()));
+	}
+
+	/**
+	 * Cross-matches the positions of this index held in sorted slots {@code from} to {@code to - 1}.
+	 * Slots are ordered by zone, so contiguous slot ranges are declination bands.
+	 */
+	void crossMatch(SkyIndex other, double radius, MatchConsumer consumer, int from, int to) {
+		Objects.requireNonNull(other, "Index must not be null");
+		Objects.requireNonNull(consumer, "Consumer must not be null");
+		for (int slot = from; slot < to; slot++) {
+			int id = ids[slot];
+			double dec = Math.toDegrees(Math.asin(z[slot]));
+			other.search(x[slot], y[slot], z[slot], ra[slot], dec, radius,
+				(otherSlot, chordSquared) -> consumer.accept(id, other.ids[otherSlot], chordToDegrees(chordSquared)));
+		}
+	}
+
+	/**
+	 * Returns the slot at which the given zone starts; the last zone ends at {@link #size()}
+	 */
+	int zoneStart(int zone) {
+		return zoneStart[zone];
+	}
+
+	/**
+	 * Returns the number of declination zones
+	 */
+	int zoneCount() {
+		return zoneStart.length - 1;
+	}
+
+	/**
+	 * Converts a squared chord length between unit vectors to an angular separation in degrees
+	 */
+	static double chordToDegrees(double chordSquared) {
+		return Math.toDegrees(2.0 * Math.asin(Math.min(1.0, Math.sqrt(chordSquared) / 2.0)));
+	}
+
+	/**
+	 * Converts an angular separation in degrees to the squared chord length between unit vectors
+	 */
+	static double degreesToChordSquared(double degrees) {
+		double chord = 2.0 * Math.sin(Math.toRadians(Math.min(degrees, 180.0)) / 2.0);
+		return chord * chord;
+	}
+
+	@FunctionalInterface
+	interface SlotConsumer {
+		void accept(int slot, double chordSquared);
+	}
+
+	private void search(double cx, double cy, double cz, double centerRa, double centerDec, double radius,
+		SlotConsumer consumer) {
+		if (!(radius >= 0)) {
+			throw new IllegalArgumentException("Search radius cannot be negative");
+		}
+		if (size() == 0) {
+			return;
+		}
+		double limit = degreesToChordSquared(radius);
+		int zoneCount = zoneCount();
+		int firstZone = zoneOf(Math.max(-90.0, centerDec - radius), zoneHeight, zoneCount);
+		int lastZone = zoneOf(Math.min(90.0, centerDec + radius), zoneHeight, zoneCount);
+		double halfWidth = raHalfWidth(centerDec, radius);
+
+		for (int zone = firstZone; zone <= lastZone; zone++) {
+			int start = zoneStart[zone];
+			int end = zoneStart[zone + 1];
+			if (start == end) {
+				continue;
+			}
+			if (halfWidth >= 180.0) {
+				scan(start, end, cx, cy, cz, limit, consumer);
+				continue;
+			}
+			double low = centerRa - halfWidth;
+			double high = centerRa + halfWidth;
+			if (low < 0) {
+				scanRange(start, end, low + 360.0, 360.0, cx, cy, cz, limit, consumer);
+				scanRange(start, end, 0.0, high, cx, cy, cz, limit, consumer);
+			} else if (high >= 360.0) {
+				scanRange(start, end, low, 360.0, cx, cy, cz, limit, consumer);
+				scanRange(start, end, 0.0, high - 360.0, cx, cy, cz, limit, consumer);
+			} else {
+				scanRange(start, end, low, high, cx, cy, cz, limit, consumer);
+			}
+		}
+	}
+
+	private void scanRange(int start, int end, double low, double high,
+		double cx, double cy, double cz, double limit, SlotConsumer consumer) {
+		int from = lowerBound(start, end, low);
+		int to = from;
+		while (to < end && ra[to] <= high) {
+			to++;
+		}
+		scan(from, to, cx, cy, cz, limit, consumer);
+	}
+
+	private void scan(int from, int to, double cx, double cy, double cz, double limit, SlotConsumer consumer) {
+		for (int slot = from; slot < to; slot++) {
+			double dx = x[slot] - cx;
+			double dy = y[slot] - cy;
+			double dz = z[slot] - cz;
+			double chordSquared = dx * dx + dy * dy + dz * dz;
+			if (chordSquared <= limit) {
+				consumer.accept(slot, chordSquared);
+			}
+		}
+	}
+
+	private int lowerBound(int start, int end, double value) {
+		int low = start;
+		int high = end;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (ra[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Half-width in right ascension of a cone, or 180 if the cone reaches a pole.
+	 */
+	private static double raHalfWidth(double declination, double radius) {
+		if (Math.abs(declination) + radius >= 90.0) {
+			return 180.0;
+		}
+		double r = Math.toRadians(radius);
+		double d = Math.toRadians(declination);
+		double denominator = Math.sqrt(Math.abs(Math.cos(d - r) * Math.cos(d + r)));
+		// Widen slightly so rounding never excludes a position on the cone's edge
+		return Math.min(180.0, Math.toDegrees(Math.atan(Math.sin(r) / denominator)) * (1.0 + 1e-9) + 1e-9);
+	}
+
+	private static int zoneOf(double declination, double zoneHeight, int zoneCount) {
+		return Math.min(zoneCount - 1, (int) ((declination + 90.0) / zoneHeight));
+	}
+
+	/**
+	 * Sorts keys ascending and applies the same permutation to the values.
+	 */
+	static void sort(double[] keys, int[] values, int low, int high) {
+		while (high - low > 16) {
+			double pivot = median(keys[low], keys[(low + high) >>> 1], keys[high]);
+			int i = low;
+			int j = high;
+			while (i <= j) {
+				while (keys[i] < pivot) {
+					i++;
+				}
+				while (keys[j] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					swap(keys, values, i++, j--);
+				}
+			}
+			// Recurse into the smaller half to bound the stack depth
+			if (j - low < high - i) {
+				sort(keys, values, low, j);
+				low = i;
+			} else {
+				sort(keys, values, i, high);
+				high = j;
+			}
+		}
+		for (int i = low + 1; i <= high; i++) {
+			for (int j = i; j > low && keys[j - 1] > keys[j]; j--) {
+				swap(keys, values, j - 1, j);
+			}
+		}
+	}
+
+	private static double median(double a, double b, double c) {
+		return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+	}
+
+	private static void swap(double[] keys, int[] values, int i, int j) {
+		double key = keys[i];
+		keys[i] = keys[j];
+		keys[j] = key;
+		int value = values[i];
+		values[i] = values[j];
+		values[j] = value;
+	}
+
+	/**
+	 * A growable int array.
+	 */
+	private static final class IntCollector {
+		private int[] values = new int[16];
+		private int size;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		int size() {
+			return size;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+
+	/**
+	 * A growable double array.
+	 */
+	private static final class DoubleCollector {
+		private double[] values = new double[16];
+		private int size;
+
+		void add(double value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		double[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package com.cosmoscore.common.math;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable 3x3 matrix, mainly used for rotations between reference frames.
+ * Rotations follow the astronomical convention: {@code rotationZ(a)} rotates the coordinate frame,
+ * not the vector, by the angle a about the z axis.
+ */
+public final class Matrix3D {
+
+	private static final Matrix3D IDENTITY = new Matrix3D(1, 0, 0, 0, 1, 0, 0, 0, 1);
+
+	private final double m00, m01, m02;
+	private final double m10, m11, m12;
+	private final double m20, m21, m22;
+
+	/**
+	 * Creates a matrix from its elements in row order.
+	 */
+	public Matrix3D(double m00, double m01, double m02,
+		double m10, double m11, double m12,
+		double m20, double m21, double m22) {
+		this.m00 = m00;
+		this.m01 = m01;
+		this.m02 = m02;
+		this.m10 = m10;
+		this.m11 = m11;
+		this.m12 = m12;
+		this.m20 = m20;
+		this.m21 = m21;
+		this.m22 = m22;
+	}
+
+	/**
+	 * Returns the identity matrix
+	 */
+	public static Matrix3D identity() {
+		return IDENTITY;
+	}
+
+	/**
+	 * Creates a rotation of the coordinate frame about the x axis
+	 *
+	 * @param angle rotation angle in radians
+	 */
+	public static Matrix3D rotationX(double angle) {
+		double c = Math.cos(angle);
+		double s = Math.sin(angle);
+		return new Matrix3D(1, 0, 0, 0, c, s, 0, -s, c);
+	}
+
+	/**
+	 * Creates a rotation of the coordinate frame about the y axis
+	 *
+	 * @param angle rotation angle in radians
+	 */
+	public static Matrix3D rotationY(double angle) {
+		double c = Math.cos(angle);
+		double s = Math.sin(angle);
+		return new Matrix3D(c, 0, -s, 0, 1, 0, s, 0, c);
+	}
+
+	/**
+	 * Creates a rotation of the coordinate frame about the z axis
+	 *
+	 * @param angle rotation angle in radians
+	 */
+	public static Matrix3D rotationZ(double angle) {
+		double c = Math.cos(angle);
+		double s = Math.sin(angle);
+		return new Matrix3D(c, s, 0, -s, c, 0, 0, 0, 1);
+	}
+
+	/**
+	 * Returns the element at a row and column (0 to 2)
+	 */
+	public double get(int row, int column) {
+		Objects.checkIndex(row, 3);
+		Objects.checkIndex(column, 3);
+		return switch (row * 3 + column) {
+			case 0 -> m00;
+			case 1 -> m01;
+			case 2 -> m02;
+			case 3 -> m10;
+			case 4 -> m11;
+			case 5 -> m12;
+			case 6 -> m20;
+			case 7 -> m21;
+			default -> m22;
+		};
+	}
+
+	/**
+	 * Multiplies this matrix by another, so the other is applied first
+	 */
+	public Matrix3D multiply(Matrix3D other) {
+		return new Matrix3D(
+			m00 * other.m00 + m01 * other.m10 + m02 * other.m20,
+			m00 * other.m01 + m01 * other.m11 + m02 * other.m21,
+			m00 * other.m02 + m01 * other.m12 + m02 * other.m22,
+			m10 * other.m00 + m11 * other.m10 + m12 * other.m20,
+			m10 * other.m01 + m11 * other.m11 + m12 * other.m21,
+			m10 * other.m02 + m11 * other.m12 + m12 * other.m22,
+			m20 * other.m00 + m21 * other.m10 + m22 * other.m20,
+			m20 * other.m01 + m21 * other.m11 + m22 * other.m21,
+			m20 * other.m02 + m21 * other.m12 + m22 * other.m22);
+	}
+
+	/**
+	 * Multiplies a vector by this matrix
+	 */
+	public Vector3D multiply(Vector3D vector) {
+		double x = vector.x();
+		double y = vector.y();
+		double z = vector.z();
+		return new Vector3D(
+			m00 * x + m01 * y + m02 * z,
+			m10 * x + m11 * y + m12 * z,
+			m20 * x + m21 * y + m22 * z);
+	}
+
+	/**
+	 * Returns the transpose, which for a rotation is its inverse
+	 */
+	public Matrix3D transpose() {
+		return new Matrix3D(m00, m10, m20, m01, m11, m21, m02, m12, m22);
+	}
+
+	/**
+	 * Multiplies a range of vectors held in parallel arrays by this matrix, in place.
+	 *
+	 * @param x x components
+	 * @param y y components
+	 * @param z z components
+	 * @param offset index of the first vector
+	 * @param length number of vectors
+	 * @throws IndexOutOfBoundsException if the range is outside any of the arrays
+	 */
+	public void apply(double[] x, double[] y, double[] z, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, x.length);
+		Objects.checkFromIndexSize(offset, length, y.length);
+		Objects.checkFromIndexSize(offset, length, z.length);
+		for (int i = offset, end = offset + length; i < end; i++) {
+			double vx = x[i];
+			double vy = y[i];
+			double vz = z[i];
+			x[i] = m00 * vx + m01 * vy + m02 * vz;
+			y[i] = m10 * vx + m11 * vy + m12 * vz;
+			z[i] = m20 * vx + m21 * vy + m22 * vz;
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Matrix3D other)) {
+			return false;
+		}
+		return Arrays.equals(elements(), other.elements());
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(elements());
+	}
+
+	@Override
+	public String toString() {
+		return "Matrix3D[[" + m00 + ", " + m01 + ", " + m02 + "], ["
+			+ m10 + ", " + m11 + ", " + m12 + "], ["
+			+ m20 + ", " + m21 + ", " + m22 + "]]";
+	}
+
+	private double[] elements() {
+		return new double[] {m00, m01, m02, m10, m11, m12, m20, m21, m22};
+	}
+}
@@ -0,0 +1,72 @@
+package com.cosmoscore.common.math;
+
+/**
+ * Plain Java implementation of the bulk kernels, used when the JDK Vector API is unavailable.
+ */
+final class ScalarVectorKernel implements VectorKernel {
+
+	@Override
+	public void dot(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+		double[] result, int length) {
+		for (int i = 0; i < length; i++) {
+			result[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+		}
+	}
+
+	@Override
+	public void cross(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+		double[] rx, double[] ry, double[] rz, int length) {
+		for (int i = 0; i < length; i++) {
+			double cx = ay[i] * bz[i] - az[i] * by[i];
+			double cy = az[i] * bx[i] - ax[i] * bz[i];
+			double cz = ax[i] * by[i] - ay[i] * bx[i];
+			rx[i] = cx;
+			ry[i] = cy;
+			rz[i] = cz;
+		}
+	}
+
+	@Override
+	public void magnitude(double[] x, double[] y, double[] z, double[] result, int length) {
+		for (int i = 0; i < length; i++) {
+			result[i] = Math.sqrt(x[i] * x[i] + y[i] * y[i] + z[i] * z[i]);
+		}
+	}
+
+	@Override
+	public void normalize(double[] x, double[] y, double[] z, int length) {
+		normalizeRange(x, y, z, 0, length);
+	}
+
+	@Override
+	public void angularSeparation(double[] ra1, double[] dec1, double[] ra2, double[] dec2,
+		double[] result, int length) {
+		angularSeparationRange(ra1, dec1, ra2, dec2, result, 0, length);
+	}
+
+	static void normalizeRange(double[] x, double[] y, double[] z, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double mag = Math.sqrt(x[i] * x[i] + y[i] * y[i] + z[i] * z[i]);
+			if (mag == 0.0) {
+				throw new IllegalStateException("Cannot normalize a zero vector at index " + i);
+			}
+			double inv = 1.0 / mag;
+			x[i] *= inv;
+			y[i] *= inv;
+			z[i] *= inv;
+		}
+	}
+
+	static void angularSeparationRange(double[] ra1, double[] dec1, double[] ra2, double[] dec2,
+		double[] result, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double d1 = Math.toRadians(dec1[i]);
+			double d2 = Math.toRadians(dec2[i]);
+
+			double cosAngle = Math.sin(d1) * Math.sin(d2) +
+				Math.cos(d1) * Math.cos(d2) * Math.cos(Math.toRadians(ra1[i]) - Math.toRadians(ra2[i]));
+
+			result[i] = Math.toDegrees(Math.acos(Math.min(1.0, Math.max(-1.0, cosAngle))));
+		}
+	}
+}
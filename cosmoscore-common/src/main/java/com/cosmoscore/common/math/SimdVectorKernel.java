@@ -0,0 +1,122 @@
+package com.cosmoscore.common.math;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of the bulk kernels on the JDK Vector API ({@code jdk.incubator.vector}).
+ * Each kernel processes full vector lanes and finishes the tail with the scalar code.
+ * This class is only loaded when the incubator module is present in the boot layer.
+ */
+final class SimdVectorKernel implements VectorKernel {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	private static final double DEGREES_TO_RADIANS = Math.PI / 180.0;
+	private static final double RADIANS_TO_DEGREES = 180.0 / Math.PI;
+
+	/**
+	 * Returns whether the preferred species processes more than one lane at a time.
+	 */
+	static boolean isAccelerated() {
+		return SPECIES.length() > 1;
+	}
+
+	@Override
+	public void dot(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+		double[] result, int length) {
+		int i = 0;
+		for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			DoubleVector x = DoubleVector.fromArray(SPECIES, ax, i).mul(DoubleVector.fromArray(SPECIES, bx, i));
+			DoubleVector y = DoubleVector.fromArray(SPECIES, ay, i).mul(DoubleVector.fromArray(SPECIES, by, i));
+			DoubleVector z = DoubleVector.fromArray(SPECIES, az, i).mul(DoubleVector.fromArray(SPECIES, bz, i));
+			x.add(y).add(z).intoArray(result, i);
+		}
+		for (; i < length; i++) {
+			result[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+		}
+	}
+
+	@Override
+	public void cross(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+		double[] rx, double[] ry, double[] rz, int length) {
+		int i = 0;
+		for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			DoubleVector x1 = DoubleVector.fromArray(SPECIES, ax, i);
+			DoubleVector y1 = DoubleVector.fromArray(SPECIES, ay, i);
+			DoubleVector z1 = DoubleVector.fromArray(SPECIES, az, i);
+			DoubleVector x2 = DoubleVector.fromArray(SPECIES, bx, i);
+			DoubleVector y2 = DoubleVector.fromArray(SPECIES, by, i);
+			DoubleVector z2 = DoubleVector.fromArray(SPECIES, bz, i);
+
+			y1.mul(z2).sub(z1.mul(y2)).intoArray(rx, i);
+			z1.mul(x2).sub(x1.mul(z2)).intoArray(ry, i);
+			x1.mul(y2).sub(y1.mul(x2)).intoArray(rz, i);
+		}
+		for (; i < length; i++) {
+			double cx = ay[i] * bz[i] - az[i] * by[i];
+			double cy = az[i] * bx[i] - ax[i] * bz[i];
+			double cz = ax[i] * by[i] - ay[i] * bx[i];
+			rx[i] = cx;
+			ry[i] = cy;
+			rz[i] = cz;
+		}
+	}
+
+	@Override
+	public void magnitude(double[] x, double[] y, double[] z, double[] result, int length) {
+		int i = 0;
+		for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			lanesMagnitude(x, y, z, i).intoArray(result, i);
+		}
+		for (; i < length; i++) {
+			result[i] = Math.sqrt(x[i] * x[i] + y[i] * y[i] + z[i] * z[i]);
+		}
+	}
+
+	@Override
+	public void normalize(double[] x, double[] y, double[] z, int length) {
+		int i = 0;
+		for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			DoubleVector mag = lanesMagnitude(x, y, z, i);
+			if (mag.compare(VectorOperators.EQ, 0.0).anyTrue()) {
+				// Let the scalar path normalize up to the zero vector and report its index
+				ScalarVectorKernel.normalizeRange(x, y, z, i, i + SPECIES.length());
+			}
+			DoubleVector inv = DoubleVector.broadcast(SPECIES, 1.0).div(mag);
+			DoubleVector.fromArray(SPECIES, x, i).mul(inv).intoArray(x, i);
+			DoubleVector.fromArray(SPECIES, y, i).mul(inv).intoArray(y, i);
+			DoubleVector.fromArray(SPECIES, z, i).mul(inv).intoArray(z, i);
+		}
+		ScalarVectorKernel.normalizeRange(x, y, z, i, length);
+	}
+
+	@Override
+	public void angularSeparation(double[] ra1, double[] dec1, double[] ra2, double[] dec2,
+		double[] result, int length) {
+		int i = 0;
+		for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			DoubleVector d1 = DoubleVector.fromArray(SPECIES, dec1, i).mul(DEGREES_TO_RADIANS);
+			DoubleVector d2 = DoubleVector.fromArray(SPECIES, dec2, i).mul(DEGREES_TO_RADIANS);
+			DoubleVector dRa = DoubleVector.fromArray(SPECIES, ra1, i).mul(DEGREES_TO_RADIANS)
+				.sub(DoubleVector.fromArray(SPECIES, ra2, i).mul(DEGREES_TO_RADIANS));
+
+			DoubleVector cosAngle = d1.lanewise(VectorOperators.SIN).mul(d2.lanewise(VectorOperators.SIN))
+				.add(d1.lanewise(VectorOperators.COS).mul(d2.lanewise(VectorOperators.COS))
+					.mul(dRa.lanewise(VectorOperators.COS)));
+
+			cosAngle.max(-1.0).min(1.0)
+				.lanewise(VectorOperators.ACOS)
+				.mul(RADIANS_TO_DEGREES)
+				.intoArray(result, i);
+		}
+		ScalarVectorKernel.angularSeparationRange(ra1, dec1, ra2, dec2, result, i, length);
+	}
+
+	private static DoubleVector lanesMagnitude(double[] x, double[] y, double[] z, int i) {
+		DoubleVector vx = DoubleVector.fromArray(SPECIES, x, i);
+		DoubleVector vy = DoubleVector.fromArray(SPECIES, y, i);
+		DoubleVector vz = DoubleVector.fromArray(SPECIES, z, i);
+		return vx.mul(vx).add(vy.mul(vy)).add(vz.mul(vz)).lanewise(VectorOperators.SQRT);
+	}
+}
@@ -0,0 +1,238 @@
+package com.cosmoscore.common.math;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A fixed-size, mutable buffer of 3D vectors stored as parallel primitive arrays (struct of arrays).
+ * Bulk operations run element-wise in place, so hot loops never allocate a {@link Vector3D}.
+ * Dot, cross, magnitude and normalize run on {@link VectorKernels}.
+ * Conversion to and from {@link Vector3D} is only needed at the edges.
+ */
+public final class Vector3DBuffer {
+
+	private final double[] x;
+	private final double[] y;
+	private final double[] z;
+
+	/**
+	 * Creates a buffer of zero vectors.
+	 *
+	 * @param size number of vectors
+	 * @throws IllegalArgumentException if size is negative
+	 */
+	public Vector3DBuffer(int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("Buffer size cannot be negative");
+		}
+		this.x = new double[size];
+		this.y = new double[size];
+		this.z = new double[size];
+	}
+
+	/**
+	 * Creates a buffer holding the given vectors.
+	 *
+	 * @param vectors the vectors to copy
+	 * @return a new buffer
+	 */
+	public static Vector3DBuffer of(List<Vector3D> vectors) {
+		Objects.requireNonNull(vectors, "Vectors must not be null");
+		Vector3DBuffer buffer = new Vector3DBuffer(vectors.size());
+		for (int i = 0; i < vectors.size(); i++) {
+			buffer.set(i, vectors.get(i));
+		}
+		return buffer;
+	}
+
+	/**
+	 * Returns the number of vectors in this buffer
+	 */
+	public int size() {
+		return x.length;
+	}
+
+	/**
+	 * Returns the x component of the vector at the given index
+	 */
+	public double x(int index) {
+		return x[index];
+	}
+
+	/**
+	 * Returns the y component of the vector at the given index
+	 */
+	public double y(int index) {
+		return y[index];
+	}
+
+	/**
+	 * Returns the z component of the vector at the given index
+	 */
+	public double z(int index) {
+		return z[index];
+	}
+
+	/**
+	 * Returns the vector at the given index as a new {@link Vector3D}
+	 */
+	public Vector3D get(int index) {
+		return new Vector3D(x[index], y[index], z[index]);
+	}
+
+	/**
+	 * Stores a vector at the given index
+	 */
+	public void set(int index, Vector3D vector) {
+		set(index, vector.x(), vector.y(), vector.z());
+	}
+
+	/**
+	 * Stores the given components at the given index
+	 */
+	public void set(int index, double x, double y, double z) {
+		this.x[index] = x;
+		this.y[index] = y;
+		this.z[index] = z;
+	}
+
+	/**
+	 * Copies every vector of this buffer into a list of {@link Vector3D}
+	 */
+	public List<Vector3D> toList() {
+		Vector3D[] vectors = new Vector3D[size()];
+		for (int i = 0; i < vectors.length; i++) {
+			vectors[i] = get(i);
+		}
+		return List.of(vectors);
+	}
+
+	/**
+	 * Adds the vectors of another buffer to this buffer, element by element
+	 *
+	 * @return this buffer
+	 */
+	public Vector3DBuffer add(Vector3DBuffer other) {
+		checkSize(other);
+		for (int i = 0; i < x.length; i++) {
+			x[i] += other.x[i];
+			y[i] += other.y[i];
+			z[i] += other.z[i];
+		}
+		return this;
+	}
+
+	/**
+	 * Subtracts the vectors of another buffer from this buffer, element by element
+	 *
+	 * @return this buffer
+	 */
+	public Vector3DBuffer subtract(Vector3DBuffer other) {
+		checkSize(other);
+		for (int i = 0; i < x.length; i++) {
+			x[i] -= other.x[i];
+			y[i] -= other.y[i];
+			z[i] -= other.z[i];
+		}
+		return this;
+	}
+
+	/**
+	 * Multiplies every vector of this buffer by a scalar
+	 *
+	 * @return this buffer
+	 */
+	public Vector3DBuffer multiply(double scalar) {
+		for (int i = 0; i < x.length; i++) {
+			x[i] *= scalar;
+			y[i] *= scalar;
+			z[i] *= scalar;
+		}
+		return this;
+	}
+
+	/**
+	 * Adds the vectors of another buffer multiplied by a scalar to this buffer, element by element.
+	 * Typical use is advancing positions by velocities over a time step.
+	 *
+	 * @return this buffer
+	 */
+	public Vector3DBuffer addScaled(Vector3DBuffer other, double scalar) {
+		checkSize(other);
+		for (int i = 0; i < x.length; i++) {
+			x[i] += other.x[i] * scalar;
+			y[i] += other.y[i] * scalar;
+			z[i] += other.z[i] * scalar;
+		}
+		return this;
+	}
+
+	/**
+	 * Multiplies every vector of this buffer by a matrix, typically a rotation between frames.
+	 *
+	 * @return this buffer
+	 */
+	public Vector3DBuffer transform(Matrix3D matrix) {
+		Objects.requireNonNull(matrix, "Matrix must not be null");
+		matrix.apply(x, y, z, 0, x.length);
+		return this;
+	}
+
+	/**
+	 * Calculates the magnitude of every vector of this buffer
+	 *
+	 * @param result receives one magnitude per vector
+	 */
+	public void magnitude(double[] result) {
+		checkLength(result);
+		VectorKernels.magnitude(x, y, z, result);
+	}
+
+	/**
+	 * Normalizes every vector of this buffer to unit length
+	 *
+	 * @return this buffer
+	 * @throws IllegalStateException if a vector is zero; vectors before it are already normalized
+	 */
+	public Vector3DBuffer normalize() {
+		VectorKernels.normalize(x, y, z);
+		return this;
+	}
+
+	/**
+	 * Calculates the dot product of each vector with the vector at the same index in another buffer
+	 *
+	 * @param result receives one dot product per vector
+	 */
+	public void dot(Vector3DBuffer other, double[] result) {
+		checkSize(other);
+		checkLength(result);
+		VectorKernels.dot(x, y, z, other.x, other.y, other.z, result);
+	}
+
+	/**
+	 * Calculates the cross product of each vector with the vector at the same index in another buffer.
+	 * The result buffer may be this buffer or the other buffer.
+	 *
+	 * @param result receives one cross product per vector
+	 */
+	public void cross(Vector3DBuffer other, Vector3DBuffer result) {
+		checkSize(other);
+		checkSize(result);
+		VectorKernels.cross(x, y, z, other.x, other.y, other.z, result.x, result.y, result.z);
+	}
+
+	private void checkSize(Vector3DBuffer other) {
+		Objects.requireNonNull(other, "Buffer must not be null");
+		if (other.size() != size()) {
+			throw new IllegalArgumentException("Buffers must have the same size");
+		}
+	}
+
+	private void checkLength(double[] result) {
+		Objects.requireNonNull(result, "Result array must not be null");
+		if (result.length != size()) {
+			throw new IllegalArgumentException("Result array must have the same size as the buffer");
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.cosmoscore.common.math;
+
+/**
+ * Bulk kernels over struct-of-arrays vector and angle data.
+ * Implementations are selected at runtime by {@link VectorKernels}.
+ */
+interface VectorKernel {
+
+	void dot(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+		double[] result, int length);
+
+	void cross(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+		double[] rx, double[] ry, double[] rz, int length);
+
+	void magnitude(double[] x, double[] y, double[] z, double[] result, int length);
+
+	void normalize(double[] x, double[] y, double[] z, int length);
+
+	void angularSeparation(double[] ra1, double[] dec1, double[] ra2, double[] dec2,
+		double[] result, int length);
+}
@@ -0,0 +1,112 @@
+package com.cosmoscore.common.math;
+
+import java.util.Objects;
+
+/**
+ * Bulk vector and angle kernels over primitive arrays.
+ * When the {@code jdk.incubator.vector} module is available (run with
+ * {@code --add-modules jdk.incubator.vector}) the kernels use SIMD instructions;
+ * otherwise a scalar implementation is chosen at startup.
+ * Setting the system property {@code cosmoscore.simd} to {@code false} forces the scalar implementation.
+ */
+public final class VectorKernels {
+
+	private static final String SIMD_MODULE = "jdk.incubator.vector";
+	private static final String SIMD_KERNEL = "com.cosmoscore.common.math.SimdVectorKernel";
+
+	private static final VectorKernel KERNEL = select();
+
+	private VectorKernels() {
+	}
+
+	/**
+	 * Returns whether the SIMD implementation is in use
+	 */
+	public static boolean isSimdEnabled() {
+		return !(KERNEL instanceof ScalarVectorKernel);
+	}
+
+	/**
+	 * Calculates element-wise dot products of two sets of vectors held in parallel arrays
+	 *
+	 * @param result receives one dot product per index
+	 */
+	public static void dot(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+		double[] result) {
+		int length = checkLengths(result.length, ax, ay, az, bx, by, bz);
+		KERNEL.dot(ax, ay, az, bx, by, bz, result, length);
+	}
+
+	/**
+	 * Calculates element-wise cross products of two sets of vectors held in parallel arrays.
+	 * The result arrays may be the same arrays as either input.
+	 */
+	public static void cross(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+		double[] rx, double[] ry, double[] rz) {
+		int length = checkLengths(rx.length, ax, ay, az, bx, by, bz, ry, rz);
+		KERNEL.cross(ax, ay, az, bx, by, bz, rx, ry, rz, length);
+	}
+
+	/**
+	 * Calculates the magnitude of every vector held in parallel arrays
+	 *
+	 * @param result receives one magnitude per index
+	 */
+	public static void magnitude(double[] x, double[] y, double[] z, double[] result) {
+		int length = checkLengths(result.length, x, y, z);
+		KERNEL.magnitude(x, y, z, result, length);
+	}
+
+	/**
+	 * Normalizes every vector held in parallel arrays to unit length, in place
+	 *
+	 * @throws IllegalStateException if a vector is zero; vectors before it are already normalized
+	 */
+	public static void normalize(double[] x, double[] y, double[] z) {
+		int length = checkLengths(x.length, y, z);
+		KERNEL.normalize(x, y, z, length);
+	}
+
+	/**
+	 * Calculates element-wise angular separations between two sets of equatorial coordinates.
+	 * Uses the same great circle distance formula as
+	 * {@link com.cosmoscore.common.coordinate.EquatorialCoordinate#angularSeparation}.
+	 *
+	 * @param ra1 right ascensions of the first set in degrees
+	 * @param dec1 declinations of the first set in degrees
+	 * @param ra2 right ascensions of the second set in degrees
+	 * @param dec2 declinations of the second set in degrees
+	 * @param result receives angular separations in degrees
+	 */
+	public static void angularSeparation(double[] ra1, double[] dec1, double[] ra2, double[] dec2,
+		double[] result) {
+		int length = checkLengths(result.length, ra1, dec1, ra2, dec2);
+		KERNEL.angularSeparation(ra1, dec1, ra2, dec2, result, length);
+	}
+
+	private static int checkLengths(int length, double[]... arrays) {
+		for (double[] array : arrays) {
+			Objects.requireNonNull(array, "Arrays must not be null");
+			if (array.length != length) {
+				throw new IllegalArgumentException("Arrays must all have the same length");
+			}
+		}
+		return length;
+	}
+
+	private static VectorKernel select() {
+		if (!Boolean.parseBoolean(System.getProperty("cosmoscore.simd", "true"))
+			|| ModuleLayer.boot().findModule(SIMD_MODULE).isEmpty()) {
+			return new ScalarVectorKernel();
+		}
+		try {
+			Class<?> type = Class.forName(SIMD_KERNEL);
+			if ((boolean) type.getDeclaredMethod("isAccelerated").invoke(null)) {
+				return (VectorKernel) type.getDeclaredConstructor().newInstance();
+			}
+		} catch (ReflectiveOperationException | LinkageError e) {
+			// Fall back to the scalar kernels
+		}
+		return new ScalarVectorKernel();
+	}
+}
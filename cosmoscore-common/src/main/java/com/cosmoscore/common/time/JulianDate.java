@@ -1,30 +1,73 @@
 package com.cosmoscore.common.time;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.time.temporal.JulianFields;
 import java.util.Objects;
 
 /**
  * Represents a Julian Date, which is the number of days that have elapsed since
  * the beginning of the Julian Period (noon on January 1, 4713 BCE on the Julian calendar).
+ * <p>
+ * The date is held in two parts: the integer Julian Day Number and the fraction of the day
+ * elapsed since noon. A single {@code double} of about 2.45 million days resolves only ~40 µs,
+ * while the split form keeps the fraction at picosecond resolution, so arithmetic and differences
+ * stay well below a microsecond.
+ *
+ * @param day the Julian Day Number; each day begins at noon
+ * @param fraction the fraction of the day elapsed since noon (0 inclusive to 1 exclusive)
  */
-public record JulianDate(double value) {
+public record JulianDate(long day, double fraction) implements Comparable<JulianDate> {
 
 	/**
 	 * The Julian Date for the J2000 epoch (2000 January 1, 12:00 TT)
 	 */
-	public static final JulianDate J2000 = new JulianDate(2451545.0);
+	public static final JulianDate J2000 = new JulianDate(2451545L, 0.0);
 
 	/**
-	 * Constructor with validation
+	 * The Julian Day Number of the Unix epoch (1970 January 1, 00:00 UTC falls half-way through it)
+	 */
+	private static final long UNIX_EPOCH_DAY = 2440587L;
+
+	private static final long SECONDS_PER_DAY = 86400L;
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+	private static final long NANOS_PER_DAY = SECONDS_PER_DAY * NANOS_PER_SECOND;
+	private static final long NANOS_PER_MILLI = 1_000_000L;
+	private static final long MILLIS_PER_DAY = SECONDS_PER_DAY * 1000L;
+	private static final double DAYS_PER_JULIAN_CENTURY = 36525.0;
+
+	/**
+	 * Constructor with validation. A fraction outside [0, 1) is carried into the day number.
 	 */
 	public JulianDate {
-		if (value < 0) {
+		if (!Double.isFinite(fraction)) {
+			throw new IllegalArgumentException("Day fraction must be finite");
+		}
+		if (fraction < 0.0 || fraction >= 1.0) {
+			double carry = Math.floor(fraction);
+			day += (long) carry;
+			fraction -= carry;
+			if (fraction >= 1.0) {
+				day++;
+				fraction = 0.0;
+			}
+		}
+		// Adding zero turns a negative zero into positive zero so equal dates compare equal
+		fraction += 0.0;
+		if (day < 0) {
 			throw new IllegalArgumentException("Julian Date cannot be negative");
 		}
 	}
 
+	/**
+	 * Creates a JulianDate from a single Julian Date value
+	 *
+	 * @param value Julian Date in days
+	 */
+	public JulianDate(double value) {
+		this((long) Math.floor(value), value - Math.floor(value));
+	}
+
 	/**
 	 * Creates a JulianDate from a LocalDateTime
 	 *
@@ -35,48 +78,110 @@ public record JulianDate(double value) {
 	public static JulianDate fromLocalDateTime(LocalDateTime dateTime) {
 		Objects.requireNonNull(dateTime, "LocalDateTime must not be null");
 
-		long julianDay = dateTime.getLong(JulianFields.JULIAN_DAY);
+		return ofEpochDay(dateTime.toLocalDate().toEpochDay(), dateTime.toLocalTime().toNanoOfDay());
+	}
 
-		double fractionalDay = (dateTime.getHour() - 12 +
-			dateTime.getMinute() / 60.0 +
-			dateTime.getSecond() / 3600.0 +
-			dateTime.getNano() / 3600e9) / 24.0;
+	/**
+	 * Creates a JulianDate from milliseconds since the Unix epoch (UTC)
+	 *
+	 * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+	 * @return the corresponding JulianDate
+	 */
+	public static JulianDate fromEpochMillis(long epochMillis) {
+		long days = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+		long millisOfDay = Math.floorMod(epochMillis, MILLIS_PER_DAY);
+		return ofEpochDay(days, millisOfDay * NANOS_PER_MILLI);
+	}
 
-		return new JulianDate(julianDay + fractionalDay);
+	/**
+	 * Creates a JulianDate from nanoseconds since the Unix epoch (UTC)
+	 *
+	 * @param epochNanos nanoseconds since 1970-01-01T00:00:00Z
+	 * @return the corresponding JulianDate
+	 */
+	public static JulianDate fromEpochNanos(long epochNanos) {
+		long days = Math.floorDiv(epochNanos, NANOS_PER_DAY);
+		long nanosOfDay = Math.floorMod(epochNanos, NANOS_PER_DAY);
+		return ofEpochDay(days, nanosOfDay);
 	}
 
 	/**
-	 * Converts this JulianDate to a LocalDateTime
+	 * Creates a JulianDate from an Instant
 	 *
-	 * @return the corresponding LocalDateTime
+	 * @param instant the Instant to convert
+	 * @return the corresponding JulianDate
+	 * @throws NullPointerException if instant is null
 	 */
-	public LocalDateTime toLocalDateTime() {
-		long jdn = (long) value;
+	public static JulianDate fromInstant(Instant instant) {
+		Objects.requireNonNull(instant, "Instant must not be null");
 
-		double fractionalDay = value - jdn;
+		long days = Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_DAY);
+		long secondOfDay = Math.floorMod(instant.getEpochSecond(), SECONDS_PER_DAY);
+		return ofEpochDay(days, secondOfDay * NANOS_PER_SECOND + instant.getNano());
+	}
 
-		double hours = (fractionalDay * 24.0) + 12.0;
+	/**
+	 * Builds a JulianDate from whole days since the Unix epoch and nanoseconds since that midnight.
+	 */
+	private static JulianDate ofEpochDay(long epochDay, long nanosOfDay) {
+		long nanosSinceNoon = nanosOfDay + NANOS_PER_DAY / 2;
+		long julianDay = UNIX_EPOCH_DAY + epochDay;
+		if (nanosSinceNoon >= NANOS_PER_DAY) {
+			nanosSinceNoon -= NANOS_PER_DAY;
+			julianDay++;
+		}
+		return new JulianDate(julianDay, nanosSinceNoon / (double) NANOS_PER_DAY);
+	}
 
-		int hour = (int) hours;
-		double fractionalHour = hours - hour;
+	/**
+	 * Returns this Julian Date as a single value in days.
+	 * Note that a single {@code double} resolves only about 40 µs at current epochs.
+	 *
+	 * @return Julian Date in days
+	 */
+	public double value() {
+		return day + fraction;
+	}
+
+	/**
+	 * Converts this JulianDate to a LocalDateTime (UTC), rounded to the nearest nanosecond
+	 *
+	 * @return the corresponding LocalDateTime
+	 */
+	public LocalDateTime toLocalDateTime() {
+		long nanosFromMidnight = nanosSinceNoon() - NANOS_PER_DAY / 2;
+		long epochSecond = (day - UNIX_EPOCH_DAY) * SECONDS_PER_DAY + Math.floorDiv(nanosFromMidnight, NANOS_PER_SECOND);
+		int nano = (int) Math.floorMod(nanosFromMidnight, NANOS_PER_SECOND);
 
-		int minute = (int) (fractionalHour * 60);
-		double fractionalMinute = (fractionalHour * 60) - minute;
+		return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+	}
 
-		int second = (int) (fractionalMinute * 60);
-		int nano = (int) ((fractionalMinute * 60 - second) * 1e9);
+	/**
+	 * Converts this JulianDate to an Instant, rounded to the nearest nanosecond
+	 *
+	 * @return the corresponding Instant
+	 */
+	public Instant toInstant() {
+		long nanosFromMidnight = nanosSinceNoon() - NANOS_PER_DAY / 2;
+		return Instant.ofEpochSecond((day - UNIX_EPOCH_DAY) * SECONDS_PER_DAY, nanosFromMidnight);
+	}
 
-		LocalDateTime dateTime = LocalDateTime.ofEpochSecond(
-			(jdn - 2440588) * 86400,
-			0,
-			ZoneOffset.UTC
-		);
+	/**
+	 * Converts this JulianDate to nanoseconds since the Unix epoch (UTC), rounded to the nearest nanosecond
+	 *
+	 * @return nanoseconds since 1970-01-01T00:00:00Z
+	 * @throws ArithmeticException if the result does not fit in a long (outside years 1677 to 2262)
+	 */
+	public long toEpochNanos() {
+		long nanosFromMidnight = nanosSinceNoon() - NANOS_PER_DAY / 2;
+		return Math.addExact(Math.multiplyExact(day - UNIX_EPOCH_DAY, NANOS_PER_DAY), nanosFromMidnight);
+	}
 
-		return dateTime
-			.withHour(hour)
-			.withMinute(minute)
-			.withSecond(second)
-			.withNano(nano);
+	/**
+	 * Returns the nanoseconds elapsed since this day's noon (0 to one full day inclusive, due to rounding)
+	 */
+	private long nanosSinceNoon() {
+		return Math.round(fraction * NANOS_PER_DAY);
 	}
 
 	/**
@@ -85,7 +190,26 @@ public record JulianDate(double value) {
 	 * @return number of Julian centuries since J2000.0
 	 */
 	public double julianCenturies() {
-		return (value - J2000.value()) / 36525.0;
+		return daysSinceJ2000() / DAYS_PER_JULIAN_CENTURY;
+	}
+
+	/**
+	 * Calculate days since J2000.0 without losing the precision of the day fraction
+	 *
+	 * @return number of days since J2000.0
+	 */
+	public double daysSinceJ2000() {
+		return J2000.daysUntil(this);
+	}
+
+	/**
+	 * Returns the number of days from this JulianDate to another, negative if the other is earlier
+	 *
+	 * @param other the other JulianDate
+	 * @return difference in days
+	 */
+	public double daysUntil(JulianDate other) {
+		return (other.day - day) + (other.fraction - fraction);
 	}
 
 	/**
@@ -95,7 +219,8 @@ public record JulianDate(double value) {
 	 * @return new JulianDate
 	 */
 	public JulianDate plusDays(double days) {
-		return new JulianDate(value + days);
+		double wholeDays = Math.floor(days);
+		return new JulianDate(day + (long) wholeDays, fraction + (days - wholeDays));
 	}
 
 	/**
@@ -105,6 +230,53 @@ public record JulianDate(double value) {
 	 * @return new JulianDate
 	 */
 	public JulianDate minusDays(double days) {
-		return new JulianDate(value - days);
+		return plusDays(-days);
+	}
+
+	/**
+	 * Returns a new JulianDate that is a specified number of seconds after this one
+	 *
+	 * @param seconds number of seconds to add
+	 * @return new JulianDate
+	 */
+	public JulianDate plusSeconds(double seconds) {
+		double wholeDays = Math.floor(seconds / SECONDS_PER_DAY);
+		double remainder = seconds - wholeDays * SECONDS_PER_DAY;
+		return new JulianDate(day + (long) wholeDays, fraction + remainder / SECONDS_PER_DAY);
+	}
+
+	/**
+	 * Returns a new JulianDate that is a specified number of nanoseconds after this one
+	 *
+	 * @param nanos number of nanoseconds to add
+	 * @return new JulianDate
+	 */
+	public JulianDate plusNanos(long nanos) {
+		long wholeDays = Math.floorDiv(nanos, NANOS_PER_DAY);
+		long remainder = Math.floorMod(nanos, NANOS_PER_DAY);
+		return new JulianDate(day + wholeDays, fraction + remainder / (double) NANOS_PER_DAY);
+	}
+
+	/**
+	 * Compares two Julian Dates chronologically
+	 */
+	@Override
+	public int compareTo(JulianDate other) {
+		int result = Long.compare(day, other.day);
+		return result != 0 ? result : Double.compare(fraction, other.fraction);
+	}
+
+	/**
+	 * Returns whether this JulianDate is earlier than another
+	 */
+	public boolean isBefore(JulianDate other) {
+		return compareTo(other) < 0;
+	}
+
+	/**
+	 * Returns whether this JulianDate is later than another
+	 */
+	public boolean isAfter(JulianDate other) {
+		return compareTo(other) > 0;
 	}
 }
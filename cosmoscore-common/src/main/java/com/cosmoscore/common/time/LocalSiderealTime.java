@@ -20,7 +20,7 @@ public class LocalSiderealTime {
 		double T = jd.julianCenturies();
 
 		double theta = 280.46061837 +
-			360.98564736629 * (jd.value() - 2451545.0) +
+			360.98564736629 * jd.daysSinceJ2000() +
 			0.000387933 * T * T -
 			T * T * T / 38710000.0;
 
@@ -40,7 +40,18 @@ public class LocalSiderealTime {
 	 * @return Local Sidereal Time in hours
 	 */
 	public static double calculate(JulianDate jd, double longitude) {
-		double gst = calculateGST(jd);
+		return fromGreenwich(calculateGST(jd), longitude);
+	}
+
+	/**
+	 * Calculates Local Sidereal Time from an already known Greenwich Sidereal Time.
+	 * Lets many observers share one GST evaluation per instant.
+	 *
+	 * @param gst Greenwich Sidereal Time in hours
+	 * @param longitude observer's longitude in degrees (positive east)
+	 * @return Local Sidereal Time in hours
+	 */
+	public static double fromGreenwich(double gst, double longitude) {
 		double lst = gst + (longitude * DEGREES_TO_HOURS);
 
 		lst = lst % 24.0;
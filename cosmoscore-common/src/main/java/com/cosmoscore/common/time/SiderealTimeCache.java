@@ -0,0 +1,69 @@
+package com.cosmoscore.common.time;
+
+/**
+ * A small, bounded memo of Greenwich Sidereal Time per instant.
+ * Thousands of conversions that share an instant pay for one GST evaluation.
+ * <p>
+ * The cache is direct-mapped: each instant hashes to one slot and a newer instant simply replaces
+ * the older one. Slots hold immutable entries, so the cache is safe to share between threads
+ * without locking; a racing thread at worst recomputes a value.
+ */
+public final class SiderealTimeCache {
+
+	private final Entry[] entries;
+	private final int mask;
+
+	/**
+	 * Creates a cache with at least the given number of slots, rounded up to a power of two
+	 *
+	 * @param capacity number of slots
+	 * @throws IllegalArgumentException if capacity is not positive or larger than 2^30
+	 */
+	public SiderealTimeCache(int capacity) {
+		if (capacity <= 0 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("Cache capacity must be between 1 and 2^30");
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.entries = new Entry[size];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Returns the Greenwich Sidereal Time for a given Julian Date, computing it on a miss.
+	 *
+	 * @param jd Julian Date
+	 * @return Greenwich Sidereal Time in hours
+	 * @see LocalSiderealTime#calculateGST(JulianDate)
+	 */
+	public double greenwichSiderealTime(JulianDate jd) {
+		int hash = jd.hashCode();
+		int slot = (hash ^ (hash >>> 16)) & mask;
+
+		Entry entry = entries[slot];
+		if (entry != null && entry.date().equals(jd)) {
+			return entry.gst();
+		}
+
+		double gst = LocalSiderealTime.calculateGST(jd);
+		entries[slot] = new Entry(jd, gst);
+		return gst;
+	}
+
+	/**
+	 * Returns the Local Sidereal Time for a given Julian Date and longitude,
+	 * sharing the cached Greenwich Sidereal Time.
+	 *
+	 * @param jd Julian Date
+	 * @param longitude observer's longitude in degrees (positive east)
+	 * @return Local Sidereal Time in hours
+	 */
+	public double localSiderealTime(JulianDate jd, double longitude) {
+		return LocalSiderealTime.fromGreenwich(greenwichSiderealTime(jd), longitude);
+	}
+
+	private record Entry(JulianDate date, double gst) {
+	}
+}
@@ -0,0 +1,128 @@
+package com.cosmoscore.common.time;
+
+import java.util.Objects;
+
+/**
+ * Greenwich Sidereal Time precomputed on a uniform grid over a time span.
+ * Sweeps read the grid nodes directly by index; instants between nodes are linearly interpolated.
+ * <p>
+ * Sidereal time advances at an almost constant rate (its second derivative is below 1e-12
+ * degrees per day squared), so interpolation between nodes even a day apart adds no
+ * meaningful error compared with {@link LocalSiderealTime#calculateGST(JulianDate)}.
+ */
+public final class SiderealTimeTable {
+
+	/**
+	 * Mean rate of Greenwich Sidereal Time in hours per day
+	 */
+	private static final double HOURS_PER_DAY = 360.98564736629 / 15.0;
+
+	private final JulianDate start;
+	private final double stepDays;
+	private final double[] gst;
+
+	private SiderealTimeTable(JulianDate start, double stepDays, double[] gst) {
+		this.start = start;
+		this.stepDays = stepDays;
+		this.gst = gst;
+	}
+
+	/**
+	 * Precomputes Greenwich Sidereal Time from start to end (inclusive) at a fixed step
+	 *
+	 * @param start first instant of the table
+	 * @param end last instant of the table; the table extends to the first node at or after it
+	 * @param stepDays spacing between nodes in days
+	 * @return the precomputed table
+	 * @throws IllegalArgumentException if the step is not positive or end is before start
+	 */
+	public static SiderealTimeTable over(JulianDate start, JulianDate end, double stepDays) {
+		Objects.requireNonNull(start, "Start must not be null");
+		Objects.requireNonNull(end, "End must not be null");
+		if (!(stepDays > 0)) {
+			throw new IllegalArgumentException("Step must be positive");
+		}
+		double span = start.daysUntil(end);
+		if (span < 0) {
+			throw new IllegalArgumentException("End must not be before start");
+		}
+
+		int count = Math.toIntExact((long) Math.ceil(span / stepDays) + 1);
+		double[] gst = new double[count];
+		for (int i = 0; i < count; i++) {
+			gst[i] = LocalSiderealTime.calculateGST(start.plusDays(i * stepDays));
+		}
+		return new SiderealTimeTable(start, stepDays, gst);
+	}
+
+	/**
+	 * Returns the number of grid nodes
+	 */
+	public int size() {
+		return gst.length;
+	}
+
+	/**
+	 * Returns the instant of the grid node at the given index
+	 */
+	public JulianDate dateAt(int index) {
+		Objects.checkIndex(index, gst.length);
+		return start.plusDays(index * stepDays);
+	}
+
+	/**
+	 * Returns the Greenwich Sidereal Time at the grid node with the given index
+	 *
+	 * @return Greenwich Sidereal Time in hours
+	 */
+	public double greenwichSiderealTime(int index) {
+		return gst[index];
+	}
+
+	/**
+	 * Returns the Local Sidereal Time at the grid node with the given index
+	 *
+	 * @param longitude observer's longitude in degrees (positive east)
+	 * @return Local Sidereal Time in hours
+	 */
+	public double localSiderealTime(int index, double longitude) {
+		return LocalSiderealTime.fromGreenwich(gst[index], longitude);
+	}
+
+	/**
+	 * Returns the Greenwich Sidereal Time at any instant covered by the table
+	 *
+	 * @param jd Julian Date between the first and the last node
+	 * @return Greenwich Sidereal Time in hours
+	 * @throws IllegalArgumentException if the instant is outside the table
+	 */
+	public double greenwichSiderealTime(JulianDate jd) {
+		double position = start.daysUntil(jd) / stepDays;
+		if (position < 0 || position > gst.length - 1) {
+			throw new IllegalArgumentException("Julian Date is outside the sidereal time table");
+		}
+
+		int index = Math.min((int) position, gst.length - 2);
+		if (index < 0) {
+			return gst[0];
+		}
+		double expected = HOURS_PER_DAY * stepDays;
+		double increment = gst[index + 1] - gst[index] - expected;
+		increment -= 24.0 * Math.rint(increment / 24.0);
+
+		double value = (gst[index] + (increment + expected) * (position - index)) % 24.0;
+		return value < 0 ? value + 24.0 : value;
+	}
+
+	/**
+	 * Returns the Local Sidereal Time at any instant covered by the table
+	 *
+	 * @param jd Julian Date between the first and the last node
+	 * @param longitude observer's longitude in degrees (positive east)
+	 * @return Local Sidereal Time in hours
+	 * @throws IllegalArgumentException if the instant is outside the table
+	 */
+	public double localSiderealTime(JulianDate jd, double longitude) {
+		return LocalSiderealTime.fromGreenwich(greenwichSiderealTime(jd), longitude);
+	}
+}
@@ -0,0 +1,78 @@
+package com.cosmoscore.common.coordinate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HorizontalTransform class")
+class HorizontalTransformTest {
+
+	private static final Observer SEOUL = new Observer(37.5665, 126.9780);
+	private static final LocalDateTime OBSERVATION_TIME = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+	@Nested
+	@DisplayName("batch conversion")
+	class BatchConversion {
+		@Test
+		@DisplayName("matches the scalar conversion for every coordinate")
+		void matchesScalarPath() {
+			double[] rightAscension = {37.95, 180.0, 0.0, 279.23, 101.29, 359.9};
+			double[] declination = {89.26, 0.0, -45.0, 38.78, -16.72, 10.0};
+			double[] azimuth = new double[rightAscension.length];
+			double[] altitude = new double[rightAscension.length];
+
+			HorizontalTransform.toHorizontal(SEOUL, OBSERVATION_TIME, rightAscension, declination, azimuth, altitude);
+
+			for (int i = 0; i < rightAscension.length; i++) {
+				HorizontalCoordinate expected = SEOUL.toHorizontal(
+					new EquatorialCoordinate(rightAscension[i], declination[i]), OBSERVATION_TIME);
+
+				assertThat(azimuth[i]).isEqualTo(expected.azimuth());
+				assertThat(altitude[i]).isEqualTo(expected.altitude());
+			}
+		}
+
+		@Test
+		@DisplayName("converts only the requested range")
+		void convertsRange() {
+			double[] rightAscension = {10.0, 20.0, 30.0, 40.0};
+			double[] declination = {5.0, 15.0, 25.0, 35.0};
+			double[] azimuth = {-1.0, -1.0, -1.0, -1.0};
+			double[] altitude = {-1.0, -1.0, -1.0, -1.0};
+
+			HorizontalTransform.toHorizontal(SEOUL, OBSERVATION_TIME, rightAscension, declination, azimuth, altitude, 1, 2);
+
+			HorizontalCoordinate expected = SEOUL.toHorizontal(new EquatorialCoordinate(30.0, 25.0), OBSERVATION_TIME);
+			assertThat(azimuth[0]).isEqualTo(-1.0);
+			assertThat(azimuth[2]).isEqualTo(expected.azimuth());
+			assertThat(altitude[2]).isEqualTo(expected.altitude());
+			assertThat(altitude[3]).isEqualTo(-1.0);
+		}
+	}
+
+	@Nested
+	@DisplayName("validation")
+	class Validation {
+		@Test
+		@DisplayName("rejects arrays of different lengths")
+		void rejectsMismatchedArrays() {
+			assertThatThrownBy(() -> HorizontalTransform.toHorizontal(SEOUL, OBSERVATION_TIME,
+				new double[2], new double[2], new double[1], new double[2]))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Coordinate arrays must all have the same length");
+		}
+
+		@Test
+		@DisplayName("rejects a range outside the arrays")
+		void rejectsRangeOutsideArrays() {
+			assertThatThrownBy(() -> HorizontalTransform.toHorizontal(SEOUL, OBSERVATION_TIME,
+				new double[2], new double[2], new double[2], new double[2], 1, 2))
+				.isInstanceOf(IndexOutOfBoundsException.class);
+		}
+	}
+}
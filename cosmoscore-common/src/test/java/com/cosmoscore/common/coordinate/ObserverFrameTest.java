@@ -0,0 +1,88 @@
+package com.cosmoscore.common.coordinate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("ObserverFrame class")
+class ObserverFrameTest {
+
+	private static final Observer SEOUL = new Observer(37.5665, 126.9780);
+
+	@Nested
+	@DisplayName("conversion")
+	class Conversion {
+		@Test
+		@DisplayName("converts Venus as seen from Washington (Meeus, example 13.b)")
+		void convertVenus() {
+			Observer washington = new Observer(38.921389, -77.065556);
+			double gst = 8.0 + 34.0 / 60.0 + 56.853 / 3600.0;
+			EquatorialCoordinate venus = new EquatorialCoordinate(347.3193375, -6.719892);
+			ObserverFrame frame = washington.frame();
+
+			HorizontalCoordinate horizontal = frame.toHorizontal(venus, frame.localSiderealTime(gst));
+
+			assertThat(horizontal.altitude()).isCloseTo(15.1249, offset(1e-3));
+			assertThat(horizontal.azimuth()).isCloseTo(68.0337 + 180.0, offset(1e-3));
+		}
+
+		@Test
+		@DisplayName("matches Observer and its allocation-free forms")
+		void matchesObserver() {
+			ObserverFrame frame = SEOUL.frame();
+			LocalDateTime observationTime = LocalDateTime.of(2025, 1, 1, 12, 0);
+			double lst = frame.localSiderealTime(JulianDate.fromLocalDateTime(observationTime));
+			Random random = new Random(42);
+			double[] rightAscension = new double[16];
+			double[] declination = new double[16];
+			for (int i = 0; i < rightAscension.length; i++) {
+				rightAscension[i] = random.nextDouble() * 360.0;
+				declination[i] = random.nextDouble() * 180.0 - 90.0;
+			}
+			double[] azimuth = new double[16];
+			double[] altitude = new double[16];
+
+			frame.toHorizontal(lst, rightAscension, declination, azimuth, altitude, 0, rightAscension.length);
+
+			for (int i = 0; i < rightAscension.length; i++) {
+				HorizontalCoordinate expected = SEOUL.toHorizontal(
+					new EquatorialCoordinate(rightAscension[i], declination[i]), observationTime);
+				assertThat(azimuth[i]).isEqualTo(expected.azimuth());
+				assertThat(altitude[i]).isEqualTo(expected.altitude());
+				assertThat(frame.altitude(rightAscension[i], declination[i], lst)).isEqualTo(expected.altitude());
+				assertThat(frame.azimuth(rightAscension[i], declination[i], lst)).isEqualTo(expected.azimuth());
+			}
+		}
+
+		@Test
+		@DisplayName("round-trips between equatorial and horizontal coordinates")
+		void roundTrip() {
+			ObserverFrame frame = SEOUL.frame();
+			EquatorialCoordinate vega = new EquatorialCoordinate(279.2347, 38.7837);
+
+			EquatorialCoordinate converted = frame.toEquatorial(frame.toHorizontal(vega, 5.25), 5.25);
+
+			assertThat(converted.rightAscension()).isCloseTo(vega.rightAscension(), offset(1e-9));
+			assertThat(converted.declination()).isCloseTo(vega.declination(), offset(1e-9));
+		}
+
+		@Test
+		@DisplayName("converts for an observer at the pole")
+		void convertAtPole() {
+			ObserverFrame frame = new Observer(90.0, 0.0).frame();
+
+			HorizontalCoordinate horizontal = frame.toHorizontal(new EquatorialCoordinate(10.0, 30.0), 2.0);
+
+			assertThat(horizontal.altitude()).isCloseTo(30.0, offset(1e-9));
+			assertThat(Double.isNaN(horizontal.azimuth())).isFalse();
+		}
+	}
+}
@@ -13,6 +13,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.common.time.SiderealTimeCache;
+
 @DisplayName("Observer class")
 class ObserverTest {
 
@@ -106,5 +109,20 @@ class ObserverTest {
 			assertThat(reconverted.azimuth()).isCloseTo(horizontal.azimuth(), offset(0.01));
 			assertThat(reconverted.altitude()).isCloseTo(horizontal.altitude(), offset(0.01));
 		}
+
+		@Test
+		@DisplayName("converts at a precomputed local sidereal time")
+		void convertAtSiderealTime() {
+			Observer observer = new Observer(37.5665, 126.9780);
+			LocalDateTime observationTime = LocalDateTime.of(2025, 1, 1, 12, 0);
+			SiderealTimeCache cache = new SiderealTimeCache(16);
+			double lst = cache.localSiderealTime(JulianDate.fromLocalDateTime(observationTime), observer.longitude());
+			EquatorialCoordinate vega = new EquatorialCoordinate(279.2347, 38.7837);
+			HorizontalCoordinate horizontal = new HorizontalCoordinate(180.0, 45.0);
+
+			assertThat(observer.toHorizontal(vega, lst)).isEqualTo(observer.toHorizontal(vega, observationTime));
+			assertThat(observer.toEquatorial(horizontal, lst))
+				.isEqualTo(observer.toEquatorial(horizontal, observationTime));
+		}
 	}
 }
\ No newline at end of file
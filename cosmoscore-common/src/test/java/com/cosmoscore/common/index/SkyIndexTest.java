@@ -0,0 +1,222 @@
+package com.cosmoscore.common.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+
+@DisplayName("SkyIndex class")
+class SkyIndexTest {
+
+	private static final double EDGE = 1e-9;
+
+	private static double[][] randomSky(long seed, int size) {
+		Random random = new Random(seed);
+		double[] ra = new double[size];
+		double[] dec = new double[size];
+		for (int i = 0; i < size; i++) {
+			ra[i] = random.nextDouble() * 360.0;
+			// Uniform on the sphere
+			dec[i] = Math.toDegrees(Math.asin(random.nextDouble() * 2.0 - 1.0));
+		}
+		return new double[][] {ra, dec};
+	}
+
+	private static double separation(double ra1, double dec1, double ra2, double dec2) {
+		return new EquatorialCoordinate(ra1, dec1).angularSeparation(new EquatorialCoordinate(ra2, dec2));
+	}
+
+	/**
+	 * Checks a result against brute force, ignoring positions within rounding distance of the cone's edge.
+	 */
+	private static void assertMatchesBruteForce(double[][] sky, double ra, double dec, double radius, int[] found) {
+		Set<Integer> result = new HashSet<>();
+		for (int id : found) {
+			assertThat(result.add(id)).isTrue();
+			assertThat(separation(ra, dec, sky[0][id], sky[1][id])).isLessThanOrEqualTo(radius + EDGE);
+		}
+		for (int i = 0; i < sky[0].length; i++) {
+			if (separation(ra, dec, sky[0][i], sky[1][i]) < radius - EDGE) {
+				assertThat(result.contains(i)).isTrue();
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("cone search")
+	class ConeSearch {
+		@Test
+		@DisplayName("finds the same positions as a brute-force scan")
+		void matchesBruteForce() {
+			double[][] sky = randomSky(1L, 20_000);
+			SkyIndex index = SkyIndex.build(sky[0], sky[1], 0.5);
+			Random random = new Random(2L);
+
+			for (int query = 0; query < 200; query++) {
+				double ra = random.nextDouble() * 360.0;
+				double dec = Math.toDegrees(Math.asin(random.nextDouble() * 2.0 - 1.0));
+				double radius = random.nextDouble() * 5.0;
+
+				assertMatchesBruteForce(sky, ra, dec, radius, index.coneSearch(ra, dec, radius));
+			}
+		}
+
+		@Test
+		@DisplayName("wraps across 0h right ascension and over the poles")
+		void wrapsAndPoles() {
+			double[][] sky = randomSky(3L, 20_000);
+			SkyIndex index = SkyIndex.build(sky[0], sky[1]);
+
+			assertMatchesBruteForce(sky, 359.5, 10.0, 2.0, index.coneSearch(359.5, 10.0, 2.0));
+			assertMatchesBruteForce(sky, 0.2, -30.0, 3.0, index.coneSearch(0.2, -30.0, 3.0));
+			assertMatchesBruteForce(sky, 45.0, 89.0, 3.0, index.coneSearch(45.0, 89.0, 3.0));
+			assertMatchesBruteForce(sky, 200.0, -90.0, 1.5, index.coneSearch(200.0, -90.0, 1.5));
+			assertThat(index.coneSearch(10.0, 0.0, 180.0)).hasSize(20_000);
+		}
+
+		@Test
+		@DisplayName("reports original indices")
+		void reportsOriginalIndices() {
+			double[] ra = {10.0, 200.0, 10.5, 300.0};
+			double[] dec = {20.0, -45.0, 20.0, 60.0};
+			SkyIndex index = SkyIndex.build(ra, dec);
+
+			assertThat(index.size()).isEqualTo(4);
+			assertThat(index.coneSearch(10.2, 20.0, 1.0)).containsExactly(0, 2);
+			assertThat(index.coneSearch(300.0, 60.0, 0.1)).containsExactly(3);
+			assertThat(index.coneSearch(100.0, 0.0, 1.0)).isEmpty();
+		}
+
+		@Test
+		@DisplayName("handles an empty index")
+		void emptyIndex() {
+			SkyIndex index = SkyIndex.build(new double[0], new double[0]);
+
+			assertThat(index.coneSearch(0.0, 0.0, 10.0)).isEmpty();
+			assertThat(index.nearest(0.0, 0.0, 3)).isEmpty();
+		}
+	}
+
+	@Nested
+	@DisplayName("nearest neighbours")
+	class Nearest {
+		@Test
+		@DisplayName("returns the k closest positions in order")
+		void closestInOrder() {
+			double[][] sky = randomSky(4L, 5_000);
+			SkyIndex index = SkyIndex.build(sky[0], sky[1]);
+			double ra = 123.4;
+			double dec = -56.7;
+
+			int[] nearest = index.nearest(ra, dec, 10);
+
+			double[] distances = new double[sky[0].length];
+			for (int i = 0; i < distances.length; i++) {
+				distances[i] = separation(ra, dec, sky[0][i], sky[1][i]);
+			}
+			double[] sorted = distances.clone();
+			Arrays.sort(sorted);
+
+			assertThat(nearest).hasSize(10);
+			for (int i = 0; i < nearest.length; i++) {
+				assertThat(distances[nearest[i]]).isEqualTo(sorted[i], withPrecision(EDGE));
+			}
+		}
+
+		@Test
+		@DisplayName("returns every position when k exceeds the index size")
+		void clampsToSize() {
+			SkyIndex index = SkyIndex.build(new double[] {0.0, 180.0}, new double[] {0.0, 0.0});
+
+			assertThat(index.nearest(1.0, 0.0, 5)).containsExactly(0, 1);
+		}
+	}
+
+	@Nested
+	@DisplayName("cross-match")
+	class CrossMatch {
+		@Test
+		@DisplayName("finds every pair within the radius with its separation")
+		void matchesBruteForce() {
+			double[][] first = randomSky(5L, 2_000);
+			double[][] second = randomSky(6L, 2_000);
+			double radius = 2.0;
+			SkyIndex index = SkyIndex.build(first[0], first[1]);
+			SkyIndex other = SkyIndex.build(second[0], second[1]);
+
+			List<double[]> pairs = new ArrayList<>();
+			index.crossMatch(other, radius, (i, j, separation) -> pairs.add(new double[] {i, j, separation}));
+
+			int expected = 0;
+			for (int i = 0; i < first[0].length; i++) {
+				for (int j = 0; j < second[0].length; j++) {
+					if (separation(first[0][i], first[1][i], second[0][j], second[1][j]) <= radius) {
+						expected++;
+					}
+				}
+			}
+			assertThat(pairs.size()).isEqualTo(expected);
+			for (double[] pair : pairs) {
+				int i = (int) pair[0];
+				int j = (int) pair[1];
+				assertThat(pair[2]).isEqualTo(separation(first[0][i], first[1][i], second[0][j], second[1][j]),
+					withPrecision(1e-9));
+			}
+		}
+
+		@Test
+		@DisplayName("finds the same pairs in parallel, including across zone edges")
+		void parallelMatchesSequential() {
+			double[][] first = randomSky(7L, 30_000);
+			double[][] second = randomSky(8L, 30_000);
+			double radius = 0.3;
+			SkyIndex index = SkyIndex.build(first[0], first[1], 0.1);
+			SkyIndex other = SkyIndex.build(second[0], second[1], 0.1);
+
+			Set<Long> sequential = new HashSet<>();
+			index.crossMatch(other, radius, (i, j, separation) -> sequential.add((long) i << 32 | j));
+			Set<Long> parallel = ConcurrentHashMap.newKeySet();
+			AtomicInteger calls = new AtomicInteger();
+			index.parallelCrossMatch(other, radius, (i, j, separation) -> {
+				calls.incrementAndGet();
+				parallel.add((long) i << 32 | j);
+			});
+
+			assertThat(sequential.isEmpty()).isFalse();
+			assertThat(calls.get()).isEqualTo(sequential.size());
+			assertThat(parallel).isEqualTo(sequential);
+		}
+	}
+
+	@Nested
+	@DisplayName("validation")
+	class Validation {
+		@Test
+		@DisplayName("rejects invalid input")
+		void rejectsInvalidInput() {
+			assertThatThrownBy(() -> SkyIndex.build(new double[1], new double[2]))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Coordinate arrays must all have the same length");
+			assertThatThrownBy(() -> SkyIndex.build(new double[] {360.0}, new double[] {0.0}))
+				.isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> SkyIndex.build(new double[] {0.0}, new double[] {0.0}, 0.0))
+				.isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> SkyIndex.build(new double[0], new double[0]).coneSearch(0.0, 0.0, -1.0))
+				.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+}
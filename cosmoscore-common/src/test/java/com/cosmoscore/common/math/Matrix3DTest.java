@@ -0,0 +1,98 @@
+package com.cosmoscore.common.math;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Matrix3D class")
+class Matrix3DTest {
+
+	private static final double PRECISION = 1e-12;
+
+	@Nested
+	@DisplayName("rotations")
+	class Rotations {
+		@Test
+		@DisplayName("rotates the frame, not the vector, about z")
+		void rotateAboutZ() {
+			Vector3D rotated = Matrix3D.rotationZ(Math.PI / 2).multiply(new Vector3D(1.0, 0.0, 0.0));
+
+			assertThat(rotated.x()).isEqualTo(0.0, withPrecision(PRECISION));
+			assertThat(rotated.y()).isEqualTo(-1.0, withPrecision(PRECISION));
+			assertThat(rotated.z()).isEqualTo(0.0, withPrecision(PRECISION));
+		}
+
+		@Test
+		@DisplayName("rotates about x and y")
+		void rotateAboutXAndY() {
+			Vector3D aboutX = Matrix3D.rotationX(Math.PI / 2).multiply(new Vector3D(0.0, 1.0, 0.0));
+			Vector3D aboutY = Matrix3D.rotationY(Math.PI / 2).multiply(new Vector3D(0.0, 0.0, 1.0));
+
+			assertThat(aboutX.z()).isEqualTo(-1.0, withPrecision(PRECISION));
+			assertThat(aboutY.x()).isEqualTo(-1.0, withPrecision(PRECISION));
+		}
+
+		@Test
+		@DisplayName("transpose inverts a rotation")
+		void transposeInverts() {
+			Matrix3D rotation = Matrix3D.rotationX(0.3).multiply(Matrix3D.rotationZ(1.1));
+			Matrix3D product = rotation.transpose().multiply(rotation);
+
+			for (int row = 0; row < 3; row++) {
+				for (int column = 0; column < 3; column++) {
+					assertThat(product.get(row, column))
+						.isEqualTo(row == column ? 1.0 : 0.0, withPrecision(PRECISION));
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("applies the right-hand matrix first")
+		void multiplicationOrder() {
+			Matrix3D first = Matrix3D.rotationZ(0.4);
+			Matrix3D second = Matrix3D.rotationX(0.9);
+			Vector3D vector = new Vector3D(0.2, -0.5, 0.7);
+
+			Vector3D combined = second.multiply(first).multiply(vector);
+			Vector3D stepwise = second.multiply(first.multiply(vector));
+
+			assertThat(combined.x()).isEqualTo(stepwise.x(), withPrecision(PRECISION));
+			assertThat(combined.y()).isEqualTo(stepwise.y(), withPrecision(PRECISION));
+			assertThat(combined.z()).isEqualTo(stepwise.z(), withPrecision(PRECISION));
+		}
+	}
+
+	@Nested
+	@DisplayName("bulk application")
+	class BulkApplication {
+		@Test
+		@DisplayName("matches single-vector multiplication within the range only")
+		void applyRange() {
+			Matrix3D matrix = Matrix3D.rotationY(0.25).multiply(Matrix3D.rotationZ(-0.6));
+			double[] x = {1.0, 0.3, -0.2};
+			double[] y = {0.0, 0.4, 0.9};
+			double[] z = {0.0, -0.8, 0.1};
+
+			matrix.apply(x, y, z, 1, 2);
+
+			Vector3D expected = matrix.multiply(new Vector3D(0.3, 0.4, -0.8));
+			assertThat(x[0]).isEqualTo(1.0);
+			assertThat(x[1]).isEqualTo(expected.x(), withPrecision(PRECISION));
+			assertThat(y[1]).isEqualTo(expected.y(), withPrecision(PRECISION));
+			assertThat(z[1]).isEqualTo(expected.z(), withPrecision(PRECISION));
+		}
+
+		@Test
+		@DisplayName("rejects a range outside the arrays")
+		void rejectRange() {
+			double[] components = new double[2];
+
+			assertThatThrownBy(() -> Matrix3D.identity().apply(components, components, components, 1, 2))
+				.isInstanceOf(IndexOutOfBoundsException.class);
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.cosmoscore.common.math;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Vector3DBuffer class")
+class Vector3DBufferTest {
+
+	private static final double PRECISION = 1e-10;
+
+	@Nested
+	@DisplayName("creation")
+	class Creation {
+		@Test
+		@DisplayName("creates a buffer of zero vectors")
+		void createZeroBuffer() {
+			Vector3DBuffer buffer = new Vector3DBuffer(3);
+
+			assertThat(buffer.size()).isEqualTo(3);
+			assertThat(buffer.get(2)).isEqualTo(Vector3D.zero());
+		}
+
+		@Test
+		@DisplayName("converts to and from Vector3D")
+		void convertVectors() {
+			List<Vector3D> vectors = List.of(new Vector3D(1.0, 2.0, 3.0), new Vector3D(4.0, 5.0, 6.0));
+
+			Vector3DBuffer buffer = Vector3DBuffer.of(vectors);
+
+			assertThat(buffer.x(1)).isEqualTo(4.0);
+			assertThat(buffer.toList()).isEqualTo(vectors);
+		}
+
+		@Test
+		@DisplayName("rejects a negative size")
+		void rejectNegativeSize() {
+			assertThatThrownBy(() -> new Vector3DBuffer(-1))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Buffer size cannot be negative");
+		}
+	}
+
+	@Nested
+	@DisplayName("bulk operations")
+	class BulkOperations {
+		@Test
+		@DisplayName("adds, subtracts and scales in place")
+		void arithmetic() {
+			Vector3DBuffer buffer = Vector3DBuffer.of(List.of(new Vector3D(1.0, 2.0, 3.0)));
+			Vector3DBuffer other = Vector3DBuffer.of(List.of(new Vector3D(2.0, 3.0, 4.0)));
+
+			buffer.add(other).multiply(2.0).subtract(other);
+
+			assertThat(buffer.get(0)).isEqualTo(new Vector3D(4.0, 7.0, 10.0));
+		}
+
+		@Test
+		@DisplayName("adds scaled vectors in place")
+		void addScaled() {
+			Vector3DBuffer position = Vector3DBuffer.of(List.of(new Vector3D(1.0, 0.0, 0.0)));
+			Vector3DBuffer velocity = Vector3DBuffer.of(List.of(new Vector3D(0.0, 2.0, -1.0)));
+
+			position.addScaled(velocity, 0.5);
+
+			assertThat(position.get(0)).isEqualTo(new Vector3D(1.0, 1.0, -0.5));
+		}
+
+		@Test
+		@DisplayName("matches Vector3D dot, cross and magnitude")
+		void matchesVector3D() {
+			Vector3D a = new Vector3D(1.0, 2.0, 3.0);
+			Vector3D b = new Vector3D(-4.0, 5.0, 0.5);
+			Vector3DBuffer left = Vector3DBuffer.of(List.of(a));
+			Vector3DBuffer right = Vector3DBuffer.of(List.of(b));
+			Vector3DBuffer cross = new Vector3DBuffer(1);
+			double[] dot = new double[1];
+			double[] magnitude = new double[1];
+
+			left.dot(right, dot);
+			left.cross(right, cross);
+			left.magnitude(magnitude);
+
+			assertThat(dot[0]).isEqualTo(a.dot(b));
+			assertThat(cross.get(0)).isEqualTo(a.cross(b));
+			assertThat(magnitude[0]).isEqualTo(a.magnitude());
+		}
+
+		@Test
+		@DisplayName("normalizes in place")
+		void normalize() {
+			Vector3DBuffer buffer = Vector3DBuffer.of(List.of(new Vector3D(3.0, 4.0, 0.0)));
+
+			buffer.normalize();
+
+			assertThat(buffer.x(0)).isEqualTo(0.6, withPrecision(PRECISION));
+			assertThat(buffer.y(0)).isEqualTo(0.8, withPrecision(PRECISION));
+		}
+
+		@Test
+		@DisplayName("transforms every vector by a matrix")
+		void transform() {
+			Vector3DBuffer buffer = Vector3DBuffer.of(List.of(new Vector3D(1.0, 0.0, 0.0), new Vector3D(0.0, 1.0, 0.0)));
+
+			buffer.transform(Matrix3D.rotationZ(Math.PI / 2));
+
+			assertThat(buffer.get(0).y()).isEqualTo(-1.0, withPrecision(PRECISION));
+			assertThat(buffer.get(1).x()).isEqualTo(1.0, withPrecision(PRECISION));
+		}
+
+		@Test
+		@DisplayName("rejects normalizing a zero vector")
+		void rejectZeroVector() {
+			Vector3DBuffer buffer = new Vector3DBuffer(2);
+
+			assertThatThrownBy(buffer::normalize)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Cannot normalize a zero vector at index 0");
+		}
+
+		@Test
+		@DisplayName("rejects buffers of different sizes")
+		void rejectMismatchedSizes() {
+			assertThatThrownBy(() -> new Vector3DBuffer(2).add(new Vector3DBuffer(3)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Buffers must have the same size");
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package com.cosmoscore.common.math;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+
+@DisplayName("VectorKernels class")
+class VectorKernelsTest {
+
+	private static final int SIZE = 37;
+	private static final double PRECISION = 1e-12;
+
+	private static final List<VectorKernel> KERNELS = List.of(new ScalarVectorKernel(), new SimdVectorKernel());
+
+	private static double[] random(Random random, double min, double max) {
+		double[] values = new double[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			values[i] = min + random.nextDouble() * (max - min);
+		}
+		return values;
+	}
+
+	@Nested
+	@DisplayName("vector kernels")
+	class Vectors {
+		private final Random random = new Random(42);
+		private final double[] ax = random(random, -10, 10);
+		private final double[] ay = random(random, -10, 10);
+		private final double[] az = random(random, -10, 10);
+		private final double[] bx = random(random, -10, 10);
+		private final double[] by = random(random, -10, 10);
+		private final double[] bz = random(random, -10, 10);
+
+		@Test
+		@DisplayName("match Vector3D dot, cross and magnitude in every implementation")
+		void matchVector3D() {
+			for (VectorKernel kernel : KERNELS) {
+				double[] dot = new double[SIZE];
+				double[] magnitude = new double[SIZE];
+				double[] rx = new double[SIZE];
+				double[] ry = new double[SIZE];
+				double[] rz = new double[SIZE];
+
+				kernel.dot(ax, ay, az, bx, by, bz, dot, SIZE);
+				kernel.magnitude(ax, ay, az, magnitude, SIZE);
+				kernel.cross(ax, ay, az, bx, by, bz, rx, ry, rz, SIZE);
+
+				for (int i = 0; i < SIZE; i++) {
+					Vector3D a = new Vector3D(ax[i], ay[i], az[i]);
+					Vector3D b = new Vector3D(bx[i], by[i], bz[i]);
+					assertThat(dot[i]).isEqualTo(a.dot(b));
+					assertThat(magnitude[i]).isEqualTo(a.magnitude());
+					assertThat(new Vector3D(rx[i], ry[i], rz[i])).isEqualTo(a.cross(b));
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("normalize in every implementation")
+		void normalize() {
+			for (VectorKernel kernel : KERNELS) {
+				double[] x = ax.clone();
+				double[] y = ay.clone();
+				double[] z = az.clone();
+
+				kernel.normalize(x, y, z, SIZE);
+
+				for (int i = 0; i < SIZE; i++) {
+					Vector3D expected = new Vector3D(ax[i], ay[i], az[i]).normalize();
+					assertThat(x[i]).isEqualTo(expected.x(), withPrecision(PRECISION));
+					assertThat(y[i]).isEqualTo(expected.y(), withPrecision(PRECISION));
+					assertThat(z[i]).isEqualTo(expected.z(), withPrecision(PRECISION));
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("report the index of a zero vector in every implementation")
+		void rejectZeroVector() {
+			for (VectorKernel kernel : KERNELS) {
+				double[] x = ax.clone();
+				double[] y = ay.clone();
+				double[] z = az.clone();
+				x[5] = 0.0;
+				y[5] = 0.0;
+				z[5] = 0.0;
+
+				assertThatThrownBy(() -> kernel.normalize(x, y, z, SIZE))
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessage("Cannot normalize a zero vector at index 5");
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("angle kernels")
+	class Angles {
+		@Test
+		@DisplayName("match EquatorialCoordinate.angularSeparation in every implementation")
+		void matchAngularSeparation() {
+			Random random = new Random(7);
+			double[] ra1 = random(random, 0, 360);
+			double[] dec1 = random(random, -90, 90);
+			double[] ra2 = random(random, 0, 360);
+			double[] dec2 = random(random, -90, 90);
+
+			for (VectorKernel kernel : KERNELS) {
+				double[] separation = new double[SIZE];
+
+				kernel.angularSeparation(ra1, dec1, ra2, dec2, separation, SIZE);
+
+				for (int i = 0; i < SIZE; i++) {
+					double expected = new EquatorialCoordinate(ra1[i], dec1[i])
+						.angularSeparation(new EquatorialCoordinate(ra2[i], dec2[i]));
+					assertThat(separation[i]).isEqualTo(expected, withPrecision(1e-9));
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("rejects arrays of different lengths")
+		void rejectMismatchedArrays() {
+			assertThatThrownBy(() -> VectorKernels.angularSeparation(
+				new double[2], new double[2], new double[2], new double[3], new double[2]))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Arrays must all have the same length");
+		}
+	}
+}
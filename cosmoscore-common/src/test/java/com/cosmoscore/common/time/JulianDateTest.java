@@ -2,8 +2,10 @@ package com.cosmoscore.common.time;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
 import static org.assertj.core.api.Assertions.withPrecision;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.Month;
 
@@ -36,6 +38,91 @@ class JulianDateTest {
 
 			assertThat(j2000.value()).isEqualTo(2451545.0, withPrecision(PRECISION));
 		}
+
+		@Test
+		@DisplayName("creates from epoch nanoseconds")
+		void fromEpochNanos() {
+			JulianDate jd = JulianDate.fromEpochNanos(0L);
+
+			assertThat(jd.day()).isEqualTo(2440587L);
+			assertThat(jd.fraction()).isEqualTo(0.5);
+		}
+
+		@Test
+		@DisplayName("creates from Instant")
+		void fromInstant() {
+			JulianDate jd = JulianDate.fromInstant(Instant.parse("2000-01-01T12:00:00Z"));
+
+			assertThat(jd).isEqualTo(JulianDate.J2000);
+		}
+
+		@Test
+		@DisplayName("creates from Instant before the Unix epoch")
+		void fromInstantBeforeEpoch() {
+			Instant instant = Instant.parse("1969-12-31T18:00:00.000000001Z");
+
+			JulianDate jd = JulianDate.fromInstant(instant);
+
+			assertThat(jd).isEqualTo(JulianDate.fromEpochNanos(-6 * 3600 * 1_000_000_000L + 1));
+			assertThat(jd.day()).isEqualTo(2440587L);
+			assertThat(jd.fraction()).isEqualTo(0.25, withPrecision(1e-12));
+		}
+
+		@Test
+		@DisplayName("carries a fraction outside [0, 1) into the day number")
+		void normalizeFraction() {
+			assertThat(new JulianDate(10L, 1.25)).isEqualTo(new JulianDate(11L, 0.25));
+			assertThat(new JulianDate(10L, -0.25)).isEqualTo(new JulianDate(9L, 0.75));
+			assertThat(new JulianDate(10L, -0.0)).isEqualTo(new JulianDate(10L, 0.0));
+		}
+	}
+
+	@Nested
+	@DisplayName("precision")
+	class Precision {
+		@Test
+		@DisplayName("resolves nanoseconds between epoch timestamps")
+		void resolveNanoseconds() {
+			long epochNanos = 1_735_689_600_123_456_789L;
+
+			JulianDate jd1 = JulianDate.fromEpochNanos(epochNanos);
+			JulianDate jd2 = JulianDate.fromEpochNanos(epochNanos + 1);
+
+			assertThat(jd1.daysUntil(jd2) * 86400e9).isCloseTo(1.0, offset(0.05));
+			assertThat(jd1.isBefore(jd2)).isTrue();
+		}
+
+		@Test
+		@DisplayName("keeps sub-microsecond steps through arithmetic")
+		void keepSubMicrosecondSteps() {
+			JulianDate start = JulianDate.fromEpochNanos(1_735_689_600_000_000_000L);
+
+			JulianDate later = start.plusSeconds(1e-7).plusDays(10.0).minusDays(10.0);
+
+			assertThat(start.daysUntil(later) * 86400.0).isCloseTo(1e-7, offset(1e-9));
+			assertThat(start.plusNanos(100)).isEqualTo(start.plusSeconds(1e-7));
+		}
+
+		@Test
+		@DisplayName("calculates Julian centuries without losing the day fraction")
+		void preciseJulianCenturies() {
+			JulianDate jd = JulianDate.J2000.plusNanos(500);
+
+			double seconds = jd.julianCenturies() * 36525.0 * 86400.0;
+
+			assertThat(seconds).isCloseTo(5e-7, offset(1e-9));
+		}
+
+		@Test
+		@DisplayName("compares chronologically")
+		void compare() {
+			JulianDate earlier = new JulianDate(2451545L, 0.25);
+			JulianDate later = new JulianDate(2451545L, 0.75);
+
+			assertThat(earlier.compareTo(later)).isLessThan(0);
+			assertThat(later.isAfter(earlier)).isTrue();
+			assertThat(earlier.compareTo(new JulianDate(2451545.25))).isEqualTo(0);
+		}
 	}
 
 	@Nested
@@ -54,6 +141,42 @@ class JulianDateTest {
 			assertThat(dateTime.getHour()).isEqualTo(12);
 			assertThat(dateTime.getMinute()).isEqualTo(0);
 		}
+
+		@Test
+		@DisplayName("converts to LocalDateTime before noon")
+		void toLocalDateTimeBeforeNoon() {
+			LocalDateTime morning = LocalDateTime.of(2025, Month.MARCH, 14, 3, 25, 7, 500_000_000);
+
+			LocalDateTime converted = JulianDate.fromLocalDateTime(morning).toLocalDateTime();
+
+			assertThat(converted).isEqualTo(morning);
+		}
+
+		@Test
+		@DisplayName("creates from epoch milliseconds")
+		void fromEpochMillis() {
+			long epochMillis = Instant.parse("2000-01-01T12:00:00.250Z").toEpochMilli();
+
+			JulianDate jd = JulianDate.fromEpochMillis(epochMillis);
+
+			assertThat(jd).isEqualTo(JulianDate.J2000.plusNanos(250_000_000L));
+		}
+
+		@Test
+		@DisplayName("round-trips epoch nanoseconds exactly")
+		void roundTripEpochNanos() {
+			long epochNanos = -123_456_789_987_654_321L;
+
+			assertThat(JulianDate.fromEpochNanos(epochNanos).toEpochNanos()).isEqualTo(epochNanos);
+		}
+
+		@Test
+		@DisplayName("converts to Instant")
+		void toInstant() {
+			Instant instant = Instant.parse("2024-06-30T23:59:59.999999999Z");
+
+			assertThat(JulianDate.fromInstant(instant).toInstant()).isEqualTo(instant);
+		}
 	}
 
 	@Nested
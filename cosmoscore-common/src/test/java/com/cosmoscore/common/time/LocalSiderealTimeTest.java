@@ -42,6 +42,14 @@ class LocalSiderealTimeTest {
 
 			assertThat(lst).isEqualTo(13.561607891333333, withPrecision(0.001));
 		}
+
+		@Test
+		@DisplayName("calculates Local Sidereal Time from Greenwich Sidereal Time")
+		void calculateLSTFromGreenwich() {
+			double lst = LocalSiderealTime.fromGreenwich(1.0, -30.0);
+
+			assertThat(lst).isEqualTo(23.0, withPrecision(PRECISION));
+		}
 	}
 
 	@Nested
@@ -0,0 +1,62 @@
+package com.cosmoscore.common.time;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SiderealTimeCache class")
+class SiderealTimeCacheTest {
+
+	@Nested
+	@DisplayName("lookup")
+	class Lookup {
+		@Test
+		@DisplayName("returns the same sidereal time as a direct calculation")
+		void matchesCalculation() {
+			SiderealTimeCache cache = new SiderealTimeCache(4);
+			JulianDate jd = new JulianDate(2460676L, 0.123456);
+
+			double first = cache.greenwichSiderealTime(jd);
+			double second = cache.greenwichSiderealTime(new JulianDate(2460676L, 0.123456));
+
+			assertThat(first).isEqualTo(LocalSiderealTime.calculateGST(jd));
+			assertThat(second).isEqualTo(first);
+		}
+
+		@Test
+		@DisplayName("replaces entries when instants collide")
+		void replacesEntries() {
+			SiderealTimeCache cache = new SiderealTimeCache(1);
+
+			for (int i = 0; i < 10; i++) {
+				JulianDate jd = JulianDate.J2000.plusDays(i * 0.1);
+				assertThat(cache.greenwichSiderealTime(jd)).isEqualTo(LocalSiderealTime.calculateGST(jd));
+			}
+		}
+
+		@Test
+		@DisplayName("derives local sidereal time from the cached value")
+		void localSiderealTime() {
+			SiderealTimeCache cache = new SiderealTimeCache(16);
+			JulianDate jd = JulianDate.J2000.plusDays(123.456);
+
+			assertThat(cache.localSiderealTime(jd, -77.0365))
+				.isEqualTo(LocalSiderealTime.calculate(jd, -77.0365));
+		}
+	}
+
+	@Nested
+	@DisplayName("validation")
+	class Validation {
+		@Test
+		@DisplayName("rejects a non-positive capacity")
+		void rejectsCapacity() {
+			assertThatThrownBy(() -> new SiderealTimeCache(0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Cache capacity must be between 1 and 2^30");
+		}
+	}
+}
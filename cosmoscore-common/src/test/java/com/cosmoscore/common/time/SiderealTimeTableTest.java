@@ -0,0 +1,72 @@
+package com.cosmoscore.common.time;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SiderealTimeTable class")
+class SiderealTimeTableTest {
+
+	private static final double PRECISION = 1e-9;
+
+	private static final JulianDate START = new JulianDate(2460676L, 0.3);
+
+	@Nested
+	@DisplayName("grid")
+	class Grid {
+		@Test
+		@DisplayName("covers the span with nodes at the given step")
+		void coversSpan() {
+			SiderealTimeTable table = SiderealTimeTable.over(START, START.plusDays(1.0), 1.0 / 24.0);
+
+			assertThat(table.size()).isEqualTo(25);
+			assertThat(table.dateAt(24).daysUntil(START.plusDays(1.0)) * 86400.0).isEqualTo(0.0, withPrecision(1e-6));
+		}
+
+		@Test
+		@DisplayName("stores the exact sidereal time at every node")
+		void exactNodes() {
+			SiderealTimeTable table = SiderealTimeTable.over(START, START.plusDays(2.0), 0.25);
+
+			for (int i = 0; i < table.size(); i++) {
+				assertThat(table.greenwichSiderealTime(i))
+					.isEqualTo(LocalSiderealTime.calculateGST(table.dateAt(i)));
+			}
+			assertThat(table.localSiderealTime(3, 126.978))
+				.isEqualTo(LocalSiderealTime.calculate(table.dateAt(3), 126.978), withPrecision(PRECISION));
+		}
+	}
+
+	@Nested
+	@DisplayName("interpolation")
+	class Interpolation {
+		@Test
+		@DisplayName("matches a direct calculation between nodes, across the 24h wrap")
+		void interpolates() {
+			SiderealTimeTable table = SiderealTimeTable.over(START, START.plusDays(30.0), 1.0);
+
+			for (int minute = 0; minute < 30 * 1440; minute += 37) {
+				JulianDate jd = START.plusDays(minute / 1440.0);
+				double expected = LocalSiderealTime.calculateGST(jd);
+				double actual = table.greenwichSiderealTime(jd);
+
+				double difference = Math.abs(actual - expected);
+				assertThat(Math.min(difference, 24.0 - difference)).isEqualTo(0.0, withPrecision(PRECISION));
+			}
+		}
+
+		@Test
+		@DisplayName("rejects instants outside the table")
+		void rejectsOutside() {
+			SiderealTimeTable table = SiderealTimeTable.over(START, START.plusDays(1.0), 0.5);
+
+			assertThatThrownBy(() -> table.greenwichSiderealTime(START.minusDays(0.01)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Julian Date is outside the sidereal time table");
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package com.cosmoscore.observer.pass;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.cosmoscore.common.coordinate.Observer;
+import com.cosmoscore.common.coordinate.ObserverFrame;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.common.time.LocalSiderealTime;
+import com.cosmoscore.common.time.SiderealTimeTable;
+import com.cosmoscore.orbit.OrbitPropagator;
+
+/**
+ * Predicts the passes of a catalog of satellites over many ground sites at once.
+ * <p>
+ * Each satellite is swept through the prediction span at a fixed step. Its position is propagated and
+ * rotated into the Earth-fixed frame once per step and then shared by every site, whose elevation costs a
+ * few multiply-adds against its cached position and zenith direction. Only a site whose elevation crosses
+ * the minimum between two steps gets its acquisition or loss refined by bisection, and the culmination of
+ * each pass is refined by golden-section search around its highest step.
+ * <p>
+ * Sites are at sea level on the WGS-84 ellipsoid and satellite states are taken to be in a true-equator
+ * frame such as TEME, rotated by Greenwich mean sidereal time. The step should be short against the
+ * shortest pass of interest, since a pass that rises and sets between two steps is missed; a minute
+ * suits low Earth orbit.
+ */
+public final class PassPredictor {
+
+	/**
+	 * Default sweep step in seconds
+	 */
+	public static final double DEFAULT_STEP = 60.0;
+
+	/**
+	 * Precision of the refined dates in seconds
+	 */
+	static final double TIME_TOLERANCE = 0.1;
+
+	private static final double EQUATORIAL_RADIUS = 6378.137;
+	private static final double FLATTENING = 1.0 / 298.257223563;
+	private static final double ECCENTRICITY_SQUARED = FLATTENING * (2.0 - FLATTENING);
+
+	private final List<Observer> sites;
+	private final double minimumElevation;
+	private final double step;
+	// Earth-fixed position in kilometres and zenith direction of each site
+	final double[] siteX;
+	final double[] siteY;
+	final double[] siteZ;
+	final double[] upX;
+	final double[] upY;
+	final double[] upZ;
+	final double sinMinimumElevation;
+
+	/**
+	 * Creates a predictor of passes above the horizon with the default step.
+	 *
+	 * @param sites the ground sites
+	 */
+	public PassPredictor(List<Observer> sites) {
+		this(sites, 0.0, DEFAULT_STEP);
+	}
+
+	/**
+	 * Creates a predictor.
+	 *
+	 * @param sites the ground sites
+	 * @param minimumElevation elevation in degrees above which a satellite counts as visible
+	 * @param step sweep step in seconds
+	 */
+	public PassPredictor(List<Observer> sites, double minimumElevation, double step) {
+		Objects.requireNonNull(sites, "Sites must not be null");
+		if (!(minimumElevation > -90.0 && minimumElevation < 90.0)) {
+			throw new IllegalArgumentException("Minimum elevation must be between -90 and +90 degrees");
+		}
+		if (!(step > 0) || Double.isInfinite(step)) {
+			throw new IllegalArgumentException("Step must be positive");
+		}
+		this.sites = List.copyOf(sites);
+		this.minimumElevation = minimumElevation;
+		this.step = step;
+		this.sinMinimumElevation = Math.sin(Math.toRadians(minimumElevation));
+
+		int count = this.sites.size();
+		this.siteX = new double[count];
+		this.siteY = new double[count];
+		this.siteZ = new double[count];
+		this.upX = new double[count];
+		this.upY = new double[count];
+		this.upZ = new double[count];
+		for (int i = 0; i < count; i++) {
+			Observer site = this.sites.get(i);
+			ObserverFrame frame = site.frame();
+			double sinLat = frame.sinLatitude();
+			double cosLat = frame.cosLatitude();
+			double lonRad = Math.toRadians(site.longitude());
+			double cosLon = Math.cos(lonRad);
+			double sinLon = Math.sin(lonRad);
+			double n = EQUATORIAL_RADIUS / Math.sqrt(1.0 - ECCENTRICITY_SQUARED * sinLat * sinLat);
+			siteX[i] = n * cosLat * cosLon;
+			siteY[i] = n * cosLat * sinLon;
+			siteZ[i] = n * (1.0 - ECCENTRICITY_SQUARED) * sinLat;
+			upX[i] = cosLat * cosLon;
+			upY[i] = cosLat * sinLon;
+			upZ[i] = sinLat;
+		}
+	}
+
+	/**
+	 * Returns the ground sites
+	 */
+	public List<Observer> sites() {
+		return sites;
+	}
+
+	/**
+	 * Returns the elevation in degrees above which a satellite counts as visible
+	 */
+	public double minimumElevation() {
+		return minimumElevation;
+	}
+
+	/**
+	 * Returns the sweep step in seconds
+	 */
+	public double step() {
+		return step;
+	}
+
+	/**
+	 * Calculates the elevation of a satellite seen from one site.
+	 *
+	 * @param orbit the satellite
+	 * @param site index of the site
+	 * @param jd Julian Date
+	 * @return elevation in degrees (-90 to +90)
+	 */
+	public double elevation(OrbitPropagator orbit, int site, JulianDate jd) {
+		Objects.requireNonNull(orbit, "Orbit must not be null");
+		Objects.checkIndex(site, sites.size());
+		double[] state = new double[6];
+		orbit.propagate(jd, state);
+		double[] position = new double[3];
+		toEarthFixed(state, LocalSiderealTime.calculateGST(jd), position);
+		return Math.toDegrees(Math.asin(Math.max(-1.0, Math.min(1.0, sinElevation(site, position)))));
+	}
+
+	/**
+	 * Predicts the passes of a catalog, one satellite after another.
+	 * A satellite that cannot be propagated, such as one that has decayed, is swept only up to that date.
+	 *
+	 * @param satellites the catalog, which must not change while the stream is consumed
+	 * @param start start of the span
+	 * @param end end of the span
+	 * @return the passes grouped by satellite in catalog order, each satellite's in order of acquisition
+	 */
+	public Stream<SatellitePass> predict(List<? extends OrbitPropagator> satellites, JulianDate start, JulianDate end) {
+		Objects.requireNonNull(satellites, "Satellites must not be null");
+		Objects.requireNonNull(start, "Start date must not be null");
+		Objects.requireNonNull(end, "End date must not be null");
+		if (start.daysUntil(end) < 0) {
+			throw new IllegalArgumentException("End date must not be before start date");
+		}
+
+		SiderealTimeTable sidereal = SiderealTimeTable.over(start, end, step / 86400.0);
+		return IntStream.range(0, satellites.size())
+			.mapToObj(satellite -> new PassSweep(this, sidereal, satellites.get(satellite), satellite, start, end).run())
+			.flatMap(List::stream);
+	}
+
+	/**
+	 * Predicts the passes of a catalog with satellites swept concurrently. The encounter order of the
+	 * stream is the same as for {@link #predict}.
+	 *
+	 * @param satellites the catalog, which must not change while the stream is consumed
+	 * @param start start of the span
+	 * @param end end of the span
+	 * @return a parallel stream of the passes
+	 */
+	public Stream<SatellitePass> parallelPredict(List<? extends OrbitPropagator> satellites, JulianDate start,
+		JulianDate end) {
+		return predict(satellites, start, end).parallel();
+	}
+
+	/**
+	 * Rotates an inertial position into the Earth-fixed frame.
+	 *
+	 * @param state inertial position in its first three elements
+	 * @param gst Greenwich Sidereal Time in hours
+	 * @param position receives the Earth-fixed position
+	 */
+	static void toEarthFixed(double[] state, double gst, double[] position) {
+		double theta = Math.toRadians(gst * 15.0);
+		double cos = Math.cos(theta);
+		double sin = Math.sin(theta);
+		position[0] = cos * state[0] + sin * state[1];
+		position[1] = cos * state[1] - sin * state[0];
+		position[2] = state[2];
+	}
+
+	/**
+	 * Sine of the elevation of an Earth-fixed position seen from a site.
+	 */
+	double sinElevation(int site, double[] position) {
+		double dx = position[0] - siteX[site];
+		double dy = position[1] - siteY[site];
+		double dz = position[2] - siteZ[site];
+		double range = Math.sqrt(dx * dx + dy * dy + dz * dz);
+		return (dx * upX[site] + dy * upY[site] + dz * upZ[site]) / range;
+	}
+}
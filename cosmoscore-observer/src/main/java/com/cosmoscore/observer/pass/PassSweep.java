@@ -0,0 +1,188 @@
+package com.cosmoscore.observer.pass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.common.time.LocalSiderealTime;
+import com.cosmoscore.common.time.SiderealTimeTable;
+import com.cosmoscore.orbit.OrbitPropagator;
+
+/**
+ * Sweeps one satellite through the prediction span against every site of a {@link PassPredictor}.
+ * <p>
+ * Times are in seconds from the start of the span. Per-site progress lives in primitive arrays, and the
+ * satellite's Earth-fixed position at the current step is kept apart from the probe position used while
+ * refining, so refining one site does not disturb the sites still to be checked at that step.
+ */
+final class PassSweep {
+
+	private static final Comparator<SatellitePass> ORDER = Comparator.comparing(SatellitePass::acquisition)
+		.thenComparingInt(SatellitePass::site);
+
+	private static final double GOLDEN = (Math.sqrt(5.0) - 1.0) / 2.0;
+
+	// Below every minimum elevation, for dates the satellite cannot be propagated to
+	private static final double UNAVAILABLE = -3.0;
+
+	private final PassPredictor predictor;
+	private final SiderealTimeTable sidereal;
+	private final OrbitPropagator orbit;
+	private final int satellite;
+	private final JulianDate start;
+	private final double span;
+	private final double[] state = new double[6];
+	private final double[] sample = new double[3];
+	private final double[] probe = new double[3];
+
+	PassSweep(PassPredictor predictor, SiderealTimeTable sidereal, OrbitPropagator orbit, int satellite,
+		JulianDate start, JulianDate end) {
+		this.predictor = predictor;
+		this.sidereal = sidereal;
+		this.orbit = orbit;
+		this.satellite = satellite;
+		this.start = start;
+		this.span = start.daysUntil(end) * 86400.0;
+	}
+
+	List<SatellitePass> run() {
+		int sites = predictor.siteX.length;
+		List<SatellitePass> passes = new ArrayList<>();
+		double step = predictor.step();
+		// Elevation term at the previous step, and the acquisition and highest step of passes in progress
+		double[] previous = new double[sites];
+		double[] acquisition = new double[sites];
+		double[] peak = new double[sites];
+		double[] peakTime = new double[sites];
+		Arrays.fill(acquisition, Double.NaN);
+
+		double previousTime = 0.0;
+		double lastTime = Double.NaN;
+		for (int k = 0, samples = sidereal.size(); k < samples && sites > 0; k++) {
+			double t = k * step;
+			double gst;
+			JulianDate date;
+			if (t < span) {
+				date = sidereal.dateAt(k);
+				gst = sidereal.greenwichSiderealTime(k);
+			} else {
+				t = span;
+				date = start.plusSeconds(t);
+				gst = LocalSiderealTime.calculateGST(date);
+			}
+			if (!locate(date, gst, sample)) {
+				break;
+			}
+
+			for (int i = 0; i < sites; i++) {
+				double value = predictor.sinElevation(i, sample) - predictor.sinMinimumElevation;
+				boolean up = !Double.isNaN(acquisition[i]);
+				if (!up && value >= 0) {
+					acquisition[i] = k == 0 ? 0.0 : crossing(i, previousTime, previous[i], t);
+					peak[i] = value;
+					peakTime[i] = t;
+				} else if (up && value < 0) {
+					passes.add(pass(i, acquisition[i], peakTime[i], peak[i], crossing(i, previousTime, previous[i], t)));
+					acquisition[i] = Double.NaN;
+				} else if (up && value > peak[i]) {
+					peak[i] = value;
+					peakTime[i] = t;
+				}
+				previous[i] = value;
+			}
+			previousTime = t;
+			lastTime = t;
+			if (t == span) {
+				break;
+			}
+		}
+
+		for (int i = 0; i < sites; i++) {
+			if (!Double.isNaN(acquisition[i])) {
+				passes.add(pass(i, acquisition[i], peakTime[i], peak[i], lastTime));
+			}
+		}
+		passes.sort(ORDER);
+		return passes;
+	}
+
+	/**
+	 * Bisects the crossing of the minimum elevation between two steps.
+	 */
+	private double crossing(int site, double lower, double lowerValue, double upper) {
+		boolean rising = lowerValue < 0;
+		while (upper - lower > PassPredictor.TIME_TOLERANCE) {
+			double middle = 0.5 * (lower + upper);
+			if ((value(site, middle) >= 0) == rising) {
+				upper = middle;
+			} else {
+				lower = middle;
+			}
+		}
+		return 0.5 * (lower + upper);
+	}
+
+	/**
+	 * Refines the culmination by golden-section search over the steps either side of the highest one.
+	 */
+	private SatellitePass pass(int site, double acquisition, double peakTime, double peak, double loss) {
+		double step = predictor.step();
+		double a = Math.max(acquisition, peakTime - step);
+		double b = Math.min(loss, peakTime + step);
+		double c = b - GOLDEN * (b - a);
+		double d = a + GOLDEN * (b - a);
+		double fc = value(site, c);
+		double fd = value(site, d);
+		while (b - a > PassPredictor.TIME_TOLERANCE) {
+			if (fc > fd) {
+				b = d;
+				d = c;
+				fd = fc;
+				c = b - GOLDEN * (b - a);
+				fc = value(site, c);
+			} else {
+				a = c;
+				c = d;
+				fc = fd;
+				d = a + GOLDEN * (b - a);
+				fd = value(site, d);
+			}
+		}
+		double culmination = 0.5 * (a + b);
+		double highest = value(site, culmination);
+		if (peak > highest) {
+			culmination = peakTime;
+			highest = peak;
+		}
+
+		double sinElevation = Math.min(1.0, highest + predictor.sinMinimumElevation);
+		return new SatellitePass(satellite, site, start.plusSeconds(acquisition),
+			start.plusSeconds(culmination), Math.toDegrees(Math.asin(sinElevation)), start.plusSeconds(loss));
+	}
+
+	/**
+	 * Elevation term of one site at any time in the span.
+	 */
+	private double value(int site, double t) {
+		JulianDate date = start.plusSeconds(t);
+		if (!locate(date, LocalSiderealTime.calculateGST(date), probe)) {
+			return UNAVAILABLE;
+		}
+		return predictor.sinElevation(site, probe) - predictor.sinMinimumElevation;
+	}
+
+	private boolean locate(JulianDate date, double gst, double[] position) {
+		try {
+			orbit.propagate(date, state);
+		} catch (IllegalStateException e) {
+			return false;
+		}
+		if (Double.isNaN(state[0])) {
+			return false;
+		}
+		PassPredictor.toEarthFixed(state, gst, position);
+		return true;
+	}
+}
@@ -0,0 +1,43 @@
+package com.cosmoscore.observer.pass;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * One pass of a satellite above the horizon of a ground site.
+ *
+ * @param satellite index of the satellite in the catalog
+ * @param site index of the site in the predictor's site list
+ * @param acquisition date the satellite rises above the minimum elevation (AOS), or the start of the
+ *        prediction span if it is already up
+ * @param culmination date of the highest elevation
+ * @param maximumElevation highest elevation in degrees
+ * @param loss date the satellite sets below the minimum elevation (LOS), or the end of the prediction
+ *        span if it is still up
+ */
+public record SatellitePass(int satellite, int site, JulianDate acquisition, JulianDate culmination,
+	double maximumElevation, JulianDate loss) {
+
+	/**
+	 * Constructor with validation.
+	 */
+	public SatellitePass {
+		Objects.requireNonNull(acquisition, "Acquisition date must not be null");
+		Objects.requireNonNull(culmination, "Culmination date must not be null");
+		Objects.requireNonNull(loss, "Loss date must not be null");
+		if (satellite < 0 || site < 0) {
+			throw new IllegalArgumentException("Satellite and site indices must not be negative");
+		}
+		if (loss.compareTo(acquisition) < 0) {
+			throw new IllegalArgumentException("Loss must not be before acquisition");
+		}
+	}
+
+	/**
+	 * Returns the time the satellite is above the minimum elevation, in seconds
+	 */
+	public double duration() {
+		return acquisition.daysUntil(loss) * 86400.0;
+	}
+}
@@ -0,0 +1,101 @@
+package com.cosmoscore.observer.riseset;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Brent's method for a root of a function bracketed by a sign change, combining inverse quadratic
+ * interpolation and secant steps with bisection as a fallback, so it converges superlinearly on smooth
+ * functions but never takes more steps than bisection would.
+ * <p>
+ * It is a static method on primitive doubles rather than the commons-math3 {@code BrentSolver}, whose
+ * solver and evaluation-counter state would be allocated for every bracket of every site.
+ */
+final class BrentSolver {
+
+	private static final int MAX_ITERATIONS = 100;
+
+	private BrentSolver() {
+	}
+
+	/**
+	 * Finds a root between two points where the function has opposite signs.
+	 *
+	 * @param f the function
+	 * @param a first end of the bracket
+	 * @param fa function value at {@code a}
+	 * @param b second end of the bracket
+	 * @param fb function value at {@code b}
+	 * @param tolerance absolute accuracy of the root
+	 * @return the root
+	 */
+	static double solve(DoubleUnaryOperator f, double a, double fa, double b, double fb, double tolerance) {
+		if (fa == 0.0) {
+			return a;
+		}
+		if (fb == 0.0) {
+			return b;
+		}
+		double c = a;
+		double fc = fa;
+		double d = b - a;
+		double e = d;
+		for (int i = 0; i < MAX_ITERATIONS; i++) {
+			// b is the best estimate, and c the previous one on the other side of the root
+			if (Math.abs(fc) < Math.abs(fb)) {
+				a = b;
+				b = c;
+				c = a;
+				fa = fb;
+				fb = fc;
+				fc = fa;
+			}
+			double tol = 2.0 * Math.ulp(1.0) * Math.abs(b) + 0.5 * tolerance;
+			double m = 0.5 * (c - b);
+			if (Math.abs(m) <= tol || fb == 0.0) {
+				return b;
+			}
+			if (Math.abs(e) < tol || Math.abs(fa) <= Math.abs(fb)) {
+				d = m;
+				e = d;
+			} else {
+				double s = fb / fa;
+				double p;
+				double q;
+				if (a == c) {
+					// Secant step
+					p = 2.0 * m * s;
+					q = 1.0 - s;
+				} else {
+					// Inverse quadratic interpolation
+					q = fa / fc;
+					double r = fb / fc;
+					p = s * (2.0 * m * q * (q - r) - (b - a) * (r - 1.0));
+					q = (q - 1.0) * (r - 1.0) * (s - 1.0);
+				}
+				if (p > 0.0) {
+					q = -q;
+				} else {
+					p = -p;
+				}
+				if (2.0 * p < 3.0 * m * q - Math.abs(tol * q) && p < Math.abs(0.5 * e * q)) {
+					e = d;
+					d = p / q;
+				} else {
+					d = m;
+					e = d;
+				}
+			}
+			a = b;
+			fa = fb;
+			b += Math.abs(d) > tol ? d : (m > 0.0 ? tol : -tol);
+			fb = f.applyAsDouble(b);
+			if ((fb > 0.0) == (fc > 0.0)) {
+				c = a;
+				fc = fa;
+				d = b - a;
+				e = d;
+			}
+		}
+		return b;
+	}
+}
@@ -0,0 +1,45 @@
+package com.cosmoscore.observer.riseset;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * A rise, transit or set of a target seen from one site.
+ *
+ * @param site index of the site in the list that was solved
+ * @param type kind of event
+ * @param date date of the event
+ * @param altitude geometric altitude of the target at the event in degrees
+ */
+public record HorizonEvent(int site, Type type, JulianDate date, double altitude) {
+
+	/**
+	 * Kind of horizon event.
+	 */
+	public enum Type {
+		/**
+		 * The target climbs through the reference altitude
+		 */
+		RISE,
+		/**
+		 * The target crosses the meridian at upper culmination
+		 */
+		TRANSIT,
+		/**
+		 * The target sinks through the reference altitude
+		 */
+		SET
+	}
+
+	/**
+	 * Constructor with validation.
+	 */
+	public HorizonEvent {
+		Objects.requireNonNull(type, "Type must not be null");
+		Objects.requireNonNull(date, "Date must not be null");
+		if (site < 0) {
+			throw new IllegalArgumentException("Site index must not be negative");
+		}
+	}
+}
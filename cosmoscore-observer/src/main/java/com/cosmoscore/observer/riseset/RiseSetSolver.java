@@ -0,0 +1,190 @@
+package com.cosmoscore.observer.riseset;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.coordinate.Observer;
+import com.cosmoscore.common.coordinate.ObserverFrame;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.solar.SunPosition;
+
+/**
+ * Finds the rise, transit and set times of a target, and the twilight boundaries, for many sites over a
+ * long span.
+ * <p>
+ * The target is evaluated once per grid node and the sidereal time comes from one
+ * {@link com.cosmoscore.common.time.SiderealTimeTable}, both shared by every site. Each site then sweeps the
+ * grid with its cached {@link ObserverFrame} latitude terms, which costs one cosine per node, and only the
+ * intervals where the altitude crosses the reference altitude or the hour angle crosses the meridian are
+ * refined, with Brent's method against the interpolated grid.
+ * <p>
+ * Positions are geocentric, so the reference altitude should allow for refraction, the target's
+ * semi-diameter and, for the Moon, its parallax. The grid step must be short enough that the target does
+ * not rise and set again within one step; an hour suits everything but targets grazing the horizon.
+ */
+public final class RiseSetSolver {
+
+	/**
+	 * Default grid step in days
+	 */
+	public static final double DEFAULT_STEP = 1.0 / 24.0;
+
+	/**
+	 * Reference altitude of a star or planet in degrees, allowing for refraction at the horizon
+	 */
+	public static final double STANDARD_ALTITUDE = -0.5667;
+
+	/**
+	 * Reference altitude of the Sun in degrees, allowing for refraction and its semi-diameter
+	 */
+	public static final double SUN_STANDARD_ALTITUDE = -0.8333;
+
+	/**
+	 * Precision of the event dates in days
+	 */
+	static final double TIME_TOLERANCE = 1e-6;
+
+	private static final Comparator<HorizonEvent> ORDER = Comparator.comparing(HorizonEvent::date);
+
+	private final double stepDays;
+
+	/**
+	 * Creates a solver with the default step.
+	 */
+	public RiseSetSolver() {
+		this(DEFAULT_STEP);
+	}
+
+	/**
+	 * Creates a solver.
+	 *
+	 * @param stepDays grid step in days
+	 */
+	public RiseSetSolver(double stepDays) {
+		if (!(stepDays > 0) || stepDays > 0.5) {
+			throw new IllegalArgumentException("Step must be positive and at most half a day");
+		}
+		this.stepDays = stepDays;
+	}
+
+	/**
+	 * Returns the grid step in days
+	 */
+	public double stepDays() {
+		return stepDays;
+	}
+
+	/**
+	 * Finds the rises, transits and sets of a target at every site.
+	 * The target is evaluated on the whole grid before this method returns; the sites are swept as the
+	 * stream is consumed.
+	 *
+	 * @param target apparent geocentric position of the target at any date
+	 * @param sites the observing sites
+	 * @param start start of the span
+	 * @param end end of the span
+	 * @param altitude reference altitude in degrees for rise and set
+	 * @return the events grouped by site in list order, each site's in order of date
+	 */
+	public Stream<HorizonEvent> solve(Function<JulianDate, EquatorialCoordinate> target, List<Observer> sites,
+		JulianDate start, JulianDate end, double altitude) {
+		Objects.requireNonNull(target, "Target must not be null");
+		Objects.requireNonNull(sites, "Sites must not be null");
+		Objects.requireNonNull(start, "Start date must not be null");
+		Objects.requireNonNull(end, "End date must not be null");
+		if (!(altitude > -90.0 && altitude < 90.0)) {
+			throw new IllegalArgumentException("Altitude must be between -90 and +90 degrees");
+		}
+		double span = start.daysUntil(end);
+		if (span < 0) {
+			throw new IllegalArgumentException("End date must not be before start date");
+		}
+
+		TargetGrid grid = new TargetGrid(target, start, end, stepDays);
+		List<Observer> copy = List.copyOf(sites);
+		return IntStream.range(0, copy.size())
+			.mapToObj(site -> events(grid, copy.get(site), site, start, span, altitude))
+			.flatMap(List::stream);
+	}
+
+	/**
+	 * Finds the beginning and end of a kind of twilight at every site. A {@link HorizonEvent.Type#RISE}
+	 * is the beginning of morning twilight and a {@link HorizonEvent.Type#SET} the end of evening twilight.
+	 *
+	 * @param sites the observing sites
+	 * @param start start of the span
+	 * @param end end of the span
+	 * @param twilight the kind of twilight
+	 * @return the boundaries grouped by site in list order, each site's in order of date
+	 */
+	public Stream<HorizonEvent> twilight(List<Observer> sites, JulianDate start, JulianDate end, Twilight twilight) {
+		Objects.requireNonNull(twilight, "Twilight must not be null");
+		SunPosition sun = new SunPosition();
+		return solve(sun::calculate, sites, start, end, twilight.altitude())
+			.filter(event -> event.type() != HorizonEvent.Type.TRANSIT);
+	}
+
+	private List<HorizonEvent> events(TargetGrid grid, Observer site, int index, JulianDate start, double span,
+		double altitude) {
+		ObserverFrame frame = site.frame();
+		double sinLat = frame.sinLatitude();
+		double cosLat = frame.cosLatitude();
+		double longitude = site.longitude();
+		double sinReference = Math.sin(Math.toRadians(altitude));
+
+		List<HorizonEvent> events = new ArrayList<>();
+		double previousValue = 0.0;
+		double previousAngle = 0.0;
+		for (int k = 0; k < grid.size; k++) {
+			double hourAngle = grid.siderealAngle[k] + longitude - grid.rightAscension[k];
+			double value = grid.sinDeclination[k] * sinLat
+				+ grid.cosDeclination[k] * cosLat * Math.cos(Math.toRadians(hourAngle)) - sinReference;
+			if (k > 0) {
+				double lower = (k - 1) * grid.stepDays;
+				double upper = k * grid.stepDays;
+				if ((previousValue < 0) != (value < 0)) {
+					double t = BrentSolver.solve(s -> altitudeTerm(grid, s, sinLat, cosLat, longitude) - sinReference,
+						lower, previousValue, upper, value, TIME_TOLERANCE);
+					if (t <= span) {
+						HorizonEvent.Type type = value < 0 ? HorizonEvent.Type.SET : HorizonEvent.Type.RISE;
+						events.add(new HorizonEvent(index, type, start.plusDays(t), altitude));
+					}
+				}
+				// Upper culmination where the unwrapped hour angle passes a multiple of 360 degrees
+				double meridian = 360.0 * (Math.floor(previousAngle / 360.0) + 1.0);
+				if (hourAngle >= meridian) {
+					double t = BrentSolver.solve(s -> hourAngle(grid, s, longitude) - meridian,
+						lower, previousAngle - meridian, upper, hourAngle - meridian, TIME_TOLERANCE);
+					if (t <= span) {
+						double sinAltitude = altitudeTerm(grid, t, sinLat, cosLat, longitude);
+						events.add(new HorizonEvent(index, HorizonEvent.Type.TRANSIT, start.plusDays(t),
+							Math.toDegrees(Math.asin(Math.max(-1.0, Math.min(1.0, sinAltitude))))));
+					}
+				}
+			}
+			previousValue = value;
+			previousAngle = hourAngle;
+		}
+		events.sort(ORDER);
+		return events;
+	}
+
+	private static double hourAngle(TargetGrid grid, double t, double longitude) {
+		return grid.siderealAngle(t) + longitude - grid.rightAscension(t);
+	}
+
+	/**
+	 * Sine of the altitude at any time within the grid.
+	 */
+	private static double altitudeTerm(TargetGrid grid, double t, double sinLat, double cosLat, double longitude) {
+		double decRad = Math.toRadians(grid.declination(t));
+		return Math.sin(decRad) * sinLat
+			+ Math.cos(decRad) * cosLat * Math.cos(Math.toRadians(hourAngle(grid, t, longitude)));
+	}
+}
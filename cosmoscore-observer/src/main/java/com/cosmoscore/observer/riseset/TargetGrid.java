@@ -0,0 +1,94 @@
+package com.cosmoscore.observer.riseset;
+
+import java.util.function.Function;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.common.time.SiderealTimeTable;
+
+/**
+ * A target's position and the Greenwich sidereal angle tabulated on a uniform grid, shared by every site.
+ * <p>
+ * Times are in days from the start of the grid. Right ascension and sidereal angle are unwrapped across
+ * 360 degrees so they can be interpolated; between nodes the target is interpolated with a three-point
+ * formula and the sidereal angle linearly.
+ */
+final class TargetGrid {
+
+	final int size;
+	final double stepDays;
+	final double[] rightAscension;
+	final double[] declination;
+	final double[] sinDeclination;
+	final double[] cosDeclination;
+	final double[] siderealAngle;
+
+	TargetGrid(Function<JulianDate, EquatorialCoordinate> target, JulianDate start, JulianDate end, double stepDays) {
+		SiderealTimeTable sidereal = SiderealTimeTable.over(start, end, stepDays);
+		this.size = sidereal.size();
+		this.stepDays = stepDays;
+		this.rightAscension = new double[size];
+		this.declination = new double[size];
+		this.sinDeclination = new double[size];
+		this.cosDeclination = new double[size];
+		this.siderealAngle = new double[size];
+
+		for (int k = 0; k < size; k++) {
+			EquatorialCoordinate position = target.apply(sidereal.dateAt(k));
+			double ra = position.rightAscension();
+			double gst = sidereal.greenwichSiderealTime(k) * 15.0;
+			if (k > 0) {
+				ra += 360.0 * Math.rint((rightAscension[k - 1] - ra) / 360.0);
+				gst += 360.0 * Math.rint((siderealAngle[k - 1] + 360.98564736629 * stepDays - gst) / 360.0);
+			}
+			double decRad = Math.toRadians(position.declination());
+			rightAscension[k] = ra;
+			declination[k] = position.declination();
+			sinDeclination[k] = Math.sin(decRad);
+			cosDeclination[k] = Math.cos(decRad);
+			siderealAngle[k] = gst;
+		}
+	}
+
+	/**
+	 * Interpolated right ascension in degrees, unwrapped
+	 */
+	double rightAscension(double t) {
+		return interpolate(rightAscension, t);
+	}
+
+	/**
+	 * Interpolated declination in degrees
+	 */
+	double declination(double t) {
+		return interpolate(declination, t);
+	}
+
+	/**
+	 * Interpolated Greenwich sidereal angle in degrees, unwrapped
+	 */
+	double siderealAngle(double t) {
+		if (size == 1) {
+			return siderealAngle[0];
+		}
+		double position = t / stepDays;
+		int k = Math.max(0, Math.min((int) position, size - 2));
+		return siderealAngle[k] + (siderealAngle[k + 1] - siderealAngle[k]) * (position - k);
+	}
+
+	private double interpolate(double[] values, double t) {
+		if (size < 3) {
+			if (size == 1) {
+				return values[0];
+			}
+			return values[0] + (values[1] - values[0]) * t / stepDays;
+		}
+		// Three-point formula about the node nearest the interval, as in Meeus chapter 3
+		double position = t / stepDays;
+		int centre = Math.max(1, Math.min((int) Math.floor(position + 0.5), size - 2));
+		double n = position - centre;
+		double a = values[centre] - values[centre - 1];
+		double b = values[centre + 1] - values[centre];
+		return values[centre] + 0.5 * n * (a + b + n * (b - a));
+	}
+}
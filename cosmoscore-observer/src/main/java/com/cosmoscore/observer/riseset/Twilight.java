@@ -0,0 +1,35 @@
+package com.cosmoscore.observer.riseset;
+
+/**
+ * The kinds of twilight, each bounded by the Sun's centre reaching a fixed altitude below the horizon.
+ */
+public enum Twilight {
+
+	/**
+	 * Civil twilight, which ends when the Sun's centre is 6 degrees below the horizon
+	 */
+	CIVIL(-6.0),
+
+	/**
+	 * Nautical twilight, which ends when the Sun's centre is 12 degrees below the horizon
+	 */
+	NAUTICAL(-12.0),
+
+	/**
+	 * Astronomical twilight, which ends when the Sun's centre is 18 degrees below the horizon
+	 */
+	ASTRONOMICAL(-18.0);
+
+	private final double altitude;
+
+	Twilight(double altitude) {
+		this.altitude = altitude;
+	}
+
+	/**
+	 * Returns the altitude of the Sun's centre at the boundary, in degrees
+	 */
+	public double altitude() {
+		return altitude;
+	}
+}
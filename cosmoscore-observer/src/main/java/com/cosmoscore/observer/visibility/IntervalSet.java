@@ -0,0 +1,237 @@
+package com.cosmoscore.observer.visibility;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * An immutable set of disjoint time intervals.
+ * <p>
+ * The interval bounds are held in one sorted primitive array, start and end alternating, so intersection,
+ * union and difference are single linear merges. Each bound is stored as days since J2000 rather than as a
+ * Julian Date value, which resolves about a microsecond within a few centuries of J2000 where a bare Julian
+ * Date double resolves only about 40 microseconds. Intervals are half-open, and intervals that touch are
+ * merged.
+ */
+public final class IntervalSet {
+
+	private static final IntervalSet EMPTY = new IntervalSet(new double[0]);
+
+	private final double[] bounds;
+
+	private IntervalSet(double[] bounds) {
+		this.bounds = bounds;
+	}
+
+	/**
+	 * Returns the empty set
+	 */
+	public static IntervalSet empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Creates a set of one interval.
+	 *
+	 * @param start start of the interval
+	 * @param end end of the interval
+	 * @return the set, empty if the interval has no length
+	 * @throws IllegalArgumentException if the end is before the start
+	 */
+	public static IntervalSet of(JulianDate start, JulianDate end) {
+		Objects.requireNonNull(start, "Start date must not be null");
+		Objects.requireNonNull(end, "End date must not be null");
+		if (end.isBefore(start)) {
+			throw new IllegalArgumentException("End date must not be before start date");
+		}
+		Builder builder = new Builder(2);
+		builder.add(start.daysSinceJ2000(), end.daysSinceJ2000());
+		return builder.build();
+	}
+
+	/**
+	 * Returns whether the set has no intervals
+	 */
+	public boolean isEmpty() {
+		return bounds.length == 0;
+	}
+
+	/**
+	 * Returns the number of intervals
+	 */
+	public int size() {
+		return bounds.length / 2;
+	}
+
+	/**
+	 * Returns the start of an interval, in order of time
+	 */
+	public JulianDate start(int index) {
+		Objects.checkIndex(index, size());
+		return JulianDate.J2000.plusDays(bounds[2 * index]);
+	}
+
+	/**
+	 * Returns the end of an interval, in order of time
+	 */
+	public JulianDate end(int index) {
+		Objects.checkIndex(index, size());
+		return JulianDate.J2000.plusDays(bounds[2 * index + 1]);
+	}
+
+	/**
+	 * Returns the total length of the intervals in days
+	 */
+	public double duration() {
+		double total = 0.0;
+		for (int i = 0; i < bounds.length; i += 2) {
+			total += bounds[i + 1] - bounds[i];
+		}
+		return total;
+	}
+
+	/**
+	 * Returns whether a date falls in one of the intervals.
+	 *
+	 * @param jd Julian Date
+	 * @return true if the date is at or after the start of an interval and before its end
+	 */
+	public boolean contains(JulianDate jd) {
+		double value = jd.daysSinceJ2000();
+		// Odd insertion points fall inside an interval, and an exact hit on a start counts as inside
+		int index = Arrays.binarySearch(bounds, value);
+		return index >= 0 ? index % 2 == 0 : (-index - 1) % 2 == 1;
+	}
+
+	/**
+	 * Returns the dates that are in both sets.
+	 *
+	 * @param other the other set
+	 * @return the intersection
+	 */
+	public IntervalSet intersect(IntervalSet other) {
+		double[] a = bounds;
+		double[] b = other.bounds;
+		Builder builder = new Builder(Math.min(a.length, b.length) * 2);
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			builder.add(Math.max(a[i], b[j]), Math.min(a[i + 1], b[j + 1]));
+			if (a[i + 1] < b[j + 1]) {
+				i += 2;
+			} else {
+				j += 2;
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Returns the dates that are in either set.
+	 *
+	 * @param other the other set
+	 * @return the union
+	 */
+	public IntervalSet union(IntervalSet other) {
+		double[] a = bounds;
+		double[] b = other.bounds;
+		Builder builder = new Builder(a.length + b.length);
+		int i = 0;
+		int j = 0;
+		while (i < a.length || j < b.length) {
+			if (j >= b.length || (i < a.length && a[i] <= b[j])) {
+				builder.add(a[i], a[i + 1]);
+				i += 2;
+			} else {
+				builder.add(b[j], b[j + 1]);
+				j += 2;
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Returns the dates that are in this set but not in another.
+	 *
+	 * @param other the set to remove
+	 * @return the difference
+	 */
+	public IntervalSet minus(IntervalSet other) {
+		double[] a = bounds;
+		double[] b = other.bounds;
+		Builder builder = new Builder(a.length + b.length);
+		int j = 0;
+		for (int i = 0; i < a.length; i += 2) {
+			double start = a[i];
+			double end = a[i + 1];
+			// Skip removed intervals that end before this one starts
+			while (j < b.length && b[j + 1] <= start) {
+				j += 2;
+			}
+			int k = j;
+			while (k < b.length && b[k] < end) {
+				builder.add(start, b[k]);
+				start = Math.max(start, b[k + 1]);
+				k += 2;
+			}
+			builder.add(start, end);
+		}
+		return builder.build();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o || o instanceof IntervalSet other && Arrays.equals(bounds, other.bounds);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(bounds);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder("IntervalSet[");
+		for (int i = 0; i < bounds.length; i += 2) {
+			if (i > 0) {
+				text.append(", ");
+			}
+			text.append('[').append(start(i / 2).value()).append(", ").append(end(i / 2).value()).append(')');
+		}
+		return text.append(']').toString();
+	}
+
+	/**
+	 * Collects intervals added in order of start, merging those that overlap or touch and dropping those
+	 * without length. Bounds are given in days since J2000.
+	 */
+	static final class Builder {
+
+		private double[] bounds;
+		private int length;
+
+		Builder(int capacity) {
+			this.bounds = new double[Math.max(capacity, 2)];
+		}
+
+		void add(double start, double end) {
+			if (!(end > start)) {
+				return;
+			}
+			if (length > 0 && start <= bounds[length - 1]) {
+				bounds[length - 1] = Math.max(bounds[length - 1], end);
+				return;
+			}
+			if (length == bounds.length) {
+				bounds = Arrays.copyOf(bounds, 2 * length);
+			}
+			bounds[length++] = start;
+			bounds[length++] = end;
+		}
+
+		IntervalSet build() {
+			return length == 0 ? EMPTY : new IntervalSet(Arrays.copyOf(bounds, length));
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package com.cosmoscore.observer.visibility;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Finds the time intervals in which every one of a list of {@link VisibilityConstraint}s holds.
+ * <p>
+ * Constraints are applied in turn, and each is only sampled within the intervals left by those before
+ * it, so cheap or selective constraints should come first. Within an interval a constraint is sampled on
+ * a coarse grid, and only the steps where it changes state are refined by bisection. A constraint that
+ * changes state twice within one step may be missed.
+ */
+public final class VisibilityCalculator {
+
+	/**
+	 * Default grid step in days
+	 */
+	public static final double DEFAULT_STEP = 10.0 / 1440.0;
+
+	/**
+	 * Precision of the interval bounds in days
+	 */
+	static final double TIME_TOLERANCE = 1e-6;
+
+	private final double stepDays;
+
+	/**
+	 * Creates a calculator with the default step.
+	 */
+	public VisibilityCalculator() {
+		this(DEFAULT_STEP);
+	}
+
+	/**
+	 * Creates a calculator.
+	 *
+	 * @param stepDays grid step in days
+	 */
+	public VisibilityCalculator(double stepDays) {
+		if (!(stepDays > 0) || Double.isInfinite(stepDays)) {
+			throw new IllegalArgumentException("Step must be positive");
+		}
+		this.stepDays = stepDays;
+	}
+
+	/**
+	 * Returns the grid step in days
+	 */
+	public double stepDays() {
+		return stepDays;
+	}
+
+	/**
+	 * Finds where every constraint holds within a span.
+	 *
+	 * @param start start of the span
+	 * @param end end of the span
+	 * @param constraints the constraints, applied in order
+	 * @return the intervals
+	 */
+	public IntervalSet windows(JulianDate start, JulianDate end, List<? extends VisibilityConstraint> constraints) {
+		Objects.requireNonNull(constraints, "Constraints must not be null");
+		IntervalSet windows = IntervalSet.of(start, end);
+		for (VisibilityConstraint constraint : constraints) {
+			if (windows.isEmpty()) {
+				break;
+			}
+			windows = windows(windows, constraint);
+		}
+		return windows;
+	}
+
+	/**
+	 * Finds where a constraint holds within a set of intervals.
+	 *
+	 * @param within the intervals to search
+	 * @param constraint the constraint
+	 * @return the intervals, all within the ones searched
+	 */
+	public IntervalSet windows(IntervalSet within, VisibilityConstraint constraint) {
+		Objects.requireNonNull(within, "Intervals must not be null");
+		Objects.requireNonNull(constraint, "Constraint must not be null");
+		IntervalSet.Builder builder = new IntervalSet.Builder(2 * within.size());
+		for (int i = 0; i < within.size(); i++) {
+			JulianDate origin = within.start(i);
+			double length = origin.daysUntil(within.end(i));
+			double base = origin.daysSinceJ2000();
+
+			// Times are in days from the start of the interval, which keeps the bisection precise
+			double previous = 0.0;
+			boolean holds = constraint.test(origin);
+			double opened = holds ? 0.0 : Double.NaN;
+			for (int k = 1; previous < length; k++) {
+				double t = Math.min(k * stepDays, length);
+				boolean state = constraint.test(origin.plusDays(t));
+				if (state != holds) {
+					double change = change(constraint, origin, previous, t, holds);
+					if (state) {
+						opened = change;
+					} else {
+						builder.add(base + opened, base + change);
+					}
+					holds = state;
+				}
+				previous = t;
+			}
+			if (holds) {
+				builder.add(base + opened, base + length);
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Bisects the date a constraint changes state within a step.
+	 */
+	private static double change(VisibilityConstraint constraint, JulianDate origin, double lower, double upper,
+		boolean lowerState) {
+		while (upper - lower > TIME_TOLERANCE) {
+			double middle = 0.5 * (lower + upper);
+			if (constraint.test(origin.plusDays(middle)) == lowerState) {
+				lower = middle;
+			} else {
+				upper = middle;
+			}
+		}
+		return 0.5 * (lower + upper);
+	}
+}
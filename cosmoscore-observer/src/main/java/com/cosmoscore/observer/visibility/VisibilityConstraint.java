@@ -0,0 +1,128 @@
+package com.cosmoscore.observer.visibility;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.coordinate.Observer;
+import com.cosmoscore.common.coordinate.ObserverFrame;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.lunar.MoonPosition;
+import com.cosmoscore.position.solar.SunPosition;
+
+/**
+ * A condition on observing a target that holds or fails at each date.
+ * <p>
+ * A {@link VisibilityCalculator} samples a constraint on a coarse grid and refines only the dates where
+ * it changes state, so a constraint should change state slowly against the grid step. Positions are
+ * geocentric and altitudes geometric, without refraction.
+ */
+@FunctionalInterface
+public interface VisibilityConstraint {
+
+	/**
+	 * Tests the constraint.
+	 *
+	 * @param jd Julian Date
+	 * @return true if the constraint holds at the date
+	 */
+	boolean test(JulianDate jd);
+
+	/**
+	 * Returns a constraint that holds when both hold. The other constraint is only tested where this one
+	 * holds.
+	 */
+	default VisibilityConstraint and(VisibilityConstraint other) {
+		Objects.requireNonNull(other, "Other constraint must not be null");
+		return jd -> test(jd) && other.test(jd);
+	}
+
+	/**
+	 * Returns a constraint that holds when either holds. The other constraint is only tested where this
+	 * one fails.
+	 */
+	default VisibilityConstraint or(VisibilityConstraint other) {
+		Objects.requireNonNull(other, "Other constraint must not be null");
+		return jd -> test(jd) || other.test(jd);
+	}
+
+	/**
+	 * Returns a constraint that holds when this one fails
+	 */
+	default VisibilityConstraint negate() {
+		return jd -> !test(jd);
+	}
+
+	/**
+	 * Requires a target to be above an altitude.
+	 *
+	 * @param target position of the target at any date
+	 * @param site the observing site
+	 * @param altitude lowest altitude in degrees
+	 * @return the constraint
+	 */
+	static VisibilityConstraint altitudeAbove(Function<JulianDate, EquatorialCoordinate> target, Observer site,
+		double altitude) {
+		Objects.requireNonNull(target, "Target must not be null");
+		ObserverFrame frame = site.frame();
+		return jd -> {
+			EquatorialCoordinate position = target.apply(jd);
+			return frame.altitude(position.rightAscension(), position.declination(), frame.localSiderealTime(jd))
+				> altitude;
+		};
+	}
+
+	/**
+	 * Requires the Sun to be below an altitude, such as -18 degrees for astronomical darkness.
+	 *
+	 * @param site the observing site
+	 * @param altitude highest altitude of the Sun's centre in degrees
+	 * @return the constraint
+	 */
+	static VisibilityConstraint sunBelow(Observer site, double altitude) {
+		return altitudeAbove(new SunPosition()::calculate, site, altitude).negate();
+	}
+
+	/**
+	 * Requires a target to be at least an angle away from the Moon.
+	 *
+	 * @param target position of the target at any date
+	 * @param separation smallest separation in degrees
+	 * @return the constraint
+	 */
+	static VisibilityConstraint moonSeparationAbove(Function<JulianDate, EquatorialCoordinate> target,
+		double separation) {
+		Objects.requireNonNull(target, "Target must not be null");
+		MoonPosition moon = new MoonPosition();
+		return jd -> target.apply(jd).angularSeparation(moon.calculate(jd).equatorial()) > separation;
+	}
+
+	/**
+	 * Requires a target's azimuth to lie in a sector, measured clockwise from one azimuth to another.
+	 * A sector may wrap through north, and masks of several sectors are built with {@link #or}.
+	 *
+	 * @param target position of the target at any date
+	 * @param site the observing site
+	 * @param from azimuth where the sector starts, in degrees clockwise from north
+	 * @param to azimuth where the sector ends, in degrees clockwise from north
+	 * @return the constraint
+	 */
+	static VisibilityConstraint azimuthWithin(Function<JulianDate, EquatorialCoordinate> target, Observer site,
+		double from, double to) {
+		Objects.requireNonNull(target, "Target must not be null");
+		ObserverFrame frame = site.frame();
+		double start = normalize(from);
+		double width = normalize(to - from);
+		return jd -> {
+			EquatorialCoordinate position = target.apply(jd);
+			double azimuth = frame.azimuth(position.rightAscension(), position.declination(),
+				frame.localSiderealTime(jd));
+			return normalize(azimuth - start) <= width;
+		};
+	}
+
+	private static double normalize(double degrees) {
+		double value = degrees % 360.0;
+		return value < 0 ? value + 360.0 : value;
+	}
+}
@@ -0,0 +1,218 @@
+package com.cosmoscore.observer.pass;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.coordinate.Observer;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.common.time.LocalSiderealTime;
+import com.cosmoscore.orbit.KeplerOrbit;
+import com.cosmoscore.orbit.KeplerianElements;
+import com.cosmoscore.orbit.OrbitPropagator;
+
+@DisplayName("PassPredictor class")
+class PassPredictorTest {
+
+	private static final JulianDate START = new JulianDate(2460400, 0.5);
+	private static final double MU = KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER;
+
+	private static final List<Observer> SITES = List.of(new Observer(51.5, -0.1), new Observer(40.7, -74.0),
+		new Observer(-33.9, 151.2), new Observer(0.0, 0.0), new Observer(64.8, -147.7), new Observer(-70.0, 10.0));
+
+	private static KeplerOrbit orbit(double inclination, double node, double meanAnomaly) {
+		return new KeplerOrbit(new KeplerianElements(6778.0, 0.0005, inclination, node, 0.0, meanAnomaly, START, MU));
+	}
+
+	/**
+	 * A satellite fixed over a longitude on the equator.
+	 */
+	private static OrbitPropagator geostationary(double longitude) {
+		return (jd, state) -> {
+			double angle = Math.toRadians(LocalSiderealTime.calculateGST(jd) * 15.0 + longitude);
+			state[0] = 42164.0 * Math.cos(angle);
+			state[1] = 42164.0 * Math.sin(angle);
+			state[2] = 0.0;
+			state[3] = 0.0;
+			state[4] = 0.0;
+			state[5] = 0.0;
+		};
+	}
+
+	/**
+	 * Brute-force passes from the elevation at every second.
+	 */
+	private static List<double[]> bruteForce(PassPredictor predictor, OrbitPropagator orbit, int site, double seconds) {
+		List<double[]> passes = new ArrayList<>();
+		double[] pass = null;
+		for (double t = 0; t <= seconds; t += 1.0) {
+			double elevation = predictor.elevation(orbit, site, START.plusSeconds(t));
+			if (elevation >= predictor.minimumElevation()) {
+				if (pass == null) {
+					pass = new double[] {t, elevation};
+					passes.add(pass);
+				}
+				pass[1] = Math.max(pass[1], elevation);
+			} else {
+				pass = null;
+			}
+		}
+		return passes;
+	}
+
+	private static double seconds(JulianDate date) {
+		return START.daysUntil(date) * 86400.0;
+	}
+
+	@Nested
+	@DisplayName("elevation")
+	class Elevation {
+		@Test
+		@DisplayName("is at the zenith below a geostationary satellite")
+		void zenith() {
+			PassPredictor predictor = new PassPredictor(List.of(new Observer(0.0, 25.0)));
+
+			assertThat(predictor.elevation(geostationary(25.0), 0, START)).isEqualTo(90.0, withPrecision(1e-6));
+		}
+
+		@Test
+		@DisplayName("is below the horizon on the far side of the Earth")
+		void farSide() {
+			PassPredictor predictor = new PassPredictor(List.of(new Observer(0.0, -155.0)));
+
+			assertThat(predictor.elevation(geostationary(25.0), 0, START)).isLessThan(-60.0);
+		}
+	}
+
+	@Nested
+	@DisplayName("prediction")
+	class Prediction {
+		@Test
+		@DisplayName("matches a brute-force search at every site")
+		void bruteForce() {
+			OrbitPropagator orbit = orbit(51.6, 40.0, 0.0);
+			PassPredictor predictor = new PassPredictor(SITES, 10.0, 60.0);
+			double seconds = 86400.0;
+
+			List<SatellitePass> passes = predictor.predict(List.of(orbit), START, START.plusSeconds(seconds)).toList();
+
+			int total = 0;
+			for (int site = 0; site < SITES.size(); site++) {
+				int index = site;
+				List<double[]> expected = PassPredictorTest.bruteForce(predictor, orbit, site, seconds);
+				List<SatellitePass> actual = passes.stream().filter(p -> p.site() == index).toList();
+				assertThat(actual).hasSize(expected.size());
+				for (int p = 0; p < expected.size(); p++) {
+					SatellitePass pass = actual.get(p);
+					assertThat(seconds(pass.acquisition())).isEqualTo(expected.get(p)[0], withPrecision(1.0));
+					assertThat(pass.maximumElevation()).isGreaterThanOrEqualTo(expected.get(p)[1] - 1e-6);
+					assertThat(pass.maximumElevation()).isEqualTo(expected.get(p)[1], withPrecision(0.2));
+					assertThat(seconds(pass.culmination())).isBetween(seconds(pass.acquisition()), seconds(pass.loss()));
+					assertThat(pass.satellite()).isZero();
+				}
+				total += expected.size();
+			}
+			assertThat(total).isGreaterThan(5);
+		}
+
+		@Test
+		@DisplayName("groups passes by satellite in order of acquisition")
+		void order() {
+			List<OrbitPropagator> orbits = List.of(orbit(51.6, 0.0, 0.0), orbit(97.5, 120.0, 90.0),
+				orbit(28.5, 240.0, 180.0));
+			PassPredictor predictor = new PassPredictor(SITES);
+
+			List<SatellitePass> passes = predictor.predict(orbits, START, START.plusDays(1.0)).toList();
+
+			for (int i = 1; i < passes.size(); i++) {
+				SatellitePass previous = passes.get(i - 1);
+				SatellitePass pass = passes.get(i);
+				assertThat(pass.satellite()).isGreaterThanOrEqualTo(previous.satellite());
+				if (pass.satellite() == previous.satellite()) {
+					assertThat(seconds(pass.acquisition())).isGreaterThanOrEqualTo(seconds(previous.acquisition()));
+				}
+			}
+			assertThat(predictor.parallelPredict(orbits, START, START.plusDays(1.0)).toList()).isEqualTo(passes);
+		}
+
+		@Test
+		@DisplayName("clips passes to the prediction span")
+		void clipped() {
+			PassPredictor predictor = new PassPredictor(List.of(new Observer(10.0, 20.0)));
+			JulianDate end = START.plusDays(2.0);
+
+			List<SatellitePass> passes = predictor.predict(List.of(geostationary(25.0)), START, end).toList();
+
+			assertThat(passes).hasSize(1);
+			assertThat(passes.get(0).acquisition()).isEqualTo(START);
+			assertThat(seconds(passes.get(0).loss())).isEqualTo(2.0 * 86400.0, withPrecision(1e-3));
+			assertThat(passes.get(0).duration()).isEqualTo(2.0 * 86400.0, withPrecision(1e-3));
+		}
+
+		@Test
+		@DisplayName("sweeps satellites only as the stream is consumed")
+		void lazy() {
+			AtomicInteger calls = new AtomicInteger();
+			OrbitPropagator counted = geostationary(0.0);
+			OrbitPropagator counting = (jd, state) -> {
+				calls.incrementAndGet();
+				counted.propagate(jd, state);
+			};
+			PassPredictor predictor = new PassPredictor(List.of(new Observer(0.0, 0.0)));
+
+			predictor.predict(List.of(counting, counting, counting), START, START.plusDays(1.0)).findFirst();
+
+			assertThat(calls.get()).isLessThan(2 * (1440 + 1));
+		}
+
+		@Test
+		@DisplayName("keeps the passes of a satellite before it decays")
+		void decay() {
+			OrbitPropagator orbit = orbit(51.6, 40.0, 0.0);
+			JulianDate decay = START.plusDays(0.5);
+			OrbitPropagator decaying = (jd, state) -> {
+				if (jd.compareTo(decay) > 0) {
+					throw new IllegalStateException("Decayed");
+				}
+				orbit.propagate(jd, state);
+			};
+			PassPredictor predictor = new PassPredictor(SITES);
+
+			List<SatellitePass> full = predictor.predict(List.of(orbit), START, START.plusDays(1.0)).toList();
+			List<SatellitePass> truncated = predictor.predict(List.of(decaying), START, START.plusDays(1.0)).toList();
+
+			assertThat(truncated).isNotEmpty();
+			assertThat(truncated.size()).isLessThan(full.size());
+			assertThat(truncated).allMatch(pass -> pass.loss().compareTo(decay) <= 0);
+		}
+	}
+
+	@Nested
+	@DisplayName("validation")
+	class Validation {
+		@Test
+		@DisplayName("rejects invalid parameters")
+		void parameters() {
+			assertThatThrownBy(() -> new PassPredictor(SITES, 90.0, 60.0)).isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> new PassPredictor(SITES, 0.0, 0.0)).isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> new PassPredictor(null)).isInstanceOf(NullPointerException.class);
+		}
+
+		@Test
+		@DisplayName("rejects a span that ends before it starts")
+		void span() {
+			PassPredictor predictor = new PassPredictor(SITES);
+
+			assertThatThrownBy(() -> predictor.predict(List.of(), START, START.plusDays(-1.0)))
+				.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.cosmoscore.observer.riseset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BrentSolver class")
+class BrentSolverTest {
+
+	@Test
+	@DisplayName("finds the root of a smooth function")
+	void smooth() {
+		double root = BrentSolver.solve(Math::cos, 1.0, Math.cos(1.0), 2.0, Math.cos(2.0), 1e-12);
+
+		assertThat(root).isEqualTo(Math.PI / 2.0, withPrecision(1e-12));
+	}
+
+	@Test
+	@DisplayName("accepts the bracket in either order")
+	void reversed() {
+		double root = BrentSolver.solve(x -> x * x * x - 2.0, 2.0, 6.0, 0.0, -2.0, 1e-12);
+
+		assertThat(root).isEqualTo(Math.cbrt(2.0), withPrecision(1e-12));
+	}
+
+	@Test
+	@DisplayName("converges on a function with a flat root")
+	void flat() {
+		int[] evaluations = {0};
+		double root = BrentSolver.solve(x -> {
+			evaluations[0]++;
+			return Math.pow(x - 0.3, 5);
+		}, 0.0, Math.pow(-0.3, 5), 1.0, Math.pow(0.7, 5), 1e-9);
+
+		assertThat(root).isEqualTo(0.3, withPrecision(1e-8));
+		assertThat(evaluations[0]).isLessThan(100);
+	}
+
+	@Test
+	@DisplayName("returns an end of the bracket that is already a root")
+	void endpoint() {
+		assertThat(BrentSolver.solve(x -> x, 0.0, 0.0, 1.0, 1.0, 1e-9)).isZero();
+	}
+}
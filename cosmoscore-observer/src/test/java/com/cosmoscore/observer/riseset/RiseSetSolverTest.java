@@ -0,0 +1,214 @@
+package com.cosmoscore.observer.riseset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.coordinate.Observer;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.common.time.LocalSiderealTime;
+import com.cosmoscore.observer.riseset.HorizonEvent.Type;
+import com.cosmoscore.position.solar.SunPosition;
+
+@DisplayName("RiseSetSolver class")
+class RiseSetSolverTest {
+
+	// 2024 June 21, 0h UT
+	private static final JulianDate SOLSTICE = new JulianDate(2460482, 0.5);
+
+	private static final Observer LONDON = new Observer(51.5, -0.1);
+
+	private static final SunPosition SUN = new SunPosition();
+
+	private static Function<JulianDate, EquatorialCoordinate> fixed(double rightAscension, double declination) {
+		EquatorialCoordinate position = new EquatorialCoordinate(rightAscension, declination);
+		return jd -> position;
+	}
+
+	private static double altitude(Function<JulianDate, EquatorialCoordinate> target, Observer site, JulianDate jd) {
+		EquatorialCoordinate position = target.apply(jd);
+		return site.frame().altitude(position.rightAscension(), position.declination(),
+			LocalSiderealTime.calculate(jd, site.longitude()));
+	}
+
+	private static double hours(JulianDate from, JulianDate to) {
+		return from.daysUntil(to) * 24.0;
+	}
+
+	@Nested
+	@DisplayName("fixed targets")
+	class FixedTargets {
+		@Test
+		@DisplayName("rise, transit and set at the right altitudes and hour angle")
+		void star() {
+			Function<JulianDate, EquatorialCoordinate> star = fixed(101.3, -16.7);
+
+			List<HorizonEvent> events = new RiseSetSolver().solve(star, List.of(LONDON), SOLSTICE,
+				SOLSTICE.plusDays(3.0), RiseSetSolver.STANDARD_ALTITUDE).toList();
+
+			assertThat(events).hasSize(9);
+			for (HorizonEvent event : events) {
+				double altitude = altitude(star, LONDON, event.date());
+				if (event.type() == Type.TRANSIT) {
+					double hourAngle = LocalSiderealTime.calculate(event.date(), LONDON.longitude()) * 15.0 - 101.3;
+					hourAngle -= 360.0 * Math.rint(hourAngle / 360.0);
+					assertThat(hourAngle).isEqualTo(0.0, withPrecision(1e-3));
+					assertThat(event.altitude()).isEqualTo(90.0 - 51.5 - 16.7, withPrecision(1e-3));
+				} else {
+					assertThat(altitude).isEqualTo(RiseSetSolver.STANDARD_ALTITUDE, withPrecision(1e-3));
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("rise and set symmetrically about the transit")
+		void symmetric() {
+			List<HorizonEvent> events = new RiseSetSolver().solve(fixed(200.0, 20.0), List.of(LONDON), SOLSTICE,
+				SOLSTICE.plusDays(2.0), 0.0).toList();
+
+			for (int i = 1; i + 1 < events.size(); i++) {
+				if (events.get(i).type() == Type.TRANSIT) {
+					assertThat(events.get(i - 1).type()).isEqualTo(Type.RISE);
+					assertThat(events.get(i + 1).type()).isEqualTo(Type.SET);
+					assertThat(hours(events.get(i - 1).date(), events.get(i).date()))
+						.isEqualTo(hours(events.get(i).date(), events.get(i + 1).date()), withPrecision(1e-4));
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("circumpolar targets only transit, once a sidereal day")
+		void circumpolar() {
+			List<HorizonEvent> events = new RiseSetSolver().solve(fixed(37.95, 89.26), List.of(LONDON), SOLSTICE,
+				SOLSTICE.plusDays(10.0), 0.0).toList();
+
+			assertThat(events).hasSize(10);
+			assertThat(events).allMatch(event -> event.type() == Type.TRANSIT);
+			assertThat(hours(events.get(0).date(), events.get(1).date())).isEqualTo(23.9345, withPrecision(1e-3));
+		}
+	}
+
+	@Nested
+	@DisplayName("the Sun")
+	class Sun {
+		@Test
+		@DisplayName("rises and sets where the exact altitude crosses the horizon")
+		void exactAltitude() {
+			List<HorizonEvent> events = new RiseSetSolver().solve(SUN::calculate, List.of(LONDON), SOLSTICE,
+				SOLSTICE.plusDays(30.0), RiseSetSolver.SUN_STANDARD_ALTITUDE).toList();
+
+			assertThat(events).hasSize(90);
+			for (HorizonEvent event : events) {
+				if (event.type() != Type.TRANSIT) {
+					assertThat(altitude(SUN::calculate, LONDON, event.date()))
+						.isEqualTo(RiseSetSolver.SUN_STANDARD_ALTITUDE, withPrecision(1e-4));
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("gives a long day at midsummer")
+		void dayLength() {
+			List<HorizonEvent> events = new RiseSetSolver().solve(SUN::calculate, List.of(LONDON), SOLSTICE,
+				SOLSTICE.plusDays(1.0), RiseSetSolver.SUN_STANDARD_ALTITUDE).toList();
+
+			assertThat(events.stream().map(HorizonEvent::type).toList()).isEqualTo(List.of(Type.RISE, Type.TRANSIT, Type.SET));
+			assertThat(hours(SOLSTICE, events.get(0).date())).isEqualTo(3.72, withPrecision(0.05));
+			assertThat(hours(SOLSTICE, events.get(1).date())).isEqualTo(12.03, withPrecision(0.05));
+			assertThat(hours(events.get(0).date(), events.get(2).date())).isEqualTo(16.64, withPrecision(0.05));
+		}
+
+		@Test
+		@DisplayName("stays down through the polar night")
+		void polarNight() {
+			JulianDate december = SOLSTICE.plusDays(183.0);
+			List<HorizonEvent> events = new RiseSetSolver().solve(SUN::calculate, List.of(new Observer(80.0, 15.0)),
+				december, december.plusDays(5.0), RiseSetSolver.SUN_STANDARD_ALTITUDE).toList();
+
+			assertThat(events).hasSize(5);
+			assertThat(events).allMatch(event -> event.type() == Type.TRANSIT && event.altitude() < 0);
+		}
+	}
+
+	@Nested
+	@DisplayName("twilight")
+	class Twilights {
+		@Test
+		@DisplayName("deepens in order before sunrise")
+		void order() {
+			JulianDate equinox = SOLSTICE.plusDays(-92.0);
+			RiseSetSolver solver = new RiseSetSolver();
+			List<Observer> sites = List.of(new Observer(40.0, 0.0));
+
+			double astronomical = hours(equinox, solver.twilight(sites, equinox, equinox.plusDays(1.0),
+				Twilight.ASTRONOMICAL).findFirst().orElseThrow().date());
+			double nautical = hours(equinox, solver.twilight(sites, equinox, equinox.plusDays(1.0),
+				Twilight.NAUTICAL).findFirst().orElseThrow().date());
+			double civil = hours(equinox, solver.twilight(sites, equinox, equinox.plusDays(1.0),
+				Twilight.CIVIL).findFirst().orElseThrow().date());
+
+			assertThat(astronomical).isLessThan(nautical);
+			assertThat(nautical).isLessThan(civil);
+			assertThat(civil - astronomical).isBetween(0.9, 1.3);
+		}
+
+		@Test
+		@DisplayName("never ends at midsummer in the far north")
+		void whiteNights() {
+			List<HorizonEvent> events = new RiseSetSolver().twilight(List.of(new Observer(60.0, 30.0)), SOLSTICE,
+				SOLSTICE.plusDays(3.0), Twilight.NAUTICAL).toList();
+
+			assertThat(events).isEmpty();
+		}
+	}
+
+	@Nested
+	@DisplayName("many sites")
+	class ManySites {
+		@Test
+		@DisplayName("group events by site and match sites solved alone")
+		void grouped() {
+			List<Observer> sites = List.of(LONDON, new Observer(-33.9, 18.4), new Observer(35.7, 139.7));
+			RiseSetSolver solver = new RiseSetSolver();
+
+			List<HorizonEvent> all = solver.solve(SUN::calculate, sites, SOLSTICE, SOLSTICE.plusDays(365.0),
+				RiseSetSolver.SUN_STANDARD_ALTITUDE).toList();
+
+			for (int site = 0; site < sites.size(); site++) {
+				int index = site;
+				List<HorizonEvent> alone = solver.solve(SUN::calculate, List.of(sites.get(site)), SOLSTICE,
+					SOLSTICE.plusDays(365.0), RiseSetSolver.SUN_STANDARD_ALTITUDE).toList();
+				List<HorizonEvent> group = all.stream().filter(event -> event.site() == index).toList();
+				assertThat(group).hasSize(alone.size());
+				assertThat(group.get(100).date()).isEqualTo(alone.get(100).date());
+			}
+			assertThat(all).hasSize(3 * 365 * 3);
+		}
+	}
+
+	@Nested
+	@DisplayName("validation")
+	class Validation {
+		@Test
+		@DisplayName("rejects invalid steps")
+		void step() {
+			assertThatThrownBy(() -> new RiseSetSolver(0.0)).isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> new RiseSetSolver(1.0)).isInstanceOf(IllegalArgumentException.class);
+		}
+
+		@Test
+		@DisplayName("rejects a span that ends before it starts")
+		void span() {
+			assertThatThrownBy(() -> new RiseSetSolver().solve(SUN::calculate, List.of(LONDON), SOLSTICE,
+				SOLSTICE.plusDays(-1.0), 0.0)).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.cosmoscore.observer.visibility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("IntervalSet class")
+class IntervalSetTest {
+
+	private static final JulianDate ORIGIN = new JulianDate(2460000.5);
+
+	private static IntervalSet interval(double start, double end) {
+		return IntervalSet.of(ORIGIN.plusDays(start), ORIGIN.plusDays(end));
+	}
+
+	private static IntervalSet set(double... bounds) {
+		IntervalSet set = IntervalSet.empty();
+		for (int i = 0; i < bounds.length; i += 2) {
+			set = set.union(interval(bounds[i], bounds[i + 1]));
+		}
+		return set;
+	}
+
+	@Nested
+	@DisplayName("construction")
+	class Construction {
+		@Test
+		@DisplayName("drops intervals without length")
+		void empty() {
+			assertThat(interval(1.0, 1.0).isEmpty()).isTrue();
+			assertThat(IntervalSet.empty().size()).isZero();
+			assertThatThrownBy(() -> interval(2.0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+		}
+
+		@Test
+		@DisplayName("keeps its bounds to a microsecond")
+		void precision() {
+			JulianDate start = new JulianDate(2460000L, 0.123456789012);
+			JulianDate end = start.plusSeconds(1e-6);
+			IntervalSet set = IntervalSet.of(start, end);
+
+			assertThat(set.size()).isEqualTo(1);
+			assertThat(start.daysUntil(set.start(0)) * 86400.0).isEqualTo(0.0, withPrecision(1e-6));
+			assertThat(end.daysUntil(set.end(0)) * 86400.0).isEqualTo(0.0, withPrecision(1e-6));
+		}
+
+		@Test
+		@DisplayName("merges intervals that overlap or touch")
+		void merges() {
+			IntervalSet set = set(0.0, 1.0, 1.0, 2.0, 1.5, 3.0, 5.0, 6.0);
+
+			assertThat(set.size()).isEqualTo(2);
+			assertThat(set).isEqualTo(set(0.0, 3.0, 5.0, 6.0));
+			assertThat(set.duration()).isEqualTo(4.0, withPrecision(1e-9));
+		}
+	}
+
+	@Nested
+	@DisplayName("algebra")
+	class Algebra {
+		@Test
+		@DisplayName("intersects sets")
+		void intersect() {
+			IntervalSet a = set(0.0, 2.0, 3.0, 6.0, 8.0, 9.0);
+			IntervalSet b = set(1.0, 4.0, 5.0, 8.5);
+
+			assertThat(a.intersect(b)).isEqualTo(set(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 8.0, 8.5));
+			assertThat(a.intersect(IntervalSet.empty()).isEmpty()).isTrue();
+			assertThat(a.intersect(set(2.0, 3.0)).isEmpty()).isTrue();
+		}
+
+		@Test
+		@DisplayName("unites sets")
+		void union() {
+			IntervalSet a = set(0.0, 2.0, 3.0, 4.0);
+			IntervalSet b = set(1.0, 3.0, 6.0, 7.0);
+
+			assertThat(a.union(b)).isEqualTo(set(0.0, 4.0, 6.0, 7.0));
+			assertThat(a.union(IntervalSet.empty())).isEqualTo(a);
+		}
+
+		@Test
+		@DisplayName("subtracts sets")
+		void minus() {
+			IntervalSet a = set(0.0, 10.0, 20.0, 30.0);
+			IntervalSet b = set(-1.0, 1.0, 2.0, 3.0, 9.0, 21.0, 25.0, 26.0);
+
+			assertThat(a.minus(b)).isEqualTo(set(1.0, 2.0, 3.0, 9.0, 21.0, 25.0, 26.0, 30.0));
+			assertThat(a.minus(a).isEmpty()).isTrue();
+			assertThat(a.minus(IntervalSet.empty())).isEqualTo(a);
+		}
+	}
+
+	@Test
+	@DisplayName("contains dates from the start of an interval up to its end")
+	void contains() {
+		IntervalSet set = set(1.0, 2.0, 4.0, 5.0);
+
+		assertThat(set.contains(ORIGIN.plusDays(1.0))).isTrue();
+		assertThat(set.contains(ORIGIN.plusDays(1.5))).isTrue();
+		assertThat(set.contains(ORIGIN.plusDays(2.0))).isFalse();
+		assertThat(set.contains(ORIGIN.plusDays(3.0))).isFalse();
+		assertThat(set.contains(ORIGIN.plusDays(4.5))).isTrue();
+		assertThat(set.contains(ORIGIN.plusDays(0.5))).isFalse();
+	}
+}
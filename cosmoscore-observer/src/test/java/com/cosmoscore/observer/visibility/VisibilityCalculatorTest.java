@@ -0,0 +1,172 @@
+package com.cosmoscore.observer.visibility;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.coordinate.Observer;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.common.time.LocalSiderealTime;
+import com.cosmoscore.position.lunar.MoonPosition;
+
+@DisplayName("VisibilityCalculator class")
+class VisibilityCalculatorTest {
+
+	// 2024 June 21, 0h UT
+	private static final JulianDate SOLSTICE = new JulianDate(2460482, 0.5);
+
+	private static final Observer LONDON = new Observer(51.5, -0.1);
+
+	private static final Function<JulianDate, EquatorialCoordinate> VEGA = fixed(279.23, 38.78);
+
+	private static Function<JulianDate, EquatorialCoordinate> fixed(double rightAscension, double declination) {
+		EquatorialCoordinate position = new EquatorialCoordinate(rightAscension, declination);
+		return jd -> position;
+	}
+
+	private static double altitude(Function<JulianDate, EquatorialCoordinate> target, JulianDate jd) {
+		EquatorialCoordinate position = target.apply(jd);
+		return LONDON.frame().altitude(position.rightAscension(), position.declination(),
+			LocalSiderealTime.calculate(jd, LONDON.longitude()));
+	}
+
+	@Nested
+	@DisplayName("single constraints")
+	class Single {
+		@Test
+		@DisplayName("bound altitude windows where the altitude crosses the limit")
+		void altitudeWindows() {
+			IntervalSet windows = new VisibilityCalculator().windows(SOLSTICE, SOLSTICE.plusDays(3.0),
+				List.of(VisibilityConstraint.altitudeAbove(VEGA, LONDON, 40.0)));
+
+			assertThat(windows.size()).isBetween(3, 4);
+			for (int i = 0; i < windows.size(); i++) {
+				JulianDate start = windows.start(i);
+				JulianDate end = windows.end(i);
+				// Windows open at the start of the span or close at its end where Vega is already up
+				if (Math.abs(SOLSTICE.daysUntil(start)) > 1e-9) {
+					assertThat(altitude(VEGA, start)).isEqualTo(40.0, withPrecision(1e-3));
+				}
+				if (Math.abs(end.daysUntil(SOLSTICE.plusDays(3.0))) > 1e-9) {
+					assertThat(altitude(VEGA, end)).isEqualTo(40.0, withPrecision(1e-3));
+				}
+				assertThat(altitude(VEGA, start.plusDays(0.5 * start.daysUntil(end)))).isGreaterThan(40.0);
+			}
+		}
+
+		@Test
+		@DisplayName("find no astronomical darkness at midsummer in London")
+		void noDarkness() {
+			IntervalSet windows = new VisibilityCalculator().windows(SOLSTICE, SOLSTICE.plusDays(2.0),
+				List.of(VisibilityConstraint.sunBelow(LONDON, -18.0)));
+
+			assertThat(windows.isEmpty()).isTrue();
+		}
+
+		@Test
+		@DisplayName("find long nights at midwinter")
+		void longNights() {
+			JulianDate december = SOLSTICE.plusDays(183.0);
+			IntervalSet windows = new VisibilityCalculator().windows(december, december.plusDays(1.0),
+				List.of(VisibilityConstraint.sunBelow(LONDON, -18.0)));
+
+			assertThat(windows.duration() * 24.0).isBetween(11.0, 13.0);
+		}
+
+		@Test
+		@DisplayName("exclude targets near the Moon")
+		void moonSeparation() {
+			MoonPosition moon = new MoonPosition();
+			Function<JulianDate, EquatorialCoordinate> nearMoon = jd -> moon.calculate(jd).equatorial();
+			Function<JulianDate, EquatorialCoordinate> opposite = jd -> {
+				EquatorialCoordinate position = moon.calculate(jd).equatorial();
+				return new EquatorialCoordinate((position.rightAscension() + 180.0) % 360.0, -position.declination());
+			};
+			VisibilityCalculator calculator = new VisibilityCalculator();
+
+			assertThat(calculator.windows(SOLSTICE, SOLSTICE.plusDays(1.0),
+				List.of(VisibilityConstraint.moonSeparationAbove(nearMoon, 30.0))).isEmpty()).isTrue();
+			assertThat(calculator.windows(SOLSTICE, SOLSTICE.plusDays(1.0),
+				List.of(VisibilityConstraint.moonSeparationAbove(opposite, 30.0))).duration())
+				.isEqualTo(1.0, withPrecision(1e-9));
+		}
+
+		@Test
+		@DisplayName("split the sky with azimuth sectors that wrap through north")
+		void azimuth() {
+			VisibilityCalculator calculator = new VisibilityCalculator();
+			JulianDate end = SOLSTICE.plusDays(1.0);
+
+			IntervalSet north = calculator.windows(SOLSTICE, end,
+				List.of(VisibilityConstraint.azimuthWithin(VEGA, LONDON, 270.0, 90.0)));
+			IntervalSet south = calculator.windows(SOLSTICE, end,
+				List.of(VisibilityConstraint.azimuthWithin(VEGA, LONDON, 90.0, 270.0)));
+
+			assertThat(north.isEmpty()).isFalse();
+			assertThat(south.isEmpty()).isFalse();
+			assertThat(north.union(south).duration()).isEqualTo(1.0, withPrecision(1e-5));
+			assertThat(north.intersect(south).duration()).isLessThan(1e-5);
+		}
+	}
+
+	@Nested
+	@DisplayName("combined constraints")
+	class Combined {
+		@Test
+		@DisplayName("match the intersection of their separate windows")
+		void intersection() {
+			JulianDate december = SOLSTICE.plusDays(183.0);
+			JulianDate end = december.plusDays(5.0);
+			VisibilityConstraint high = VisibilityConstraint.altitudeAbove(VEGA, LONDON, 20.0);
+			VisibilityConstraint dark = VisibilityConstraint.sunBelow(LONDON, -12.0);
+			VisibilityCalculator calculator = new VisibilityCalculator();
+
+			IntervalSet combined = calculator.windows(december, end, List.of(high, dark));
+			IntervalSet separate = calculator.windows(december, end, List.of(high))
+				.intersect(calculator.windows(december, end, List.of(dark)));
+
+			assertThat(combined.size()).isEqualTo(separate.size());
+			assertThat(combined.size()).isGreaterThan(0);
+			for (int i = 0; i < combined.size(); i++) {
+				assertThat(combined.start(i).daysUntil(separate.start(i))).isEqualTo(0.0, withPrecision(1e-5));
+				assertThat(combined.end(i).daysUntil(separate.end(i))).isEqualTo(0.0, withPrecision(1e-5));
+			}
+		}
+
+		@Test
+		@DisplayName("test later constraints only where earlier ones hold")
+		void lazy() {
+			VisibilityConstraint high = VisibilityConstraint.altitudeAbove(VEGA, LONDON, 60.0);
+			List<JulianDate> tested = new ArrayList<>();
+			VisibilityConstraint recording = jd -> {
+				tested.add(jd);
+				return true;
+			};
+			VisibilityCalculator calculator = new VisibilityCalculator();
+
+			IntervalSet first = calculator.windows(SOLSTICE, SOLSTICE.plusDays(2.0), List.of(high));
+			IntervalSet windows = calculator.windows(SOLSTICE, SOLSTICE.plusDays(2.0), List.of(high, recording));
+
+			assertThat(windows).isEqualTo(first);
+			assertThat(tested).isNotEmpty();
+			for (JulianDate jd : tested) {
+				assertThat(first.contains(jd) || first.contains(jd.plusDays(-1e-9))).isTrue();
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("rejects non-positive steps")
+	void validation() {
+		assertThatThrownBy(() -> new VisibilityCalculator(0.0)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
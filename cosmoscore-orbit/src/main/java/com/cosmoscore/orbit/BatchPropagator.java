@@ -0,0 +1,79 @@
+package com.cosmoscore.orbit;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Propagates many orbits to one date, or one orbit to many dates, into {@link Vector3DBuffer}s.
+ * <p>
+ * One scratch array is reused for the whole batch, so the only allocations are the caller's buffers.
+ * Velocities may be skipped by passing null. Any {@link OrbitPropagator} can be batched here, one call
+ * per orbit; many elliptic two-body orbits are propagated faster by a {@link KeplerBatch}, whose
+ * struct-of-arrays kernel runs on SIMD lanes.
+ */
+public final class BatchPropagator {
+
+	private BatchPropagator() {
+	}
+
+	/**
+	 * Propagates every orbit to one date.
+	 *
+	 * @param orbits the orbits
+	 * @param jd Julian Date
+	 * @param positions receives one position per orbit in kilometres
+	 * @param velocities receives one velocity per orbit in kilometres per second, or null
+	 * @throws IllegalArgumentException if a buffer's size differs from the number of orbits
+	 */
+	public static void propagate(List<? extends OrbitPropagator> orbits, JulianDate jd, Vector3DBuffer positions,
+		Vector3DBuffer velocities) {
+		Objects.requireNonNull(orbits, "Orbits must not be null");
+		Objects.requireNonNull(jd, "Julian Date must not be null");
+		checkBuffers(orbits.size(), positions, velocities, "Buffers must hold one vector per orbit");
+
+		double[] state = new double[6];
+		for (int i = 0; i < orbits.size(); i++) {
+			orbits.get(i).propagate(jd, state);
+			store(i, state, positions, velocities);
+		}
+	}
+
+	/**
+	 * Propagates one orbit to every date.
+	 *
+	 * @param orbit the orbit
+	 * @param dates the dates
+	 * @param positions receives one position per date in kilometres
+	 * @param velocities receives one velocity per date in kilometres per second, or null
+	 * @throws IllegalArgumentException if a buffer's size differs from the number of dates
+	 */
+	public static void propagate(OrbitPropagator orbit, JulianDate[] dates, Vector3DBuffer positions,
+		Vector3DBuffer velocities) {
+		Objects.requireNonNull(orbit, "Orbit must not be null");
+		Objects.requireNonNull(dates, "Dates must not be null");
+		checkBuffers(dates.length, positions, velocities, "Buffers must hold one vector per date");
+
+		double[] state = new double[6];
+		for (int i = 0; i < dates.length; i++) {
+			orbit.propagate(dates[i], state);
+			store(i, state, positions, velocities);
+		}
+	}
+
+	private static void store(int index, double[] state, Vector3DBuffer positions, Vector3DBuffer velocities) {
+		positions.set(index, state[0], state[1], state[2]);
+		if (velocities != null) {
+			velocities.set(index, state[3], state[4], state[5]);
+		}
+	}
+
+	private static void checkBuffers(int size, Vector3DBuffer positions, Vector3DBuffer velocities, String message) {
+		Objects.requireNonNull(positions, "Position buffer must not be null");
+		if (positions.size() != size || (velocities != null && velocities.size() != size)) {
+			throw new IllegalArgumentException(message);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package com.cosmoscore.orbit;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Many elliptic two-body orbits held as parallel primitive arrays (struct of arrays) and propagated
+ * together.
+ * <p>
+ * Each orbit is reduced once to what {@link KeplerOrbit} keeps: its mean motion, axes and the perifocal
+ * unit vectors P and Q. Propagating the whole batch to one date is then a single loop over those arrays.
+ * When the {@code jdk.incubator.vector} module is available (run with
+ * {@code --add-modules jdk.incubator.vector}) that loop solves Kepler's equation for several orbits per
+ * SIMD instruction; otherwise a scalar implementation is chosen at startup. Setting the system property
+ * {@code cosmoscore.simd} to {@code false} forces the scalar implementation.
+ * <p>
+ * The states are written into work arrays owned by the batch before being copied to the caller's
+ * buffers, so propagating allocates nothing but an instance must not be used by two threads at once.
+ */
+public final class KeplerBatch {
+
+	private static final String SIMD_MODULE = "jdk.incubator.vector";
+	private static final String SIMD_KERNEL = "com.cosmoscore.orbit.SimdKeplerKernel";
+
+	private static final KeplerKernel KERNEL = select();
+
+	final double[] epoch;
+	final double[] meanAnomaly;
+	final double[] meanMotion;
+	final double[] eccentricity;
+	final double[] semiMajorAxis;
+	final double[] semiMinorAxis;
+	final double[] px;
+	final double[] py;
+	final double[] pz;
+	final double[] qx;
+	final double[] qy;
+	final double[] qz;
+
+	private final double[] x;
+	private final double[] y;
+	private final double[] z;
+	private final double[] vx;
+	private final double[] vy;
+	private final double[] vz;
+
+	/**
+	 * Prepares a set of elliptic orbits for propagation.
+	 *
+	 * @param elements the orbits
+	 * @throws IllegalArgumentException if an orbit is not elliptic
+	 */
+	public KeplerBatch(List<KeplerianElements> elements) {
+		Objects.requireNonNull(elements, "Elements must not be null");
+		int size = elements.size();
+		this.epoch = new double[size];
+		this.meanAnomaly = new double[size];
+		this.meanMotion = new double[size];
+		this.eccentricity = new double[size];
+		this.semiMajorAxis = new double[size];
+		this.semiMinorAxis = new double[size];
+		this.px = new double[size];
+		this.py = new double[size];
+		this.pz = new double[size];
+		this.qx = new double[size];
+		this.qy = new double[size];
+		this.qz = new double[size];
+		this.x = new double[size];
+		this.y = new double[size];
+		this.z = new double[size];
+		this.vx = new double[size];
+		this.vy = new double[size];
+		this.vz = new double[size];
+
+		for (int i = 0; i < size; i++) {
+			KeplerianElements orbit = Objects.requireNonNull(elements.get(i), "Elements must not be null");
+			double e = orbit.eccentricity();
+			if (!(e < 1)) {
+				throw new IllegalArgumentException("Batch orbits must be elliptic");
+			}
+			epoch[i] = orbit.epoch().daysSinceJ2000();
+			meanAnomaly[i] = Math.toRadians(orbit.meanAnomaly());
+			meanMotion[i] = orbit.meanMotion();
+			eccentricity[i] = e;
+			semiMajorAxis[i] = orbit.semiMajorAxis();
+			semiMinorAxis[i] = orbit.semiMajorAxis() * Math.sqrt(1.0 - e * e);
+
+			double node = Math.toRadians(orbit.rightAscensionOfAscendingNode());
+			double periapsis = Math.toRadians(orbit.argumentOfPeriapsis());
+			double inclination = Math.toRadians(orbit.inclination());
+			double cosNode = Math.cos(node);
+			double sinNode = Math.sin(node);
+			double cosPeriapsis = Math.cos(periapsis);
+			double sinPeriapsis = Math.sin(periapsis);
+			double cosInclination = Math.cos(inclination);
+			double sinInclination = Math.sin(inclination);
+
+			px[i] = cosNode * cosPeriapsis - sinNode * sinPeriapsis * cosInclination;
+			py[i] = sinNode * cosPeriapsis + cosNode * sinPeriapsis * cosInclination;
+			pz[i] = sinPeriapsis * sinInclination;
+			qx[i] = -cosNode * sinPeriapsis - sinNode * cosPeriapsis * cosInclination;
+			qy[i] = -sinNode * sinPeriapsis + cosNode * cosPeriapsis * cosInclination;
+			qz[i] = cosPeriapsis * sinInclination;
+		}
+	}
+
+	/**
+	 * Returns whether the SIMD implementation is in use
+	 */
+	public static boolean isSimdEnabled() {
+		return !(KERNEL instanceof ScalarKeplerKernel);
+	}
+
+	/**
+	 * Returns the number of orbits
+	 */
+	public int size() {
+		return epoch.length;
+	}
+
+	/**
+	 * Propagates every orbit to one date.
+	 *
+	 * @param jd Julian Date
+	 * @param positions receives one position per orbit in kilometres
+	 * @param velocities receives one velocity per orbit in kilometres per second, or null
+	 * @throws IllegalArgumentException if a buffer's size differs from the number of orbits
+	 */
+	public void propagate(JulianDate jd, Vector3DBuffer positions, Vector3DBuffer velocities) {
+		Objects.requireNonNull(jd, "Julian Date must not be null");
+		Objects.requireNonNull(positions, "Position buffer must not be null");
+		if (positions.size() != size() || (velocities != null && velocities.size() != size())) {
+			throw new IllegalArgumentException("Buffers must hold one vector per orbit");
+		}
+		propagate(KERNEL, jd, positions, velocities);
+	}
+
+	void propagate(KeplerKernel kernel, JulianDate jd, Vector3DBuffer positions, Vector3DBuffer velocities) {
+		kernel.propagate(this, jd.daysSinceJ2000(), x, y, z, vx, vy, vz);
+		for (int i = 0; i < x.length; i++) {
+			positions.set(i, x[i], y[i], z[i]);
+			if (velocities != null) {
+				velocities.set(i, vx[i], vy[i], vz[i]);
+			}
+		}
+	}
+
+	private static KeplerKernel select() {
+		if (!Boolean.parseBoolean(System.getProperty("cosmoscore.simd", "true"))
+			|| ModuleLayer.boot().findModule(SIMD_MODULE).isEmpty()) {
+			return new ScalarKeplerKernel();
+		}
+		try {
+			Class<?> type = Class.forName(SIMD_KERNEL);
+			if ((boolean) type.getDeclaredMethod("isAccelerated").invoke(null)) {
+				return (KeplerKernel) type.getDeclaredConstructor().newInstance();
+			}
+		} catch (ReflectiveOperationException | LinkageError e) {
+			// Fall back to the scalar kernel
+		}
+		return new ScalarKeplerKernel();
+	}
+}
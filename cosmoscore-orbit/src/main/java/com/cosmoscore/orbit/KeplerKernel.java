@@ -0,0 +1,17 @@
+package com.cosmoscore.orbit;
+
+/**
+ * Two-body propagation of every orbit in a {@link KeplerBatch} to one date.
+ * Implementations are selected at runtime by {@link KeplerBatch}.
+ */
+interface KeplerKernel {
+
+	/**
+	 * @param batch the orbits
+	 * @param days date as days since J2000
+	 * @param x receives the position x components, and likewise y and z
+	 * @param vx receives the velocity x components, and likewise vy and vz
+	 */
+	void propagate(KeplerBatch batch, double days, double[] x, double[] y, double[] z,
+		double[] vx, double[] vy, double[] vz);
+}
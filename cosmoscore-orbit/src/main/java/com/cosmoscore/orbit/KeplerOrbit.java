@@ -0,0 +1,98 @@
+package com.cosmoscore.orbit;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Two-body propagation of a set of {@link KeplerianElements}.
+ * <p>
+ * The orientation of the orbit is reduced once to the perifocal unit vectors P (towards periapsis) and
+ * Q (90 degrees ahead in the orbit plane), so each propagation solves Kepler's equation and combines
+ * two vectors. States are in the frame the elements are referred to.
+ */
+public final class KeplerOrbit implements OrbitPropagator {
+
+	private static final double SECONDS_PER_DAY = 86400.0;
+
+	private final KeplerianElements elements;
+	private final double eccentricity;
+	private final double semiLatusRectum;
+	private final double velocityScale;
+	private final double meanMotion;
+	private final double meanAnomaly;
+	private final double px;
+	private final double py;
+	private final double pz;
+	private final double qx;
+	private final double qy;
+	private final double qz;
+
+	/**
+	 * Prepares a set of elements for propagation.
+	 *
+	 * @param elements the orbit
+	 */
+	public KeplerOrbit(KeplerianElements elements) {
+		this.elements = Objects.requireNonNull(elements, "Elements must not be null");
+		this.eccentricity = elements.eccentricity();
+		this.semiLatusRectum = elements.semiLatusRectum();
+		this.velocityScale = Math.sqrt(elements.gravitationalParameter() / semiLatusRectum);
+		this.meanMotion = elements.meanMotion();
+		this.meanAnomaly = Math.toRadians(elements.meanAnomaly());
+
+		double node = Math.toRadians(elements.rightAscensionOfAscendingNode());
+		double periapsis = Math.toRadians(elements.argumentOfPeriapsis());
+		double inclination = Math.toRadians(elements.inclination());
+		double cosNode = Math.cos(node);
+		double sinNode = Math.sin(node);
+		double cosPeriapsis = Math.cos(periapsis);
+		double sinPeriapsis = Math.sin(periapsis);
+		double cosInclination = Math.cos(inclination);
+		double sinInclination = Math.sin(inclination);
+
+		this.px = cosNode * cosPeriapsis - sinNode * sinPeriapsis * cosInclination;
+		this.py = sinNode * cosPeriapsis + cosNode * sinPeriapsis * cosInclination;
+		this.pz = sinPeriapsis * sinInclination;
+		this.qx = -cosNode * sinPeriapsis - sinNode * cosPeriapsis * cosInclination;
+		this.qy = -sinNode * sinPeriapsis + cosNode * cosPeriapsis * cosInclination;
+		this.qz = cosPeriapsis * sinInclination;
+	}
+
+	/**
+	 * Returns the elements being propagated
+	 */
+	public KeplerianElements elements() {
+		return elements;
+	}
+
+	@Override
+	public void propagate(JulianDate jd, double[] state) {
+		propagate(elements.epoch().daysUntil(jd) * SECONDS_PER_DAY, state);
+	}
+
+	/**
+	 * Computes the state a given time after the epoch of the elements.
+	 *
+	 * @param seconds time since epoch in seconds
+	 * @param state receives position and velocity, as for {@link #propagate(JulianDate, double[])}
+	 */
+	public void propagate(double seconds, double[] state) {
+		double trueAnomaly = KeplerSolver.trueAnomaly(meanAnomaly + meanMotion * seconds, eccentricity);
+		double cosNu = Math.cos(trueAnomaly);
+		double sinNu = Math.sin(trueAnomaly);
+		double radius = semiLatusRectum / (1.0 + eccentricity * cosNu);
+
+		double x = radius * cosNu;
+		double y = radius * sinNu;
+		double vx = -velocityScale * sinNu;
+		double vy = velocityScale * (eccentricity + cosNu);
+
+		state[0] = px * x + qx * y;
+		state[1] = py * x + qy * y;
+		state[2] = pz * x + qz * y;
+		state[3] = px * vx + qx * vy;
+		state[4] = py * vx + qy * vy;
+		state[5] = pz * vx + qz * vy;
+	}
+}
@@ -0,0 +1,113 @@
+package com.cosmoscore.orbit;
+
+/**
+ * Solutions of Kepler's equation for elliptic, parabolic and hyperbolic orbits.
+ * <p>
+ * The elliptic and hyperbolic equations are solved by Halley's method from Danby's starting values,
+ * which converge for every eccentricity and mean anomaly in a handful of steps. Iteration is capped at
+ * {@value #MAX_ITERATIONS} steps, so the cost is bounded even for inputs at the edge of double precision.
+ * The parabolic equation (Barker's equation) is solved in closed form. All angles are in radians.
+ */
+public final class KeplerSolver {
+
+	/**
+	 * Upper bound on the number of Halley steps per solution
+	 */
+	public static final int MAX_ITERATIONS = 16;
+
+	private static final double TOLERANCE = 1e-15;
+	private static final double TWO_PI = 2.0 * Math.PI;
+
+	private KeplerSolver() {
+	}
+
+	/**
+	 * Solves {@code M = E - e sin E} for the eccentric anomaly.
+	 *
+	 * @param meanAnomaly mean anomaly M in radians
+	 * @param eccentricity eccentricity e, from 0 to less than 1
+	 * @return eccentric anomaly E in radians, in the same revolution as M
+	 * @throws IllegalArgumentException if the eccentricity is not between 0 and 1
+	 */
+	public static double eccentricAnomaly(double meanAnomaly, double eccentricity) {
+		if (!(eccentricity >= 0 && eccentricity < 1)) {
+			throw new IllegalArgumentException("Eccentricity of an elliptic orbit must be between 0 and 1");
+		}
+		// Solve within (-π, π] and add the whole revolutions back
+		double revolutions = Math.floor((meanAnomaly + Math.PI) / TWO_PI) * TWO_PI;
+		double m = meanAnomaly - revolutions;
+
+		double e = m + 0.85 * eccentricity * Math.signum(Math.sin(m));
+		for (int i = 0; i < MAX_ITERATIONS; i++) {
+			double sinE = eccentricity * Math.sin(e);
+			double f = e - sinE - m;
+			double fPrime = 1.0 - eccentricity * Math.cos(e);
+			double delta = f / (fPrime - 0.5 * f * sinE / fPrime);
+			e -= delta;
+			if (Math.abs(delta) <= TOLERANCE * (1.0 + Math.abs(e))) {
+				break;
+			}
+		}
+		return e + revolutions;
+	}
+
+	/**
+	 * Solves {@code M = e sinh H - H} for the hyperbolic anomaly.
+	 *
+	 * @param meanAnomaly mean anomaly M in radians
+	 * @param eccentricity eccentricity e, greater than 1
+	 * @return hyperbolic anomaly H
+	 * @throws IllegalArgumentException if the eccentricity is not greater than 1
+	 */
+	public static double hyperbolicAnomaly(double meanAnomaly, double eccentricity) {
+		if (!(eccentricity > 1) || Double.isInfinite(eccentricity)) {
+			throw new IllegalArgumentException("Eccentricity of a hyperbolic orbit must be greater than 1");
+		}
+		double h = Math.signum(meanAnomaly) * Math.log(2.0 * Math.abs(meanAnomaly) / eccentricity + 1.8);
+		for (int i = 0; i < MAX_ITERATIONS; i++) {
+			double sinhH = eccentricity * Math.sinh(h);
+			double f = sinhH - h - meanAnomaly;
+			double fPrime = eccentricity * Math.cosh(h) - 1.0;
+			double delta = f / (fPrime - 0.5 * f * sinhH / fPrime);
+			h -= delta;
+			if (Math.abs(delta) <= TOLERANCE * (1.0 + Math.abs(h))) {
+				break;
+			}
+		}
+		return h;
+	}
+
+	/**
+	 * Solves Barker's equation {@code M = D + D³/3} for {@code D = tan(ν/2)}.
+	 *
+	 * @param meanAnomaly parabolic mean anomaly M, the time since periapsis times {@code sqrt(μ / 2q³)}
+	 * @return parabolic anomaly D
+	 */
+	public static double parabolicAnomaly(double meanAnomaly) {
+		double w = 1.5 * Math.abs(meanAnomaly);
+		double y = Math.cbrt(w + Math.sqrt(w * w + 1.0));
+		double d = y - 1.0 / y;
+		return meanAnomaly < 0 ? -d : d;
+	}
+
+	/**
+	 * Calculates the true anomaly for any conic orbit.
+	 *
+	 * @param meanAnomaly mean anomaly in radians, as defined by {@link KeplerianElements#meanMotion()}
+	 * @param eccentricity eccentricity
+	 * @return true anomaly ν in radians, from -π to π
+	 */
+	public static double trueAnomaly(double meanAnomaly, double eccentricity) {
+		if (eccentricity < 1) {
+			double e = eccentricAnomaly(meanAnomaly, eccentricity);
+			double beta = Math.sqrt(1.0 - eccentricity * eccentricity);
+			return Math.atan2(beta * Math.sin(e), Math.cos(e) - eccentricity);
+		}
+		if (eccentricity > 1) {
+			double h = hyperbolicAnomaly(meanAnomaly, eccentricity);
+			double beta = Math.sqrt(eccentricity * eccentricity - 1.0);
+			return Math.atan2(beta * Math.sinh(h), eccentricity - Math.cosh(h));
+		}
+		return 2.0 * Math.atan(parabolicAnomaly(meanAnomaly));
+	}
+}
@@ -0,0 +1,331 @@
+package com.cosmoscore.orbit;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Classical orbital elements of a two-body orbit of any conic type.
+ * <p>
+ * Elliptic orbits have an eccentricity below 1 and a positive semi-major axis, hyperbolic orbits an
+ * eccentricity above 1 and a negative semi-major axis. A parabolic orbit has no finite semi-major axis and
+ * is created with {@link #parabolic}; internally every orbit is sized by its periapsis distance.
+ * Distances are in kilometres, angles in degrees and the gravitational parameter in km³/s².
+ */
+public final class KeplerianElements {
+
+	/**
+	 * Gravitational parameter of the Earth (WGS 84) in km³/s²
+	 */
+	public static final double EARTH_GRAVITATIONAL_PARAMETER = 398600.4418;
+
+	private static final double SECONDS_PER_DAY = 86400.0;
+	private static final double SINGULARITY = 1e-11;
+
+	/**
+	 * Eccentricities this close to 1 are taken as parabolic, where elliptic and hyperbolic elements lose all precision
+	 */
+	private static final double PARABOLIC_TOLERANCE = 1e-10;
+
+	private final double periapsisDistance;
+	private final double eccentricity;
+	private final double inclination;
+	private final double rightAscensionOfAscendingNode;
+	private final double argumentOfPeriapsis;
+	private final double meanAnomaly;
+	private final JulianDate epoch;
+	private final double gravitationalParameter;
+
+	/**
+	 * Creates an Earth orbit with the ascending node on the x axis, at periapsis at J2000.
+	 *
+	 * @param semiMajorAxis semi-major axis in kilometres
+	 * @param eccentricity eccentricity
+	 * @param inclination inclination in degrees (0 to 180)
+	 * @param argumentOfPeriapsis argument of periapsis in degrees
+	 */
+	public KeplerianElements(double semiMajorAxis, double eccentricity, double inclination, double argumentOfPeriapsis) {
+		this(semiMajorAxis, eccentricity, inclination, 0, argumentOfPeriapsis, 0, JulianDate.J2000,
+			EARTH_GRAVITATIONAL_PARAMETER);
+	}
+
+	/**
+	 * Creates an elliptic or hyperbolic orbit.
+	 *
+	 * @param semiMajorAxis semi-major axis in kilometres, negative for a hyperbolic orbit
+	 * @param eccentricity eccentricity, other than exactly 1
+	 * @param inclination inclination in degrees (0 to 180)
+	 * @param rightAscensionOfAscendingNode right ascension of the ascending node in degrees
+	 * @param argumentOfPeriapsis argument of periapsis in degrees
+	 * @param meanAnomaly mean anomaly at epoch in degrees
+	 * @param epoch epoch of the mean anomaly
+	 * @param gravitationalParameter gravitational parameter of the central body in km³/s²
+	 * @throws IllegalArgumentException if the semi-major axis does not suit the eccentricity or an element is out of range
+	 */
+	public KeplerianElements(double semiMajorAxis, double eccentricity, double inclination,
+		double rightAscensionOfAscendingNode, double argumentOfPeriapsis, double meanAnomaly, JulianDate epoch,
+		double gravitationalParameter) {
+		this(epoch, gravitationalParameter, periapsisDistance(semiMajorAxis, eccentricity), eccentricity, inclination,
+			rightAscensionOfAscendingNode, argumentOfPeriapsis, meanAnomaly);
+	}
+
+	private KeplerianElements(JulianDate epoch, double gravitationalParameter, double periapsisDistance,
+		double eccentricity, double inclination, double rightAscensionOfAscendingNode, double argumentOfPeriapsis,
+		double meanAnomaly) {
+		this.epoch = Objects.requireNonNull(epoch, "Epoch must not be null");
+		if (!(gravitationalParameter > 0) || Double.isInfinite(gravitationalParameter)) {
+			throw new IllegalArgumentException("Gravitational parameter must be positive");
+		}
+		if (!(periapsisDistance > 0) || Double.isInfinite(periapsisDistance)) {
+			throw new IllegalArgumentException("Periapsis distance must be positive");
+		}
+		if (!(inclination >= 0 && inclination <= 180)) {
+			throw new IllegalArgumentException("Inclination must be between 0 and 180 degrees");
+		}
+		if (!Double.isFinite(rightAscensionOfAscendingNode) || !Double.isFinite(argumentOfPeriapsis)
+			|| !Double.isFinite(meanAnomaly)) {
+			throw new IllegalArgumentException("Angles must be finite");
+		}
+		this.gravitationalParameter = gravitationalParameter;
+		this.periapsisDistance = periapsisDistance;
+		this.eccentricity = eccentricity;
+		this.inclination = inclination;
+		this.rightAscensionOfAscendingNode = rightAscensionOfAscendingNode;
+		this.argumentOfPeriapsis = argumentOfPeriapsis;
+		this.meanAnomaly = meanAnomaly;
+	}
+
+	/**
+	 * Creates a parabolic orbit.
+	 *
+	 * @param periapsisDistance periapsis distance in kilometres
+	 * @param inclination inclination in degrees (0 to 180)
+	 * @param rightAscensionOfAscendingNode right ascension of the ascending node in degrees
+	 * @param argumentOfPeriapsis argument of periapsis in degrees
+	 * @param meanAnomaly parabolic mean anomaly at epoch in degrees (see {@link #meanMotion()})
+	 * @param epoch epoch of the mean anomaly
+	 * @param gravitationalParameter gravitational parameter of the central body in km³/s²
+	 * @return the elements
+	 */
+	public static KeplerianElements parabolic(double periapsisDistance, double inclination,
+		double rightAscensionOfAscendingNode, double argumentOfPeriapsis, double meanAnomaly, JulianDate epoch,
+		double gravitationalParameter) {
+		return new KeplerianElements(epoch, gravitationalParameter, periapsisDistance, 1.0, inclination,
+			rightAscensionOfAscendingNode, argumentOfPeriapsis, meanAnomaly);
+	}
+
+	/**
+	 * Computes the elements of the orbit through a state.
+	 *
+	 * @param state position and velocity
+	 * @param epoch date of the state
+	 * @param gravitationalParameter gravitational parameter of the central body in km³/s²
+	 * @return the elements, with the mean anomaly at the epoch
+	 * @throws IllegalArgumentException if the state is rectilinear (zero angular momentum)
+	 */
+	public static KeplerianElements fromStateVector(StateVector state, JulianDate epoch, double gravitationalParameter) {
+		Objects.requireNonNull(state, "State must not be null");
+		double mu = gravitationalParameter;
+		Vector3D r = state.position();
+		Vector3D v = state.velocity();
+		double radius = r.magnitude();
+		Vector3D h = r.cross(v);
+		double angularMomentum = h.magnitude();
+		if (!(angularMomentum > SINGULARITY * radius * v.magnitude())) {
+			throw new IllegalArgumentException("State has no angular momentum");
+		}
+		Vector3D hUnit = h.multiply(1.0 / angularMomentum);
+
+		Vector3D eVector = r.multiply(v.dot(v) - mu / radius).subtract(v.multiply(r.dot(v))).multiply(1.0 / mu);
+		double e = eVector.magnitude();
+		if (Math.abs(e - 1.0) < PARABOLIC_TOLERANCE) {
+			e = 1.0;
+		}
+		double periapsisDistance = angularMomentum * angularMomentum / (mu * (1.0 + e));
+		double inclination = Math.toDegrees(Math.atan2(Math.hypot(h.x(), h.y()), h.z()));
+
+		// Ascending node direction, or the x axis for an equatorial orbit
+		Vector3D node = new Vector3D(-h.y(), h.x(), 0.0);
+		double nodeLength = node.magnitude();
+		Vector3D nodeUnit = nodeLength > SINGULARITY * angularMomentum
+			? node.multiply(1.0 / nodeLength) : new Vector3D(1.0, 0.0, 0.0);
+		double raan = nodeLength > SINGULARITY * angularMomentum ? Math.atan2(nodeUnit.y(), nodeUnit.x()) : 0.0;
+
+		// Periapsis direction, or the node for a circular orbit
+		Vector3D periapsis = e > SINGULARITY ? eVector.normalize() : nodeUnit;
+		double argumentOfPeriapsis = Math.atan2(hUnit.dot(nodeUnit.cross(periapsis)), nodeUnit.dot(periapsis));
+		double trueAnomaly = Math.atan2(hUnit.dot(periapsis.cross(r)), periapsis.dot(r));
+
+		double meanAnomaly;
+		if (e < 1) {
+			double eccentricAnomaly = Math.atan2(Math.sqrt(1.0 - e * e) * Math.sin(trueAnomaly), e + Math.cos(trueAnomaly));
+			meanAnomaly = eccentricAnomaly - e * Math.sin(eccentricAnomaly);
+		} else if (e > 1) {
+			double hyperbolicAnomaly = 2.0 * atanh(Math.sqrt((e - 1.0) / (e + 1.0)) * Math.tan(trueAnomaly / 2.0));
+			meanAnomaly = e * Math.sinh(hyperbolicAnomaly) - hyperbolicAnomaly;
+		} else {
+			double d = Math.tan(trueAnomaly / 2.0);
+			meanAnomaly = d + d * d * d / 3.0;
+		}
+
+		return new KeplerianElements(epoch, mu, periapsisDistance, e, inclination, normalize(Math.toDegrees(raan)),
+			normalize(Math.toDegrees(argumentOfPeriapsis)), Math.toDegrees(meanAnomaly));
+	}
+
+	/**
+	 * Returns the semi-major axis in kilometres: negative for a hyperbolic orbit and infinite for a parabolic one
+	 */
+	public double semiMajorAxis() {
+		return eccentricity == 1.0 ? Double.POSITIVE_INFINITY : periapsisDistance / (1.0 - eccentricity);
+	}
+
+	/**
+	 * Returns the periapsis distance in kilometres
+	 */
+	public double periapsisDistance() {
+		return periapsisDistance;
+	}
+
+	/**
+	 * Returns the semi-latus rectum in kilometres
+	 */
+	public double semiLatusRectum() {
+		return periapsisDistance * (1.0 + eccentricity);
+	}
+
+	/**
+	 * Returns the eccentricity
+	 */
+	public double eccentricity() {
+		return eccentricity;
+	}
+
+	/**
+	 * Returns the inclination in degrees
+	 */
+	public double inclination() {
+		return inclination;
+	}
+
+	/**
+	 * Returns the right ascension of the ascending node in degrees
+	 */
+	public double rightAscensionOfAscendingNode() {
+		return rightAscensionOfAscendingNode;
+	}
+
+	/**
+	 * Returns the argument of periapsis in degrees
+	 */
+	public double argumentOfPeriapsis() {
+		return argumentOfPeriapsis;
+	}
+
+	/**
+	 * Returns the mean anomaly at epoch in degrees
+	 */
+	public double meanAnomaly() {
+		return meanAnomaly;
+	}
+
+	/**
+	 * Returns the epoch of the mean anomaly
+	 */
+	public JulianDate epoch() {
+		return epoch;
+	}
+
+	/**
+	 * Returns the gravitational parameter of the central body in km³/s²
+	 */
+	public double gravitationalParameter() {
+		return gravitationalParameter;
+	}
+
+	/**
+	 * Returns the mean motion in radians per second: {@code sqrt(μ/|a|³)} for elliptic and hyperbolic orbits,
+	 * and {@code sqrt(μ/2q³)} for a parabolic orbit, the rate of the mean anomaly in Barker's equation
+	 */
+	public double meanMotion() {
+		if (eccentricity == 1.0) {
+			return Math.sqrt(gravitationalParameter / (2.0 * periapsisDistance * periapsisDistance * periapsisDistance));
+		}
+		double a = Math.abs(semiMajorAxis());
+		return Math.sqrt(gravitationalParameter / (a * a * a));
+	}
+
+	/**
+	 * Returns the orbital period in seconds, or infinity for an open orbit
+	 */
+	public double period() {
+		return eccentricity < 1 ? 2.0 * Math.PI / meanMotion() : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Calculates the mean anomaly at a date.
+	 *
+	 * @param jd Julian Date
+	 * @return mean anomaly in degrees, not reduced to one revolution
+	 */
+	public double meanAnomalyAt(JulianDate jd) {
+		return meanAnomaly + Math.toDegrees(meanMotion() * epoch.daysUntil(jd) * SECONDS_PER_DAY);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof KeplerianElements other)) {
+			return false;
+		}
+		return Double.compare(periapsisDistance, other.periapsisDistance) == 0
+			&& Double.compare(eccentricity, other.eccentricity) == 0
+			&& Double.compare(inclination, other.inclination) == 0
+			&& Double.compare(rightAscensionOfAscendingNode, other.rightAscensionOfAscendingNode) == 0
+			&& Double.compare(argumentOfPeriapsis, other.argumentOfPeriapsis) == 0
+			&& Double.compare(meanAnomaly, other.meanAnomaly) == 0
+			&& Double.compare(gravitationalParameter, other.gravitationalParameter) == 0
+			&& epoch.equals(other.epoch);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(periapsisDistance, eccentricity, inclination, rightAscensionOfAscendingNode,
+			argumentOfPeriapsis, meanAnomaly, epoch, gravitationalParameter);
+	}
+
+	@Override
+	public String toString() {
+		return "KeplerianElements[semiMajorAxis=" + semiMajorAxis() + ", eccentricity=" + eccentricity
+			+ ", inclination=" + inclination + ", rightAscensionOfAscendingNode=" + rightAscensionOfAscendingNode
+			+ ", argumentOfPeriapsis=" + argumentOfPeriapsis + ", meanAnomaly=" + meanAnomaly + ", epoch=" + epoch
+			+ "]";
+	}
+
+	private static double periapsisDistance(double semiMajorAxis, double eccentricity) {
+		if (!(eccentricity >= 0) || Double.isInfinite(eccentricity)) {
+			throw new IllegalArgumentException("Eccentricity must be a non-negative number");
+		}
+		if (eccentricity == 1.0) {
+			throw new IllegalArgumentException("A parabolic orbit has no finite semi-major axis; use parabolic()");
+		}
+		if (eccentricity < 1 && !(semiMajorAxis > 0)) {
+			throw new IllegalArgumentException("Semi-major axis of an elliptic orbit must be positive");
+		}
+		if (eccentricity > 1 && !(semiMajorAxis < 0)) {
+			throw new IllegalArgumentException("Semi-major axis of a hyperbolic orbit must be negative");
+		}
+		return semiMajorAxis * (1.0 - eccentricity);
+	}
+
+	private static double normalize(double degrees) {
+		double result = degrees % 360.0;
+		return result < 0 ? result + 360.0 : result;
+	}
+
+	private static double atanh(double x) {
+		return 0.5 * Math.log((1.0 + x) / (1.0 - x));
+	}
+}
@@ -0,0 +1,32 @@
+package com.cosmoscore.orbit;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Computes the state of one orbiting body at any date.
+ * <p>
+ * Implementations precompute whatever depends only on the orbit, so each call pays only for the
+ * time-dependent part. They are immutable and safe to call from multiple threads.
+ */
+public interface OrbitPropagator {
+
+	/**
+	 * Computes the state without allocating.
+	 *
+	 * @param jd Julian Date
+	 * @param state receives x, y, z in kilometres and vx, vy, vz in kilometres per second in its first six elements
+	 */
+	void propagate(JulianDate jd, double[] state);
+
+	/**
+	 * Computes the state.
+	 *
+	 * @param jd Julian Date
+	 * @return position and velocity
+	 */
+	default StateVector propagate(JulianDate jd) {
+		double[] state = new double[6];
+		propagate(jd, state);
+		return StateVector.of(state);
+	}
+}
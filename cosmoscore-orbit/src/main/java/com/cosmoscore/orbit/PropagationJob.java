@@ -0,0 +1,194 @@
+package com.cosmoscore.orbit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * A catalog propagation started by {@link PropagationScheduler#start}.
+ */
+public final class PropagationJob {
+
+	/**
+	 * Marks the end of the filled queue
+	 */
+	private static final StateChunk END = new StateChunk(0);
+
+	private final List<? extends OrbitPropagator> orbits;
+	private final JulianDate[] dates;
+	private final StateSink sink;
+	private final int chunkSize;
+	private final int chunks;
+	private final BlockingQueue<StateChunk> free;
+	private final BlockingQueue<StateChunk> filled;
+	private final AtomicInteger nextChunk = new AtomicInteger();
+	private final CompletableFuture<Void> result = new CompletableFuture<>();
+	private final List<Thread> threads = new ArrayList<>();
+	private AtomicInteger activeWorkers;
+	private CountDownLatch finished;
+
+	PropagationJob(List<? extends OrbitPropagator> orbits, JulianDate[] dates, StateSink sink, int chunkSize,
+		int queueCapacity) {
+		this.orbits = orbits;
+		this.dates = dates;
+		this.sink = sink;
+		this.chunkSize = chunkSize;
+		this.chunks = (orbits.size() + chunkSize - 1) / chunkSize;
+
+		// Every chunk buffer is either free, being filled, queued or at the sink, so neither queue can overflow
+		this.free = new ArrayBlockingQueue<>(queueCapacity);
+		this.filled = new ArrayBlockingQueue<>(queueCapacity + 1);
+		for (int i = 0; i < queueCapacity; i++) {
+			free.add(new StateChunk(Math.min(chunkSize, Math.max(orbits.size(), 1))));
+		}
+	}
+
+	void start(int parallelism, ThreadFactory sinkThreadFactory) {
+		int workers = Math.max(1, Math.min(parallelism, chunks));
+		this.activeWorkers = new AtomicInteger(workers);
+		this.finished = new CountDownLatch(workers + 1);
+
+		Thread sinkThread = sinkThreadFactory.newThread(() -> run(this::deliver));
+		if (sinkThread == null) {
+			throw new IllegalStateException("Sink thread factory did not create a thread");
+		}
+		threads.add(sinkThread);
+		for (int i = 0; i < workers; i++) {
+			Thread worker = new Thread(() -> run(this::work), "cosmoscore-propagation-" + i);
+			worker.setDaemon(true);
+			threads.add(worker);
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+	}
+
+	/**
+	 * Stops the job as soon as possible. The sink receives no further chunks once {@link #join()} returns
+	 * and {@link StateSink#complete()} is not called.
+	 *
+	 * @return true if this call cancelled the job, false if it had already finished
+	 */
+	public boolean cancel() {
+		if (result.cancel(false)) {
+			stop();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if the job was cancelled before it finished
+	 */
+	public boolean isCancelled() {
+		return result.isCancelled();
+	}
+
+	/**
+	 * Returns true if the job finished, failed or was cancelled
+	 */
+	public boolean isDone() {
+		return result.isDone();
+	}
+
+	/**
+	 * Waits for every worker and the sink thread to stop.
+	 *
+	 * @throws InterruptedException if the calling thread is interrupted while waiting
+	 * @throws java.util.concurrent.CancellationException if the job was cancelled
+	 * @throws java.util.concurrent.CompletionException if the sink or a worker failed, with the failure as its cause
+	 */
+	public void join() throws InterruptedException {
+		finished.await();
+		result.join();
+	}
+
+	private void run(Task task) {
+		try {
+			task.run();
+		} catch (InterruptedException e) {
+			// Interrupted by stop(), so the job is already over
+		} catch (Throwable e) {
+			fail(e);
+		} finally {
+			finished.countDown();
+		}
+	}
+
+	private void work() throws InterruptedException {
+		double[] state = new double[6];
+		try {
+			int chunk;
+			while (!result.isDone() && (chunk = nextChunk.getAndIncrement()) < chunks) {
+				int from = chunk * chunkSize;
+				int to = Math.min(from + chunkSize, orbits.size());
+				for (int step = 0; step < dates.length && !result.isDone(); step++) {
+					StateChunk out = free.take();
+					out.reset(step, dates[step], from, to - from);
+					propagate(dates[step], from, to, out, state);
+					filled.add(out);
+				}
+			}
+		} finally {
+			if (activeWorkers.decrementAndGet() == 0) {
+				filled.add(END);
+			}
+		}
+	}
+
+	private void propagate(JulianDate jd, int from, int to, StateChunk out, double[] state) {
+		for (int i = from; i < to; i++) {
+			try {
+				orbits.get(i).propagate(jd, state);
+				out.positions().set(i - from, state[0], state[1], state[2]);
+				out.velocities().set(i - from, state[3], state[4], state[5]);
+			} catch (RuntimeException e) {
+				out.positions().set(i - from, Double.NaN, Double.NaN, Double.NaN);
+				out.velocities().set(i - from, Double.NaN, Double.NaN, Double.NaN);
+			}
+		}
+	}
+
+	private void deliver() throws Exception {
+		while (true) {
+			StateChunk chunk = filled.take();
+			if (chunk == END) {
+				if (!result.isDone()) {
+					sink.complete();
+					result.complete(null);
+				}
+				return;
+			}
+			if (!result.isDone()) {
+				sink.accept(chunk);
+			}
+			free.add(chunk);
+		}
+	}
+
+	private void fail(Throwable e) {
+		if (result.completeExceptionally(e)) {
+			stop();
+		}
+	}
+
+	private void stop() {
+		for (Thread thread : threads) {
+			if (thread != Thread.currentThread()) {
+				thread.interrupt();
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface Task {
+		void run() throws Exception;
+	}
+}
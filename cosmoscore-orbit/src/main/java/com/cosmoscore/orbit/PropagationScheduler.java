@@ -0,0 +1,127 @@
+package com.cosmoscore.orbit;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Propagates a whole catalog of orbits over a regular time grid and streams the states to a
+ * {@link StateSink}.
+ * <p>
+ * The catalog is split into chunks of consecutive orbits. Worker threads, one per core by default, take
+ * chunks in turn and propagate each through every time step before moving on, so the chunk's propagators
+ * and state buffers stay in cache. Finished chunks go through a bounded queue to a single sink thread.
+ * Only a fixed pool of {@code queueCapacity} chunk buffers exists, so when the sink falls behind the
+ * workers wait for a buffer to be returned rather than piling states up in memory.
+ * <p>
+ * The sink thread comes from a caller-supplied {@link ThreadFactory}. Sinks that block on I/O, such as
+ * files or network streams, can run on a virtual thread by passing {@code Thread.ofVirtual().factory()}.
+ */
+public final class PropagationScheduler {
+
+	/**
+	 * Default number of orbits per chunk, whose state buffers fit in a typical L2 cache
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 512;
+
+	/**
+	 * Default number of chunk buffers in flight between the workers and the sink
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 32;
+
+	private final int chunkSize;
+	private final int queueCapacity;
+	private final int parallelism;
+	private final ThreadFactory sinkThreadFactory;
+
+	/**
+	 * Creates a scheduler with the default chunk size and queue capacity, one worker per available
+	 * processor and a platform sink thread.
+	 */
+	public PropagationScheduler() {
+		this(DEFAULT_CHUNK_SIZE, DEFAULT_QUEUE_CAPACITY, Runtime.getRuntime().availableProcessors(),
+			Executors.defaultThreadFactory());
+	}
+
+	/**
+	 * Creates a scheduler.
+	 *
+	 * @param chunkSize number of orbits per chunk
+	 * @param queueCapacity number of chunk buffers in flight, which bounds the memory in use
+	 * @param parallelism number of worker threads
+	 * @param sinkThreadFactory creates the thread that calls the sink
+	 */
+	public PropagationScheduler(int chunkSize, int queueCapacity, int parallelism, ThreadFactory sinkThreadFactory) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be positive");
+		}
+		if (queueCapacity < 1) {
+			throw new IllegalArgumentException("Queue capacity must be positive");
+		}
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be positive");
+		}
+		this.chunkSize = chunkSize;
+		this.queueCapacity = queueCapacity;
+		this.parallelism = parallelism;
+		this.sinkThreadFactory = Objects.requireNonNull(sinkThreadFactory, "Sink thread factory must not be null");
+	}
+
+	/**
+	 * Starts propagating every orbit to every date {@code start + k * stepSeconds} for k from 0 to
+	 * {@code steps - 1}.
+	 * An orbit that throws while propagating to a date is reported with NaN states for that date and the
+	 * job carries on; an exception thrown by the sink fails the job.
+	 *
+	 * @param orbits the catalog, which must not change while the job runs
+	 * @param start first date of the grid
+	 * @param stepSeconds spacing of the grid in seconds
+	 * @param steps number of dates in the grid
+	 * @param sink receives the states
+	 * @return the running job
+	 */
+	public PropagationJob start(List<? extends OrbitPropagator> orbits, JulianDate start, double stepSeconds, int steps,
+		StateSink sink) {
+		Objects.requireNonNull(orbits, "Orbits must not be null");
+		Objects.requireNonNull(start, "Start date must not be null");
+		Objects.requireNonNull(sink, "Sink must not be null");
+		if (!Double.isFinite(stepSeconds)) {
+			throw new IllegalArgumentException("Step must be finite");
+		}
+		if (steps < 0) {
+			throw new IllegalArgumentException("Number of steps must not be negative");
+		}
+		JulianDate[] dates = new JulianDate[steps];
+		for (int i = 0; i < steps; i++) {
+			dates[i] = start.plusSeconds(i * stepSeconds);
+		}
+		PropagationJob job = new PropagationJob(orbits, dates, sink, chunkSize, queueCapacity);
+		job.start(parallelism, sinkThreadFactory);
+		return job;
+	}
+
+	/**
+	 * Propagates every orbit over a time grid and waits for the sink to receive the last state.
+	 *
+	 * @param orbits the catalog
+	 * @param start first date of the grid
+	 * @param stepSeconds spacing of the grid in seconds
+	 * @param steps number of dates in the grid
+	 * @param sink receives the states
+	 * @throws InterruptedException if the calling thread is interrupted, which cancels the job
+	 * @throws java.util.concurrent.CompletionException if the sink or a worker failed
+	 */
+	public void run(List<? extends OrbitPropagator> orbits, JulianDate start, double stepSeconds, int steps,
+		StateSink sink) throws InterruptedException {
+		PropagationJob job = start(orbits, start, stepSeconds, steps, sink);
+		try {
+			job.join();
+		} catch (InterruptedException e) {
+			job.cancel();
+			throw e;
+		}
+	}
+}
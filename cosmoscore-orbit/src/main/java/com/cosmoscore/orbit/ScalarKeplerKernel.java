@@ -0,0 +1,42 @@
+package com.cosmoscore.orbit;
+
+/**
+ * Plain Java implementation of the Kepler kernel, used when the JDK Vector API is unavailable.
+ */
+final class ScalarKeplerKernel implements KeplerKernel {
+
+	private static final double SECONDS_PER_DAY = 86400.0;
+
+	@Override
+	public void propagate(KeplerBatch batch, double days, double[] x, double[] y, double[] z,
+		double[] vx, double[] vy, double[] vz) {
+		propagateRange(batch, days, x, y, z, vx, vy, vz, 0, batch.size());
+	}
+
+	static void propagateRange(KeplerBatch batch, double days, double[] x, double[] y, double[] z,
+		double[] vx, double[] vy, double[] vz, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double e = batch.eccentricity[i];
+			double n = batch.meanMotion[i];
+			double anomaly = KeplerSolver.eccentricAnomaly(
+				batch.meanAnomaly[i] + n * (days - batch.epoch[i]) * SECONDS_PER_DAY, e);
+			double cosE = Math.cos(anomaly);
+			double sinE = Math.sin(anomaly);
+			double a = batch.semiMajorAxis[i];
+			double b = batch.semiMinorAxis[i];
+			double rate = n / (1.0 - e * cosE);
+
+			double xp = a * (cosE - e);
+			double yp = b * sinE;
+			double vxp = -a * sinE * rate;
+			double vyp = b * cosE * rate;
+
+			x[i] = batch.px[i] * xp + batch.qx[i] * yp;
+			y[i] = batch.py[i] * xp + batch.qy[i] * yp;
+			z[i] = batch.pz[i] * xp + batch.qz[i] * yp;
+			vx[i] = batch.px[i] * vxp + batch.qx[i] * vyp;
+			vy[i] = batch.py[i] * vxp + batch.qy[i] * vyp;
+			vz[i] = batch.pz[i] * vxp + batch.qz[i] * vyp;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.cosmoscore.orbit;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of the Kepler kernel on the JDK Vector API ({@code jdk.incubator.vector}).
+ * <p>
+ * Each group of lanes runs the same Halley iteration as {@link KeplerSolver} until every lane has
+ * converged, without reducing the mean anomaly to one revolution first; the tail is finished with the
+ * scalar code. This class is only loaded when the incubator module is present in the boot layer.
+ */
+final class SimdKeplerKernel implements KeplerKernel {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	private static final double SECONDS_PER_DAY = 86400.0;
+	private static final double TOLERANCE = 1e-15;
+
+	/**
+	 * Returns whether the preferred species processes more than one lane at a time.
+	 */
+	static boolean isAccelerated() {
+		return SPECIES.length() > 1;
+	}
+
+	@Override
+	public void propagate(KeplerBatch batch, double days, double[] x, double[] y, double[] z,
+		double[] vx, double[] vy, double[] vz) {
+		int length = batch.size();
+		int i = 0;
+		for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+			DoubleVector e = DoubleVector.fromArray(SPECIES, batch.eccentricity, i);
+			DoubleVector n = DoubleVector.fromArray(SPECIES, batch.meanMotion, i);
+			DoubleVector m = DoubleVector.broadcast(SPECIES, days)
+				.sub(DoubleVector.fromArray(SPECIES, batch.epoch, i))
+				.mul(SECONDS_PER_DAY)
+				.mul(n)
+				.add(DoubleVector.fromArray(SPECIES, batch.meanAnomaly, i));
+
+			DoubleVector anomaly = eccentricAnomaly(m, e);
+			DoubleVector cosE = anomaly.lanewise(VectorOperators.COS);
+			DoubleVector sinE = anomaly.lanewise(VectorOperators.SIN);
+			DoubleVector a = DoubleVector.fromArray(SPECIES, batch.semiMajorAxis, i);
+			DoubleVector b = DoubleVector.fromArray(SPECIES, batch.semiMinorAxis, i);
+			DoubleVector rate = n.div(e.mul(cosE).neg().add(1.0));
+
+			DoubleVector xp = a.mul(cosE.sub(e));
+			DoubleVector yp = b.mul(sinE);
+			DoubleVector vxp = a.mul(sinE).mul(rate).neg();
+			DoubleVector vyp = b.mul(cosE).mul(rate);
+
+			DoubleVector px = DoubleVector.fromArray(SPECIES, batch.px, i);
+			DoubleVector py = DoubleVector.fromArray(SPECIES, batch.py, i);
+			DoubleVector pz = DoubleVector.fromArray(SPECIES, batch.pz, i);
+			DoubleVector qx = DoubleVector.fromArray(SPECIES, batch.qx, i);
+			DoubleVector qy = DoubleVector.fromArray(SPECIES, batch.qy, i);
+			DoubleVector qz = DoubleVector.fromArray(SPECIES, batch.qz, i);
+
+			px.mul(xp).add(qx.mul(yp)).intoArray(x, i);
+			py.mul(xp).add(qy.mul(yp)).intoArray(y, i);
+			pz.mul(xp).add(qz.mul(yp)).intoArray(z, i);
+			px.mul(vxp).add(qx.mul(vyp)).intoArray(vx, i);
+			py.mul(vxp).add(qy.mul(vyp)).intoArray(vy, i);
+			pz.mul(vxp).add(qz.mul(vyp)).intoArray(vz, i);
+		}
+		ScalarKeplerKernel.propagateRange(batch, days, x, y, z, vx, vy, vz, i, length);
+	}
+
+	/**
+	 * Solves Kepler's equation in every lane by Halley's method from Danby's starting value.
+	 */
+	private static DoubleVector eccentricAnomaly(DoubleVector m, DoubleVector e) {
+		VectorMask<Double> ahead = m.lanewise(VectorOperators.SIN).compare(VectorOperators.GE, 0.0);
+		DoubleVector anomaly = m.add(e.mul(0.85).blend(e.mul(-0.85), ahead.not()));
+		for (int k = 0; k < KeplerSolver.MAX_ITERATIONS; k++) {
+			DoubleVector sinE = e.mul(anomaly.lanewise(VectorOperators.SIN));
+			DoubleVector f = anomaly.sub(sinE).sub(m);
+			DoubleVector fPrime = e.mul(anomaly.lanewise(VectorOperators.COS)).neg().add(1.0);
+			DoubleVector delta = f.div(fPrime.sub(f.mul(sinE).mul(0.5).div(fPrime)));
+			anomaly = anomaly.sub(delta);
+			DoubleVector limit = anomaly.lanewise(VectorOperators.ABS).add(1.0).mul(TOLERANCE);
+			if (delta.lanewise(VectorOperators.ABS).compare(VectorOperators.LE, limit).allTrue()) {
+				break;
+			}
+		}
+		return anomaly;
+	}
+}
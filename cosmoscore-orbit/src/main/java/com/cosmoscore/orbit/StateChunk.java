@@ -0,0 +1,75 @@
+package com.cosmoscore.orbit;
+
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * States of a run of consecutive orbits at one time step, as delivered to a {@link StateSink}.
+ * <p>
+ * Entry {@code i} of the buffers belongs to orbit {@code firstOrbit() + i}. Only the first
+ * {@link #size()} entries are valid; the buffers are sized for the largest chunk and reused.
+ * An orbit that could not be propagated to the date, such as a decayed satellite, has NaN components.
+ */
+public final class StateChunk {
+
+	private final Vector3DBuffer positions;
+	private final Vector3DBuffer velocities;
+	private int step;
+	private JulianDate date;
+	private int firstOrbit;
+	private int size;
+
+	StateChunk(int capacity) {
+		this.positions = new Vector3DBuffer(capacity);
+		this.velocities = new Vector3DBuffer(capacity);
+	}
+
+	void reset(int step, JulianDate date, int firstOrbit, int size) {
+		this.step = step;
+		this.date = date;
+		this.firstOrbit = firstOrbit;
+		this.size = size;
+	}
+
+	/**
+	 * Returns the index of the time step in the grid
+	 */
+	public int step() {
+		return step;
+	}
+
+	/**
+	 * Returns the date of the time step
+	 */
+	public JulianDate date() {
+		return date;
+	}
+
+	/**
+	 * Returns the index of the first orbit in the chunk
+	 */
+	public int firstOrbit() {
+		return firstOrbit;
+	}
+
+	/**
+	 * Returns the number of orbits in the chunk
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the positions in kilometres
+	 */
+	public Vector3DBuffer positions() {
+		return positions;
+	}
+
+	/**
+	 * Returns the velocities in kilometres per second
+	 */
+	public Vector3DBuffer velocities() {
+		return velocities;
+	}
+}
@@ -0,0 +1,31 @@
+package com.cosmoscore.orbit;
+
+import java.io.IOException;
+
+/**
+ * Receives the states computed by a {@link PropagationScheduler}.
+ * <p>
+ * All calls for one job are made from a single thread, so implementations need not be thread-safe.
+ * Chunks are reused once {@link #accept(StateChunk)} returns and must not be kept; a sink that hands
+ * states to another thread or a ring buffer copies them out first.
+ */
+@FunctionalInterface
+public interface StateSink {
+
+	/**
+	 * Receives the states of a run of consecutive orbits at one time step. Chunks for different orbits
+	 * may arrive in any order, but the steps of any one orbit arrive in time order.
+	 *
+	 * @param chunk the states, valid only for the duration of the call
+	 * @throws IOException if the states cannot be written, which fails the job
+	 */
+	void accept(StateChunk chunk) throws IOException;
+
+	/**
+	 * Called once after the last chunk of a job that was neither cancelled nor failed.
+	 *
+	 * @throws IOException if the sink cannot be flushed, which fails the job
+	 */
+	default void complete() throws IOException {
+	}
+}
@@ -0,0 +1,29 @@
+package com.cosmoscore.orbit;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.math.Vector3D;
+
+/**
+ * Position and velocity of an orbiting body.
+ *
+ * @param position position in kilometres
+ * @param velocity velocity in kilometres per second
+ */
+public record StateVector(Vector3D position, Vector3D velocity) {
+
+	/**
+	 * Constructor with validation.
+	 */
+	public StateVector {
+		Objects.requireNonNull(position, "Position must not be null");
+		Objects.requireNonNull(velocity, "Velocity must not be null");
+	}
+
+	/**
+	 * Creates a state from the first six elements of an array: x, y, z, vx, vy and vz.
+	 */
+	public static StateVector of(double[] state) {
+		return new StateVector(new Vector3D(state[0], state[1], state[2]), new Vector3D(state[3], state[4], state[5]));
+	}
+}
@@ -0,0 +1,28 @@
+package com.cosmoscore.orbit.conjunction;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * A close approach between two orbiting objects.
+ *
+ * @param primary catalog index of the first object, always lower than the secondary
+ * @param secondary catalog index of the second object
+ * @param timeOfClosestApproach date of the smallest separation
+ * @param missDistance separation at closest approach in kilometres
+ * @param relativeSpeed relative speed at closest approach in kilometres per second
+ */
+public record Conjunction(int primary, int secondary, JulianDate timeOfClosestApproach, double missDistance,
+	double relativeSpeed) {
+
+	/**
+	 * Constructor with validation.
+	 */
+	public Conjunction {
+		Objects.requireNonNull(timeOfClosestApproach, "Time of closest approach must not be null");
+		if (primary < 0 || secondary <= primary) {
+			throw new IllegalArgumentException("Primary index must be non-negative and lower than the secondary");
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.cosmoscore.orbit.conjunction;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.orbit.KeplerianElements;
+import com.cosmoscore.orbit.OrbitPropagator;
+
+/**
+ * Finds every close approach within a catalog of Earth orbits over a span of time.
+ * <p>
+ * The span is sampled at a fixed step. At each sample every object is propagated once and placed in a
+ * {@link SpatialGrid} whose cells are as large as the distance two objects can close in half a step, so
+ * only objects in neighbouring cells are compared instead of all pairs. A candidate pair is first tested
+ * against its straight-line relative motion, with a bound on the error from gravity, and survivors are
+ * refined by finding the root of {@code r·v}, the rate of change of the separation, within the half step
+ * on each side of the sample. Each sample owns that interval, so every approach is reported once.
+ * <p>
+ * Results are produced lazily in time order, a window of samples at a time. A
+ * {@linkplain #parallelScreen parallel} stream screens windows concurrently on the common
+ * {@link java.util.concurrent.ForkJoinPool}. The step should be short against the orbital periods
+ * involved, so that no pair passes twice within one step; a minute suits low Earth orbit.
+ */
+public final class ConjunctionScreener {
+
+	/**
+	 * Default sampling step in seconds
+	 */
+	public static final double DEFAULT_STEP = 60.0;
+
+	/**
+	 * Samples screened by one task, which share their state buffers and grid
+	 */
+	static final int WINDOW_SAMPLES = 8;
+
+	/**
+	 * Upper bound on the relative acceleration of two objects above the Earth's surface, in km/s²
+	 */
+	static final double MAX_RELATIVE_ACCELERATION = 2.0 * KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER
+		/ (6378.137 * 6378.137);
+
+	private final double threshold;
+	private final double step;
+
+	/**
+	 * Creates a screener with the default step.
+	 *
+	 * @param threshold largest miss distance to report, in kilometres
+	 */
+	public ConjunctionScreener(double threshold) {
+		this(threshold, DEFAULT_STEP);
+	}
+
+	/**
+	 * Creates a screener.
+	 *
+	 * @param threshold largest miss distance to report, in kilometres
+	 * @param step sampling step in seconds
+	 */
+	public ConjunctionScreener(double threshold, double step) {
+		if (!(threshold > 0) || Double.isInfinite(threshold)) {
+			throw new IllegalArgumentException("Threshold must be positive");
+		}
+		if (!(step > 0) || Double.isInfinite(step)) {
+			throw new IllegalArgumentException("Step must be positive");
+		}
+		this.threshold = threshold;
+		this.step = step;
+	}
+
+	/**
+	 * Returns the largest miss distance reported, in kilometres
+	 */
+	public double threshold() {
+		return threshold;
+	}
+
+	/**
+	 * Returns the sampling step in seconds
+	 */
+	public double step() {
+		return step;
+	}
+
+	/**
+	 * Screens a catalog, one window of samples after another.
+	 * Objects that cannot be propagated to a sample, such as decayed satellites, are left out of that
+	 * sample. Approaches still closing at the end of the span, or opening at its start, are reported at
+	 * the end or start.
+	 *
+	 * @param orbits the catalog, which must not change while the stream is consumed
+	 * @param start start of the span
+	 * @param end end of the span
+	 * @return the conjunctions in order of time of closest approach
+	 */
+	public Stream<Conjunction> screen(List<? extends OrbitPropagator> orbits, JulianDate start, JulianDate end) {
+		Objects.requireNonNull(orbits, "Orbits must not be null");
+		Objects.requireNonNull(start, "Start date must not be null");
+		Objects.requireNonNull(end, "End date must not be null");
+		double span = start.daysUntil(end) * 86400.0;
+		if (span < 0) {
+			throw new IllegalArgumentException("End date must not be before start date");
+		}
+
+		int samples = (int) Math.round(span / step) + 1;
+		int windows = (samples + WINDOW_SAMPLES - 1) / WINDOW_SAMPLES;
+		return IntStream.range(0, windows)
+			.mapToObj(window -> new ScreeningWindow(orbits, start, span, step, threshold)
+				.screen(window * WINDOW_SAMPLES, Math.min(samples, (window + 1) * WINDOW_SAMPLES)))
+			.flatMap(List::stream);
+	}
+
+	/**
+	 * Screens a catalog with windows of samples handled concurrently. The encounter order of the stream
+	 * is still the order of time of closest approach.
+	 *
+	 * @param orbits the catalog, which must not change while the stream is consumed
+	 * @param start start of the span
+	 * @param end end of the span
+	 * @return a parallel stream of the conjunctions
+	 */
+	public Stream<Conjunction> parallelScreen(List<? extends OrbitPropagator> orbits, JulianDate start, JulianDate end) {
+		return screen(orbits, start, end).parallel();
+	}
+}
@@ -0,0 +1,220 @@
+package com.cosmoscore.orbit.conjunction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.orbit.OrbitPropagator;
+
+/**
+ * Screens a run of consecutive samples for {@link ConjunctionScreener}, reusing one set of state buffers
+ * and one grid. Times are in seconds from the start of the span.
+ */
+final class ScreeningWindow {
+
+	private static final double TIME_TOLERANCE = 1e-3;
+	private static final int MAX_ITERATIONS = 64;
+
+	private final List<? extends OrbitPropagator> orbits;
+	private final JulianDate start;
+	private final double span;
+	private final double step;
+	private final double threshold;
+	private final Vector3DBuffer positions;
+	private final Vector3DBuffer velocities;
+	private final boolean[] valid;
+	private final SpatialGrid grid;
+	private final double[] primary = new double[6];
+	private final double[] secondary = new double[6];
+	private final List<Conjunction> results = new ArrayList<>();
+
+	ScreeningWindow(List<? extends OrbitPropagator> orbits, JulianDate start, double span, double step,
+		double threshold) {
+		this.orbits = orbits;
+		this.start = start;
+		this.span = span;
+		this.step = step;
+		this.threshold = threshold;
+		this.positions = new Vector3DBuffer(orbits.size());
+		this.velocities = new Vector3DBuffer(orbits.size());
+		this.valid = new boolean[orbits.size()];
+		this.grid = new SpatialGrid(orbits.size());
+	}
+
+	/**
+	 * Screens the samples in {@code [from, to)} and returns their conjunctions in time order
+	 */
+	List<Conjunction> screen(int from, int to) {
+		for (int k = from; k < to; k++) {
+			double t = k * step;
+			double lower = Math.max(0.0, t - 0.5 * step);
+			double upper = Math.min(span, t + 0.5 * step);
+			// A sample whose interval has shrunk to the end of the span adds nothing, unless the span is a single instant
+			if (lower < upper || span == 0.0) {
+				screenSample(t, lower, upper);
+			}
+		}
+		results.sort(Comparator.comparing(Conjunction::timeOfClosestApproach));
+		return results;
+	}
+
+	private void screenSample(double t, double lower, double upper) {
+		JulianDate date = start.plusSeconds(t);
+		double maxSpeed = 0.0;
+		for (int i = 0; i < orbits.size(); i++) {
+			valid[i] = propagate(i, date, primary);
+			if (valid[i]) {
+				positions.set(i, primary[0], primary[1], primary[2]);
+				velocities.set(i, primary[3], primary[4], primary[5]);
+				maxSpeed = Math.max(maxSpeed, Math.sqrt(primary[3] * primary[3] + primary[4] * primary[4]
+					+ primary[5] * primary[5]));
+			}
+		}
+
+		// No pair closer than the threshold within half a step can be further apart than this at the sample
+		double halfStep = Math.max(t - lower, upper - t);
+		double gravityMargin = 0.5 * ConjunctionScreener.MAX_RELATIVE_ACCELERATION * halfStep * halfStep;
+		double radius = threshold + 2.0 * maxSpeed * halfStep + 2.0 * gravityMargin;
+		double radiusSquared = radius * radius;
+		grid.build(positions, valid, radius);
+
+		for (int i = 0; i < orbits.size(); i++) {
+			if (!valid[i]) {
+				continue;
+			}
+			double x = positions.x(i);
+			double y = positions.y(i);
+			double z = positions.z(i);
+			int cx = grid.cell(x);
+			int cy = grid.cell(y);
+			int cz = grid.cell(z);
+			for (int dx = -1; dx <= 1; dx++) {
+				for (int dy = -1; dy <= 1; dy++) {
+					for (int dz = -1; dz <= 1; dz++) {
+						for (int j = grid.first(cx + dx, cy + dy, cz + dz); j != SpatialGrid.NONE; j = grid.next(j)) {
+							if (j <= i) {
+								continue;
+							}
+							double rx = positions.x(j) - x;
+							double ry = positions.y(j) - y;
+							double rz = positions.z(j) - z;
+							if (rx * rx + ry * ry + rz * rz <= radiusSquared) {
+								candidate(i, j, rx, ry, rz, t, lower, upper, gravityMargin);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void candidate(int i, int j, double rx, double ry, double rz, double t, double lower, double upper,
+		double gravityMargin) {
+		// Closest approach of the straight-line relative motion within the sample's interval
+		double vx = velocities.x(j) - velocities.x(i);
+		double vy = velocities.y(j) - velocities.y(i);
+		double vz = velocities.z(j) - velocities.z(i);
+		double vv = vx * vx + vy * vy + vz * vz;
+		double tau = vv > 0 ? -(rx * vx + ry * vy + rz * vz) / vv : 0.0;
+		tau = Math.max(lower - t, Math.min(upper - t, tau));
+		double lx = rx + vx * tau;
+		double ly = ry + vy * tau;
+		double lz = rz + vz * tau;
+		double limit = threshold + gravityMargin;
+		if (lx * lx + ly * ly + lz * lz > limit * limit) {
+			return;
+		}
+
+		double fLower = rangeRate(i, j, lower);
+		double fUpper = rangeRate(i, j, upper);
+		if (fLower < 0 && fUpper >= 0) {
+			report(i, j, solve(i, j, lower, upper, fLower, fUpper));
+		}
+		if (lower == 0.0 && fLower >= 0) {
+			report(i, j, 0.0);
+		}
+		if (upper == span && fUpper < 0) {
+			report(i, j, span);
+		}
+	}
+
+	/**
+	 * Finds the root of the range rate in a bracket with the Illinois variant of regula falsi
+	 */
+	private double solve(int i, int j, double a, double b, double fa, double fb) {
+		double c = a;
+		int side = 0;
+		for (int n = 0; n < MAX_ITERATIONS; n++) {
+			double previous = c;
+			c = (fa * b - fb * a) / (fa - fb);
+			if (n > 0 && Math.abs(c - previous) < TIME_TOLERANCE) {
+				break;
+			}
+			double fc = rangeRate(i, j, c);
+			if (Double.isNaN(fc)) {
+				return Double.NaN;
+			}
+			if (fc * fb > 0) {
+				b = c;
+				fb = fc;
+				if (side == -1) {
+					fa *= 0.5;
+				}
+				side = -1;
+			} else if (fa * fc > 0) {
+				a = c;
+				fa = fc;
+				if (side == 1) {
+					fb *= 0.5;
+				}
+				side = 1;
+			} else {
+				break;
+			}
+		}
+		return c;
+	}
+
+	/**
+	 * Returns the rate of change of the squared separation divided by two, leaving the states of both
+	 * objects at time {@code s} in the scratch arrays, or NaN if either cannot be propagated
+	 */
+	private double rangeRate(int i, int j, double s) {
+		JulianDate date = start.plusSeconds(s);
+		if (!propagate(i, date, primary) || !propagate(j, date, secondary)) {
+			return Double.NaN;
+		}
+		double rate = 0.0;
+		for (int k = 0; k < 3; k++) {
+			rate += (secondary[k] - primary[k]) * (secondary[k + 3] - primary[k + 3]);
+		}
+		return rate;
+	}
+
+	private void report(int i, int j, double s) {
+		if (Double.isNaN(s) || Double.isNaN(rangeRate(i, j, s))) {
+			return;
+		}
+		double rx = secondary[0] - primary[0];
+		double ry = secondary[1] - primary[1];
+		double rz = secondary[2] - primary[2];
+		double missDistance = Math.sqrt(rx * rx + ry * ry + rz * rz);
+		if (missDistance <= threshold) {
+			double vx = secondary[3] - primary[3];
+			double vy = secondary[4] - primary[4];
+			double vz = secondary[5] - primary[5];
+			results.add(new Conjunction(i, j, start.plusSeconds(s), missDistance, Math.sqrt(vx * vx + vy * vy + vz * vz)));
+		}
+	}
+
+	private boolean propagate(int index, JulianDate date, double[] state) {
+		try {
+			orbits.get(index).propagate(date, state);
+		} catch (RuntimeException e) {
+			return false;
+		}
+		return Double.isFinite(state[0]) && Double.isFinite(state[1]) && Double.isFinite(state[2]);
+	}
+}
@@ -0,0 +1,99 @@
+package com.cosmoscore.orbit.conjunction;
+
+import java.util.Arrays;
+
+import com.cosmoscore.common.math.Vector3DBuffer;
+
+/**
+ * Uniform grid of cubic cells over a set of positions, stored as an open-addressing hash table from cell
+ * to a linked list of the points inside it. Only occupied cells take space, and rebuilding for a new set
+ * of positions allocates nothing.
+ */
+final class SpatialGrid {
+
+	/**
+	 * Marks an empty table slot or the end of a list
+	 */
+	static final int NONE = -1;
+
+	private static final int COORDINATE_BITS = 21;
+	private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+
+	private final long[] keys;
+	private final int[] heads;
+	private final int[] next;
+	private final int shift;
+	private final int mask;
+	private double inverseCellSize;
+
+	/**
+	 * Creates a grid for up to {@code capacity} points.
+	 */
+	SpatialGrid(int capacity) {
+		int slots = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+		this.keys = new long[slots];
+		this.heads = new int[slots];
+		this.next = new int[Math.max(capacity, 1)];
+		this.shift = Long.SIZE - Integer.numberOfTrailingZeros(slots);
+		this.mask = slots - 1;
+	}
+
+	/**
+	 * Places every point whose {@code valid} flag is set into cells of the given size.
+	 */
+	void build(Vector3DBuffer positions, boolean[] valid, double cellSize) {
+		Arrays.fill(heads, NONE);
+		inverseCellSize = 1.0 / cellSize;
+		for (int i = 0; i < positions.size(); i++) {
+			if (!valid[i]) {
+				continue;
+			}
+			long key = key(cell(positions.x(i)), cell(positions.y(i)), cell(positions.z(i)));
+			int slot = slot(key);
+			while (heads[slot] != NONE && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			next[i] = heads[slot];
+			heads[slot] = i;
+		}
+	}
+
+	/**
+	 * Returns the cell index of a coordinate
+	 */
+	int cell(double coordinate) {
+		return (int) Math.floor(coordinate * inverseCellSize);
+	}
+
+	/**
+	 * Returns the first point in a cell, or {@link #NONE}
+	 */
+	int first(int cx, int cy, int cz) {
+		long key = key(cx, cy, cz);
+		int slot = slot(key);
+		while (heads[slot] != NONE) {
+			if (keys[slot] == key) {
+				return heads[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return NONE;
+	}
+
+	/**
+	 * Returns the point after {@code point} in the same cell, or {@link #NONE}
+	 */
+	int next(int point) {
+		return next[point];
+	}
+
+	private int slot(long key) {
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) & mask;
+	}
+
+	private static long key(int cx, int cy, int cz) {
+		return ((cx & COORDINATE_MASK) << (2 * COORDINATE_BITS)) | ((cy & COORDINATE_MASK) << COORDINATE_BITS)
+			| (cz & COORDINATE_MASK);
+	}
+}
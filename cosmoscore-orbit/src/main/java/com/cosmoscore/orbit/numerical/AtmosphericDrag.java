@@ -0,0 +1,116 @@
+package com.cosmoscore.orbit.numerical;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Drag from an exponential atmosphere that rotates with the Earth.
+ * <p>
+ * Density follows the piecewise exponential model of Vallado ("Fundamentals of Astrodynamics and
+ * Applications", table 8-4) from the height above a spherical Earth. It has no solar or geomagnetic
+ * activity, so it suits decay trends and screening rather than precise orbit determination. The
+ * acceleration is {@code -½ ρ B |v| v} for the velocity v relative to the air and the ballistic
+ * coefficient {@code B = Cd A / m}.
+ */
+public final class AtmosphericDrag implements ForceModel {
+
+	/**
+	 * Rotation rate of the Earth in radians per second
+	 */
+	public static final double EARTH_ROTATION_RATE = 7.292115e-5;
+
+	private static final double EARTH_RADIUS = 6378.137;
+
+	/**
+	 * Above this height in kilometres the density is treated as zero
+	 */
+	private static final double MAX_HEIGHT = 2500.0;
+
+	// Base height (km), density at the base (kg/m³) and scale height (km) of each layer
+	private static final double[] BASE_HEIGHT = {
+		0, 25, 30, 40, 50, 60, 70, 80, 90, 100, 110, 120, 130, 140, 150, 180, 200, 250, 300, 350, 400, 450, 500, 600,
+		700, 800, 900, 1000};
+	private static final double[] BASE_DENSITY = {
+		1.225, 3.899e-2, 1.774e-2, 3.972e-3, 1.057e-3, 3.206e-4, 8.770e-5, 1.905e-5, 3.396e-6, 5.297e-7, 9.661e-8,
+		2.438e-8, 8.484e-9, 3.845e-9, 2.070e-9, 5.464e-10, 2.789e-10, 7.248e-11, 2.418e-11, 9.518e-12, 3.725e-12,
+		1.585e-12, 6.967e-13, 1.454e-13, 3.614e-14, 1.170e-14, 5.245e-15, 3.019e-15};
+	private static final double[] SCALE_HEIGHT = {
+		7.249, 6.349, 6.682, 7.554, 8.382, 7.714, 6.549, 5.799, 5.382, 5.877, 7.263, 9.473, 12.636, 16.149, 22.523,
+		29.740, 37.105, 45.546, 53.628, 53.298, 58.515, 60.828, 63.822, 71.835, 88.667, 124.64, 181.05, 268.00};
+
+	private final double[] ballisticCoefficients;
+
+	/**
+	 * Creates a model in which every satellite has the same ballistic coefficient.
+	 *
+	 * @param ballisticCoefficient drag coefficient times area over mass, in square metres per kilogram
+	 */
+	public AtmosphericDrag(double ballisticCoefficient) {
+		this(new double[] {ballisticCoefficient});
+	}
+
+	/**
+	 * Creates a model with a ballistic coefficient per satellite, in batch order. A single value applies
+	 * to every satellite.
+	 *
+	 * @param ballisticCoefficients drag coefficient times area over mass, in square metres per kilogram
+	 */
+	public AtmosphericDrag(double[] ballisticCoefficients) {
+		Objects.requireNonNull(ballisticCoefficients, "Ballistic coefficients must not be null");
+		if (ballisticCoefficients.length == 0) {
+			throw new IllegalArgumentException("At least one ballistic coefficient is needed");
+		}
+		for (double coefficient : ballisticCoefficients) {
+			if (!(coefficient >= 0) || Double.isInfinite(coefficient)) {
+				throw new IllegalArgumentException("Ballistic coefficients must be finite and non-negative");
+			}
+		}
+		this.ballisticCoefficients = ballisticCoefficients.clone();
+	}
+
+	/**
+	 * Returns the atmospheric density at a height.
+	 *
+	 * @param height height above the Earth's equatorial radius in kilometres
+	 * @return density in kilograms per cubic metre
+	 */
+	public static double density(double height) {
+		if (height >= MAX_HEIGHT) {
+			return 0.0;
+		}
+		int layer = BASE_HEIGHT.length - 1;
+		while (layer > 0 && height < BASE_HEIGHT[layer]) {
+			layer--;
+		}
+		return BASE_DENSITY[layer] * Math.exp(-(height - BASE_HEIGHT[layer]) / SCALE_HEIGHT[layer]);
+	}
+
+	@Override
+	public void addAccelerations(JulianDate epoch, double seconds, double[] states, double[] derivatives, int count,
+		double[] workspace) {
+		if (ballisticCoefficients.length != 1 && ballisticCoefficients.length < count) {
+			throw new IllegalArgumentException("Need a ballistic coefficient for every satellite");
+		}
+		for (int s = 0; s < count; s++) {
+			int o = 6 * s;
+			double x = states[o];
+			double y = states[o + 1];
+			double z = states[o + 2];
+			double density = density(Math.sqrt(x * x + y * y + z * z) - EARTH_RADIUS);
+			if (density == 0.0) {
+				continue;
+			}
+			double vx = states[o + 3] + EARTH_ROTATION_RATE * y;
+			double vy = states[o + 4] - EARTH_ROTATION_RATE * x;
+			double vz = states[o + 5];
+			double speed = Math.sqrt(vx * vx + vy * vy + vz * vz);
+			double b = ballisticCoefficients.length == 1 ? ballisticCoefficients[0] : ballisticCoefficients[s];
+			// ρB is per metre, and a thousand metres to the kilometre gives km/s²
+			double factor = -0.5 * density * b * 1000.0 * speed;
+			derivatives[o + 3] += factor * vx;
+			derivatives[o + 4] += factor * vy;
+			derivatives[o + 5] += factor * vz;
+		}
+	}
+}
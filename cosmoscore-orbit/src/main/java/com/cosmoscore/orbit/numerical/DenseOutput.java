@@ -0,0 +1,16 @@
+package com.cosmoscore.orbit.numerical;
+
+/**
+ * Continuous solution over the last step taken by an integrator.
+ */
+@FunctionalInterface
+public interface DenseOutput {
+
+	/**
+	 * Evaluates the solution within the step.
+	 *
+	 * @param t a time between the start and end of the step
+	 * @param y receives the interpolated state
+	 */
+	void interpolate(double t, double[] y);
+}
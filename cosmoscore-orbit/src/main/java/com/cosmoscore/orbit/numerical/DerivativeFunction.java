@@ -0,0 +1,17 @@
+package com.cosmoscore.orbit.numerical;
+
+/**
+ * Right-hand side of a system of first-order ordinary differential equations {@code y' = f(t, y)}.
+ */
+@FunctionalInterface
+public interface DerivativeFunction {
+
+	/**
+	 * Computes the derivatives without allocating.
+	 *
+	 * @param t independent variable
+	 * @param y state, which must not be modified
+	 * @param yDot receives the derivative of every element of the state
+	 */
+	void computeDerivatives(double t, double[] y, double[] yDot);
+}
@@ -0,0 +1,499 @@
+package com.cosmoscore.orbit.numerical;
+
+import java.util.Objects;
+
+/**
+ * Explicit Runge-Kutta integrator of order 8 with adaptive step size and dense output of order 7.
+ * <p>
+ * This is the DOP853 method of Hairer, Nørsett and Wanner ("Solving Ordinary Differential Equations I",
+ * section II.10), with its combined 5th and 3rd order error estimate and step size control. Dense output
+ * costs three extra derivative evaluations per step and is only computed when a {@link StepHandler} is
+ * given.
+ * <p>
+ * Every stage writes into work arrays owned by the integrator, which are allocated once for a given
+ * dimension, so a step allocates nothing. An instance must therefore not be used by two threads at once.
+ */
+public final class DormandPrince853Integrator {
+
+	/**
+	 * Upper bound on the number of steps in one integration
+	 */
+	public static final int MAX_STEPS = 1_000_000;
+
+	private static final double SAFETY = 0.9;
+	// A new step is between a third and six times the old one
+	private static final double MAX_DIVISOR = 1.0 / 0.333;
+	private static final double MIN_DIVISOR = 1.0 / 6.0;
+	private static final double ROUNDOFF = 2.3e-16;
+
+	private static final double C2 = 0.526001519587677318785587544488e-01;
+	private static final double C3 = 0.789002279381515978178381316732e-01;
+	private static final double C4 = 0.118350341907227396726757197510;
+	private static final double C5 = 0.281649658092772603273242802490;
+	private static final double C6 = 0.333333333333333333333333333333;
+	private static final double C7 = 0.25;
+	private static final double C8 = 0.307692307692307692307692307692;
+	private static final double C9 = 0.651282051282051282051282051282;
+	private static final double C10 = 0.6;
+	private static final double C11 = 0.857142857142857142857142857142;
+	private static final double C14 = 0.1;
+	private static final double C15 = 0.2;
+	private static final double C16 = 0.777777777777777777777777777778;
+
+	private static final double B1 = 5.42937341165687622380535766363e-2;
+	private static final double B6 = 4.45031289275240888144113950566;
+	private static final double B7 = 1.89151789931450038304281599044;
+	private static final double B8 = -5.8012039600105847814672114227;
+	private static final double B9 = 3.1116436695781989440891606237e-1;
+	private static final double B10 = -1.52160949662516078556178806805e-1;
+	private static final double B11 = 2.01365400804030348374776537501e-1;
+	private static final double B12 = 4.47106157277725905176885569043e-2;
+
+	private static final double BHH1 = 0.244094488188976377952755905512;
+	private static final double BHH2 = 0.733846688281611857341361741547;
+	private static final double BHH3 = 0.220588235294117647058823529412e-01;
+
+	private static final double ER1 = 0.1312004499419488073250102996e-01;
+	private static final double ER6 = -0.1225156446376204440720569753e+01;
+	private static final double ER7 = -0.4957589496572501915214079952;
+	private static final double ER8 = 0.1664377182454986536961530415e+01;
+	private static final double ER9 = -0.3503288487499736816886487290;
+	private static final double ER10 = 0.3341791187130174790297318841;
+	private static final double ER11 = 0.8192320648511571246570742613e-01;
+	private static final double ER12 = -0.2235530786388629525884427845e-01;
+
+	private static final double A21 = 5.26001519587677318785587544488e-2;
+	private static final double A31 = 1.97250569845378994544595329183e-2;
+	private static final double A32 = 5.91751709536136983633785987549e-2;
+	private static final double A41 = 2.95875854768068491816892993775e-2;
+	private static final double A43 = 8.87627564304205475450678981324e-2;
+	private static final double A51 = 2.41365134159266685502369798665e-1;
+	private static final double A53 = -8.84549479328286085344864962717e-1;
+	private static final double A54 = 9.24834003261792003115737966543e-1;
+	private static final double A61 = 3.7037037037037037037037037037e-2;
+	private static final double A64 = 1.70828608729473871279604482173e-1;
+	private static final double A65 = 1.25467687566822425016691814123e-1;
+	private static final double A71 = 3.7109375e-2;
+	private static final double A74 = 1.70252211019544039314978060272e-1;
+	private static final double A75 = 6.02165389804559606850219397283e-2;
+	private static final double A76 = -1.7578125e-2;
+	private static final double A81 = 3.70920001185047927108779319836e-2;
+	private static final double A84 = 1.70383925712239993810214054705e-1;
+	private static final double A85 = 1.07262030446373284651809199168e-1;
+	private static final double A86 = -1.53194377486244017527936158236e-2;
+	private static final double A87 = 8.27378916381402288758473766002e-3;
+	private static final double A91 = 6.24110958716075717114429577812e-1;
+	private static final double A94 = -3.36089262944694129406857109825;
+	private static final double A95 = -8.68219346841726006818189891453e-1;
+	private static final double A96 = 2.75920996994467083049415600797e1;
+	private static final double A97 = 2.01540675504778934086186788979e1;
+	private static final double A98 = -4.34898841810699588477366255144e1;
+	private static final double A101 = 4.77662536438264365890433908527e-1;
+	private static final double A104 = -2.48811461997166764192642586468;
+	private static final double A105 = -5.90290826836842996371446475743e-1;
+	private static final double A106 = 2.12300514481811942347288949897e1;
+	private static final double A107 = 1.52792336328824235832596922938e1;
+	private static final double A108 = -3.32882109689848629194453265587e1;
+	private static final double A109 = -2.03312017085086261358222928593e-2;
+	private static final double A111 = -9.3714243008598732571704021658e-1;
+	private static final double A114 = 5.18637242884406370830023853209;
+	private static final double A115 = 1.09143734899672957818500254654;
+	private static final double A116 = -8.14978701074692612513997267357;
+	private static final double A117 = -1.85200656599969598641566180701e1;
+	private static final double A118 = 2.27394870993505042818970056734e1;
+	private static final double A119 = 2.49360555267965238987089396762;
+	private static final double A1110 = -3.0467644718982195003823669022;
+	private static final double A121 = 2.27331014751653820792359768449;
+	private static final double A124 = -1.05344954667372501984066689879e1;
+	private static final double A125 = -2.00087205822486249909675718444;
+	private static final double A126 = -1.79589318631187989172765950534e1;
+	private static final double A127 = 2.79488845294199600508499808837e1;
+	private static final double A128 = -2.85899827713502369474065508674;
+	private static final double A129 = -8.87285693353062954433549289258;
+	private static final double A1210 = 1.23605671757943030647266201528e1;
+	private static final double A1211 = 6.43392746015763530355970484046e-1;
+
+	private static final double A141 = 5.61675022830479523392909219681e-2;
+	private static final double A147 = 2.53500210216624811088794765333e-1;
+	private static final double A148 = -2.46239037470802489917441475441e-1;
+	private static final double A149 = -1.24191423263816360469010140626e-1;
+	private static final double A1410 = 1.5329179827876569731206322685e-1;
+	private static final double A1411 = 8.20105229563468988491666602057e-3;
+	private static final double A1412 = 7.56789766054569976138603589584e-3;
+	private static final double A1413 = -8.298e-3;
+	private static final double A151 = 3.18346481635021405060768473261e-2;
+	private static final double A156 = 2.83009096723667755288322961402e-2;
+	private static final double A157 = 5.35419883074385676223797384372e-2;
+	private static final double A158 = -5.49237485713909884646569340306e-2;
+	private static final double A1511 = -1.08347328697249322858509316994e-4;
+	private static final double A1512 = 3.82571090835658412954920192323e-4;
+	private static final double A1513 = -3.40465008687404560802977114492e-4;
+	private static final double A1514 = 1.41312443674632500278074618366e-1;
+	private static final double A161 = -4.28896301583791923408573538692e-1;
+	private static final double A166 = -4.69762141536116384314449447206;
+	private static final double A167 = 7.68342119606259904184240953878;
+	private static final double A168 = 4.06898981839711007970213554331;
+	private static final double A169 = 3.56727187455281109270669543021e-1;
+	private static final double A1613 = -1.39902416515901462129418009734e-3;
+	private static final double A1614 = 2.9475147891527723389556272149;
+	private static final double A1615 = -9.15095847217987001081870187138;
+
+	private static final double[][] D = {
+		{-0.84289382761090128651353491142e+01, 0.56671495351937776962531783590, -0.30689499459498916912797304727e+01,
+			0.23846676565120698287728149680e+01, 0.21170345824450282767155149946e+01, -0.87139158377797299206789907490,
+			0.22404374302607882758541771650e+01, 0.63157877876946881815570249290, -0.88990336451333310820698117400e-01,
+			0.18148505520854727256656404962e+02, -0.91946323924783554000451984436e+01, -0.44360363875948939664310572000e+01},
+		{0.10427508642579134603413151009e+02, 0.24228349177525818288430175319e+03, 0.16520045171727028198505394887e+03,
+			-0.37454675472269020279518312152e+03, -0.22113666853125306036270938578e+02, 0.77334326684722638389603898808e+01,
+			-0.30674084731089398182061213626e+02, -0.93321305264302278729567221706e+01, 0.15697238121770843886131091075e+02,
+			-0.31139403219565177677282850411e+02, -0.93529243588444783865713862664e+01, 0.35816841486394083752465898540e+02},
+		{0.19985053242002433820987653617e+02, -0.38703730874935176555105901742e+03, -0.18917813819516756882830838328e+03,
+			0.52780815920542364900561016686e+03, -0.11573902539959630126141871134e+02, 0.68812326946963000169666922661e+01,
+			-0.10006050966910838403183860980e+01, 0.77771377980534432092869265740, -0.27782057523535084065932004339e+01,
+			-0.60196695231264120758267380846e+02, 0.84320405506677161018159903784e+02, 0.11992291136182789328035130030e+02},
+		{-0.25693933462703749003312586129e+02, -0.15418974869023643374053993627e+03, -0.23152937917604549567536039109e+03,
+			0.35763911791061412378285349910e+03, 0.93405324183624310003907691704e+02, -0.37458323136451633156875139351e+02,
+			0.10409964950896230045147246184e+03, 0.29840293426660503123344363579e+02, -0.43533456590011143754432175058e+02,
+			0.96324553959188282948394950600e+02, -0.39177261675615439165231486172e+02, -0.14972683625798562581422125276e+03}};
+
+	private final double absoluteTolerance;
+	private final double relativeTolerance;
+	private final double maxStep;
+	private final Interpolant interpolant = new Interpolant();
+
+	/**
+	 * Stage derivatives: k[0] to k[11] for the step, k[12] at its end, k[13] to k[15] for dense output
+	 */
+	private double[][] k = new double[16][0];
+	private double[] yStage = new double[0];
+	private double[] yNew = new double[0];
+
+	/**
+	 * Creates an integrator without a step size limit.
+	 *
+	 * @param absoluteTolerance allowed absolute error per step in each element of the state
+	 * @param relativeTolerance allowed error per step relative to each element of the state
+	 */
+	public DormandPrince853Integrator(double absoluteTolerance, double relativeTolerance) {
+		this(absoluteTolerance, relativeTolerance, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Creates an integrator.
+	 *
+	 * @param absoluteTolerance allowed absolute error per step in each element of the state
+	 * @param relativeTolerance allowed error per step relative to each element of the state
+	 * @param maxStep largest step size
+	 */
+	public DormandPrince853Integrator(double absoluteTolerance, double relativeTolerance, double maxStep) {
+		if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0) || absoluteTolerance + relativeTolerance == 0
+			|| Double.isInfinite(absoluteTolerance) || Double.isInfinite(relativeTolerance)) {
+			throw new IllegalArgumentException("Tolerances must be finite, non-negative and not both zero");
+		}
+		if (!(maxStep > 0)) {
+			throw new IllegalArgumentException("Maximum step must be positive");
+		}
+		this.absoluteTolerance = absoluteTolerance;
+		this.relativeTolerance = relativeTolerance;
+		this.maxStep = maxStep;
+	}
+
+	/**
+	 * Integrates a system from one time to another, forwards or backwards.
+	 *
+	 * @param function the system
+	 * @param t0 initial time
+	 * @param y initial state, replaced by the state at {@code t1}
+	 * @param t1 final time
+	 * @throws IllegalStateException if the step size underflows or more than {@value #MAX_STEPS} steps are needed
+	 */
+	public void integrate(DerivativeFunction function, double t0, double[] y, double t1) {
+		integrate(function, t0, y, t1, null);
+	}
+
+	/**
+	 * Integrates a system from one time to another, forwards or backwards, reporting every step.
+	 *
+	 * @param function the system
+	 * @param t0 initial time
+	 * @param y initial state, replaced by the state at {@code t1}
+	 * @param t1 final time
+	 * @param handler observes each accepted step with its dense output, or null
+	 * @throws IllegalStateException if the step size underflows or more than {@value #MAX_STEPS} steps are needed
+	 */
+	public void integrate(DerivativeFunction function, double t0, double[] y, double t1, StepHandler handler) {
+		Objects.requireNonNull(function, "Function must not be null");
+		Objects.requireNonNull(y, "State must not be null");
+		if (!Double.isFinite(t0) || !Double.isFinite(t1)) {
+			throw new IllegalArgumentException("Integration bounds must be finite");
+		}
+		if (t0 == t1) {
+			return;
+		}
+		int n = y.length;
+		allocate(n);
+		double direction = Math.signum(t1 - t0);
+
+		function.computeDerivatives(t0, y, k[0]);
+		double h = initialStep(function, t0, y, direction);
+		double t = t0;
+		boolean last = false;
+		boolean rejected = false;
+
+		for (int steps = 0; ; steps++) {
+			if (steps >= MAX_STEPS) {
+				throw new IllegalStateException("Integration needed more than " + MAX_STEPS + " steps");
+			}
+			if (0.1 * Math.abs(h) <= Math.abs(t) * ROUNDOFF) {
+				throw new IllegalStateException("Step size underflow at t = " + t);
+			}
+			if ((t + 1.01 * h - t1) * direction > 0) {
+				h = t1 - t;
+				last = true;
+			}
+
+			step(function, t, y, h, n);
+			double error = error(y, h, n);
+			double fac11 = Math.pow(error, 0.125);
+			double hNew = h / Math.max(MIN_DIVISOR, Math.min(MAX_DIVISOR, fac11 / SAFETY));
+
+			if (error <= 1.0) {
+				function.computeDerivatives(t + h, yNew, k[12]);
+				if (handler != null) {
+					prepareDenseOutput(function, t, y, h, n);
+				}
+				double[] swap = k[0];
+				k[0] = k[12];
+				k[12] = swap;
+				System.arraycopy(yNew, 0, y, 0, n);
+				double previous = t;
+				t = last ? t1 : t + h;
+				if (handler != null) {
+					interpolant.start = previous;
+					interpolant.h = h;
+					interpolant.n = n;
+					handler.handleStep(previous, t, interpolant);
+				}
+				if (last) {
+					return;
+				}
+				if (Math.abs(hNew) > maxStep) {
+					hNew = direction * maxStep;
+				}
+				if (rejected) {
+					hNew = direction * Math.min(Math.abs(hNew), Math.abs(h));
+				}
+				rejected = false;
+			} else {
+				// a non-finite error estimate shrinks the step as much as allowed
+				hNew = h / (Double.isNaN(fac11) ? MAX_DIVISOR : Math.min(MAX_DIVISOR, fac11 / SAFETY));
+				rejected = true;
+				last = false;
+			}
+			h = hNew;
+		}
+	}
+
+	private void allocate(int n) {
+		if (yNew.length != n) {
+			for (int i = 0; i < k.length; i++) {
+				k[i] = new double[n];
+			}
+			yStage = new double[n];
+			yNew = new double[n];
+			interpolant.r = new double[8][n];
+		}
+	}
+
+	/**
+	 * Chooses the first step as in Hairer's HINIT, from the sizes of the state and its first two derivatives
+	 */
+	private double initialStep(DerivativeFunction function, double t, double[] y, double direction) {
+		double[] f0 = k[0];
+		double[] f1 = k[1];
+		double dnf = 0.0;
+		double dny = 0.0;
+		for (int i = 0; i < y.length; i++) {
+			double sk = absoluteTolerance + relativeTolerance * Math.abs(y[i]);
+			dnf += (f0[i] / sk) * (f0[i] / sk);
+			dny += (y[i] / sk) * (y[i] / sk);
+		}
+		double h = dnf <= 1e-10 || dny <= 1e-10 ? 1e-6 : Math.sqrt(dny / dnf) * 0.01;
+		h = direction * Math.min(h, maxStep);
+
+		for (int i = 0; i < y.length; i++) {
+			yStage[i] = y[i] + h * f0[i];
+		}
+		function.computeDerivatives(t + h, yStage, f1);
+		double der2 = 0.0;
+		for (int i = 0; i < y.length; i++) {
+			double sk = absoluteTolerance + relativeTolerance * Math.abs(y[i]);
+			der2 += ((f1[i] - f0[i]) / sk) * ((f1[i] - f0[i]) / sk);
+		}
+		der2 = Math.sqrt(der2) / Math.abs(h);
+		double der12 = Math.max(der2, Math.sqrt(dnf));
+		double h1 = der12 <= 1e-15 ? Math.max(1e-6, Math.abs(h) * 1e-3) : Math.pow(0.01 / der12, 0.125);
+		return direction * Math.min(Math.min(100.0 * Math.abs(h), h1), maxStep);
+	}
+
+	/**
+	 * Computes the twelve stages of a step and the new state
+	 */
+	private void step(DerivativeFunction function, double t, double[] y, double h, int n) {
+		double[] k1 = k[0];
+		double[] k2 = k[1];
+		double[] k3 = k[2];
+		double[] k4 = k[3];
+		double[] k5 = k[4];
+		double[] k6 = k[5];
+		double[] k7 = k[6];
+		double[] k8 = k[7];
+		double[] k9 = k[8];
+		double[] k10 = k[9];
+		double[] k11 = k[10];
+		double[] k12 = k[11];
+		double[] ys = yStage;
+
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * A21 * k1[i];
+		}
+		function.computeDerivatives(t + C2 * h, ys, k2);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A31 * k1[i] + A32 * k2[i]);
+		}
+		function.computeDerivatives(t + C3 * h, ys, k3);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A41 * k1[i] + A43 * k3[i]);
+		}
+		function.computeDerivatives(t + C4 * h, ys, k4);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A51 * k1[i] + A53 * k3[i] + A54 * k4[i]);
+		}
+		function.computeDerivatives(t + C5 * h, ys, k5);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A61 * k1[i] + A64 * k4[i] + A65 * k5[i]);
+		}
+		function.computeDerivatives(t + C6 * h, ys, k6);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A71 * k1[i] + A74 * k4[i] + A75 * k5[i] + A76 * k6[i]);
+		}
+		function.computeDerivatives(t + C7 * h, ys, k7);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A81 * k1[i] + A84 * k4[i] + A85 * k5[i] + A86 * k6[i] + A87 * k7[i]);
+		}
+		function.computeDerivatives(t + C8 * h, ys, k8);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A91 * k1[i] + A94 * k4[i] + A95 * k5[i] + A96 * k6[i] + A97 * k7[i] + A98 * k8[i]);
+		}
+		function.computeDerivatives(t + C9 * h, ys, k9);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A101 * k1[i] + A104 * k4[i] + A105 * k5[i] + A106 * k6[i] + A107 * k7[i]
+				+ A108 * k8[i] + A109 * k9[i]);
+		}
+		function.computeDerivatives(t + C10 * h, ys, k10);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A111 * k1[i] + A114 * k4[i] + A115 * k5[i] + A116 * k6[i] + A117 * k7[i]
+				+ A118 * k8[i] + A119 * k9[i] + A1110 * k10[i]);
+		}
+		function.computeDerivatives(t + C11 * h, ys, k11);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A121 * k1[i] + A124 * k4[i] + A125 * k5[i] + A126 * k6[i] + A127 * k7[i]
+				+ A128 * k8[i] + A129 * k9[i] + A1210 * k10[i] + A1211 * k11[i]);
+		}
+		function.computeDerivatives(t + h, ys, k12);
+		for (int i = 0; i < n; i++) {
+			yNew[i] = y[i] + h * (B1 * k1[i] + B6 * k6[i] + B7 * k7[i] + B8 * k8[i] + B9 * k9[i] + B10 * k10[i]
+				+ B11 * k11[i] + B12 * k12[i]);
+		}
+	}
+
+	/**
+	 * Returns the scaled error of the step, acceptable when at most 1
+	 */
+	private double error(double[] y, double h, int n) {
+		double[] k1 = k[0];
+		double error = 0.0;
+		double error3 = 0.0;
+		for (int i = 0; i < n; i++) {
+			double sk = absoluteTolerance + relativeTolerance * Math.max(Math.abs(y[i]), Math.abs(yNew[i]));
+			double increment = (yNew[i] - y[i]) / h;
+			double e3 = increment - BHH1 * k1[i] - BHH2 * k[8][i] - BHH3 * k[11][i];
+			double e5 = ER1 * k1[i] + ER6 * k[5][i] + ER7 * k[6][i] + ER8 * k[7][i] + ER9 * k[8][i]
+				+ ER10 * k[9][i] + ER11 * k[10][i] + ER12 * k[11][i];
+			error3 += (e3 / sk) * (e3 / sk);
+			error += (e5 / sk) * (e5 / sk);
+		}
+		double denominator = error + 0.01 * error3;
+		if (denominator <= 0.0) {
+			denominator = 1.0;
+		}
+		return Math.abs(h) * error * Math.sqrt(1.0 / (n * denominator));
+	}
+
+	/**
+	 * Computes the three extra stages and the coefficients of the interpolating polynomial
+	 */
+	private void prepareDenseOutput(DerivativeFunction function, double t, double[] y, double h, int n) {
+		double[][] r = interpolant.r;
+		double[] k1 = k[0];
+		double[] k13 = k[12];
+		for (int i = 0; i < n; i++) {
+			double difference = yNew[i] - y[i];
+			double spline = h * k1[i] - difference;
+			r[0][i] = y[i];
+			r[1][i] = difference;
+			r[2][i] = spline;
+			r[3][i] = difference - h * k13[i] - spline;
+			for (int j = 0; j < 4; j++) {
+				double[] d = D[j];
+				r[4 + j][i] = d[0] * k1[i] + d[1] * k[5][i] + d[2] * k[6][i] + d[3] * k[7][i] + d[4] * k[8][i]
+					+ d[5] * k[9][i] + d[6] * k[10][i] + d[7] * k[11][i] + d[8] * k13[i];
+			}
+		}
+
+		double[] ys = yStage;
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A141 * k1[i] + A147 * k[6][i] + A148 * k[7][i] + A149 * k[8][i] + A1410 * k[9][i]
+				+ A1411 * k[10][i] + A1412 * k[11][i] + A1413 * k13[i]);
+		}
+		function.computeDerivatives(t + C14 * h, ys, k[13]);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A151 * k1[i] + A156 * k[5][i] + A157 * k[6][i] + A158 * k[7][i] + A1511 * k[10][i]
+				+ A1512 * k[11][i] + A1513 * k13[i] + A1514 * k[13][i]);
+		}
+		function.computeDerivatives(t + C15 * h, ys, k[14]);
+		for (int i = 0; i < n; i++) {
+			ys[i] = y[i] + h * (A161 * k1[i] + A166 * k[5][i] + A167 * k[6][i] + A168 * k[7][i] + A169 * k[8][i]
+				+ A1613 * k13[i] + A1614 * k[13][i] + A1615 * k[14][i]);
+		}
+		function.computeDerivatives(t + C16 * h, ys, k[15]);
+
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < 4; j++) {
+				double[] d = D[j];
+				r[4 + j][i] = h * (r[4 + j][i] + d[9] * k[13][i] + d[10] * k[14][i] + d[11] * k[15][i]);
+			}
+		}
+	}
+
+	/**
+	 * Evaluates the interpolating polynomial of the last accepted step
+	 */
+	private static final class Interpolant implements DenseOutput {
+
+		private double[][] r;
+		private double start;
+		private double h;
+		private int n;
+
+		@Override
+		public void interpolate(double t, double[] y) {
+			double s = (t - start) / h;
+			double s1 = 1.0 - s;
+			for (int i = 0; i < n; i++) {
+				double inner = r[4][i] + s * (r[5][i] + s1 * (r[6][i] + s * r[7][i]));
+				y[i] = r[0][i] + s * (r[1][i] + s1 * (r[2][i] + s * (r[3][i] + s1 * inner)));
+			}
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.cosmoscore.orbit.numerical;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * A perturbing acceleration acting on Earth satellites, evaluated for a whole batch at once.
+ * <p>
+ * States are packed six to a satellite: x, y, z in kilometres and vx, vy, vz in kilometres per second,
+ * in an Earth-centred inertial frame whose z axis is the Earth's rotation axis. Work shared by every
+ * satellite, such as looking up the Sun's position, is done once per call. Implementations are immutable
+ * and safe to share between threads; the caller owns a small workspace they may use instead of allocating.
+ */
+@FunctionalInterface
+public interface ForceModel {
+
+	/**
+	 * Number of elements in the workspace passed to every model
+	 */
+	int WORKSPACE_LENGTH = 3;
+
+	/**
+	 * Adds the acceleration on every satellite to the derivatives.
+	 *
+	 * @param epoch date at which the time is zero
+	 * @param seconds time since the epoch in seconds
+	 * @param states six state elements per satellite
+	 * @param derivatives six derivative elements per satellite, of which the last three receive the
+	 *        acceleration in kilometres per second squared
+	 * @param count number of satellites
+	 * @param workspace {@link #WORKSPACE_LENGTH} elements the model may overwrite
+	 */
+	void addAccelerations(JulianDate epoch, double seconds, double[] states, double[] derivatives, int count,
+		double[] workspace);
+}
@@ -0,0 +1,242 @@
+package com.cosmoscore.orbit.numerical;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.orbit.StateVector;
+
+/**
+ * Integrates a batch of Earth satellites under central gravity and a list of {@link ForceModel}s with a
+ * {@link DormandPrince853Integrator}.
+ * <p>
+ * All satellites advance in lock-step as one system of equations, so each force model is set up once per
+ * stage for the whole batch and the states live in one primitive array. The step size follows the most
+ * demanding satellite, so batches work best when their orbits are alike. States are in an Earth-centred
+ * inertial frame whose z axis is the rotation axis, in kilometres and kilometres per second.
+ * <p>
+ * Unlike an {@link com.cosmoscore.orbit.OrbitPropagator}, a numerical propagator carries its current
+ * state forward from one call to the next and must not be shared between threads. Each call integrates a
+ * copy of the states and keeps it only on success, so a failed call leaves the propagator where it was.
+ */
+public final class NumericalPropagator {
+
+	/**
+	 * Default absolute tolerance per step, in kilometres or kilometres per second
+	 */
+	public static final double DEFAULT_ABSOLUTE_TOLERANCE = 1e-9;
+
+	/**
+	 * Default relative tolerance per step
+	 */
+	public static final double DEFAULT_RELATIVE_TOLERANCE = 1e-12;
+
+	private static final double SECONDS_PER_DAY = 86400.0;
+
+	private final JulianDate epoch;
+	private final int count;
+	private double[] states;
+	private double[] scratch;
+	private final OrbitDynamics dynamics;
+	private final DormandPrince853Integrator integrator;
+	private double seconds;
+
+	/**
+	 * Creates a propagator with the default tolerances.
+	 *
+	 * @param epoch date of the initial states
+	 * @param initialStates one state per satellite
+	 * @param forces perturbations added to central gravity
+	 */
+	public NumericalPropagator(JulianDate epoch, List<StateVector> initialStates, List<? extends ForceModel> forces) {
+		this(epoch, initialStates, forces, DEFAULT_ABSOLUTE_TOLERANCE, DEFAULT_RELATIVE_TOLERANCE);
+	}
+
+	/**
+	 * Creates a propagator.
+	 *
+	 * @param epoch date of the initial states
+	 * @param initialStates one state per satellite
+	 * @param forces perturbations added to central gravity
+	 * @param absoluteTolerance allowed absolute error per step
+	 * @param relativeTolerance allowed relative error per step
+	 */
+	public NumericalPropagator(JulianDate epoch, List<StateVector> initialStates, List<? extends ForceModel> forces,
+		double absoluteTolerance, double relativeTolerance) {
+		this.epoch = Objects.requireNonNull(epoch, "Epoch must not be null");
+		Objects.requireNonNull(initialStates, "Initial states must not be null");
+		Objects.requireNonNull(forces, "Forces must not be null");
+		this.count = initialStates.size();
+		this.states = new double[6 * count];
+		this.scratch = new double[6 * count];
+		for (int s = 0; s < count; s++) {
+			StateVector state = initialStates.get(s);
+			Vector3D r = state.position();
+			Vector3D v = state.velocity();
+			int o = 6 * s;
+			states[o] = r.x();
+			states[o + 1] = r.y();
+			states[o + 2] = r.z();
+			states[o + 3] = v.x();
+			states[o + 4] = v.y();
+			states[o + 5] = v.z();
+		}
+		this.dynamics = new OrbitDynamics(epoch, forces, count);
+		this.integrator = new DormandPrince853Integrator(absoluteTolerance, relativeTolerance);
+	}
+
+	/**
+	 * Returns the number of satellites
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns the date the states currently refer to
+	 */
+	public JulianDate date() {
+		return epoch.plusSeconds(seconds);
+	}
+
+	/**
+	 * Advances every satellite to a date, forwards or backwards.
+	 *
+	 * @param target the date
+	 * @throws IllegalStateException if the integration fails, for example when a satellite hits the Earth
+	 */
+	public void propagate(JulianDate target) {
+		double to = secondsTo(target);
+		System.arraycopy(states, 0, scratch, 0, states.length);
+		integrator.integrate(dynamics, seconds, scratch, to);
+		commit(to);
+	}
+
+	/**
+	 * Advances every satellite to a date and reports the states on a regular grid of dates on the way,
+	 * from the current date up to the target. Grid states are interpolated from the integrator's dense
+	 * output, so the grid does not constrain the step size.
+	 *
+	 * @param target the date
+	 * @param outputStep spacing of the grid in seconds
+	 * @param consumer receives the states at each grid date
+	 * @throws IllegalStateException if the integration fails, for example when a satellite hits the Earth
+	 */
+	public void propagate(JulianDate target, double outputStep, StateConsumer consumer) {
+		Objects.requireNonNull(consumer, "Consumer must not be null");
+		if (!(outputStep > 0) || Double.isInfinite(outputStep)) {
+			throw new IllegalArgumentException("Output step must be positive");
+		}
+		double to = secondsTo(target);
+		double[] output = states.clone();
+		consumer.accept(date(), output);
+
+		GridOutput grid = new GridOutput(seconds, to, outputStep, output, consumer);
+		System.arraycopy(states, 0, scratch, 0, states.length);
+		integrator.integrate(dynamics, seconds, scratch, to, grid);
+		commit(to);
+	}
+
+	/**
+	 * Returns the current state of one satellite.
+	 *
+	 * @param satellite index in the batch
+	 * @return position and velocity
+	 */
+	public StateVector state(int satellite) {
+		double[] state = new double[6];
+		state(satellite, state);
+		return StateVector.of(state);
+	}
+
+	/**
+	 * Copies the current state of one satellite.
+	 *
+	 * @param satellite index in the batch
+	 * @param state receives x, y, z, vx, vy and vz in its first six elements
+	 */
+	public void state(int satellite, double[] state) {
+		Objects.checkIndex(satellite, count);
+		System.arraycopy(states, 6 * satellite, state, 0, 6);
+	}
+
+	/**
+	 * Copies the current positions of every satellite.
+	 *
+	 * @param positions receives one position per satellite in kilometres
+	 */
+	public void positions(Vector3DBuffer positions) {
+		copy(positions, 0);
+	}
+
+	/**
+	 * Copies the current velocities of every satellite.
+	 *
+	 * @param velocities receives one velocity per satellite in kilometres per second
+	 */
+	public void velocities(Vector3DBuffer velocities) {
+		copy(velocities, 3);
+	}
+
+	private void copy(Vector3DBuffer buffer, int offset) {
+		Objects.requireNonNull(buffer, "Buffer must not be null");
+		if (buffer.size() != count) {
+			throw new IllegalArgumentException("Buffer must hold one vector per satellite");
+		}
+		for (int s = 0; s < count; s++) {
+			int o = 6 * s + offset;
+			buffer.set(s, states[o], states[o + 1], states[o + 2]);
+		}
+	}
+
+	/**
+	 * Makes the successfully integrated scratch states current
+	 */
+	private void commit(double to) {
+		double[] previous = states;
+		states = scratch;
+		scratch = previous;
+		seconds = to;
+	}
+
+	private double secondsTo(JulianDate target) {
+		Objects.requireNonNull(target, "Target date must not be null");
+		return epoch.daysUntil(target) * SECONDS_PER_DAY;
+	}
+
+	/**
+	 * Interpolates the grid dates that fall within each accepted step
+	 */
+	private final class GridOutput implements StepHandler {
+
+		private final double from;
+		private final double to;
+		private final double step;
+		private final double[] output;
+		private final StateConsumer consumer;
+		private int next = 1;
+
+		GridOutput(double from, double to, double step, double[] output, StateConsumer consumer) {
+			this.from = from;
+			this.to = to;
+			this.step = to >= from ? step : -step;
+			this.output = output;
+			this.consumer = consumer;
+		}
+
+		@Override
+		public void handleStep(double previousTime, double currentTime, DenseOutput dense) {
+			while (true) {
+				double t = from + next * step;
+				if ((t - currentTime) * step > 0 || (t - to) * step > 0) {
+					return;
+				}
+				dense.interpolate(t, output);
+				consumer.accept(epoch.plusSeconds(t), output);
+				next++;
+			}
+		}
+	}
+}
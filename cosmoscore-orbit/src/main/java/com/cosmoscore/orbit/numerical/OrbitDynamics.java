@@ -0,0 +1,46 @@
+package com.cosmoscore.orbit.numerical;
+
+import java.util.List;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.orbit.KeplerianElements;
+
+/**
+ * Equations of motion of a batch of Earth satellites: central gravity plus every force model, with the
+ * states of all satellites packed into one vector so they share each integrator step. It owns the force
+ * models' workspace, so like its propagator it must not be shared between threads.
+ */
+final class OrbitDynamics implements DerivativeFunction {
+
+	private final JulianDate epoch;
+	private final ForceModel[] forces;
+	private final int count;
+	private final double[] workspace = new double[ForceModel.WORKSPACE_LENGTH];
+
+	OrbitDynamics(JulianDate epoch, List<? extends ForceModel> forces, int count) {
+		this.epoch = epoch;
+		this.forces = forces.toArray(new ForceModel[0]);
+		this.count = count;
+	}
+
+	@Override
+	public void computeDerivatives(double t, double[] y, double[] yDot) {
+		for (int s = 0; s < count; s++) {
+			int o = 6 * s;
+			double x = y[o];
+			double py = y[o + 1];
+			double z = y[o + 2];
+			double r2 = x * x + py * py + z * z;
+			double factor = -KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER / (r2 * Math.sqrt(r2));
+			yDot[o] = y[o + 3];
+			yDot[o + 1] = y[o + 4];
+			yDot[o + 2] = y[o + 5];
+			yDot[o + 3] = factor * x;
+			yDot[o + 4] = factor * py;
+			yDot[o + 5] = factor * z;
+		}
+		for (ForceModel force : forces) {
+			force.addAccelerations(epoch, t, y, yDot, count, workspace);
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.cosmoscore.orbit.numerical;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Receives the states of a batch of satellites at one date.
+ */
+@FunctionalInterface
+public interface StateConsumer {
+
+	/**
+	 * Receives the states.
+	 *
+	 * @param date the date
+	 * @param states six elements per satellite in batch order, position in kilometres and velocity in
+	 *        kilometres per second, valid only for the duration of the call
+	 */
+	void accept(JulianDate date, double[] states);
+}
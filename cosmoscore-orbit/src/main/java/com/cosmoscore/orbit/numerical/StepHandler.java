@@ -0,0 +1,17 @@
+package com.cosmoscore.orbit.numerical;
+
+/**
+ * Observes the steps accepted by an integrator.
+ */
+@FunctionalInterface
+public interface StepHandler {
+
+	/**
+	 * Called after each accepted step.
+	 *
+	 * @param previousTime start of the step
+	 * @param currentTime end of the step
+	 * @param output the solution over the step, valid only for the duration of the call
+	 */
+	void handleStep(double previousTime, double currentTime, DenseOutput output);
+}
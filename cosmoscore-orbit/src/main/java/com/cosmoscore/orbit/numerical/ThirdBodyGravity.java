@@ -0,0 +1,81 @@
+package com.cosmoscore.orbit.numerical;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.ephemeris.ChebyshevEphemeris;
+import com.cosmoscore.position.lunar.MoonPosition;
+import com.cosmoscore.position.solar.SunPosition;
+
+/**
+ * The tidal pull of the Sun or the Moon on Earth satellites: the body's attraction on the satellite less
+ * its attraction on the Earth.
+ * <p>
+ * The body's geocentric position comes from a Chebyshev fit of the analytic theories in the position
+ * module, in the true equator and equinox of date. It is looked up once per call for the whole batch, by
+ * day offset from the epoch into the caller's workspace, so a call allocates nothing. Treating it as if it
+ * were in the satellites' frame misplaces it by well under a degree, which changes the small tidal
+ * acceleration negligibly.
+ */
+public final class ThirdBodyGravity implements ForceModel {
+
+	/**
+	 * Gravitational parameter of the Sun in km³/s²
+	 */
+	public static final double SUN_GRAVITATIONAL_PARAMETER = 1.32712440018e11;
+
+	/**
+	 * Gravitational parameter of the Moon in km³/s²
+	 */
+	public static final double MOON_GRAVITATIONAL_PARAMETER = 4902.800066;
+
+	private static final double KILOMETRES_PER_AU = 149597870.7;
+	private static final double SECONDS_PER_DAY = 86400.0;
+
+	private final double gravitationalParameter;
+	private final ChebyshevEphemeris ephemeris;
+	private final double scale;
+
+	private ThirdBodyGravity(double gravitationalParameter, ChebyshevEphemeris ephemeris, double scale) {
+		this.gravitationalParameter = gravitationalParameter;
+		this.ephemeris = ephemeris;
+		this.scale = scale;
+	}
+
+	/**
+	 * Creates the perturbation by the Sun
+	 */
+	public static ThirdBodyGravity sun() {
+		return new ThirdBodyGravity(SUN_GRAVITATIONAL_PARAMETER, new SunPosition().chebyshev(16.0, 10),
+			KILOMETRES_PER_AU);
+	}
+
+	/**
+	 * Creates the perturbation by the Moon
+	 */
+	public static ThirdBodyGravity moon() {
+		return new ThirdBodyGravity(MOON_GRAVITATIONAL_PARAMETER,
+			new ChebyshevEphemeris(new MoonPosition()::geocentricPosition, 2.0, 12), 1.0);
+	}
+
+	@Override
+	public void addAccelerations(JulianDate epoch, double seconds, double[] states, double[] derivatives, int count,
+		double[] workspace) {
+		ephemeris.position(epoch, seconds / SECONDS_PER_DAY, workspace);
+		double bx = workspace[0] * scale;
+		double by = workspace[1] * scale;
+		double bz = workspace[2] * scale;
+		double bodyDistance = Math.sqrt(bx * bx + by * by + bz * bz);
+		double earthTerm = gravitationalParameter / (bodyDistance * bodyDistance * bodyDistance);
+
+		for (int s = 0; s < count; s++) {
+			int o = 6 * s;
+			double dx = bx - states[o];
+			double dy = by - states[o + 1];
+			double dz = bz - states[o + 2];
+			double d = Math.sqrt(dx * dx + dy * dy + dz * dz);
+			double satelliteTerm = gravitationalParameter / (d * d * d);
+			derivatives[o + 3] += satelliteTerm * dx - earthTerm * bx;
+			derivatives[o + 4] += satelliteTerm * dy - earthTerm * by;
+			derivatives[o + 5] += satelliteTerm * dz - earthTerm * bz;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.cosmoscore.orbit.numerical;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.orbit.KeplerianElements;
+
+/**
+ * The Earth's zonal gravity harmonics J2 to J6, which flatten the field symmetrically about the rotation
+ * axis. Coefficients are the unnormalized EGM-96 values.
+ * <p>
+ * Each term {@code -μ Jn (R/r)^n Pn(z/r) / r} of the potential is differentiated analytically, with the
+ * Legendre polynomials and their derivatives built by recurrence, so a satellite costs one square root
+ * and a few multiply-adds per degree.
+ */
+public final class ZonalHarmonics implements ForceModel {
+
+	/**
+	 * Equatorial radius of the EGM-96 model in kilometres
+	 */
+	public static final double EARTH_RADIUS = 6378.1363;
+
+	/**
+	 * Highest degree available
+	 */
+	public static final int MAX_DEGREE = 6;
+
+	private static final double[] J = {0.0, 0.0, 1.0826267e-3, -2.5327e-6, -1.6196e-6, -2.2730e-7, 5.4068e-7};
+
+	private final int degree;
+
+	/**
+	 * Creates a model of the harmonics up to a degree.
+	 *
+	 * @param degree highest degree, from 2 (J2 only) to {@value #MAX_DEGREE}
+	 */
+	public ZonalHarmonics(int degree) {
+		if (degree < 2 || degree > MAX_DEGREE) {
+			throw new IllegalArgumentException("Degree must be between 2 and " + MAX_DEGREE);
+		}
+		this.degree = degree;
+	}
+
+	/**
+	 * Returns the highest degree included
+	 */
+	public int degree() {
+		return degree;
+	}
+
+	@Override
+	public void addAccelerations(JulianDate epoch, double seconds, double[] states, double[] derivatives, int count,
+		double[] workspace) {
+		for (int s = 0; s < count; s++) {
+			int o = 6 * s;
+			double x = states[o];
+			double y = states[o + 1];
+			double z = states[o + 2];
+			double r2 = x * x + y * y + z * z;
+			double r = Math.sqrt(r2);
+			double u = z / r;
+			double ratio = EARTH_RADIUS / r;
+
+			// Pn(u) and Pn'(u) by recurrence, starting from P0 = 1 and P1 = u
+			double pPrevious = 1.0;
+			double p = u;
+			double dp = 1.0;
+			double scale = KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER / r2 * ratio;
+			double radial = 0.0;
+			double axial = 0.0;
+			for (int n = 1; n < degree; n++) {
+				double pNext = ((2 * n + 1) * u * p - n * pPrevious) / (n + 1);
+				double dpNext = u * dp + (n + 1) * p;
+				pPrevious = p;
+				p = pNext;
+				dp = dpNext;
+				scale *= ratio;
+				int m = n + 1;
+				radial += scale * J[m] * ((m + 1) * p + u * dp);
+				axial -= scale * J[m] * dp;
+			}
+
+			derivatives[o + 3] += radial * x / r;
+			derivatives[o + 4] += radial * y / r;
+			derivatives[o + 5] += radial * u + axial;
+		}
+	}
+}
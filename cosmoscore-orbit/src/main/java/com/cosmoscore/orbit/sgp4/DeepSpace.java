@@ -0,0 +1,614 @@
+package com.cosmoscore.orbit.sgp4;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * The deep-space (SDP4) part of {@link Sgp4Propagator}, for orbits with periods of 225 minutes or more.
+ * <p>
+ * This follows the dscom, dsinit, dspace and dpper routines of Vallado, Crawford, Hujsak and Kelso,
+ * "Revisiting Spacetrack Report #3" (AIAA 2006-6753), in its improved operation mode. The constructor
+ * computes the lunar-solar coefficients and, for 12-hour and one-day orbits, the geopotential resonance
+ * coefficients. Each propagation adds the lunar-solar secular rates, integrates the resonance from the
+ * epoch with the same fixed 720-minute Euler-Maclaurin steps as the reference code, and adds the
+ * lunar-solar periodics. Restarting the integration from the epoch on every call keeps the instance
+ * immutable and gives the same results as the reference code, which caches the last step.
+ * <p>
+ * Mean elements are passed in and out in an array indexed by the constants below, so a propagation
+ * allocates nothing.
+ */
+final class DeepSpace {
+
+	static final int ECCENTRICITY = 0;
+	static final int INCLINATION = 1;
+	static final int NODE = 2;
+	static final int ARGUMENT_OF_PERIGEE = 3;
+	static final int MEAN_ANOMALY = 4;
+	static final int MEAN_MOTION = 5;
+
+	private static final double TWO_PI = 2.0 * Math.PI;
+
+	// Solar and lunar mean motions in radians per minute, and their orbital eccentricities
+	private static final double ZNS = 1.19459e-5;
+	private static final double ZES = 0.01675;
+	private static final double ZNL = 1.5835218e-4;
+	private static final double ZEL = 0.05490;
+
+	// Earth rotation rate in radians per minute
+	private static final double RPTIM = 4.37526908801129966e-3;
+
+	private static final double STEP = 720.0;
+	private static final double STEP2 = STEP * STEP / 2.0;
+
+	private static final int NO_RESONANCE = 0;
+	private static final int SYNCHRONOUS = 1;
+	private static final int HALF_DAY = 2;
+
+	// Lunar-solar periodics
+	private final double zmos;
+	private final double zmol;
+	private final double se2;
+	private final double se3;
+	private final double si2;
+	private final double si3;
+	private final double sl2;
+	private final double sl3;
+	private final double sl4;
+	private final double sgh2;
+	private final double sgh3;
+	private final double sgh4;
+	private final double sh2;
+	private final double sh3;
+	private final double ee2;
+	private final double e3;
+	private final double xi2;
+	private final double xi3;
+	private final double xl2;
+	private final double xl3;
+	private final double xl4;
+	private final double xgh2;
+	private final double xgh3;
+	private final double xgh4;
+	private final double xh2;
+	private final double xh3;
+
+	// Lunar-solar secular rates
+	private final double dedt;
+	private final double didt;
+	private final double dmdt;
+	private final double domdt;
+	private final double dnodt;
+
+	// Resonance
+	private final int irez;
+	private final double gsto;
+	private final double meanMotion;
+	private final double argumentOfPerigee;
+	private final double argpdot;
+	private final double xlamo;
+	private final double xfact;
+	private final double del1;
+	private final double del2;
+	private final double del3;
+	private final double d2201;
+	private final double d2211;
+	private final double d3210;
+	private final double d3222;
+	private final double d4410;
+	private final double d4422;
+	private final double d5220;
+	private final double d5232;
+	private final double d5421;
+	private final double d5433;
+
+	/**
+	 * Computes the deep-space coefficients of one element set.
+	 *
+	 * @param epoch epoch of the elements
+	 * @param ecco eccentricity
+	 * @param inclo inclination in radians
+	 * @param nodeo right ascension of the ascending node in radians
+	 * @param argpo argument of perigee in radians
+	 * @param mo mean anomaly in radians
+	 * @param no recovered mean motion in radians per minute
+	 * @param xke sqrt(μ) in Earth radii^1.5 per minute
+	 * @param mdot secular rate of the mean anomaly from gravity
+	 * @param argpdot secular rate of the argument of perigee from gravity
+	 * @param nodedot secular rate of the node from gravity
+	 */
+	DeepSpace(JulianDate epoch, double ecco, double inclo, double nodeo, double argpo, double mo, double no,
+		double xke, double mdot, double argpdot, double nodedot) {
+		this.gsto = greenwichSiderealTime(epoch);
+		this.meanMotion = no;
+		this.argumentOfPerigee = argpo;
+		this.argpdot = argpdot;
+
+		// dscom: lunar and solar terms
+		double snodm = Math.sin(nodeo);
+		double cnodm = Math.cos(nodeo);
+		double sinomm = Math.sin(argpo);
+		double cosomm = Math.cos(argpo);
+		double sinim = Math.sin(inclo);
+		double cosim = Math.cos(inclo);
+		double emsq = ecco * ecco;
+		double betasq = 1.0 - emsq;
+		double rtemsq = Math.sqrt(betasq);
+
+		// Days since 1900 January 0.5
+		double day = epoch.daysSinceJ2000() + 36525.0;
+		double xnodce = (4.5236020 - 9.2422029e-4 * day) % TWO_PI;
+		double stem = Math.sin(xnodce);
+		double ctem = Math.cos(xnodce);
+		double zcosil = 0.91375164 - 0.03568096 * ctem;
+		double zsinil = Math.sqrt(1.0 - zcosil * zcosil);
+		double zsinhl = 0.089683511 * stem / zsinil;
+		double zcoshl = Math.sqrt(1.0 - zsinhl * zsinhl);
+		double gam = 5.8351514 + 0.0019443680 * day;
+		double zx = 0.39785416 * stem / zsinil;
+		double zy = zcoshl * ctem + 0.91744867 * zsinhl * stem;
+		zx = gam + Math.atan2(zx, zy) - xnodce;
+		double zcosgl = Math.cos(zx);
+		double zsingl = Math.sin(zx);
+
+		// The first pass is for the Sun, the second for the Moon
+		double zcosg = 0.1945905;
+		double zsing = -0.98088458;
+		double zcosi = 0.91744867;
+		double zsini = 0.39785416;
+		double zcosh = cnodm;
+		double zsinh = snodm;
+		double cc = 2.9864797e-6;
+		double xnoi = 1.0 / no;
+
+		double[] sun = null;
+		double[] moon = null;
+		for (int pass = 0; pass < 2; pass++) {
+			double a1 = zcosg * zcosh + zsing * zcosi * zsinh;
+			double a3 = -zsing * zcosh + zcosg * zcosi * zsinh;
+			double a7 = -zcosg * zsinh + zsing * zcosi * zcosh;
+			double a8 = zsing * zsini;
+			double a9 = zsing * zsinh + zcosg * zcosi * zcosh;
+			double a10 = zcosg * zsini;
+			double a2 = cosim * a7 + sinim * a8;
+			double a4 = cosim * a9 + sinim * a10;
+			double a5 = -sinim * a7 + cosim * a8;
+			double a6 = -sinim * a9 + cosim * a10;
+
+			double x1 = a1 * cosomm + a2 * sinomm;
+			double x2 = a3 * cosomm + a4 * sinomm;
+			double x3 = -a1 * sinomm + a2 * cosomm;
+			double x4 = -a3 * sinomm + a4 * cosomm;
+			double x5 = a5 * sinomm;
+			double x6 = a6 * sinomm;
+			double x7 = a5 * cosomm;
+			double x8 = a6 * cosomm;
+
+			double z31 = 12.0 * x1 * x1 - 3.0 * x3 * x3;
+			double z32 = 24.0 * x1 * x2 - 6.0 * x3 * x4;
+			double z33 = 12.0 * x2 * x2 - 3.0 * x4 * x4;
+			double z1 = 3.0 * (a1 * a1 + a2 * a2) + z31 * emsq;
+			double z2 = 6.0 * (a1 * a3 + a2 * a4) + z32 * emsq;
+			double z3 = 3.0 * (a3 * a3 + a4 * a4) + z33 * emsq;
+			double z11 = -6.0 * a1 * a5 + emsq * (-24.0 * x1 * x7 - 6.0 * x3 * x5);
+			double z12 = -6.0 * (a1 * a6 + a3 * a5)
+				+ emsq * (-24.0 * (x2 * x7 + x1 * x8) - 6.0 * (x3 * x6 + x4 * x5));
+			double z13 = -6.0 * a3 * a6 + emsq * (-24.0 * x2 * x8 - 6.0 * x4 * x6);
+			double z21 = 6.0 * a2 * a5 + emsq * (24.0 * x1 * x5 - 6.0 * x3 * x7);
+			double z22 = 6.0 * (a4 * a5 + a2 * a6)
+				+ emsq * (24.0 * (x2 * x5 + x1 * x6) - 6.0 * (x4 * x7 + x3 * x8));
+			double z23 = 6.0 * a4 * a6 + emsq * (24.0 * x2 * x6 - 6.0 * x4 * x8);
+			z1 = z1 + z1 + betasq * z31;
+			z2 = z2 + z2 + betasq * z32;
+			z3 = z3 + z3 + betasq * z33;
+			double s3 = cc * xnoi;
+			double s2 = -0.5 * s3 / rtemsq;
+			double s4 = s3 * rtemsq;
+			double s1 = -15.0 * ecco * s4;
+			double s5 = x1 * x3 + x2 * x4;
+			double s6 = x2 * x3 + x1 * x4;
+			double s7 = x2 * x4 - x1 * x3;
+
+			double[] terms = {s1, s2, s3, s4, s5, s6, s7, z1, z2, z3, z11, z12, z13, z21, z22, z23, z31, z32, z33};
+			if (pass == 0) {
+				sun = terms;
+				zcosg = zcosgl;
+				zsing = zsingl;
+				zcosi = zcosil;
+				zsini = zsinil;
+				zcosh = zcoshl * cnodm + zsinhl * snodm;
+				zsinh = snodm * zcoshl - cnodm * zsinhl;
+				cc = 4.7968065e-7;
+			} else {
+				moon = terms;
+			}
+		}
+
+		this.zmol = (4.7199672 + 0.22997150 * day - gam) % TWO_PI;
+		this.zmos = (6.2565837 + 0.017201977 * day) % TWO_PI;
+
+		double ss1 = sun[0];
+		double ss2 = sun[1];
+		double ss3 = sun[2];
+		double ss4 = sun[3];
+		double ss5 = sun[4];
+		double ss6 = sun[5];
+		double ss7 = sun[6];
+		double sz1 = sun[7];
+		double sz2 = sun[8];
+		double sz3 = sun[9];
+		double sz11 = sun[10];
+		double sz12 = sun[11];
+		double sz13 = sun[12];
+		double sz21 = sun[13];
+		double sz22 = sun[14];
+		double sz23 = sun[15];
+		double sz31 = sun[16];
+		double sz32 = sun[17];
+		double sz33 = sun[18];
+		double s1 = moon[0];
+		double s2 = moon[1];
+		double s3 = moon[2];
+		double s4 = moon[3];
+		double s5 = moon[4];
+		double s6 = moon[5];
+		double s7 = moon[6];
+		double z1 = moon[7];
+		double z2 = moon[8];
+		double z3 = moon[9];
+		double z11 = moon[10];
+		double z12 = moon[11];
+		double z13 = moon[12];
+		double z21 = moon[13];
+		double z22 = moon[14];
+		double z23 = moon[15];
+		double z31 = moon[16];
+		double z32 = moon[17];
+		double z33 = moon[18];
+
+		this.se2 = 2.0 * ss1 * ss6;
+		this.se3 = 2.0 * ss1 * ss7;
+		this.si2 = 2.0 * ss2 * sz12;
+		this.si3 = 2.0 * ss2 * (sz13 - sz11);
+		this.sl2 = -2.0 * ss3 * sz2;
+		this.sl3 = -2.0 * ss3 * (sz3 - sz1);
+		this.sl4 = -2.0 * ss3 * (-21.0 - 9.0 * emsq) * ZES;
+		this.sgh2 = 2.0 * ss4 * sz32;
+		this.sgh3 = 2.0 * ss4 * (sz33 - sz31);
+		this.sgh4 = -18.0 * ss4 * ZES;
+		this.sh2 = -2.0 * ss2 * sz22;
+		this.sh3 = -2.0 * ss2 * (sz23 - sz21);
+
+		this.ee2 = 2.0 * s1 * s6;
+		this.e3 = 2.0 * s1 * s7;
+		this.xi2 = 2.0 * s2 * z12;
+		this.xi3 = 2.0 * s2 * (z13 - z11);
+		this.xl2 = -2.0 * s3 * z2;
+		this.xl3 = -2.0 * s3 * (z3 - z1);
+		this.xl4 = -2.0 * s3 * (-21.0 - 9.0 * emsq) * ZEL;
+		this.xgh2 = 2.0 * s4 * z32;
+		this.xgh3 = 2.0 * s4 * (z33 - z31);
+		this.xgh4 = -18.0 * s4 * ZEL;
+		this.xh2 = -2.0 * s2 * z22;
+		this.xh3 = -2.0 * s2 * (z23 - z21);
+
+		// dsinit: lunar-solar secular rates
+		boolean nearEquatorial = inclo < 5.2359877e-2 || inclo > Math.PI - 5.2359877e-2;
+		double ses = ss1 * ZNS * ss5;
+		double sis = ss2 * ZNS * (sz11 + sz13);
+		double sls = -ZNS * ss3 * (sz1 + sz3 - 14.0 - 6.0 * emsq);
+		double sghs = ss4 * ZNS * (sz31 + sz33 - 6.0);
+		double shs = nearEquatorial ? 0.0 : -ZNS * ss2 * (sz21 + sz23);
+		if (sinim != 0.0) {
+			shs = shs / sinim;
+		}
+		double sgs = sghs - cosim * shs;
+
+		this.dedt = ses + s1 * ZNL * s5;
+		this.didt = sis + s2 * ZNL * (z11 + z13);
+		this.dmdt = sls - ZNL * s3 * (z1 + z3 - 14.0 - 6.0 * emsq);
+		double sghl = s4 * ZNL * (z31 + z33 - 6.0);
+		double shll = nearEquatorial ? 0.0 : -ZNL * s2 * (z21 + z23);
+		double omegaRate = sgs + sghl;
+		double nodeRate = shs;
+		if (sinim != 0.0) {
+			omegaRate = omegaRate - cosim / sinim * shll;
+			nodeRate = nodeRate + shll / sinim;
+		}
+		this.domdt = omegaRate;
+		this.dnodt = nodeRate;
+
+		// dsinit: geopotential resonance
+		if (no < 0.0052359877 && no > 0.0034906585) {
+			this.irez = SYNCHRONOUS;
+		} else if (no >= 8.26e-3 && no <= 9.24e-3 && ecco >= 0.5) {
+			this.irez = HALF_DAY;
+		} else {
+			this.irez = NO_RESONANCE;
+		}
+
+		double aonv = Math.pow(no / xke, 2.0 / 3.0);
+		double theta = gsto % TWO_PI;
+		if (irez == HALF_DAY) {
+			double cosisq = cosim * cosim;
+			double em = ecco;
+			double eoc = em * emsq;
+			double g201 = -0.306 - (em - 0.64) * 0.440;
+			double g211;
+			double g310;
+			double g322;
+			double g410;
+			double g422;
+			double g520;
+			if (em <= 0.65) {
+				g211 = 3.616 - 13.2470 * em + 16.2900 * emsq;
+				g310 = -19.302 + 117.3900 * em - 228.4190 * emsq + 156.5910 * eoc;
+				g322 = -18.9068 + 109.7927 * em - 214.6334 * emsq + 146.5816 * eoc;
+				g410 = -41.122 + 242.6940 * em - 471.0940 * emsq + 313.9530 * eoc;
+				g422 = -146.407 + 841.8800 * em - 1629.014 * emsq + 1083.4350 * eoc;
+				g520 = -532.114 + 3017.977 * em - 5740.032 * emsq + 3708.2760 * eoc;
+			} else {
+				g211 = -72.099 + 331.819 * em - 508.738 * emsq + 266.724 * eoc;
+				g310 = -346.844 + 1582.851 * em - 2415.925 * emsq + 1246.113 * eoc;
+				g322 = -342.585 + 1554.908 * em - 2366.899 * emsq + 1215.972 * eoc;
+				g410 = -1052.797 + 4758.686 * em - 7193.992 * emsq + 3651.957 * eoc;
+				g422 = -3581.690 + 16178.110 * em - 24462.770 * emsq + 12422.520 * eoc;
+				if (em > 0.715) {
+					g520 = -5149.66 + 29936.92 * em - 54087.36 * emsq + 31324.56 * eoc;
+				} else {
+					g520 = 1464.74 - 4664.75 * em + 3763.64 * emsq;
+				}
+			}
+			double g533;
+			double g521;
+			double g532;
+			if (em < 0.7) {
+				g533 = -919.22770 + 4988.6100 * em - 9064.7700 * emsq + 5542.21 * eoc;
+				g521 = -822.71072 + 4568.6173 * em - 8491.4146 * emsq + 5337.524 * eoc;
+				g532 = -853.66600 + 4690.2500 * em - 8624.7700 * emsq + 5341.4 * eoc;
+			} else {
+				g533 = -37995.780 + 161616.52 * em - 229838.20 * emsq + 109377.94 * eoc;
+				g521 = -51752.104 + 218913.95 * em - 309468.16 * emsq + 146349.42 * eoc;
+				g532 = -40023.880 + 170470.89 * em - 242699.48 * emsq + 115605.82 * eoc;
+			}
+
+			double sini2 = sinim * sinim;
+			double f220 = 0.75 * (1.0 + 2.0 * cosim + cosisq);
+			double f221 = 1.5 * sini2;
+			double f321 = 1.875 * sinim * (1.0 - 2.0 * cosim - 3.0 * cosisq);
+			double f322 = -1.875 * sinim * (1.0 + 2.0 * cosim - 3.0 * cosisq);
+			double f441 = 35.0 * sini2 * f220;
+			double f442 = 39.3750 * sini2 * sini2;
+			double f522 = 9.84375 * sinim * (sini2 * (1.0 - 2.0 * cosim - 5.0 * cosisq)
+				+ 0.33333333 * (-2.0 + 4.0 * cosim + 6.0 * cosisq));
+			double f523 = sinim * (4.92187512 * sini2 * (-2.0 - 4.0 * cosim + 10.0 * cosisq)
+				+ 6.56250012 * (1.0 + 2.0 * cosim - 3.0 * cosisq));
+			double f542 = 29.53125 * sinim * (2.0 - 8.0 * cosim
+				+ cosisq * (-12.0 + 8.0 * cosim + 10.0 * cosisq));
+			double f543 = 29.53125 * sinim * (-2.0 - 8.0 * cosim
+				+ cosisq * (12.0 + 8.0 * cosim - 10.0 * cosisq));
+
+			double xno2 = no * no;
+			double ainv2 = aonv * aonv;
+			double temp1 = 3.0 * xno2 * ainv2;
+			double temp = temp1 * 1.7891679e-6;
+			this.d2201 = temp * f220 * g201;
+			this.d2211 = temp * f221 * g211;
+			temp1 = temp1 * aonv;
+			temp = temp1 * 3.7393792e-7;
+			this.d3210 = temp * f321 * g310;
+			this.d3222 = temp * f322 * g322;
+			temp1 = temp1 * aonv;
+			temp = 2.0 * temp1 * 7.3636953e-9;
+			this.d4410 = temp * f441 * g410;
+			this.d4422 = temp * f442 * g422;
+			temp1 = temp1 * aonv;
+			temp = temp1 * 1.1428639e-7;
+			this.d5220 = temp * f522 * g520;
+			this.d5232 = temp * f523 * g532;
+			temp = 2.0 * temp1 * 2.1765803e-9;
+			this.d5421 = temp * f542 * g521;
+			this.d5433 = temp * f543 * g533;
+			this.xlamo = (mo + nodeo + nodeo - theta - theta) % TWO_PI;
+			this.xfact = mdot + dmdt + 2.0 * (nodedot + dnodt - RPTIM) - no;
+			this.del1 = 0.0;
+			this.del2 = 0.0;
+			this.del3 = 0.0;
+		} else if (irez == SYNCHRONOUS) {
+			double g200 = 1.0 + emsq * (-2.5 + 0.8125 * emsq);
+			double g310 = 1.0 + 2.0 * emsq;
+			double g300 = 1.0 + emsq * (-6.0 + 6.60937 * emsq);
+			double f220 = 0.75 * (1.0 + cosim) * (1.0 + cosim);
+			double f311 = 0.9375 * sinim * sinim * (1.0 + 3.0 * cosim) - 0.75 * (1.0 + cosim);
+			double f330 = 1.0 + cosim;
+			f330 = 1.875 * f330 * f330 * f330;
+			double delta = 3.0 * no * no * aonv * aonv;
+			this.del2 = 2.0 * delta * f220 * g200 * 1.7891679e-6;
+			this.del3 = 3.0 * delta * f330 * g300 * 2.2123015e-7 * aonv;
+			this.del1 = delta * f311 * g310 * 2.1460748e-6 * aonv;
+			this.xlamo = (mo + nodeo + argpo - theta) % TWO_PI;
+			this.xfact = mdot + argpdot + nodedot - RPTIM + dmdt + domdt + dnodt - no;
+			this.d2201 = 0.0;
+			this.d2211 = 0.0;
+			this.d3210 = 0.0;
+			this.d3222 = 0.0;
+			this.d4410 = 0.0;
+			this.d4422 = 0.0;
+			this.d5220 = 0.0;
+			this.d5232 = 0.0;
+			this.d5421 = 0.0;
+			this.d5433 = 0.0;
+		} else {
+			this.xlamo = 0.0;
+			this.xfact = 0.0;
+			this.del1 = 0.0;
+			this.del2 = 0.0;
+			this.del3 = 0.0;
+			this.d2201 = 0.0;
+			this.d2211 = 0.0;
+			this.d3210 = 0.0;
+			this.d3222 = 0.0;
+			this.d4410 = 0.0;
+			this.d4422 = 0.0;
+			this.d5220 = 0.0;
+			this.d5232 = 0.0;
+			this.d5421 = 0.0;
+			this.d5433 = 0.0;
+		}
+	}
+
+	/**
+	 * Adds the lunar-solar secular rates and the resonance to mean elements (dspace).
+	 *
+	 * @param t time since epoch in minutes
+	 * @param elements mean elements after the secular gravity terms, updated in place
+	 */
+	void secular(double t, double[] elements) {
+		elements[ECCENTRICITY] += dedt * t;
+		elements[INCLINATION] += didt * t;
+		elements[ARGUMENT_OF_PERIGEE] += domdt * t;
+		elements[NODE] += dnodt * t;
+		elements[MEAN_ANOMALY] += dmdt * t;
+		if (irez == NO_RESONANCE) {
+			return;
+		}
+
+		// Euler-Maclaurin integration from the epoch in fixed steps
+		double theta = (gsto + t * RPTIM) % TWO_PI;
+		double delt = t > 0.0 ? STEP : -STEP;
+		double atime = 0.0;
+		double xni = meanMotion;
+		double xli = xlamo;
+		double xndt;
+		double xldot;
+		double xnddt;
+		while (true) {
+			if (irez == SYNCHRONOUS) {
+				xndt = del1 * Math.sin(xli - 0.13130908) + del2 * Math.sin(2.0 * (xli - 2.8843198))
+					+ del3 * Math.sin(3.0 * (xli - 0.37448087));
+				xldot = xni + xfact;
+				xnddt = del1 * Math.cos(xli - 0.13130908) + 2.0 * del2 * Math.cos(2.0 * (xli - 2.8843198))
+					+ 3.0 * del3 * Math.cos(3.0 * (xli - 0.37448087));
+				xnddt = xnddt * xldot;
+			} else {
+				double xomi = argumentOfPerigee + argpdot * atime;
+				double x2omi = xomi + xomi;
+				double x2li = xli + xli;
+				xndt = d2201 * Math.sin(x2omi + xli - 5.7686396) + d2211 * Math.sin(xli - 5.7686396)
+					+ d3210 * Math.sin(xomi + xli - 0.95240898) + d3222 * Math.sin(-xomi + xli - 0.95240898)
+					+ d4410 * Math.sin(x2omi + x2li - 1.8014998) + d4422 * Math.sin(x2li - 1.8014998)
+					+ d5220 * Math.sin(xomi + xli - 1.0508330) + d5232 * Math.sin(-xomi + xli - 1.0508330)
+					+ d5421 * Math.sin(xomi + x2li - 4.4108898) + d5433 * Math.sin(-xomi + x2li - 4.4108898);
+				xldot = xni + xfact;
+				xnddt = d2201 * Math.cos(x2omi + xli - 5.7686396) + d2211 * Math.cos(xli - 5.7686396)
+					+ d3210 * Math.cos(xomi + xli - 0.95240898) + d3222 * Math.cos(-xomi + xli - 0.95240898)
+					+ d5220 * Math.cos(xomi + xli - 1.0508330) + d5232 * Math.cos(-xomi + xli - 1.0508330)
+					+ 2.0 * (d4410 * Math.cos(x2omi + x2li - 1.8014998) + d4422 * Math.cos(x2li - 1.8014998)
+					+ d5421 * Math.cos(xomi + x2li - 4.4108898) + d5433 * Math.cos(-xomi + x2li - 4.4108898));
+				xnddt = xnddt * xldot;
+			}
+			if (Math.abs(t - atime) < STEP) {
+				break;
+			}
+			xli = xli + xldot * delt + xndt * STEP2;
+			xni = xni + xndt * delt + xnddt * STEP2;
+			atime = atime + delt;
+		}
+
+		double ft = t - atime;
+		double nm = xni + xndt * ft + xnddt * ft * ft * 0.5;
+		double xl = xli + xldot * ft + xndt * ft * ft * 0.5;
+		if (irez == SYNCHRONOUS) {
+			elements[MEAN_ANOMALY] = xl - elements[NODE] - elements[ARGUMENT_OF_PERIGEE] + theta;
+		} else {
+			elements[MEAN_ANOMALY] = xl - 2.0 * elements[NODE] + 2.0 * theta;
+		}
+		elements[MEAN_MOTION] = nm;
+	}
+
+	/**
+	 * Adds the lunar-solar periodics to mean elements (dpper), applying them to the node and argument of
+	 * perigee with Lyddane's modification at inclinations below 0.2 radians.
+	 *
+	 * @param t time since epoch in minutes
+	 * @param elements mean elements, updated in place
+	 */
+	void periodics(double t, double[] elements) {
+		double zm = zmos + ZNS * t;
+		double zf = zm + 2.0 * ZES * Math.sin(zm);
+		double sinzf = Math.sin(zf);
+		double f2 = 0.5 * sinzf * sinzf - 0.25;
+		double f3 = -0.5 * sinzf * Math.cos(zf);
+		double ses = se2 * f2 + se3 * f3;
+		double sis = si2 * f2 + si3 * f3;
+		double sls = sl2 * f2 + sl3 * f3 + sl4 * sinzf;
+		double sghs = sgh2 * f2 + sgh3 * f3 + sgh4 * sinzf;
+		double shs = sh2 * f2 + sh3 * f3;
+
+		zm = zmol + ZNL * t;
+		zf = zm + 2.0 * ZEL * Math.sin(zm);
+		sinzf = Math.sin(zf);
+		f2 = 0.5 * sinzf * sinzf - 0.25;
+		f3 = -0.5 * sinzf * Math.cos(zf);
+		double sel = ee2 * f2 + e3 * f3;
+		double sil = xi2 * f2 + xi3 * f3;
+		double sll = xl2 * f2 + xl3 * f3 + xl4 * sinzf;
+		double sghl = xgh2 * f2 + xgh3 * f3 + xgh4 * sinzf;
+		double shll = xh2 * f2 + xh3 * f3;
+
+		double pe = ses + sel;
+		double pinc = sis + sil;
+		double pl = sls + sll;
+		double pgh = sghs + sghl;
+		double ph = shs + shll;
+
+		double inclp = elements[INCLINATION] + pinc;
+		elements[INCLINATION] = inclp;
+		elements[ECCENTRICITY] += pe;
+		double sinip = Math.sin(inclp);
+		double cosip = Math.cos(inclp);
+		double nodep = elements[NODE];
+		double argpp = elements[ARGUMENT_OF_PERIGEE];
+		double mp = elements[MEAN_ANOMALY];
+
+		if (inclp >= 0.2) {
+			ph = ph / sinip;
+			pgh = pgh - cosip * ph;
+			argpp = argpp + pgh;
+			nodep = nodep + ph;
+			mp = mp + pl;
+		} else {
+			double sinop = Math.sin(nodep);
+			double cosop = Math.cos(nodep);
+			double alfdp = sinip * sinop;
+			double betdp = sinip * cosop;
+			double dalf = ph * cosop + pinc * cosip * sinop;
+			double dbet = -ph * sinop + pinc * cosip * cosop;
+			alfdp = alfdp + dalf;
+			betdp = betdp + dbet;
+			nodep = nodep % TWO_PI;
+			double xls = mp + argpp + cosip * nodep;
+			double dls = pl + pgh - pinc * nodep * sinip;
+			xls = xls + dls;
+			double xnoh = nodep;
+			nodep = Math.atan2(alfdp, betdp);
+			if (Math.abs(xnoh - nodep) > Math.PI) {
+				nodep = nodep < xnoh ? nodep + TWO_PI : nodep - TWO_PI;
+			}
+			mp = mp + pl;
+			argpp = xls - mp - cosip * nodep;
+		}
+		elements[NODE] = nodep;
+		elements[ARGUMENT_OF_PERIGEE] = argpp;
+		elements[MEAN_ANOMALY] = mp;
+	}
+
+	/**
+	 * Greenwich mean sidereal time in radians, with the IAU 1982 expression used by the reference code
+	 */
+	private static double greenwichSiderealTime(JulianDate jd) {
+		double tut1 = jd.daysSinceJ2000() / 36525.0;
+		double seconds = -6.2e-6 * tut1 * tut1 * tut1 + 0.093104 * tut1 * tut1
+			+ (876600.0 * 3600.0 + 8640184.812866) * tut1 + 67310.54841;
+		double gst = Math.toRadians(seconds / 240.0) % TWO_PI;
+		return gst < 0.0 ? gst + TWO_PI : gst;
+	}
+}
@@ -0,0 +1,425 @@
+package com.cosmoscore.orbit.sgp4;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.orbit.OrbitPropagator;
+
+/**
+ * The SGP4 propagator for two-line element sets, giving positions and velocities in the TEME (true
+ * equator, mean equinox) frame.
+ * <p>
+ * This follows the revised SGP4 of Vallado, Crawford, Hujsak and Kelso, "Revisiting Spacetrack Report
+ * #3" (AIAA 2006-6753), with WGS-72 constants as used to generate the element sets. Everything that
+ * depends only on the elements (the recovered mean motion, drag and secular gravity coefficients) is
+ * computed once by the constructor, so each propagation pays only for the time-dependent part and
+ * allocates nothing.
+ * <p>
+ * Orbits with periods of 225 minutes or more also get the deep-space (SDP4) lunar-solar and resonance
+ * terms of the same paper, computed by {@link DeepSpace}.
+ */
+public final class Sgp4Propagator implements OrbitPropagator {
+
+	/**
+	 * Shortest orbital period, in minutes, that gets deep-space (SDP4) propagation
+	 */
+	public static final double DEEP_SPACE_PERIOD = 225.0;
+
+	// WGS-72 constants
+	private static final double MU = 398600.8;
+	private static final double EARTH_RADIUS = 6378.135;
+	private static final double J2 = 0.001082616;
+	private static final double J3 = -0.00000253881;
+	private static final double J4 = -0.00000165597;
+	private static final double J3_OVER_J2 = J3 / J2;
+
+	/**
+	 * sqrt(μ) in Earth radii^1.5 per minute
+	 */
+	private static final double XKE = 60.0 / Math.sqrt(EARTH_RADIUS * EARTH_RADIUS * EARTH_RADIUS / MU);
+	private static final double VELOCITY_UNIT = EARTH_RADIUS * XKE / 60.0;
+	private static final double TWO_THIRDS = 2.0 / 3.0;
+	private static final double TWO_PI = 2.0 * Math.PI;
+	private static final double MINUTES_PER_DAY = 1440.0;
+
+	private final TwoLineElements elements;
+	private final double bstar;
+	private final double inclination;
+	private final double node;
+	private final double eccentricity;
+	private final double argumentOfPerigee;
+	private final double meanAnomaly;
+	private final double meanMotion;
+
+	private final boolean simplified;
+	private final double eta;
+	private final double sinInclination;
+	private final double cosInclination;
+	private final double con41;
+	private final double x1mth2;
+	private final double x7thm1;
+	private final double cc1;
+	private final double cc4;
+	private final double cc5;
+	private final double d2;
+	private final double d3;
+	private final double d4;
+	private final double delmo;
+	private final double sinmao;
+	private final double mdot;
+	private final double argpdot;
+	private final double nodedot;
+	private final double nodecf;
+	private final double omgcof;
+	private final double xmcof;
+	private final double t2cof;
+	private final double t3cof;
+	private final double t4cof;
+	private final double t5cof;
+	private final double xlcof;
+	private final double aycof;
+	private final DeepSpace deepSpace;
+
+	/**
+	 * Initializes the propagator for one element set.
+	 *
+	 * @param elements the element set
+	 * @throws IllegalArgumentException if the elements cannot be propagated
+	 */
+	public Sgp4Propagator(TwoLineElements elements) {
+		this.elements = Objects.requireNonNull(elements, "Elements must not be null");
+		this.bstar = elements.bstar();
+		this.inclination = Math.toRadians(elements.inclination());
+		this.node = Math.toRadians(elements.rightAscensionOfAscendingNode());
+		this.eccentricity = elements.eccentricity();
+		this.argumentOfPerigee = Math.toRadians(elements.argumentOfPerigee());
+		this.meanAnomaly = Math.toRadians(elements.meanAnomaly());
+
+		// Recover the original mean motion and semi-major axis from the Kozai mean motion of the TLE
+		double kozaiMeanMotion = elements.meanMotion() * TWO_PI / MINUTES_PER_DAY;
+		double eccentricitySquared = eccentricity * eccentricity;
+		double omeosq = 1.0 - eccentricitySquared;
+		double rteosq = Math.sqrt(omeosq);
+		double cosio = Math.cos(inclination);
+		double cosio2 = cosio * cosio;
+		double ak = Math.pow(XKE / kozaiMeanMotion, TWO_THIRDS);
+		double d1 = 0.75 * J2 * (3.0 * cosio2 - 1.0) / (rteosq * omeosq);
+		double del = d1 / (ak * ak);
+		double adel = ak * (1.0 - del * del - del * (1.0 / 3.0 + 134.0 * del * del / 81.0));
+		del = d1 / (adel * adel);
+		this.meanMotion = kozaiMeanMotion / (1.0 + del);
+		boolean deep = TWO_PI / meanMotion >= DEEP_SPACE_PERIOD;
+
+		double ao = Math.pow(XKE / meanMotion, TWO_THIRDS);
+		double sinio = Math.sin(inclination);
+		double po = ao * omeosq;
+		double con42 = 1.0 - 5.0 * cosio2;
+		double perigeeRadius = ao * (1.0 - eccentricity);
+		if (perigeeRadius < 1.0) {
+			throw new IllegalArgumentException("Perigee of satellite " + elements.catalogNumber()
+				+ " is below the Earth's surface");
+		}
+		this.sinInclination = sinio;
+		this.cosInclination = cosio;
+		this.con41 = -con42 - cosio2 - cosio2;
+		this.x1mth2 = 1.0 - cosio2;
+		this.x7thm1 = 7.0 * cosio2 - 1.0;
+
+		// Atmospheric density parameters, altered for perigees below 156 km
+		double s = 78.0 / EARTH_RADIUS + 1.0;
+		double qoms2t = Math.pow((120.0 - 78.0) / EARTH_RADIUS, 4);
+		double perigee = (perigeeRadius - 1.0) * EARTH_RADIUS;
+		if (perigee < 156.0) {
+			double sfour = perigee < 98.0 ? 20.0 : perigee - 78.0;
+			qoms2t = Math.pow((120.0 - sfour) / EARTH_RADIUS, 4);
+			s = sfour / EARTH_RADIUS + 1.0;
+		}
+		// Perigees below 220 km, and deep-space orbits, drop the higher-order drag terms
+		this.simplified = deep || perigeeRadius < 220.0 / EARTH_RADIUS + 1.0;
+
+		double pinvsq = 1.0 / (po * po);
+		double tsi = 1.0 / (ao - s);
+		this.eta = ao * eccentricity * tsi;
+		double etasq = eta * eta;
+		double eeta = eccentricity * eta;
+		double psisq = Math.abs(1.0 - etasq);
+		double coef = qoms2t * Math.pow(tsi, 4);
+		double coef1 = coef / Math.pow(psisq, 3.5);
+		double cc2 = coef1 * meanMotion * (ao * (1.0 + 1.5 * etasq + eeta * (4.0 + etasq))
+			+ 0.375 * J2 * tsi / psisq * con41 * (8.0 + 3.0 * etasq * (8.0 + etasq)));
+		this.cc1 = bstar * cc2;
+		double cc3 = eccentricity > 1.0e-4 ? -2.0 * coef * tsi * J3_OVER_J2 * meanMotion * sinio / eccentricity : 0.0;
+		this.cc4 = 2.0 * meanMotion * coef1 * ao * omeosq * (eta * (2.0 + 0.5 * etasq)
+			+ eccentricity * (0.5 + 2.0 * etasq) - J2 * tsi / (ao * psisq)
+			* (-3.0 * con41 * (1.0 - 2.0 * eeta + etasq * (1.5 - 0.5 * eeta))
+			+ 0.75 * x1mth2 * (2.0 * etasq - eeta * (1.0 + etasq)) * Math.cos(2.0 * argumentOfPerigee)));
+		this.cc5 = 2.0 * coef1 * ao * omeosq * (1.0 + 2.75 * (etasq + eeta) + eeta * etasq);
+
+		// Secular rates from J2 and J4
+		double cosio4 = cosio2 * cosio2;
+		double temp1 = 1.5 * J2 * pinvsq * meanMotion;
+		double temp2 = 0.5 * temp1 * J2 * pinvsq;
+		double temp3 = -0.46875 * J4 * pinvsq * pinvsq * meanMotion;
+		this.mdot = meanMotion + 0.5 * temp1 * rteosq * con41
+			+ 0.0625 * temp2 * rteosq * (13.0 - 78.0 * cosio2 + 137.0 * cosio4);
+		this.argpdot = -0.5 * temp1 * con42 + 0.0625 * temp2 * (7.0 - 114.0 * cosio2 + 395.0 * cosio4)
+			+ temp3 * (3.0 - 36.0 * cosio2 + 49.0 * cosio4);
+		double xhdot1 = -temp1 * cosio;
+		this.nodedot = xhdot1 + (0.5 * temp2 * (4.0 - 19.0 * cosio2) + 2.0 * temp3 * (3.0 - 7.0 * cosio2)) * cosio;
+		this.omgcof = bstar * cc3 * Math.cos(argumentOfPerigee);
+		this.xmcof = eccentricity > 1.0e-4 ? -TWO_THIRDS * coef * bstar / eeta : 0.0;
+		this.nodecf = 3.5 * omeosq * xhdot1 * cc1;
+		this.t2cof = 1.5 * cc1;
+		// Avoids a division by zero for an inclination of 180 degrees
+		double denominator = Math.abs(cosio + 1.0) > 1.5e-12 ? 1.0 + cosio : 1.5e-12;
+		this.xlcof = -0.25 * J3_OVER_J2 * sinio * (3.0 + 5.0 * cosio) / denominator;
+		this.aycof = -0.5 * J3_OVER_J2 * sinio;
+		double delmotemp = 1.0 + eta * Math.cos(meanAnomaly);
+		this.delmo = delmotemp * delmotemp * delmotemp;
+		this.sinmao = Math.sin(meanAnomaly);
+		this.deepSpace = deep ? new DeepSpace(elements.epoch(), eccentricity, inclination, node,
+			argumentOfPerigee, meanAnomaly, meanMotion, XKE, mdot, argpdot, nodedot) : null;
+
+		if (simplified) {
+			this.d2 = 0.0;
+			this.d3 = 0.0;
+			this.d4 = 0.0;
+			this.t3cof = 0.0;
+			this.t4cof = 0.0;
+			this.t5cof = 0.0;
+		} else {
+			double cc1sq = cc1 * cc1;
+			this.d2 = 4.0 * ao * tsi * cc1sq;
+			double temp = d2 * tsi * cc1 / 3.0;
+			this.d3 = (17.0 * ao + s) * temp;
+			this.d4 = 0.5 * temp * ao * tsi * (221.0 * ao + 31.0 * s) * cc1;
+			this.t3cof = d2 + 2.0 * cc1sq;
+			this.t4cof = 0.25 * (3.0 * d3 + cc1 * (12.0 * d2 + 10.0 * cc1sq));
+			this.t5cof = 0.2 * (3.0 * d4 + 12.0 * cc1 * d3 + 6.0 * d2 * d2 + 15.0 * cc1sq * (2.0 * d2 + cc1sq));
+		}
+	}
+
+	/**
+	 * Returns the element set being propagated
+	 */
+	public TwoLineElements elements() {
+		return elements;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The state is in the TEME frame of date.
+	 *
+	 * @throws IllegalStateException if the orbit has decayed or become invalid by the given date
+	 */
+	@Override
+	public void propagate(JulianDate jd, double[] state) {
+		propagateMinutes(elements.epoch().daysUntil(jd) * MINUTES_PER_DAY, state);
+	}
+
+	/**
+	 * Computes the state a number of minutes, the time unit of SGP4, after the epoch of the elements.
+	 *
+	 * @param minutes time since epoch in minutes
+	 * @param state receives position and velocity, as for {@link #propagate(JulianDate, double[])}
+	 * @throws IllegalStateException if the orbit has decayed or become invalid by the given time
+	 */
+	public void propagateMinutes(double minutes, double[] state) {
+		double t = minutes;
+
+		// Secular gravity and atmospheric drag
+		double xmdf = meanAnomaly + mdot * t;
+		double argpdf = argumentOfPerigee + argpdot * t;
+		double nodedf = node + nodedot * t;
+		double argpm = argpdf;
+		double mm = xmdf;
+		double t2 = t * t;
+		double nodem = nodedf + nodecf * t2;
+		double tempa = 1.0 - cc1 * t;
+		double tempe = bstar * cc4 * t;
+		double templ = t2cof * t2;
+
+		if (!simplified) {
+			double delomg = omgcof * t;
+			double delmtemp = 1.0 + eta * Math.cos(xmdf);
+			double delm = xmcof * (delmtemp * delmtemp * delmtemp - delmo);
+			double temp = delomg + delm;
+			mm = xmdf + temp;
+			argpm = argpdf - temp;
+			double t3 = t2 * t;
+			double t4 = t3 * t;
+			tempa = tempa - d2 * t2 - d3 * t3 - d4 * t4;
+			tempe = tempe + bstar * cc5 * (Math.sin(mm) - sinmao);
+			templ = templ + t3cof * t3 + t4 * (t4cof + t * t5cof);
+		}
+
+		double nm = meanMotion;
+		double em = eccentricity;
+		double inclm = inclination;
+		if (deepSpace != null) {
+			// The caller's state array holds the mean elements until the state is written
+			state[DeepSpace.ECCENTRICITY] = em;
+			state[DeepSpace.INCLINATION] = inclm;
+			state[DeepSpace.NODE] = nodem;
+			state[DeepSpace.ARGUMENT_OF_PERIGEE] = argpm;
+			state[DeepSpace.MEAN_ANOMALY] = mm;
+			state[DeepSpace.MEAN_MOTION] = nm;
+			deepSpace.secular(t, state);
+			em = state[DeepSpace.ECCENTRICITY];
+			inclm = state[DeepSpace.INCLINATION];
+			nodem = state[DeepSpace.NODE];
+			argpm = state[DeepSpace.ARGUMENT_OF_PERIGEE];
+			mm = state[DeepSpace.MEAN_ANOMALY];
+			nm = state[DeepSpace.MEAN_MOTION];
+			if (!(nm > 0)) {
+				throw new IllegalStateException("Mean motion of satellite " + elements.catalogNumber()
+					+ " is not positive " + minutes + " minutes after epoch");
+			}
+		}
+
+		double am = Math.pow(XKE / nm, TWO_THIRDS) * tempa * tempa;
+		nm = XKE / Math.pow(am, 1.5);
+		em = em - tempe;
+		if (em >= 1.0 || em < -0.001 || !(am > 0)) {
+			throw new IllegalStateException("Eccentricity of satellite " + elements.catalogNumber()
+				+ " is out of range " + minutes + " minutes after epoch");
+		}
+		if (em < 1.0e-6) {
+			em = 1.0e-6;
+		}
+		mm = mm + meanMotion * templ;
+		double xlm = mm + argpm + nodem;
+
+		nodem = nodem % TWO_PI;
+		argpm = argpm % TWO_PI;
+		xlm = xlm % TWO_PI;
+		mm = (xlm - argpm - nodem) % TWO_PI;
+
+		// Lunar-solar periodics
+		double ep = em;
+		double xincp = inclm;
+		double nodep = nodem;
+		double argpp = argpm;
+		double mp = mm;
+		double sinip = sinInclination;
+		double cosip = cosInclination;
+		double xlcofp = xlcof;
+		double aycofp = aycof;
+		double con41p = con41;
+		double x1mth2p = x1mth2;
+		double x7thm1p = x7thm1;
+		if (deepSpace != null) {
+			state[DeepSpace.ECCENTRICITY] = ep;
+			state[DeepSpace.INCLINATION] = xincp;
+			state[DeepSpace.NODE] = nodep;
+			state[DeepSpace.ARGUMENT_OF_PERIGEE] = argpp;
+			state[DeepSpace.MEAN_ANOMALY] = mp;
+			deepSpace.periodics(t, state);
+			ep = state[DeepSpace.ECCENTRICITY];
+			xincp = state[DeepSpace.INCLINATION];
+			nodep = state[DeepSpace.NODE];
+			argpp = state[DeepSpace.ARGUMENT_OF_PERIGEE];
+			mp = state[DeepSpace.MEAN_ANOMALY];
+			if (xincp < 0.0) {
+				xincp = -xincp;
+				nodep = nodep + Math.PI;
+				argpp = argpp - Math.PI;
+			}
+			if (ep < 0.0 || ep > 1.0) {
+				throw new IllegalStateException("Eccentricity of satellite " + elements.catalogNumber()
+					+ " is out of range " + minutes + " minutes after epoch");
+			}
+			sinip = Math.sin(xincp);
+			cosip = Math.cos(xincp);
+			double cosisq = cosip * cosip;
+			double denominator = Math.abs(cosip + 1.0) > 1.5e-12 ? 1.0 + cosip : 1.5e-12;
+			xlcofp = -0.25 * J3_OVER_J2 * sinip * (3.0 + 5.0 * cosip) / denominator;
+			aycofp = -0.5 * J3_OVER_J2 * sinip;
+			con41p = 3.0 * cosisq - 1.0;
+			x1mth2p = 1.0 - cosisq;
+			x7thm1p = 7.0 * cosisq - 1.0;
+		}
+
+		// Long-period periodics
+		double axnl = ep * Math.cos(argpp);
+		double temp = 1.0 / (am * (1.0 - ep * ep));
+		double aynl = ep * Math.sin(argpp) + temp * aycofp;
+		double xl = mp + argpp + nodep + temp * xlcofp * axnl;
+
+		// Kepler's equation in equinoctial form
+		double u = (xl - nodep) % TWO_PI;
+		double eo1 = u;
+		double sineo1 = 0.0;
+		double coseo1 = 1.0;
+		double tem5 = Double.MAX_VALUE;
+		for (int k = 0; k < 10 && Math.abs(tem5) >= 1.0e-12; k++) {
+			sineo1 = Math.sin(eo1);
+			coseo1 = Math.cos(eo1);
+			tem5 = 1.0 - coseo1 * axnl - sineo1 * aynl;
+			tem5 = (u - aynl * coseo1 + axnl * sineo1 - eo1) / tem5;
+			if (Math.abs(tem5) >= 0.95) {
+				tem5 = tem5 > 0.0 ? 0.95 : -0.95;
+			}
+			eo1 = eo1 + tem5;
+		}
+
+		// Short-period preliminary quantities
+		double ecose = axnl * coseo1 + aynl * sineo1;
+		double esine = axnl * sineo1 - aynl * coseo1;
+		double el2 = axnl * axnl + aynl * aynl;
+		double pl = am * (1.0 - el2);
+		if (pl < 0.0) {
+			throw new IllegalStateException("Semi-latus rectum of satellite " + elements.catalogNumber()
+				+ " is negative " + minutes + " minutes after epoch");
+		}
+		double rl = am * (1.0 - ecose);
+		double rdotl = Math.sqrt(am) * esine / rl;
+		double rvdotl = Math.sqrt(pl) / rl;
+		double betal = Math.sqrt(1.0 - el2);
+		temp = esine / (1.0 + betal);
+		double sinu = am / rl * (sineo1 - aynl - axnl * temp);
+		double cosu = am / rl * (coseo1 - axnl + aynl * temp);
+		double su = Math.atan2(sinu, cosu);
+		double sin2u = (cosu + cosu) * sinu;
+		double cos2u = 1.0 - 2.0 * sinu * sinu;
+		temp = 1.0 / pl;
+		double temp1 = 0.5 * J2 * temp;
+		double temp2 = temp1 * temp;
+
+		// Short-period periodics
+		double mrt = rl * (1.0 - 1.5 * temp2 * betal * con41p) + 0.5 * temp1 * x1mth2p * cos2u;
+		if (mrt < 1.0) {
+			throw new IllegalStateException("Satellite " + elements.catalogNumber() + " has decayed "
+				+ minutes + " minutes after epoch");
+		}
+		su = su - 0.25 * temp2 * x7thm1p * sin2u;
+		double xnode = nodep + 1.5 * temp2 * cosip * sin2u;
+		double xinc = xincp + 1.5 * temp2 * cosip * sinip * cos2u;
+		double mvt = rdotl - nm * temp1 * x1mth2p * sin2u / XKE;
+		double rvdot = rvdotl + nm * temp1 * (x1mth2p * cos2u + 1.5 * con41p) / XKE;
+
+		// Orientation vectors
+		double sinsu = Math.sin(su);
+		double cossu = Math.cos(su);
+		double snod = Math.sin(xnode);
+		double cnod = Math.cos(xnode);
+		double sini = Math.sin(xinc);
+		double cosi = Math.cos(xinc);
+		double xmx = -snod * cosi;
+		double xmy = cnod * cosi;
+		double ux = xmx * sinsu + cnod * cossu;
+		double uy = xmy * sinsu + snod * cossu;
+		double uz = sini * sinsu;
+		double vx = xmx * cossu - cnod * sinsu;
+		double vy = xmy * cossu - snod * sinsu;
+		double vz = sini * cossu;
+
+		state[0] = mrt * ux * EARTH_RADIUS;
+		state[1] = mrt * uy * EARTH_RADIUS;
+		state[2] = mrt * uz * EARTH_RADIUS;
+		state[3] = (mvt * ux + rvdot * vx) * VELOCITY_UNIT;
+		state[4] = (mvt * uy + rvdot * vy) * VELOCITY_UNIT;
+		state[5] = (mvt * uz + rvdot * vz) * VELOCITY_UNIT;
+	}
+}
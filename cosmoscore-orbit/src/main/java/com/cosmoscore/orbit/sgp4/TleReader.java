@@ -0,0 +1,313 @@
+package com.cosmoscore.orbit.sgp4;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Parses two-line element sets straight from bytes.
+ * <p>
+ * Fields are read at their fixed columns with absolute {@link ByteBuffer} gets and converted to numbers
+ * in place, so no string is created per line or field. Files are memory-mapped. Name lines of the
+ * three-line format, blank lines and CR LF line endings are accepted, and the checksum of every line is
+ * verified. Five-character Alpha-5 catalog numbers (a leading letter for numbers above 99999) are
+ * supported.
+ */
+public final class TleReader {
+
+	/**
+	 * Length of a TLE line including its checksum
+	 */
+	public static final int LINE_LENGTH = 69;
+
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18};
+
+	private TleReader() {
+	}
+
+	/**
+	 * Reads every element set in a file.
+	 *
+	 * @param path the file
+	 * @return the element sets in file order
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if an element set is malformed
+	 */
+	public static List<TwoLineElements> read(Path path) throws IOException {
+		Objects.requireNonNull(path, "Path must not be null");
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("TLE file is larger than 2 GiB");
+			}
+			return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Reads every element set between a buffer's position and limit. The buffer's position is not changed.
+	 *
+	 * @param buffer ASCII text
+	 * @return the element sets in order
+	 * @throws IllegalArgumentException if an element set is malformed
+	 */
+	public static List<TwoLineElements> read(ByteBuffer buffer) {
+		Objects.requireNonNull(buffer, "Buffer must not be null");
+		List<TwoLineElements> result = new ArrayList<>();
+		int limit = buffer.limit();
+		int start = buffer.position();
+		int line = 1;
+		int pendingLine1 = -1;
+
+		while (start < limit) {
+			int end = start;
+			while (end < limit && buffer.get(end) != '\n') {
+				end++;
+			}
+			int length = end - start;
+			if (length > 0 && buffer.get(end - 1) == '\r') {
+				length--;
+			}
+
+			if (pendingLine1 >= 0) {
+				if (!isDataLine(buffer, start, length, '2')) {
+					throw new IllegalArgumentException("TLE line 1 is not followed by line 2 at line " + line);
+				}
+				try {
+					result.add(parse(buffer, pendingLine1, start));
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException(e.getMessage() + " at line " + (line - 1), e);
+				}
+				pendingLine1 = -1;
+			} else if (isDataLine(buffer, start, length, '1')) {
+				pendingLine1 = start;
+			} else if (isDataLine(buffer, start, length, '2')) {
+				throw new IllegalArgumentException("TLE line 2 without line 1 at line " + line);
+			}
+			start = end + 1;
+			line++;
+		}
+		if (pendingLine1 >= 0) {
+			throw new IllegalArgumentException("TLE line 1 is not followed by line 2 at line " + (line - 1));
+		}
+		return result;
+	}
+
+	/**
+	 * Parses one element set from two lines in a buffer.
+	 *
+	 * @param buffer ASCII text
+	 * @param line1 index of the first character of line 1
+	 * @param line2 index of the first character of line 2
+	 * @return the elements
+	 * @throws IllegalArgumentException if the lines are malformed or their checksums do not match
+	 */
+	public static TwoLineElements parse(ByteBuffer buffer, int line1, int line2) {
+		Objects.requireNonNull(buffer, "Buffer must not be null");
+		checkLine(buffer, line1, '1');
+		checkLine(buffer, line2, '2');
+
+		int catalogNumber = catalogNumber(buffer, line1 + 2);
+		if (catalogNumber(buffer, line2 + 2) != catalogNumber) {
+			throw new IllegalArgumentException("TLE lines are for different satellites");
+		}
+
+		int year = (int) integer(buffer, line1 + 18, line1 + 20, "epoch year", 1);
+		// Two-digit years from 57 are 1957 to 1999, as in the Spacetrack report
+		year += year < 57 ? 2000 : 1900;
+		long dayOfYear = integer(buffer, line1 + 20, line1 + 23, "epoch day", 1);
+		if (buffer.get(line1 + 23) != '.') {
+			throw malformed("epoch day", 1);
+		}
+		double dayFraction = decimal(buffer, line1 + 23, line1 + 32, "epoch day", 1);
+		JulianDate epoch = new JulianDate(januaryFirst(year) + dayOfYear - 2, 0.5 + dayFraction);
+
+		double meanMotionDot = decimal(buffer, line1 + 33, line1 + 43, "mean motion derivative", 1);
+		double meanMotionDdot = exponential(buffer, line1 + 44, line1 + 52, "mean motion second derivative", 1);
+		double bstar = exponential(buffer, line1 + 53, line1 + 61, "bstar", 1);
+
+		double inclination = decimal(buffer, line2 + 8, line2 + 16, "inclination", 2);
+		double node = decimal(buffer, line2 + 17, line2 + 25, "right ascension of ascending node", 2);
+		double eccentricity = integer(buffer, line2 + 26, line2 + 33, "eccentricity", 2) / POWERS_OF_TEN[7];
+		double argumentOfPerigee = decimal(buffer, line2 + 34, line2 + 42, "argument of perigee", 2);
+		double meanAnomaly = decimal(buffer, line2 + 43, line2 + 51, "mean anomaly", 2);
+		double meanMotion = decimal(buffer, line2 + 52, line2 + 63, "mean motion", 2);
+		int revolutionNumber = (int) integer(buffer, line2 + 63, line2 + 68, "revolution number", 2);
+
+		return new TwoLineElements(catalogNumber, epoch, meanMotionDot, meanMotionDdot, bstar, inclination, node,
+			eccentricity, argumentOfPerigee, meanAnomaly, meanMotion, revolutionNumber);
+	}
+
+	/**
+	 * Parses one element set from two lines of text.
+	 *
+	 * @param line1 first line
+	 * @param line2 second line
+	 * @return the elements
+	 * @throws IllegalArgumentException if the lines are malformed or their checksums do not match
+	 */
+	public static TwoLineElements parse(String line1, String line2) {
+		Objects.requireNonNull(line1, "Line 1 must not be null");
+		Objects.requireNonNull(line2, "Line 2 must not be null");
+		byte[] first = line1.getBytes(StandardCharsets.US_ASCII);
+		byte[] second = line2.getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buffer = ByteBuffer.allocate(first.length + second.length);
+		buffer.put(first).put(second);
+		return parse(buffer.clear(), 0, first.length);
+	}
+
+	private static boolean isDataLine(ByteBuffer buffer, int start, int length, char number) {
+		return length >= LINE_LENGTH && buffer.get(start) == number && buffer.get(start + 1) == ' ';
+	}
+
+	private static void checkLine(ByteBuffer buffer, int start, char number) {
+		int lineNumber = number - '0';
+		if (start < 0 || start + LINE_LENGTH > buffer.limit() || buffer.get(start) != number) {
+			throw new IllegalArgumentException("Not a TLE line " + lineNumber);
+		}
+		int sum = 0;
+		for (int i = start; i < start + LINE_LENGTH - 1; i++) {
+			byte c = buffer.get(i);
+			if (c >= '0' && c <= '9') {
+				sum += c - '0';
+			} else if (c == '-') {
+				sum++;
+			}
+		}
+		if (buffer.get(start + LINE_LENGTH - 1) != '0' + sum % 10) {
+			throw new IllegalArgumentException("Checksum mismatch in TLE line " + lineNumber);
+		}
+	}
+
+	private static int catalogNumber(ByteBuffer buffer, int start) {
+		byte first = buffer.get(start);
+		if (first >= 'A' && first <= 'Z' && first != 'I' && first != 'O') {
+			// Alpha-5: A is 10, skipping I and O which look like digits
+			int prefix = first - 'A' + 10 - (first > 'I' ? 1 : 0) - (first > 'O' ? 1 : 0);
+			return prefix * 10000 + (int) integer(buffer, start + 1, start + 5, "catalog number", 1);
+		}
+		return (int) integer(buffer, start, start + 5, "catalog number", 1);
+	}
+
+	/**
+	 * Julian Day Number of 1 January of a Gregorian year
+	 */
+	private static long januaryFirst(int year) {
+		long y = year + 4799L;
+		return 1 + 306 + 365 * y + y / 4 - y / 100 + y / 400 - 32045;
+	}
+
+	/**
+	 * Parses an unsigned or signed integer, ignoring surrounding spaces
+	 */
+	private static long integer(ByteBuffer buffer, int from, int to, String field, int line) {
+		int i = skipSpaces(buffer, from, to);
+		boolean negative = false;
+		if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+			negative = buffer.get(i) == '-';
+			i++;
+		}
+		long value = 0;
+		int digits = 0;
+		for (; i < to; i++) {
+			byte c = buffer.get(i);
+			if (c < '0' || c > '9') {
+				break;
+			}
+			value = value * 10 + (c - '0');
+			digits++;
+		}
+		if (digits == 0 || skipSpaces(buffer, i, to) != to) {
+			throw malformed(field, line);
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses a fixed-point number such as {@code -.00002182} or {@code 348.7242}
+	 */
+	private static double decimal(ByteBuffer buffer, int from, int to, String field, int line) {
+		int i = skipSpaces(buffer, from, to);
+		boolean negative = false;
+		if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+			negative = buffer.get(i) == '-';
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int scale = -1;
+		for (; i < to; i++) {
+			byte c = buffer.get(i);
+			if (c == '.' && scale < 0) {
+				scale = 0;
+			} else if (c >= '0' && c <= '9') {
+				mantissa = mantissa * 10 + (c - '0');
+				digits++;
+				if (scale >= 0) {
+					scale++;
+				}
+			} else {
+				break;
+			}
+		}
+		if (digits == 0 || digits >= POWERS_OF_TEN.length || skipSpaces(buffer, i, to) != to) {
+			throw malformed(field, line);
+		}
+		// Both operands are exact, so the single division rounds correctly
+		double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses a number with an assumed leading decimal point and a power-of-ten exponent, such as
+	 * {@code 28098-4} for 0.28098e-4
+	 */
+	private static double exponential(ByteBuffer buffer, int from, int to, String field, int line) {
+		int i = skipSpaces(buffer, from, to);
+		boolean negative = false;
+		if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+			negative = buffer.get(i) == '-';
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		for (; i < to; i++) {
+			byte c = buffer.get(i);
+			if (c < '0' || c > '9') {
+				break;
+			}
+			mantissa = mantissa * 10 + (c - '0');
+			digits++;
+		}
+		if (digits == 0 || i >= to - 1 || (buffer.get(i) != '-' && buffer.get(i) != '+')) {
+			throw malformed(field, line);
+		}
+		byte exponentDigit = buffer.get(i + 1);
+		if (exponentDigit < '0' || exponentDigit > '9' || skipSpaces(buffer, i + 2, to) != to) {
+			throw malformed(field, line);
+		}
+		int exponent = buffer.get(i) == '-' ? -(exponentDigit - '0') : exponentDigit - '0';
+		int scale = digits - exponent;
+		double value = scale >= 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa * POWERS_OF_TEN[-scale];
+		return negative ? -value : value;
+	}
+
+	private static int skipSpaces(ByteBuffer buffer, int from, int to) {
+		while (from < to && buffer.get(from) == ' ') {
+			from++;
+		}
+		return from;
+	}
+
+	private static IllegalArgumentException malformed(String field, int line) {
+		return new IllegalArgumentException("Malformed " + field + " in TLE line " + line);
+	}
+}
@@ -0,0 +1,42 @@
+package com.cosmoscore.orbit.sgp4;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Mean orbital elements of one satellite in the NORAD two-line element (TLE) format.
+ * <p>
+ * The elements are SGP4 mean elements in the TEME frame and are only meaningful when propagated with
+ * {@link Sgp4Propagator}. Angles are in degrees as printed in the TLE.
+ *
+ * @param catalogNumber NORAD catalog number
+ * @param epoch epoch of the elements (UTC)
+ * @param meanMotionDot first derivative of the mean motion divided by two, in revolutions per day squared
+ * @param meanMotionDdot second derivative of the mean motion divided by six, in revolutions per day cubed
+ * @param bstar drag term B* in inverse Earth radii
+ * @param inclination inclination in degrees
+ * @param rightAscensionOfAscendingNode right ascension of the ascending node in degrees
+ * @param eccentricity eccentricity
+ * @param argumentOfPerigee argument of perigee in degrees
+ * @param meanAnomaly mean anomaly in degrees
+ * @param meanMotion mean motion in revolutions per day
+ * @param revolutionNumber revolution number at epoch
+ */
+public record TwoLineElements(int catalogNumber, JulianDate epoch, double meanMotionDot, double meanMotionDdot,
+	double bstar, double inclination, double rightAscensionOfAscendingNode, double eccentricity,
+	double argumentOfPerigee, double meanAnomaly, double meanMotion, int revolutionNumber) {
+
+	/**
+	 * Constructor with validation.
+	 */
+	public TwoLineElements {
+		Objects.requireNonNull(epoch, "Epoch must not be null");
+		if (!(eccentricity >= 0 && eccentricity < 1)) {
+			throw new IllegalArgumentException("Eccentricity must be between 0 and 1");
+		}
+		if (!(meanMotion > 0) || Double.isInfinite(meanMotion)) {
+			throw new IllegalArgumentException("Mean motion must be positive");
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.cosmoscore.orbit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("KeplerBatch class")
+class KeplerBatchTest {
+
+	private static final double MU = KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER;
+	private static final int SIZE = 37;
+
+	private static final List<KeplerKernel> KERNELS = List.of(new ScalarKeplerKernel(), new SimdKeplerKernel());
+
+	private static List<KeplerianElements> randomOrbits(Random random) {
+		List<KeplerianElements> orbits = new ArrayList<>();
+		for (int i = 0; i < SIZE; i++) {
+			orbits.add(new KeplerianElements(6800.0 + random.nextDouble() * 40000.0, random.nextDouble() * 0.95,
+				random.nextDouble() * 180.0, random.nextDouble() * 360.0, random.nextDouble() * 360.0,
+				random.nextDouble() * 360.0, JulianDate.J2000.plusDays(random.nextDouble() * 30.0), MU));
+		}
+		return orbits;
+	}
+
+	@Nested
+	@DisplayName("propagation")
+	class Propagation {
+		private final List<KeplerianElements> orbits = randomOrbits(new Random(42));
+		private final KeplerBatch batch = new KeplerBatch(orbits);
+
+		@Test
+		@DisplayName("matches KeplerOrbit in every implementation")
+		void matchesKeplerOrbit() {
+			Vector3DBuffer positions = new Vector3DBuffer(SIZE);
+			Vector3DBuffer velocities = new Vector3DBuffer(SIZE);
+			double[] state = new double[6];
+
+			for (KeplerKernel kernel : KERNELS) {
+				for (double days = -3.0; days < 400.0; days += 57.3) {
+					JulianDate jd = JulianDate.J2000.plusDays(days);
+					batch.propagate(kernel, jd, positions, velocities);
+
+					for (int i = 0; i < SIZE; i++) {
+						new KeplerOrbit(orbits.get(i)).propagate(jd, state);
+						assertThat(positions.x(i)).isEqualTo(state[0], withPrecision(1e-6));
+						assertThat(positions.y(i)).isEqualTo(state[1], withPrecision(1e-6));
+						assertThat(positions.z(i)).isEqualTo(state[2], withPrecision(1e-6));
+						assertThat(velocities.x(i)).isEqualTo(state[3], withPrecision(1e-9));
+						assertThat(velocities.y(i)).isEqualTo(state[4], withPrecision(1e-9));
+						assertThat(velocities.z(i)).isEqualTo(state[5], withPrecision(1e-9));
+					}
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("skips velocities when given no buffer")
+		void positionsOnly() {
+			Vector3DBuffer positions = new Vector3DBuffer(SIZE);
+
+			batch.propagate(JulianDate.J2000, positions, null);
+
+			for (int i = 0; i < SIZE; i++) {
+				double distance = positions.get(i)
+					.subtract(new KeplerOrbit(orbits.get(i)).propagate(JulianDate.J2000).position())
+					.magnitude();
+				assertThat(distance).isLessThan(1e-6);
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("validation")
+	class Validation {
+		@Test
+		@DisplayName("rejects open orbits")
+		void rejectsOpenOrbits() {
+			KeplerianElements hyperbolic = new KeplerianElements(-15000.0, 1.8, 20.0, 40.0, 60.0, -5.0,
+				JulianDate.J2000, MU);
+
+			assertThatThrownBy(() -> new KeplerBatch(List.of(hyperbolic)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Batch orbits must be elliptic");
+		}
+
+		@Test
+		@DisplayName("rejects a buffer of the wrong size")
+		void rejectsBuffer() {
+			KeplerBatch batch = new KeplerBatch(randomOrbits(new Random(7)));
+
+			assertThatThrownBy(() -> batch.propagate(JulianDate.J2000, new Vector3DBuffer(SIZE - 1), null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Buffers must hold one vector per orbit");
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.cosmoscore.orbit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("KeplerOrbit class")
+class KeplerOrbitTest {
+
+	private static final double MU = KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER;
+
+	@Nested
+	@DisplayName("propagation")
+	class Propagation {
+		@Test
+		@DisplayName("matches Vallado example 2-4")
+		void matchesVallado() {
+			StateVector initial = new StateVector(new Vector3D(1131.340, -2282.343, 6672.423),
+				new Vector3D(-5.64305, 4.30333, 2.42879));
+			KeplerOrbit orbit = new KeplerOrbit(KeplerianElements.fromStateVector(initial, JulianDate.J2000, MU));
+
+			StateVector state = orbit.propagate(JulianDate.J2000.plusSeconds(40.0 * 60.0));
+
+			assertThat(state.position().x()).isEqualTo(-4219.7527, withPrecision(1e-2));
+			assertThat(state.position().y()).isEqualTo(4363.0292, withPrecision(1e-2));
+			assertThat(state.position().z()).isEqualTo(-3958.7666, withPrecision(1e-2));
+			assertThat(state.velocity().x()).isEqualTo(3.689866, withPrecision(1e-5));
+			assertThat(state.velocity().y()).isEqualTo(-1.916735, withPrecision(1e-5));
+			assertThat(state.velocity().z()).isEqualTo(-6.112511, withPrecision(1e-5));
+		}
+
+		@Test
+		@DisplayName("conserves energy on open orbits")
+		void visViva() {
+			KeplerOrbit hyperbolic = new KeplerOrbit(
+				new KeplerianElements(-15000.0, 1.8, 20.0, 40.0, 60.0, -5.0, JulianDate.J2000, MU));
+			KeplerOrbit parabolic = new KeplerOrbit(
+				KeplerianElements.parabolic(9000.0, 20.0, 40.0, 60.0, -5.0, JulianDate.J2000, MU));
+
+			for (double hours = 0; hours < 24; hours += 2) {
+				StateVector h = hyperbolic.propagate(JulianDate.J2000.plusDays(hours / 24.0));
+				StateVector p = parabolic.propagate(JulianDate.J2000.plusDays(hours / 24.0));
+				double hv = h.velocity().magnitude();
+				double pv = p.velocity().magnitude();
+
+				assertThat(hv * hv).isEqualTo(MU * (2.0 / h.position().magnitude() + 1.0 / 15000.0), withPrecision(1e-9));
+				assertThat(pv * pv).isEqualTo(2.0 * MU / p.position().magnitude(), withPrecision(1e-9));
+			}
+		}
+
+		@Test
+		@DisplayName("returns to its start after one period")
+		void period() {
+			KeplerianElements elements = new KeplerianElements(26560.0, 0.72, 63.4, 30.0, 270.0, 10.0, JulianDate.J2000, MU);
+			KeplerOrbit orbit = new KeplerOrbit(elements);
+
+			StateVector start = orbit.propagate(JulianDate.J2000);
+			StateVector later = orbit.propagate(JulianDate.J2000.plusSeconds(elements.period()));
+
+			assertThat(later.position().subtract(start.position()).magnitude()).isLessThan(1e-4);
+		}
+	}
+
+	@Nested
+	@DisplayName("batch propagation")
+	class Batch {
+		@Test
+		@DisplayName("propagates many orbits to one date")
+		void manyOrbits() {
+			List<KeplerOrbit> orbits = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				orbits.add(new KeplerOrbit(new KeplerianElements(7000.0 + 10.0 * i, 0.001 * i, i, 3.0 * i, 5.0 * i,
+					7.0 * i, JulianDate.J2000, MU)));
+			}
+			JulianDate jd = JulianDate.J2000.plusDays(0.25);
+			Vector3DBuffer positions = new Vector3DBuffer(50);
+			Vector3DBuffer velocities = new Vector3DBuffer(50);
+
+			BatchPropagator.propagate(orbits, jd, positions, velocities);
+
+			StateVector expected = orbits.get(37).propagate(jd);
+			assertThat(positions.get(37)).isEqualTo(expected.position());
+			assertThat(velocities.get(37)).isEqualTo(expected.velocity());
+		}
+
+		@Test
+		@DisplayName("propagates one orbit to many dates")
+		void manyDates() {
+			KeplerOrbit orbit = new KeplerOrbit(new KeplerianElements(6778.137, 0.0006, 51.6, 0));
+			JulianDate[] dates = new JulianDate[10];
+			for (int i = 0; i < dates.length; i++) {
+				dates[i] = JulianDate.J2000.plusSeconds(60.0 * i);
+			}
+			Vector3DBuffer positions = new Vector3DBuffer(10);
+
+			BatchPropagator.propagate(orbit, dates, positions, null);
+
+			assertThat(positions.get(9)).isEqualTo(orbit.propagate(dates[9]).position());
+		}
+
+		@Test
+		@DisplayName("rejects buffers of the wrong size")
+		void rejectBuffers() {
+			KeplerOrbit orbit = new KeplerOrbit(new KeplerianElements(6778.137, 0.0006, 51.6, 0));
+
+			assertThatThrownBy(() -> BatchPropagator.propagate(List.of(orbit), JulianDate.J2000, new Vector3DBuffer(2), null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Buffers must hold one vector per orbit");
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.cosmoscore.orbit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("KeplerSolver class")
+class KeplerSolverTest {
+
+	@Nested
+	@DisplayName("elliptic orbits")
+	class Elliptic {
+		@Test
+		@DisplayName("matches Meeus example 30.a")
+		void matchesMeeus() {
+			double e = KeplerSolver.eccentricAnomaly(Math.toRadians(5.0), 0.1);
+
+			assertThat(Math.toDegrees(e)).isEqualTo(5.554589, withPrecision(1e-6));
+		}
+
+		@Test
+		@DisplayName("solves the equation for every eccentricity, including near-parabolic")
+		void residuals() {
+			double[] eccentricities = {0.0, 0.01, 0.3, 0.7, 0.9, 0.99, 0.999999};
+			for (double eccentricity : eccentricities) {
+				for (double m = -7.0; m <= 7.0; m += 0.01) {
+					double e = KeplerSolver.eccentricAnomaly(m, eccentricity);
+
+					assertThat(e - eccentricity * Math.sin(e)).isEqualTo(m, withPrecision(1e-13));
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("keeps whole revolutions of the mean anomaly")
+		void revolutions() {
+			double e = KeplerSolver.eccentricAnomaly(1.0 + 20.0 * Math.PI, 0.2);
+
+			assertThat(e - 20.0 * Math.PI).isEqualTo(KeplerSolver.eccentricAnomaly(1.0, 0.2), withPrecision(1e-12));
+		}
+
+		@Test
+		@DisplayName("rejects an open orbit")
+		void rejectOpenOrbit() {
+			assertThatThrownBy(() -> KeplerSolver.eccentricAnomaly(1.0, 1.0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Eccentricity of an elliptic orbit must be between 0 and 1");
+		}
+	}
+
+	@Nested
+	@DisplayName("open orbits")
+	class Open {
+		@Test
+		@DisplayName("solves the hyperbolic equation far from periapsis")
+		void hyperbolicResiduals() {
+			double[] eccentricities = {1.000001, 1.01, 1.5, 3.0, 50.0};
+			double[] meanAnomalies = {-1e6, -100.0, -1.0, -1e-3, 0.0, 1e-6, 0.5, 10.0, 1e4};
+			for (double eccentricity : eccentricities) {
+				for (double m : meanAnomalies) {
+					double h = KeplerSolver.hyperbolicAnomaly(m, eccentricity);
+
+					assertThat(eccentricity * Math.sinh(h) - h).isEqualTo(m, withPrecision(1e-12 * Math.max(1.0, Math.abs(m))));
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("solves Barker's equation in closed form")
+		void parabolic() {
+			for (double m = -50.0; m <= 50.0; m += 0.25) {
+				double d = KeplerSolver.parabolicAnomaly(m);
+
+				assertThat(d + d * d * d / 3.0).isEqualTo(m, withPrecision(1e-12 * Math.max(1.0, Math.abs(m))));
+			}
+		}
+
+		@Test
+		@DisplayName("gives a true anomaly for every conic")
+		void trueAnomaly() {
+			assertThat(KeplerSolver.trueAnomaly(0.0, 0.5)).isZero();
+			assertThat(KeplerSolver.trueAnomaly(4.0 / 3.0, 1.0)).isEqualTo(Math.PI / 2.0, withPrecision(1e-14));
+			assertThat(KeplerSolver.trueAnomaly(1e9, 2.0)).isLessThan(Math.acos(-1.0 / 2.0));
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.cosmoscore.orbit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("KeplerianElements class")
+class KeplerianElementsTest {
+
+	private static final double MU = KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER;
+
+	@Nested
+	@DisplayName("creation")
+	class Creation {
+		@Test
+		@DisplayName("creates the Earth orbit shown in the README")
+		void readmeExample() {
+			KeplerianElements elements = new KeplerianElements(6378.137 + 400, 0.0006, 51.6, 0);
+
+			assertThat(elements.semiMajorAxis()).isEqualTo(6778.137, withPrecision(1e-9));
+			assertThat(elements.gravitationalParameter()).isEqualTo(MU);
+			assertThat(elements.epoch()).isEqualTo(JulianDate.J2000);
+			assertThat(elements.period() / 60.0).isEqualTo(92.56, withPrecision(0.01));
+		}
+
+		@Test
+		@DisplayName("sizes a parabolic orbit by its periapsis distance")
+		void parabolic() {
+			KeplerianElements elements = KeplerianElements.parabolic(7000.0, 30.0, 0, 0, 0, JulianDate.J2000, MU);
+
+			assertThat(elements.semiMajorAxis()).isInfinite();
+			assertThat(elements.semiLatusRectum()).isEqualTo(14000.0);
+			assertThat(elements.period()).isInfinite();
+		}
+
+		@Test
+		@DisplayName("rejects a semi-major axis that does not suit the eccentricity")
+		void rejectSemiMajorAxis() {
+			assertThatThrownBy(() -> new KeplerianElements(7000.0, 1.5, 0, 0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Semi-major axis of a hyperbolic orbit must be negative");
+			assertThatThrownBy(() -> new KeplerianElements(7000.0, 1.0, 0, 0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("A parabolic orbit has no finite semi-major axis; use parabolic()");
+		}
+
+		@Test
+		@DisplayName("rejects an inclination out of range")
+		void rejectInclination() {
+			assertThatThrownBy(() -> new KeplerianElements(7000.0, 0.1, 181.0, 0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Inclination must be between 0 and 180 degrees");
+		}
+	}
+
+	@Nested
+	@DisplayName("state conversion")
+	class StateConversion {
+		@Test
+		@DisplayName("matches Vallado example 2-5")
+		void matchesVallado() {
+			StateVector state = new StateVector(new Vector3D(6524.834, 6862.875, 6448.296),
+				new Vector3D(4.901327, 5.533756, -1.976341));
+
+			KeplerianElements elements = KeplerianElements.fromStateVector(state, JulianDate.J2000, MU);
+
+			assertThat(elements.semiLatusRectum()).isEqualTo(11067.790, withPrecision(1e-2));
+			assertThat(elements.semiMajorAxis()).isEqualTo(36127.343, withPrecision(1e-1));
+			assertThat(elements.eccentricity()).isEqualTo(0.832853, withPrecision(1e-6));
+			assertThat(elements.inclination()).isEqualTo(87.870, withPrecision(1e-3));
+			assertThat(elements.rightAscensionOfAscendingNode()).isEqualTo(227.898, withPrecision(1e-3));
+			assertThat(elements.argumentOfPeriapsis()).isEqualTo(53.38, withPrecision(1e-2));
+		}
+
+		@Test
+		@DisplayName("round trips hyperbolic, circular and equatorial orbits")
+		void roundTrip() {
+			KeplerianElements[] orbits = {
+				new KeplerianElements(-20000.0, 1.4, 35.0, 80.0, 120.0, 25.0, JulianDate.J2000, MU),
+				new KeplerianElements(42164.0, 0.0, 0.0, 0.0, 0.0, 75.0, JulianDate.J2000, MU),
+				new KeplerianElements(26560.0, 0.7, 63.4, 10.0, 270.0, 200.0, JulianDate.J2000, MU),
+				KeplerianElements.parabolic(8000.0, 100.0, 300.0, 45.0, 3.0, JulianDate.J2000, MU)};
+
+			for (KeplerianElements orbit : orbits) {
+				StateVector state = new KeplerOrbit(orbit).propagate(JulianDate.J2000);
+				StateVector recovered = new KeplerOrbit(KeplerianElements.fromStateVector(state, JulianDate.J2000, MU))
+					.propagate(JulianDate.J2000.plusDays(0.3));
+				StateVector expected = new KeplerOrbit(orbit).propagate(JulianDate.J2000.plusDays(0.3));
+
+				assertThat(recovered.position().subtract(expected.position()).magnitude())
+					.isLessThan(1e-9 * expected.position().magnitude());
+				assertThat(recovered.velocity().subtract(expected.velocity()).magnitude())
+					.isLessThan(1e-9 * expected.velocity().magnitude());
+			}
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package com.cosmoscore.orbit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("PropagationScheduler class")
+class PropagationSchedulerTest {
+
+	private static final int ORBITS = 1000;
+	private static final int STEPS = 6;
+	private static final double STEP_SECONDS = 600.0;
+
+	private static List<KeplerOrbit> catalog() {
+		List<KeplerOrbit> orbits = new ArrayList<>();
+		for (int i = 0; i < ORBITS; i++) {
+			orbits.add(new KeplerOrbit(new KeplerianElements(7000.0 + i, 0.001 * (i % 50), i % 180, (7.0 * i) % 360,
+				(13.0 * i) % 360, (17.0 * i) % 360, JulianDate.J2000, KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER)));
+		}
+		return orbits;
+	}
+
+	private static PropagationScheduler scheduler(int queueCapacity) {
+		return new PropagationScheduler(64, queueCapacity, 4, Executors.defaultThreadFactory());
+	}
+
+	@Nested
+	@DisplayName("delivery")
+	class Delivery {
+		@Test
+		@DisplayName("delivers every orbit at every step")
+		void everyState() throws InterruptedException {
+			List<KeplerOrbit> orbits = catalog();
+			double[][] x = new double[STEPS][ORBITS];
+			double[][] vz = new double[STEPS][ORBITS];
+			AtomicInteger completions = new AtomicInteger();
+
+			scheduler(4).run(orbits, JulianDate.J2000, STEP_SECONDS, STEPS, new StateSink() {
+				@Override
+				public void accept(StateChunk chunk) {
+					for (int i = 0; i < chunk.size(); i++) {
+						x[chunk.step()][chunk.firstOrbit() + i] = chunk.positions().x(i);
+						vz[chunk.step()][chunk.firstOrbit() + i] = chunk.velocities().z(i);
+					}
+				}
+
+				@Override
+				public void complete() {
+					completions.incrementAndGet();
+				}
+			});
+
+			assertThat(completions.get()).isEqualTo(1);
+			double[] state = new double[6];
+			for (int step = 0; step < STEPS; step++) {
+				for (int i = 0; i < ORBITS; i += 37) {
+					orbits.get(i).propagate(JulianDate.J2000.plusSeconds(step * STEP_SECONDS), state);
+					assertThat(x[step][i]).isEqualTo(state[0]);
+					assertThat(vz[step][i]).isEqualTo(state[5]);
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("delivers the steps of each orbit in time order")
+		void stepOrder() throws InterruptedException {
+			int[] lastStep = new int[ORBITS];
+			Arrays.fill(lastStep, -1);
+			List<String> errors = new ArrayList<>();
+
+			scheduler(4).run(catalog(), JulianDate.J2000, STEP_SECONDS, STEPS, chunk -> {
+				if (chunk.step() != lastStep[chunk.firstOrbit()] + 1) {
+					errors.add("orbit " + chunk.firstOrbit() + " step " + chunk.step());
+				}
+				lastStep[chunk.firstOrbit()] = chunk.step();
+			});
+
+			assertThat(errors).isEmpty();
+		}
+
+		@Test
+		@DisplayName("reuses a bounded pool of chunk buffers")
+		void backPressure() throws InterruptedException {
+			Set<StateChunk> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+			AtomicInteger delivered = new AtomicInteger();
+
+			scheduler(3).run(catalog(), JulianDate.J2000, STEP_SECONDS, STEPS, chunk -> {
+				seen.add(chunk);
+				delivered.incrementAndGet();
+			});
+
+			assertThat(delivered.get()).isEqualTo(16 * STEPS);
+			assertThat(seen.size()).isLessThanOrEqualTo(3);
+		}
+
+		@Test
+		@DisplayName("reports orbits that fail with NaN states")
+		void failingOrbit() throws InterruptedException {
+			List<OrbitPropagator> orbits = new ArrayList<>(catalog().subList(0, 10));
+			orbits.set(3, (jd, state) -> {
+				throw new IllegalStateException("Satellite has decayed");
+			});
+			double[] x = new double[10];
+
+			scheduler(2).run(orbits, JulianDate.J2000, STEP_SECONDS, 1, chunk -> {
+				for (int i = 0; i < chunk.size(); i++) {
+					x[chunk.firstOrbit() + i] = chunk.positions().x(i);
+				}
+			});
+
+			assertThat(x[3]).isNaN();
+			assertThat(x[4]).isNotNaN();
+		}
+	}
+
+	@Nested
+	@DisplayName("termination")
+	class Termination {
+		@Test
+		@DisplayName("stops when cancelled")
+		void cancel() throws InterruptedException {
+			AtomicReference<PropagationJob> job = new AtomicReference<>();
+			AtomicInteger delivered = new AtomicInteger();
+			AtomicInteger completions = new AtomicInteger();
+
+			synchronized (job) {
+				job.set(scheduler(2).start(catalog(), JulianDate.J2000, STEP_SECONDS, 1000, new StateSink() {
+					@Override
+					public void accept(StateChunk chunk) {
+						if (delivered.incrementAndGet() == 5) {
+							synchronized (job) {
+								job.get().cancel();
+							}
+						}
+					}
+
+					@Override
+					public void complete() {
+						completions.incrementAndGet();
+					}
+				}));
+			}
+
+			assertThatThrownBy(() -> job.get().join()).isInstanceOf(CancellationException.class);
+			assertThat(job.get().isCancelled()).isTrue();
+			assertThat(delivered.get()).isLessThan(16 * 1000);
+			assertThat(completions.get()).isZero();
+		}
+
+		@Test
+		@DisplayName("fails when the sink throws")
+		void sinkFailure() {
+			PropagationJob job = scheduler(2).start(catalog(), JulianDate.J2000, STEP_SECONDS, STEPS, chunk -> {
+				throw new IOException("Disk full");
+			});
+
+			assertThatThrownBy(job::join)
+				.isInstanceOf(CompletionException.class)
+				.hasCauseInstanceOf(IOException.class);
+			assertThat(job.isDone()).isTrue();
+			assertThat(job.isCancelled()).isFalse();
+		}
+
+		@Test
+		@DisplayName("completes an empty catalog")
+		void empty() throws InterruptedException {
+			AtomicInteger completions = new AtomicInteger();
+
+			scheduler(2).run(List.of(), JulianDate.J2000, STEP_SECONDS, STEPS, new StateSink() {
+				@Override
+				public void accept(StateChunk chunk) {
+				}
+
+				@Override
+				public void complete() {
+					completions.incrementAndGet();
+				}
+			});
+
+			assertThat(completions.get()).isEqualTo(1);
+		}
+	}
+}
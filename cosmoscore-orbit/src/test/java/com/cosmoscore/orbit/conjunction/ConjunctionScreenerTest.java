@@ -0,0 +1,184 @@
+package com.cosmoscore.orbit.conjunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.orbit.KeplerOrbit;
+import com.cosmoscore.orbit.KeplerianElements;
+import com.cosmoscore.orbit.OrbitPropagator;
+
+@DisplayName("ConjunctionScreener class")
+class ConjunctionScreenerTest {
+
+	private static final double MU = KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER;
+	private static final JulianDate START = JulianDate.J2000;
+
+	private static KeplerOrbit circular(double radius, double inclination, double node, double meanAnomaly) {
+		return new KeplerOrbit(new KeplerianElements(radius, 0.0, inclination, node, 0.0, meanAnomaly, START, MU));
+	}
+
+	private static double distance(OrbitPropagator a, OrbitPropagator b, JulianDate jd) {
+		return a.propagate(jd).position().subtract(b.propagate(jd).position()).magnitude();
+	}
+
+	@Nested
+	@DisplayName("screening")
+	class Screening {
+		@Test
+		@DisplayName("finds crossings at the node")
+		void crossing() {
+			// Equatorial and polar orbits that reach their common node together, and again half an orbit later
+			List<KeplerOrbit> orbits = List.of(circular(7000.0, 0.0, 0.0, -10.0), circular(7000.0, 90.0, 0.0, -10.0));
+			double meanMotion = Math.sqrt(MU / (7000.0 * 7000.0 * 7000.0));
+
+			List<Conjunction> result = new ConjunctionScreener(5.0).screen(orbits, START, START.plusSeconds(3600.0))
+				.collect(Collectors.toList());
+
+			assertThat(result).hasSize(2);
+			Conjunction first = result.get(0);
+			assertThat(first.primary()).isEqualTo(0);
+			assertThat(first.secondary()).isEqualTo(1);
+			assertThat(START.daysUntil(first.timeOfClosestApproach()) * 86400.0)
+				.isEqualTo(Math.toRadians(10.0) / meanMotion, withPrecision(1e-2));
+			assertThat(first.missDistance()).isLessThan(0.01);
+			assertThat(first.relativeSpeed()).isEqualTo(Math.sqrt(2.0 * MU / 7000.0), withPrecision(1e-6));
+			assertThat(START.daysUntil(result.get(1).timeOfClosestApproach()) * 86400.0)
+				.isEqualTo((Math.toRadians(10.0) + Math.PI) / meanMotion, withPrecision(1e-2));
+		}
+
+		@Test
+		@DisplayName("measures the miss distance of a near miss")
+		void nearMiss() {
+			List<KeplerOrbit> orbits = List.of(circular(7000.0, 0.0, 0.0, -10.0), circular(7003.0, 60.0, 0.0, -10.0));
+
+			List<Conjunction> result = new ConjunctionScreener(5.0).screen(orbits, START, START.plusSeconds(600.0))
+				.collect(Collectors.toList());
+
+			assertThat(result).hasSize(1);
+			Conjunction conjunction = result.get(0);
+			assertThat(conjunction.missDistance())
+				.isEqualTo(distance(orbits.get(0), orbits.get(1), conjunction.timeOfClosestApproach()), withPrecision(1e-9));
+			assertThat(conjunction.missDistance()).isBetween(3.0, 3.5);
+			for (double offset = -5.0; offset <= 5.0; offset += 1.0) {
+				assertThat(distance(orbits.get(0), orbits.get(1), conjunction.timeOfClosestApproach().plusSeconds(offset)))
+					.isGreaterThanOrEqualTo(conjunction.missDistance() - 1e-6);
+			}
+		}
+
+		@Test
+		@DisplayName("finds every approach that a dense all-pairs search finds")
+		void matchesBruteForce() {
+			List<KeplerOrbit> orbits = new ArrayList<>();
+			for (int i = 0; i < 40; i++) {
+				orbits.add(circular(7000.0 + (i % 7) * 3.0, (37.0 * i) % 180, (53.0 * i) % 360, (71.0 * i) % 360));
+			}
+			double threshold = 40.0;
+			double span = 4.0 * 3600.0;
+			List<Conjunction> result = new ConjunctionScreener(threshold).screen(orbits, START, START.plusSeconds(span))
+				.collect(Collectors.toList());
+
+			int expected = 0;
+			double step = 2.0;
+			for (int i = 0; i < orbits.size(); i++) {
+				for (int j = i + 1; j < orbits.size(); j++) {
+					double before = Double.POSITIVE_INFINITY;
+					double current = distance(orbits.get(i), orbits.get(j), START);
+					for (double t = step; t <= span; t += step) {
+						double after = distance(orbits.get(i), orbits.get(j), START.plusSeconds(t));
+						if (current < before && current <= after && current < 0.9 * threshold) {
+							expected++;
+							double tca = t - step;
+							int primary = i;
+							int secondary = j;
+							assertThat(result.stream().anyMatch(c -> c.primary() == primary && c.secondary() == secondary
+								&& Math.abs(START.daysUntil(c.timeOfClosestApproach()) * 86400.0 - tca) <= step)).isTrue();
+						}
+						before = current;
+						current = after;
+					}
+				}
+			}
+			assertThat(expected).isGreaterThan(0);
+			assertThat(result).allMatch(c -> c.missDistance() <= threshold);
+		}
+
+		@Test
+		@DisplayName("reports approaches cut by the ends of the span at the ends")
+		void spanEnds() {
+			List<KeplerOrbit> orbits = List.of(circular(7000.0, 0.0, 0.0, -10.0), circular(7000.0, 90.0, 0.0, -10.0));
+			JulianDate crossing = START.plusSeconds(161.9);
+
+			List<Conjunction> afterCrossing = new ConjunctionScreener(20.0)
+				.screen(orbits, crossing.plusSeconds(1.0), crossing.plusSeconds(100.0)).collect(Collectors.toList());
+			List<Conjunction> beforeCrossing = new ConjunctionScreener(20.0)
+				.screen(orbits, crossing.plusSeconds(-100.0), crossing.plusSeconds(-1.0)).collect(Collectors.toList());
+
+			assertThat(afterCrossing).hasSize(1);
+			assertThat(afterCrossing.get(0).timeOfClosestApproach()).isEqualTo(crossing.plusSeconds(1.0));
+			assertThat(beforeCrossing).hasSize(1);
+			assertThat(beforeCrossing.get(0).timeOfClosestApproach()).isEqualTo(crossing.plusSeconds(-1.0));
+		}
+
+		@Test
+		@DisplayName("gives the same results in parallel")
+		void parallel() {
+			List<KeplerOrbit> orbits = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				orbits.add(circular(7000.0 + (i % 5) * 2.0, (37.0 * i) % 180, (53.0 * i) % 360, (71.0 * i) % 360));
+			}
+			ConjunctionScreener screener = new ConjunctionScreener(25.0);
+
+			List<Conjunction> sequential = screener.screen(orbits, START, START.plusDays(0.25)).collect(Collectors.toList());
+			List<Conjunction> parallel = screener.parallelScreen(orbits, START, START.plusDays(0.25))
+				.collect(Collectors.toList());
+
+			assertThat(sequential).isNotEmpty();
+			assertThat(parallel).isEqualTo(sequential);
+		}
+
+		@Test
+		@DisplayName("skips objects that cannot be propagated")
+		void failingOrbit() {
+			List<OrbitPropagator> orbits = new ArrayList<>(List.of(circular(7000.0, 0.0, 0.0, -10.0),
+				circular(7000.0, 90.0, 0.0, -10.0)));
+			orbits.add((jd, state) -> {
+				throw new IllegalStateException("Satellite has decayed");
+			});
+
+			assertThat(new ConjunctionScreener(5.0).screen(orbits, START, START.plusSeconds(600.0)).count()).isEqualTo(1);
+		}
+	}
+
+	@Nested
+	@DisplayName("validation")
+	class Validation {
+		@Test
+		@DisplayName("rejects a span that ends before it starts")
+		void reversedSpan() {
+			assertThatThrownBy(() -> new ConjunctionScreener(5.0).screen(List.of(), START, START.plusSeconds(-1.0)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("End date must not be before start date");
+		}
+
+		@Test
+		@DisplayName("rejects a non-positive threshold or step")
+		void parameters() {
+			assertThatThrownBy(() -> new ConjunctionScreener(0.0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Threshold must be positive");
+			assertThatThrownBy(() -> new ConjunctionScreener(5.0, -60.0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Step must be positive");
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.cosmoscore.orbit.conjunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.math.Vector3DBuffer;
+
+@DisplayName("SpatialGrid class")
+class SpatialGridTest {
+
+	private static List<Integer> cell(SpatialGrid grid, int cx, int cy, int cz) {
+		List<Integer> points = new ArrayList<>();
+		for (int i = grid.first(cx, cy, cz); i != SpatialGrid.NONE; i = grid.next(i)) {
+			points.add(i);
+		}
+		return points;
+	}
+
+	@Test
+	@DisplayName("groups points by cell, including negative coordinates")
+	void cells() {
+		Vector3DBuffer positions = new Vector3DBuffer(5);
+		positions.set(0, 1.0, 1.0, 1.0);
+		positions.set(1, 9.0, 9.0, 9.0);
+		positions.set(2, -1.0, 1.0, 1.0);
+		positions.set(3, 15.0, 1.0, 1.0);
+		positions.set(4, 2.0, 2.0, 2.0);
+		SpatialGrid grid = new SpatialGrid(5);
+
+		grid.build(positions, new boolean[] {true, true, true, true, false}, 10.0);
+
+		assertThat(cell(grid, 0, 0, 0)).containsExactlyInAnyOrder(0, 1);
+		assertThat(cell(grid, -1, 0, 0)).containsExactly(2);
+		assertThat(cell(grid, 1, 0, 0)).containsExactly(3);
+		assertThat(cell(grid, 0, 1, 0)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("can be rebuilt for new positions")
+	void rebuild() {
+		Vector3DBuffer positions = new Vector3DBuffer(2);
+		positions.set(0, 1.0, 1.0, 1.0);
+		positions.set(1, 25.0, 1.0, 1.0);
+		SpatialGrid grid = new SpatialGrid(2);
+		grid.build(positions, new boolean[] {true, true}, 10.0);
+
+		grid.build(positions, new boolean[] {true, true}, 100.0);
+
+		assertThat(cell(grid, 0, 0, 0)).containsExactlyInAnyOrder(0, 1);
+		assertThat(cell(grid, 2, 0, 0)).isEmpty();
+	}
+}
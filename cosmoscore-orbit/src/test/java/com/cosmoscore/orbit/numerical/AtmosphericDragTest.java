@@ -0,0 +1,87 @@
+package com.cosmoscore.orbit.numerical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("AtmosphericDrag class")
+class AtmosphericDragTest {
+
+	private final double[] workspace = new double[ForceModel.WORKSPACE_LENGTH];
+
+	@Nested
+	@DisplayName("density")
+	class Density {
+		@Test
+		@DisplayName("matches the tabulated base values")
+		void baseValues() {
+			assertThat(AtmosphericDrag.density(0.0)).isEqualTo(1.225, withPrecision(1e-12));
+			assertThat(AtmosphericDrag.density(400.0)).isEqualTo(3.725e-12, withPrecision(1e-16));
+		}
+
+		@Test
+		@DisplayName("decreases with height and vanishes in space")
+		void decreases() {
+			double previous = Double.POSITIVE_INFINITY;
+			for (double height = 0.0; height < 2000.0; height += 25.0) {
+				double density = AtmosphericDrag.density(height);
+				assertThat(density).isLessThan(previous);
+				previous = density;
+			}
+			assertThat(AtmosphericDrag.density(3000.0)).isZero();
+		}
+	}
+
+	@Nested
+	@DisplayName("accelerations")
+	class Accelerations {
+		@Test
+		@DisplayName("oppose the velocity relative to the air")
+		void opposeVelocity() {
+			double[] states = {6778.137, 0.0, 0.0, 0.0, 7.67, 0.0};
+			double[] derivatives = new double[6];
+
+			new AtmosphericDrag(0.01).addAccelerations(JulianDate.J2000, 0.0, states, derivatives, 1, workspace);
+
+			double airSpeed = 7.67 - AtmosphericDrag.EARTH_ROTATION_RATE * 6778.137;
+			double expected = -0.5 * 3.725e-12 * 0.01 * 1000.0 * airSpeed * airSpeed;
+			assertThat(derivatives[3]).isZero();
+			assertThat(derivatives[4]).isEqualTo(expected, withPrecision(1e-16));
+			assertThat(derivatives[5]).isZero();
+		}
+
+		@Test
+		@DisplayName("scale with each satellite's ballistic coefficient")
+		void perSatellite() {
+			double[] states = {6778.137, 0.0, 0.0, 0.0, 7.67, 0.0, 6778.137, 0.0, 0.0, 0.0, 7.67, 0.0};
+			double[] derivatives = new double[12];
+
+			new AtmosphericDrag(new double[] {0.01, 0.03}).addAccelerations(JulianDate.J2000, 0.0, states,
+				derivatives, 2, workspace);
+
+			assertThat(derivatives[10]).isEqualTo(3.0 * derivatives[4], withPrecision(1e-18));
+		}
+
+		@Test
+		@DisplayName("need a coefficient for every satellite")
+		void missingCoefficient() {
+			double[] states = new double[18];
+			AtmosphericDrag drag = new AtmosphericDrag(new double[] {0.01, 0.02});
+
+			assertThatThrownBy(() -> drag.addAccelerations(JulianDate.J2000, 0.0, states, new double[18], 3, workspace))
+				.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Test
+	@DisplayName("rejects negative ballistic coefficients")
+	void negative() {
+		assertThatThrownBy(() -> new AtmosphericDrag(-1.0)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,141 @@
+package com.cosmoscore.orbit.numerical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.orbit.KeplerOrbit;
+import com.cosmoscore.orbit.KeplerianElements;
+
+@DisplayName("DormandPrince853Integrator class")
+class DormandPrince853IntegratorTest {
+
+	private static final double MU = KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER;
+
+	private static final DerivativeFunction DECAY = (t, y, yDot) -> yDot[0] = -y[0];
+
+	private static final DerivativeFunction TWO_BODY = (t, y, yDot) -> {
+		double r2 = y[0] * y[0] + y[1] * y[1] + y[2] * y[2];
+		double factor = -MU / (r2 * Math.sqrt(r2));
+		yDot[0] = y[3];
+		yDot[1] = y[4];
+		yDot[2] = y[5];
+		yDot[3] = factor * y[0];
+		yDot[4] = factor * y[1];
+		yDot[5] = factor * y[2];
+	};
+
+	@Nested
+	@DisplayName("integration")
+	class Integration {
+		@Test
+		@DisplayName("solves exponential decay")
+		void decay() {
+			double[] y = {1.0};
+			new DormandPrince853Integrator(1e-12, 1e-12).integrate(DECAY, 0.0, y, 5.0);
+
+			assertThat(y[0]).isEqualTo(Math.exp(-5.0), withPrecision(1e-11));
+		}
+
+		@Test
+		@DisplayName("integrates backwards")
+		void backwards() {
+			double[] y = {Math.exp(-5.0)};
+			new DormandPrince853Integrator(1e-14, 1e-12).integrate(DECAY, 5.0, y, 0.0);
+
+			assertThat(y[0]).isEqualTo(1.0, withPrecision(1e-10));
+		}
+
+		@Test
+		@DisplayName("follows a Kepler orbit")
+		void keplerOrbit() {
+			KeplerOrbit orbit = new KeplerOrbit(
+				new KeplerianElements(8000.0, 0.2, 30.0, 40.0, 50.0, 10.0, JulianDate.J2000, MU));
+			double[] y = new double[6];
+			double[] expected = new double[6];
+			orbit.propagate(0.0, y);
+			orbit.propagate(86400.0, expected);
+
+			new DormandPrince853Integrator(1e-10, 1e-13).integrate(TWO_BODY, 0.0, y, 86400.0);
+
+			for (int i = 0; i < 3; i++) {
+				assertThat(y[i]).isEqualTo(expected[i], withPrecision(1e-5));
+				assertThat(y[i + 3]).isEqualTo(expected[i + 3], withPrecision(1e-8));
+			}
+		}
+
+		@Test
+		@DisplayName("leaves the state alone over an empty interval")
+		void emptyInterval() {
+			double[] y = {2.0};
+			new DormandPrince853Integrator(1e-10, 1e-10).integrate(DECAY, 1.0, y, 1.0);
+
+			assertThat(y[0]).isEqualTo(2.0);
+		}
+	}
+
+	@Nested
+	@DisplayName("dense output")
+	class Dense {
+		@Test
+		@DisplayName("interpolates within each step")
+		void interpolates() {
+			double[] y = {1.0};
+			double[] interpolated = new double[1];
+			double[] worst = {0.0};
+			int[] steps = {0};
+			new DormandPrince853Integrator(1e-12, 1e-12).integrate(DECAY, 0.0, y, 10.0, (previous, current, output) -> {
+				steps[0]++;
+				for (int k = 0; k <= 10; k++) {
+					double t = previous + (current - previous) * k / 10.0;
+					output.interpolate(t, interpolated);
+					worst[0] = Math.max(worst[0], Math.abs(interpolated[0] - Math.exp(-t)));
+				}
+			});
+
+			assertThat(steps[0]).isGreaterThan(1);
+			assertThat(worst[0]).isLessThan(1e-10);
+		}
+
+		@Test
+		@DisplayName("reports steps that cover the interval")
+		void coversInterval() {
+			double[] y = {1.0};
+			double[] last = {0.0};
+			new DormandPrince853Integrator(1e-8, 1e-8).integrate(DECAY, 0.0, y, 3.0, (previous, current, output) -> {
+				assertThat(previous).isEqualTo(last[0]);
+				last[0] = current;
+			});
+
+			assertThat(last[0]).isEqualTo(3.0);
+		}
+	}
+
+	@Nested
+	@DisplayName("validation")
+	class Validation {
+		@Test
+		@DisplayName("rejects invalid tolerances")
+		void tolerances() {
+			assertThatThrownBy(() -> new DormandPrince853Integrator(0.0, 0.0))
+				.isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> new DormandPrince853Integrator(1e-10, -1.0))
+				.isInstanceOf(IllegalArgumentException.class);
+		}
+
+		@Test
+		@DisplayName("fails when the solution blows up")
+		void blowUp() {
+			DerivativeFunction explosive = (t, y, yDot) -> yDot[0] = y[0] * y[0];
+			double[] y = {1.0};
+
+			assertThatThrownBy(() -> new DormandPrince853Integrator(1e-10, 1e-10).integrate(explosive, 0.0, y, 2.0))
+				.isInstanceOf(IllegalStateException.class);
+		}
+	}
+}
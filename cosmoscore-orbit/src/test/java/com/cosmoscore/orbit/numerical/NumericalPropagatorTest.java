@@ -0,0 +1,224 @@
+package com.cosmoscore.orbit.numerical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.orbit.KeplerOrbit;
+import com.cosmoscore.orbit.KeplerianElements;
+import com.cosmoscore.orbit.StateVector;
+
+@DisplayName("NumericalPropagator class")
+class NumericalPropagatorTest {
+
+	private static final double MU = KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER;
+	private static final JulianDate EPOCH = JulianDate.J2000;
+
+	private static KeplerOrbit orbit(double a, double e, double i, double node) {
+		return new KeplerOrbit(new KeplerianElements(a, e, i, node, 30.0, 0.0, EPOCH, MU));
+	}
+
+	@Nested
+	@DisplayName("without perturbations")
+	class TwoBody {
+		@Test
+		@DisplayName("follows Kepler orbits")
+		void keplerOrbits() {
+			List<KeplerOrbit> orbits = List.of(orbit(7000.0, 0.001, 51.6, 0.0), orbit(26560.0, 0.01, 55.0, 120.0),
+				orbit(24000.0, 0.7, 63.4, 250.0));
+			List<StateVector> states = orbits.stream().map(o -> o.propagate(EPOCH)).toList();
+			NumericalPropagator propagator = new NumericalPropagator(EPOCH, states, List.of());
+			JulianDate target = EPOCH.plusDays(1.0);
+
+			propagator.propagate(target);
+
+			assertThat(propagator.date().daysUntil(target)).isEqualTo(0.0, withPrecision(1e-9));
+			for (int s = 0; s < orbits.size(); s++) {
+				StateVector expected = orbits.get(s).propagate(target);
+				StateVector actual = propagator.state(s);
+				assertThat(actual.position().subtract(expected.position()).magnitude()).isLessThan(1e-3);
+				assertThat(actual.velocity().subtract(expected.velocity()).magnitude()).isLessThan(1e-6);
+			}
+		}
+
+		@Test
+		@DisplayName("returns to the initial state when run backwards")
+		void backwards() {
+			StateVector initial = orbit(7000.0, 0.05, 98.0, 10.0).propagate(EPOCH);
+			NumericalPropagator propagator = new NumericalPropagator(EPOCH, List.of(initial), List.of());
+
+			propagator.propagate(EPOCH.plusDays(0.5));
+			propagator.propagate(EPOCH);
+
+			assertThat(propagator.state(0).position().subtract(initial.position()).magnitude()).isLessThan(1e-4);
+		}
+	}
+
+	@Nested
+	@DisplayName("batches")
+	class Batches {
+		@Test
+		@DisplayName("match satellites propagated alone")
+		void matchAlone() {
+			List<StateVector> states = List.of(orbit(6900.0, 0.001, 51.6, 0.0).propagate(EPOCH),
+				orbit(7200.0, 0.01, 98.0, 90.0).propagate(EPOCH));
+			List<ForceModel> forces = List.of(new ZonalHarmonics(4), new AtmosphericDrag(0.02));
+			NumericalPropagator batch = new NumericalPropagator(EPOCH, states, forces);
+			JulianDate target = EPOCH.plusDays(0.25);
+
+			batch.propagate(target);
+
+			for (int s = 0; s < states.size(); s++) {
+				NumericalPropagator alone = new NumericalPropagator(EPOCH, List.of(states.get(s)), forces);
+				alone.propagate(target);
+				assertThat(batch.state(s).position().subtract(alone.state(0).position()).magnitude())
+					.isLessThan(1e-3);
+			}
+		}
+
+		@Test
+		@DisplayName("copy positions and velocities into buffers")
+		void buffers() {
+			List<StateVector> states = List.of(orbit(7000.0, 0.0, 0.0, 0.0).propagate(EPOCH),
+				orbit(8000.0, 0.1, 45.0, 0.0).propagate(EPOCH));
+			NumericalPropagator propagator = new NumericalPropagator(EPOCH, states, List.of());
+			Vector3DBuffer positions = new Vector3DBuffer(2);
+			Vector3DBuffer velocities = new Vector3DBuffer(2);
+			double[] state = new double[6];
+
+			propagator.positions(positions);
+			propagator.velocities(velocities);
+			propagator.state(1, state);
+
+			assertThat(positions.x(1)).isEqualTo(state[0]);
+			assertThat(positions.z(1)).isEqualTo(state[2]);
+			assertThat(velocities.y(1)).isEqualTo(state[4]);
+			assertThat(propagator.size()).isEqualTo(2);
+			assertThatThrownBy(() -> propagator.positions(new Vector3DBuffer(3)))
+				.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Nested
+	@DisplayName("grid output")
+	class Grid {
+		@Test
+		@DisplayName("reports interpolated states at every grid date")
+		void everyDate() {
+			KeplerOrbit orbit = orbit(7500.0, 0.1, 30.0, 0.0);
+			NumericalPropagator propagator = new NumericalPropagator(EPOCH, List.of(orbit.propagate(EPOCH)), List.of());
+			List<JulianDate> dates = new ArrayList<>();
+			double[] worst = {0.0};
+
+			propagator.propagate(EPOCH.plusSeconds(3600.0), 60.0, (date, states) -> {
+				dates.add(date);
+				StateVector expected = orbit.propagate(date);
+				worst[0] = Math.max(worst[0], StateVector.of(states).position().subtract(expected.position()).magnitude());
+			});
+
+			assertThat(dates).hasSize(61);
+			assertThat(dates.get(0)).isEqualTo(EPOCH);
+			assertThat(EPOCH.daysUntil(dates.get(60)) * 86400.0).isEqualTo(3600.0, withPrecision(1e-6));
+			assertThat(worst[0]).isLessThan(1e-4);
+		}
+
+		@Test
+		@DisplayName("keeps the previous state when the consumer fails part-way")
+		void failedConsumer() {
+			StateVector initial = orbit(7000.0, 0.0, 0.0, 0.0).propagate(EPOCH);
+			NumericalPropagator propagator = new NumericalPropagator(EPOCH, List.of(initial), List.of());
+			int[] calls = {0};
+
+			assertThatThrownBy(() -> propagator.propagate(EPOCH.plusSeconds(3600.0), 60.0, (date, states) -> {
+				if (++calls[0] > 10) {
+					throw new IllegalStateException("Stop");
+				}
+			})).hasMessage("Stop");
+
+			assertThat(propagator.date()).isEqualTo(EPOCH);
+			assertThat(propagator.state(0).position()).isEqualTo(initial.position());
+			assertThat(propagator.state(0).velocity()).isEqualTo(initial.velocity());
+		}
+
+		@Test
+		@DisplayName("rejects non-positive steps")
+		void invalidStep() {
+			NumericalPropagator propagator = new NumericalPropagator(EPOCH,
+				List.of(orbit(7000.0, 0.0, 0.0, 0.0).propagate(EPOCH)), List.of());
+
+			assertThatThrownBy(() -> propagator.propagate(EPOCH.plusDays(1.0), 0.0, (date, states) -> {}))
+				.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Nested
+	@DisplayName("perturbations")
+	class Perturbations {
+		@Test
+		@DisplayName("J2 regresses the node at the secular rate")
+		void nodeRegression() {
+			double a = 7000.0;
+			double e = 0.001;
+			double i = 51.6;
+			StateVector initial = orbit(a, e, i, 0.0).propagate(EPOCH);
+			NumericalPropagator propagator = new NumericalPropagator(EPOCH, List.of(initial),
+				List.of(new ZonalHarmonics(2)), 1e-8, 1e-11);
+			double days = 2.0;
+
+			propagator.propagate(EPOCH.plusDays(days));
+
+			StateVector state = propagator.state(0);
+			double node = KeplerianElements.fromStateVector(state, propagator.date(), MU).rightAscensionOfAscendingNode();
+			if (node > 180.0) {
+				node -= 360.0;
+			}
+			double n = Math.sqrt(MU / (a * a * a));
+			double p = a * (1 - e * e);
+			double ratio = ZonalHarmonics.EARTH_RADIUS / p;
+			double rate = -1.5 * n * 1.0826267e-3 * ratio * ratio * Math.cos(Math.toRadians(i));
+			double expected = Math.toDegrees(rate * days * 86400.0);
+			assertThat(node).isEqualTo(expected, withPrecision(0.02 * Math.abs(expected)));
+		}
+
+		@Test
+		@DisplayName("drag lowers the orbit")
+		void drag() {
+			StateVector initial = orbit(6700.0, 0.0, 51.6, 0.0).propagate(EPOCH);
+			NumericalPropagator propagator = new NumericalPropagator(EPOCH, List.of(initial),
+				List.of(new AtmosphericDrag(0.05)));
+
+			propagator.propagate(EPOCH.plusDays(1.0));
+
+			double a = KeplerianElements.fromStateVector(propagator.state(0), propagator.date(), MU).semiMajorAxis();
+			assertThat(a).isLessThan(6700.0 - 0.01);
+		}
+
+		@Test
+		@DisplayName("a force model failing part-way leaves the previous state")
+		void failedForce() {
+			StateVector initial = orbit(7000.0, 0.001, 51.6, 0.0).propagate(EPOCH);
+			int[] calls = {0};
+			ForceModel failing = (epoch, seconds, states, derivatives, count, workspace) -> {
+				if (++calls[0] > 100) {
+					throw new IllegalStateException("Stop");
+				}
+			};
+			NumericalPropagator propagator = new NumericalPropagator(EPOCH, List.of(initial), List.of(failing));
+
+			assertThatThrownBy(() -> propagator.propagate(EPOCH.plusDays(1.0))).hasMessage("Stop");
+
+			assertThat(propagator.date()).isEqualTo(EPOCH);
+			assertThat(propagator.state(0).position()).isEqualTo(initial.position());
+			assertThat(propagator.state(0).velocity()).isEqualTo(initial.velocity());
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.cosmoscore.orbit.numerical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("ThirdBodyGravity class")
+class ThirdBodyGravityTest {
+
+	private static final double GEO_RADIUS = 42164.0;
+
+	private static double magnitude(ThirdBodyGravity gravity) {
+		double[] states = {GEO_RADIUS, 0.0, 0.0, 0.0, 3.0747, 0.0};
+		double[] derivatives = new double[6];
+		double[] workspace = new double[ForceModel.WORKSPACE_LENGTH];
+		gravity.addAccelerations(JulianDate.J2000, 3600.0, states, derivatives, 1, workspace);
+		return Math.sqrt(derivatives[3] * derivatives[3] + derivatives[4] * derivatives[4]
+			+ derivatives[5] * derivatives[5]);
+	}
+
+	@Test
+	@DisplayName("the Moon perturbs a geostationary orbit by a few micrometres per second squared")
+	void moon() {
+		assertThat(magnitude(ThirdBodyGravity.moon())).isBetween(2.5e-9, 1e-8);
+	}
+
+	@Test
+	@DisplayName("the Sun perturbs a geostationary orbit about half as much as the Moon")
+	void sun() {
+		assertThat(magnitude(ThirdBodyGravity.sun())).isBetween(1.5e-9, 4e-9);
+	}
+
+	@Test
+	@DisplayName("the tidal acceleration vanishes at the Earth's centre")
+	void centre() {
+		double[] states = new double[6];
+		double[] derivatives = new double[6];
+		double[] workspace = new double[ForceModel.WORKSPACE_LENGTH];
+
+		ThirdBodyGravity.moon().addAccelerations(JulianDate.J2000, 0.0, states, derivatives, 1, workspace);
+
+		assertThat(Math.abs(derivatives[3]) + Math.abs(derivatives[4]) + Math.abs(derivatives[5])).isLessThan(1e-20);
+	}
+}
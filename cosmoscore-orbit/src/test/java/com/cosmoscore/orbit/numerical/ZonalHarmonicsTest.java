@@ -0,0 +1,101 @@
+package com.cosmoscore.orbit.numerical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.orbit.KeplerianElements;
+
+@DisplayName("ZonalHarmonics class")
+class ZonalHarmonicsTest {
+
+	private static final double MU = KeplerianElements.EARTH_GRAVITATIONAL_PARAMETER;
+	private static final double R = ZonalHarmonics.EARTH_RADIUS;
+	private static final double J2 = 1.0826267e-3;
+
+	private final double[] workspace = new double[ForceModel.WORKSPACE_LENGTH];
+
+	@Nested
+	@DisplayName("accelerations")
+	class Accelerations {
+		@Test
+		@DisplayName("match the closed form of J2")
+		void j2ClosedForm() {
+			double[] states = {5000.0, -3000.0, 4000.0, 0.0, 0.0, 0.0, -7000.0, 100.0, -200.0, 0.0, 0.0, 0.0};
+			double[] derivatives = new double[12];
+
+			new ZonalHarmonics(2).addAccelerations(JulianDate.J2000, 0.0, states, derivatives, 2, workspace);
+
+			for (int s = 0; s < 2; s++) {
+				double x = states[6 * s];
+				double y = states[6 * s + 1];
+				double z = states[6 * s + 2];
+				double r2 = x * x + y * y + z * z;
+				double r = Math.sqrt(r2);
+				double factor = -1.5 * J2 * MU * R * R / (r2 * r2 * r);
+				double zz = 5.0 * z * z / r2;
+				assertThat(derivatives[6 * s + 3]).isEqualTo(factor * x * (1.0 - zz), withPrecision(1e-15));
+				assertThat(derivatives[6 * s + 4]).isEqualTo(factor * y * (1.0 - zz), withPrecision(1e-15));
+				assertThat(derivatives[6 * s + 5]).isEqualTo(factor * z * (3.0 - zz), withPrecision(1e-15));
+			}
+		}
+
+		@Test
+		@DisplayName("are the gradient of the potential up to J6")
+		void gradient() {
+			double[] states = {4000.0, 3000.0, 5000.0, 0.0, 0.0, 0.0};
+			double[] derivatives = new double[6];
+
+			new ZonalHarmonics(6).addAccelerations(JulianDate.J2000, 0.0, states, derivatives, 1, workspace);
+
+			double delta = 1e-3;
+			for (int i = 0; i < 3; i++) {
+				double[] plus = states.clone();
+				double[] minus = states.clone();
+				plus[i] += delta;
+				minus[i] -= delta;
+				double expected = (potential(plus) - potential(minus)) / (2.0 * delta);
+				assertThat(derivatives[i + 3]).isEqualTo(expected, withPrecision(1e-12));
+			}
+		}
+
+		@Test
+		@DisplayName("leave the position derivatives alone")
+		void positionDerivatives() {
+			double[] states = {7000.0, 0.0, 0.0, 0.0, 7.5, 0.0};
+			double[] derivatives = {1.0, 2.0, 3.0, 0.0, 0.0, 0.0};
+
+			new ZonalHarmonics(4).addAccelerations(JulianDate.J2000, 0.0, states, derivatives, 1, workspace);
+
+			assertThat(derivatives[0]).isEqualTo(1.0);
+			assertThat(derivatives[1]).isEqualTo(2.0);
+			assertThat(derivatives[2]).isEqualTo(3.0);
+		}
+	}
+
+	private static double potential(double[] position) {
+		double[] j = {0.0, 0.0, J2, -2.5327e-6, -1.6196e-6, -2.2730e-7, 5.4068e-7};
+		double r = Math.sqrt(position[0] * position[0] + position[1] * position[1] + position[2] * position[2]);
+		double u = position[2] / r;
+		double[] p = {1.0, u, (3 * u * u - 1) / 2, (5 * u * u * u - 3 * u) / 2, (35 * Math.pow(u, 4) - 30 * u * u + 3) / 8,
+			(63 * Math.pow(u, 5) - 70 * u * u * u + 15 * u) / 8,
+			(231 * Math.pow(u, 6) - 315 * Math.pow(u, 4) + 105 * u * u - 5) / 16};
+		double sum = 0.0;
+		for (int n = 2; n <= 6; n++) {
+			sum += j[n] * Math.pow(R / r, n) * p[n];
+		}
+		return -MU / r * sum;
+	}
+
+	@Test
+	@DisplayName("rejects unsupported degrees")
+	void degrees() {
+		assertThatThrownBy(() -> new ZonalHarmonics(1)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new ZonalHarmonics(7)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
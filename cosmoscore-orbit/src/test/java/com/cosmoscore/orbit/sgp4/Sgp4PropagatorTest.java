@@ -0,0 +1,181 @@
+package com.cosmoscore.orbit.sgp4;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.orbit.StateVector;
+
+@DisplayName("Sgp4Propagator class")
+class Sgp4PropagatorTest {
+
+	private static final TwoLineElements VANGUARD =
+		TleReader.parse(TleReaderTest.VANGUARD_1, TleReaderTest.VANGUARD_2);
+
+	@Nested
+	@DisplayName("propagation")
+	class Propagation {
+		@Test
+		@DisplayName("matches the Vallado verification state at epoch")
+		void atEpoch() {
+			double[] state = new double[6];
+
+			new Sgp4Propagator(VANGUARD).propagateMinutes(0.0, state);
+
+			assertThat(state[0]).isEqualTo(7022.46529266, withPrecision(1e-6));
+			assertThat(state[1]).isEqualTo(-1400.08296755, withPrecision(1e-6));
+			assertThat(state[2]).isEqualTo(0.03995155, withPrecision(1e-6));
+			assertThat(state[3]).isEqualTo(1.893841015, withPrecision(1e-9));
+			assertThat(state[4]).isEqualTo(6.405893759, withPrecision(1e-9));
+			assertThat(state[5]).isEqualTo(4.534807250, withPrecision(1e-9));
+		}
+
+		@Test
+		@DisplayName("matches the Vallado verification state after six hours")
+		void afterSixHours() {
+			double[] state = new double[6];
+
+			new Sgp4Propagator(VANGUARD).propagateMinutes(360.0, state);
+
+			assertThat(state[0]).isEqualTo(-7154.03120202, withPrecision(1e-6));
+			assertThat(state[1]).isEqualTo(-3783.17682504, withPrecision(1e-6));
+			assertThat(state[2]).isEqualTo(-3536.19412294, withPrecision(1e-6));
+			assertThat(state[3]).isEqualTo(4.741887409, withPrecision(1e-9));
+			assertThat(state[4]).isEqualTo(-4.151817765, withPrecision(1e-9));
+			assertThat(state[5]).isEqualTo(-2.093935425, withPrecision(1e-9));
+		}
+
+		@Test
+		@DisplayName("takes dates relative to the element epoch")
+		void dates() {
+			Sgp4Propagator propagator = new Sgp4Propagator(VANGUARD);
+			double[] expected = new double[6];
+			propagator.propagateMinutes(360.0, expected);
+
+			StateVector state = propagator.propagate(VANGUARD.epoch().plusDays(0.25));
+
+			assertThat(state.position().x()).isEqualTo(expected[0], withPrecision(1e-6));
+			assertThat(state.position().z()).isEqualTo(expected[2], withPrecision(1e-6));
+			assertThat(state.velocity().y()).isEqualTo(expected[4], withPrecision(1e-9));
+		}
+
+		@Test
+		@DisplayName("keeps a low orbit near its altitude")
+		void lowOrbit() {
+			Sgp4Propagator iss = new Sgp4Propagator(TleReader.parse(TleReaderTest.ISS_1, TleReaderTest.ISS_2));
+
+			for (double minutes = -1440; minutes <= 1440; minutes += 30) {
+				StateVector state = iss.propagate(iss.elements().epoch().plusDays(minutes / 1440.0));
+
+				assertThat(state.position().magnitude()).isBetween(6700.0, 6850.0);
+				assertThat(state.velocity().magnitude()).isBetween(7.6, 7.8);
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("deep space")
+	class DeepSpaceOrbits {
+		private final Sgp4Propagator molniya = new Sgp4Propagator(TleReader.parse(
+			"1 08195U 75081A   06176.33215444  .00000099  00000-0  11873-3 0   813",
+			"2 08195  64.1586 279.0717 6877146 264.7651  20.2257  2.00491383225656"));
+		private final Sgp4Propagator geostationary = new Sgp4Propagator(TleReader.parse(
+			"1 28626U 05008A   06176.46683397 -.00000205  00000-0  10000-3 0  2190",
+			"2 28626   0.0019 286.9433 0000335  13.7918  55.6504  1.00270176  4891"));
+
+		@Test
+		@DisplayName("matches the Vallado verification state of a 12-hour resonant orbit at epoch")
+		void halfDayResonance() {
+			double[] state = new double[6];
+
+			molniya.propagateMinutes(0.0, state);
+
+			assertThat(state[0]).isEqualTo(2349.89483350, withPrecision(1e-6));
+			assertThat(state[1]).isEqualTo(-14785.93811562, withPrecision(1e-6));
+			assertThat(state[2]).isEqualTo(0.02119378, withPrecision(1e-6));
+			assertThat(state[3]).isEqualTo(2.721488096, withPrecision(1e-9));
+			assertThat(state[4]).isEqualTo(-3.256811655, withPrecision(1e-9));
+			assertThat(state[5]).isEqualTo(4.498416672, withPrecision(1e-9));
+		}
+
+		@Test
+		@DisplayName("matches the Vallado verification state of a 12-hour resonant orbit after two hours")
+		void halfDayResonanceLater() {
+			double[] state = new double[6];
+
+			molniya.propagateMinutes(120.0, state);
+
+			assertThat(state[0]).isEqualTo(15223.91713658, withPrecision(1e-6));
+			assertThat(state[1]).isEqualTo(-17852.95881713, withPrecision(1e-6));
+			assertThat(state[2]).isEqualTo(25280.39558224, withPrecision(1e-6));
+			assertThat(state[3]).isEqualTo(1.079041732, withPrecision(1e-9));
+			assertThat(state[4]).isEqualTo(0.875187372, withPrecision(1e-9));
+			assertThat(state[5]).isEqualTo(2.485682813, withPrecision(1e-9));
+		}
+
+		@Test
+		@DisplayName("keeps a geostationary orbit at its radius over many resonance steps")
+		void geostationaryRadius() {
+			double[] state = new double[6];
+
+			for (double minutes = -14400; minutes <= 14400; minutes += 997) {
+				geostationary.propagateMinutes(minutes, state);
+				double radius = Math.sqrt(state[0] * state[0] + state[1] * state[1] + state[2] * state[2]);
+
+				assertThat(radius).isBetween(42150.0, 42180.0);
+				assertThat(Math.abs(state[2])).isLessThan(50.0);
+			}
+		}
+
+		@Test
+		@DisplayName("keeps a Molniya orbit's semi-major axis over many resonance steps")
+		void molniyaEnergy() {
+			double[] state = new double[6];
+			double mu = 398600.8;
+
+			for (double minutes = 0; minutes <= 14400; minutes += 311) {
+				molniya.propagateMinutes(minutes, state);
+				double r = Math.sqrt(state[0] * state[0] + state[1] * state[1] + state[2] * state[2]);
+				double v2 = state[3] * state[3] + state[4] * state[4] + state[5] * state[5];
+				double semiMajorAxis = 1.0 / (2.0 / r - v2 / mu);
+
+				assertThat(semiMajorAxis).isBetween(26400.0, 26700.0);
+			}
+		}
+
+		@Test
+		@DisplayName("integrates the resonance from the epoch on every call")
+		void orderIndependent() {
+			double[] first = new double[6];
+			double[] second = new double[6];
+
+			molniya.propagateMinutes(2880.0, first);
+			molniya.propagateMinutes(-720.0, second);
+			molniya.propagateMinutes(2880.0, second);
+
+			assertThat(second).containsExactly(first);
+		}
+	}
+
+	@Nested
+	@DisplayName("limits")
+	class Limits {
+		@Test
+		@DisplayName("reports a decayed orbit")
+		void decay() {
+			// A perigee about 20 km up and heavy drag
+			Sgp4Propagator propagator = new Sgp4Propagator(TleReader.parse(
+				"1 99999U 24001A   24001.00000000  .00100000  00000-0  50000-2 0  9997",
+				"2 99999  51.6000  10.0000 0300000  90.0000  45.0000 16.20000000    11"));
+			double[] state = new double[6];
+			propagator.propagateMinutes(0.0, state);
+
+			assertThatThrownBy(() -> propagator.propagateMinutes(30.0 * 1440.0, state))
+				.isInstanceOf(IllegalStateException.class);
+		}
+	}
+}
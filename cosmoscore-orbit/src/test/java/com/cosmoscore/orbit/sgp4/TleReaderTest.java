@@ -0,0 +1,148 @@
+package com.cosmoscore.orbit.sgp4;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TleReader class")
+class TleReaderTest {
+
+	static final String VANGUARD_1 = "1 00005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753";
+	static final String VANGUARD_2 = "2 00005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667";
+	static final String ISS_1 = "1 25544U 98067A   24001.50000000  .00016717  00000-0  30571-3 0  9993";
+	static final String ISS_2 = "2 25544  51.6416 247.4627 0006703 130.5360 325.0288 15.50028420432342";
+
+	private static ByteBuffer ascii(String text) {
+		return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	@Nested
+	@DisplayName("parsing")
+	class Parsing {
+		@Test
+		@DisplayName("reads every field")
+		void fields() {
+			TwoLineElements tle = TleReader.parse(VANGUARD_1, VANGUARD_2);
+
+			assertThat(tle.catalogNumber()).isEqualTo(5);
+			assertThat(tle.epoch().value()).isEqualTo(2451723.28495062, withPrecision(1e-8));
+			assertThat(tle.meanMotionDot()).isEqualTo(0.00000023);
+			assertThat(tle.meanMotionDdot()).isEqualTo(0.0);
+			assertThat(tle.bstar()).isEqualTo(0.28098e-4, withPrecision(1e-20));
+			assertThat(tle.inclination()).isEqualTo(34.2682);
+			assertThat(tle.rightAscensionOfAscendingNode()).isEqualTo(348.7242);
+			assertThat(tle.eccentricity()).isEqualTo(0.1859667);
+			assertThat(tle.argumentOfPerigee()).isEqualTo(331.7664);
+			assertThat(tle.meanAnomaly()).isEqualTo(19.3264);
+			assertThat(tle.meanMotion()).isEqualTo(10.82419157);
+			assertThat(tle.revolutionNumber()).isEqualTo(41366);
+		}
+
+		@Test
+		@DisplayName("reads twenty-first century epochs and negative exponents")
+		void epochs() {
+			TwoLineElements tle = TleReader.parse(ISS_1, ISS_2);
+
+			// 2024 day 1.5 is noon on 1 January 2024
+			assertThat(tle.epoch().value()).isEqualTo(2460311.0, withPrecision(1e-9));
+			assertThat(tle.bstar()).isEqualTo(0.30571e-3, withPrecision(1e-18));
+		}
+
+		@Test
+		@DisplayName("reads Alpha-5 catalog numbers")
+		void alpha5() {
+			TwoLineElements tle = TleReader.parse(
+				"1 A0005U 58002B   00179.78495062  .00000023  00000-0  28098-4 0  4753",
+				"2 A0005  34.2682 348.7242 1859667 331.7664  19.3264 10.82419157413667");
+
+			assertThat(tle.catalogNumber()).isEqualTo(100005);
+		}
+
+		@Test
+		@DisplayName("rejects a wrong checksum")
+		void checksum() {
+			String corrupted = VANGUARD_2.substring(0, 68) + "0";
+
+			assertThatThrownBy(() -> TleReader.parse(VANGUARD_1, corrupted))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Checksum mismatch in TLE line 2");
+		}
+
+		@Test
+		@DisplayName("rejects lines for different satellites")
+		void mismatchedLines() {
+			assertThatThrownBy(() -> TleReader.parse(VANGUARD_1, ISS_2))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("TLE lines are for different satellites");
+		}
+
+		@Test
+		@DisplayName("rejects a malformed field")
+		void malformed() {
+			// Same checksum: the 3 of the inclination becomes an X and a digit elsewhere goes up by three
+			String corrupted = "2 00005  X4.2682 348.7242 1859667 331.7664  19.3264 10.82419157413697";
+
+			assertThatThrownBy(() -> TleReader.parse(VANGUARD_1, corrupted))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Malformed inclination in TLE line 2");
+		}
+	}
+
+	@Nested
+	@DisplayName("reading")
+	class Reading {
+		@Test
+		@DisplayName("reads two- and three-line sets with any line ending")
+		void formats() {
+			String text = "VANGUARD 1\r\n" + VANGUARD_1 + "\r\n" + VANGUARD_2 + "\r\n\n"
+				+ ISS_1 + "\n" + ISS_2;
+
+			List<TwoLineElements> result = TleReader.read(ascii(text));
+
+			assertThat(result).hasSize(2);
+			assertThat(result.get(0).catalogNumber()).isEqualTo(5);
+			assertThat(result.get(1).catalogNumber()).isEqualTo(25544);
+		}
+
+		@Test
+		@DisplayName("reports the line of a broken set")
+		void brokenSet() {
+			String text = "VANGUARD 1\n" + VANGUARD_1 + "\nISS\n" + ISS_1 + "\n" + ISS_2 + "\n";
+
+			assertThatThrownBy(() -> TleReader.read(ascii(text)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("TLE line 1 is not followed by line 2 at line 3");
+		}
+
+		@Test
+		@DisplayName("reads a memory-mapped file")
+		void file() throws IOException {
+			Path path = Files.createTempFile("elements", ".tle");
+			try {
+				StringBuilder text = new StringBuilder();
+				for (int i = 0; i < 1000; i++) {
+					text.append(ISS_1).append('\n').append(ISS_2).append('\n');
+				}
+				Files.writeString(path, text, StandardCharsets.US_ASCII);
+
+				List<TwoLineElements> result = TleReader.read(path);
+
+				assertThat(result).hasSize(1000);
+				assertThat(result.get(999)).isEqualTo(TleReader.parse(ISS_1, ISS_2));
+			} finally {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.cosmoscore.position;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+
+/**
+ * Conversions between ecliptic and equatorial coordinates.
+ */
+public final class Ecliptic {
+
+	private Ecliptic() {
+	}
+
+	/**
+	 * Calculates the mean obliquity of the ecliptic (IAU 1980, Meeus eq. 22.2).
+	 *
+	 * @param t Julian centuries since J2000.0
+	 * @return mean obliquity in degrees
+	 */
+	public static double meanObliquity(double t) {
+		return 23.0 + 26.0 / 60.0 + (21.448 - t * (46.8150 + t * (0.00059 - t * 0.001813))) / 3600.0;
+	}
+
+	/**
+	 * Converts ecliptic coordinates to equatorial coordinates.
+	 *
+	 * @param longitude ecliptic longitude in degrees
+	 * @param latitude ecliptic latitude in degrees
+	 * @param obliquity obliquity of the ecliptic in degrees
+	 * @return the equivalent equatorial coordinates
+	 */
+	public static EquatorialCoordinate toEquatorial(double longitude, double latitude, double obliquity) {
+		double[] result = new double[2];
+		toEquatorial(longitude, latitude, obliquity, result);
+		return new EquatorialCoordinate(result[0], result[1]);
+	}
+
+	/**
+	 * Converts ecliptic coordinates to equatorial coordinates without allocating.
+	 *
+	 * @param longitude ecliptic longitude in degrees
+	 * @param latitude ecliptic latitude in degrees
+	 * @param obliquity obliquity of the ecliptic in degrees
+	 * @param result receives right ascension (0 to 360) and declination in degrees in its first two elements
+	 */
+	public static void toEquatorial(double longitude, double latitude, double obliquity, double[] result) {
+		double lonRad = Math.toRadians(longitude);
+		double latRad = Math.toRadians(latitude);
+		double epsRad = Math.toRadians(obliquity);
+		double sinLon = Math.sin(lonRad);
+		double sinLat = Math.sin(latRad);
+		double cosLat = Math.cos(latRad);
+		double sinEps = Math.sin(epsRad);
+		double cosEps = Math.cos(epsRad);
+
+		double rightAscension = Math.toDegrees(Math.atan2(sinLon * cosEps - Math.tan(latRad) * sinEps, Math.cos(lonRad)));
+		double sinDec = sinLat * cosEps + cosLat * sinEps * sinLon;
+		double declination = Math.toDegrees(Math.asin(Math.max(-1.0, Math.min(1.0, sinDec))));
+
+		result[0] = normalizeDegrees(rightAscension);
+		result[1] = declination;
+	}
+
+	/**
+	 * Reduces an angle to the range 0 (inclusive) to 360 (exclusive) degrees.
+	 *
+	 * @param degrees angle in degrees
+	 * @return the equivalent angle in [0, 360)
+	 */
+	public static double normalizeDegrees(double degrees) {
+		double result = degrees % 360.0;
+		if (result < 0) {
+			result += 360.0;
+		}
+		if (result >= 360.0) {
+			result -= 360.0;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,224 @@
+package com.cosmoscore.position;
+
+/**
+ * Nutation in longitude and obliquity.
+ * <p>
+ * {@link #inLongitude(double)} and {@link #inObliquity(double)} use the four largest terms of the IAU 1980
+ * theory (Meeus, <i>Astronomical Algorithms</i>, chapter 22), accurate to about 0.5 arcseconds in longitude
+ * and 0.1 arcseconds in obliquity. {@link #iau1980(double, double[])} sums all 63 terms of the theory
+ * for frame rotations that need milliarcsecond consistency.
+ */
+public final class Nutation {
+
+	/**
+	 * Multiples of D, M, M', F and Ω for each term of the IAU 1980 series (Meeus, table 22.A)
+	 */
+	private static final int[] ARGUMENTS = {
+		0, 0, 0, 0, 1,
+		-2, 0, 0, 2, 2,
+		0, 0, 0, 2, 2,
+		0, 0, 0, 0, 2,
+		0, 1, 0, 0, 0,
+		0, 0, 1, 0, 0,
+		-2, 1, 0, 2, 2,
+		0, 0, 0, 2, 1,
+		0, 0, 1, 2, 2,
+		-2, -1, 0, 2, 2,
+		-2, 0, 1, 0, 0,
+		-2, 0, 0, 2, 1,
+		0, 0, -1, 2, 2,
+		2, 0, 0, 0, 0,
+		0, 0, 1, 0, 1,
+		2, 0, -1, 2, 2,
+		0, 0, -1, 0, 1,
+		0, 0, 1, 2, 1,
+		-2, 0, 2, 0, 0,
+		0, 0, -2, 2, 1,
+		2, 0, 0, 2, 2,
+		0, 0, 2, 2, 2,
+		0, 0, 2, 0, 0,
+		-2, 0, 1, 2, 2,
+		0, 0, 0, 2, 0,
+		-2, 0, 0, 2, 0,
+		0, 0, -1, 2, 1,
+		0, 2, 0, 0, 0,
+		2, 0, -1, 0, 1,
+		-2, 2, 0, 2, 2,
+		0, 1, 0, 0, 1,
+		-2, 0, 1, 0, 1,
+		0, -1, 0, 0, 1,
+		0, 0, 2, -2, 0,
+		2, 0, -1, 2, 1,
+		2, 0, 1, 2, 2,
+		0, 1, 0, 2, 2,
+		-2, 1, 1, 0, 0,
+		0, -1, 0, 2, 2,
+		2, 0, 0, 2, 1,
+		2, 0, 1, 0, 0,
+		-2, 0, 2, 2, 2,
+		-2, 0, 1, 2, 1,
+		2, 0, -2, 0, 1,
+		2, 0, 0, 0, 1,
+		0, -1, 1, 0, 0,
+		-2, -1, 0, 2, 1,
+		-2, 0, 0, 0, 1,
+		0, 0, 2, 2, 1,
+		-2, 0, 2, 0, 1,
+		-2, 1, 0, 2, 1,
+		0, 0, 1, -2, 0,
+		-1, 0, 1, 0, 0,
+		-2, 1, 0, 0, 0,
+		1, 0, 0, 0, 0,
+		0, 0, 1, 2, 0,
+		0, 0, -2, 2, 2,
+		-1, -1, 1, 0, 0,
+		0, 1, 1, 0, 0,
+		0, -1, 1, 2, 2,
+		2, -1, -1, 2, 2,
+		0, 0, 3, 2, 2,
+		2, -1, 0, 2, 2
+	};
+
+	/**
+	 * Sine coefficient of Δψ with its rate per century, then cosine coefficient of Δε with its rate,
+	 * in units of 0.0001 arcseconds
+	 */
+	private static final double[] COEFFICIENTS = {
+		-171996, -174.2, 92025, 8.9,
+		-13187, -1.6, 5736, -3.1,
+		-2274, -0.2, 977, -0.5,
+		2062, 0.2, -895, 0.5,
+		1426, -3.4, 54, -0.1,
+		712, 0.1, -7, 0,
+		-517, 1.2, 224, -0.6,
+		-386, -0.4, 200, 0,
+		-301, 0, 129, -0.1,
+		217, -0.5, -95, 0.3,
+		-158, 0, 0, 0,
+		129, 0.1, -70, 0,
+		123, 0, -53, 0,
+		63, 0, 0, 0,
+		63, 0.1, -33, 0,
+		-59, 0, 26, 0,
+		-58, -0.1, 32, 0,
+		-51, 0, 27, 0,
+		48, 0, 0, 0,
+		46, 0, -24, 0,
+		-38, 0, 16, 0,
+		-31, 0, 13, 0,
+		29, 0, 0, 0,
+		29, 0, -12, 0,
+		26, 0, 0, 0,
+		-22, 0, 0, 0,
+		21, 0, -10, 0,
+		17, -0.1, 0, 0,
+		16, 0, -8, 0,
+		-16, 0.1, 7, 0,
+		-15, 0, 9, 0,
+		-13, 0, 7, 0,
+		-12, 0, 6, 0,
+		11, 0, 0, 0,
+		-10, 0, 5, 0,
+		-8, 0, 3, 0,
+		7, 0, -3, 0,
+		-7, 0, 0, 0,
+		-7, 0, 3, 0,
+		-7, 0, 3, 0,
+		6, 0, 0, 0,
+		6, 0, -3, 0,
+		6, 0, -3, 0,
+		-6, 0, 3, 0,
+		-6, 0, 3, 0,
+		5, 0, 0, 0,
+		-5, 0, 3, 0,
+		-5, 0, 3, 0,
+		-5, 0, 3, 0,
+		4, 0, 0, 0,
+		4, 0, 0, 0,
+		4, 0, 0, 0,
+		-4, 0, 0, 0,
+		-4, 0, 0, 0,
+		-4, 0, 0, 0,
+		3, 0, 0, 0,
+		-3, 0, 0, 0,
+		-3, 0, 0, 0,
+		-3, 0, 0, 0,
+		-3, 0, 0, 0,
+		-3, 0, 0, 0,
+		-3, 0, 0, 0,
+		-3, 0, 0, 0
+	};
+
+	private Nutation() {
+	}
+
+	/**
+	 * Calculates the nutation in longitude.
+	 *
+	 * @param t Julian centuries since J2000.0
+	 * @return nutation in longitude in degrees
+	 */
+	public static double inLongitude(double t) {
+		double omega = omega(t);
+		double sunLongitude = 2.0 * Math.toRadians(280.4665 + 36000.7698 * t);
+		double moonLongitude = 2.0 * Math.toRadians(218.3165 + 481267.8813 * t);
+		return (-17.20 * Math.sin(omega) - 1.32 * Math.sin(sunLongitude)
+			- 0.23 * Math.sin(moonLongitude) + 0.21 * Math.sin(2.0 * omega)) / 3600.0;
+	}
+
+	/**
+	 * Calculates the nutation in obliquity.
+	 *
+	 * @param t Julian centuries since J2000.0
+	 * @return nutation in obliquity in degrees
+	 */
+	public static double inObliquity(double t) {
+		double omega = omega(t);
+		double sunLongitude = 2.0 * Math.toRadians(280.4665 + 36000.7698 * t);
+		double moonLongitude = 2.0 * Math.toRadians(218.3165 + 481267.8813 * t);
+		return (9.20 * Math.cos(omega) + 0.57 * Math.cos(sunLongitude)
+			+ 0.10 * Math.cos(moonLongitude) - 0.09 * Math.cos(2.0 * omega)) / 3600.0;
+	}
+
+	/**
+	 * Calculates the true obliquity of the ecliptic, the mean obliquity plus nutation.
+	 *
+	 * @param t Julian centuries since J2000.0
+	 * @return true obliquity in degrees
+	 */
+	public static double trueObliquity(double t) {
+		return Ecliptic.meanObliquity(t) + inObliquity(t);
+	}
+
+	/**
+	 * Calculates the nutation in longitude and obliquity from the full IAU 1980 series.
+	 *
+	 * @param t Julian centuries since J2000.0
+	 * @param result receives the nutation in longitude and in obliquity, in degrees
+	 */
+	public static void iau1980(double t, double[] result) {
+		double d = Math.toRadians(297.85036 + t * (445267.111480 - t * (0.0019142 - t / 189474.0)));
+		double m = Math.toRadians(357.52772 + t * (35999.050340 - t * (0.0001603 + t / 300000.0)));
+		double mPrime = Math.toRadians(134.96298 + t * (477198.867398 + t * (0.0086972 + t / 56250.0)));
+		double f = Math.toRadians(93.27191 + t * (483202.017538 - t * (0.0036825 - t / 327270.0)));
+		double omega = omega(t);
+
+		double longitude = 0;
+		double obliquity = 0;
+		for (int a = 0, c = 0; a < ARGUMENTS.length; a += 5, c += 4) {
+			double argument = ARGUMENTS[a] * d + ARGUMENTS[a + 1] * m + ARGUMENTS[a + 2] * mPrime
+				+ ARGUMENTS[a + 3] * f + ARGUMENTS[a + 4] * omega;
+			longitude += (COEFFICIENTS[c] + COEFFICIENTS[c + 1] * t) * Math.sin(argument);
+			obliquity += (COEFFICIENTS[c + 2] + COEFFICIENTS[c + 3] * t) * Math.cos(argument);
+		}
+		result[0] = longitude / 36_000_000.0;
+		result[1] = obliquity / 36_000_000.0;
+	}
+
+	/**
+	 * Longitude of the Moon's ascending node in radians
+	 */
+	private static double omega(double t) {
+		return Math.toRadians(125.04452 - t * (1934.136261 - t * (0.0020708 + t / 450000.0)));
+	}
+}
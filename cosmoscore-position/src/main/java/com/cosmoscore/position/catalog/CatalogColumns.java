@@ -0,0 +1,76 @@
+package com.cosmoscore.position.catalog;
+
+import java.util.Arrays;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Growable catalog columns, filled row by row while a catalog is read and trimmed once at the end.
+ */
+final class CatalogColumns {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private int size;
+	private long[] ids;
+	private double[] rightAscension;
+	private double[] declination;
+	private float[] magnitude;
+	private float[] properMotionRa;
+	private float[] properMotionDec;
+	private float[] parallax;
+	private float[] radialVelocity;
+
+	CatalogColumns() {
+		allocate(INITIAL_CAPACITY);
+	}
+
+	int size() {
+		return size;
+	}
+
+	void add(long id, double ra, double dec, double mag, double pmRa, double pmDec, double plx, double rv) {
+		if (size == ids.length) {
+			allocate(size + (size >> 1));
+		}
+		ids[size] = id;
+		rightAscension[size] = ra;
+		declination[size] = dec;
+		magnitude[size] = (float) mag;
+		properMotionRa[size] = (float) pmRa;
+		properMotionDec[size] = (float) pmDec;
+		parallax[size] = (float) plx;
+		radialVelocity[size] = (float) rv;
+		size++;
+	}
+
+	StarCatalog build(JulianDate epoch) {
+		if (size != ids.length) {
+			allocate(size);
+		}
+		return new StarCatalog(epoch, ids, rightAscension, declination, magnitude, properMotionRa, properMotionDec,
+			parallax, radialVelocity);
+	}
+
+	private void allocate(int capacity) {
+		if (ids == null) {
+			ids = new long[capacity];
+			rightAscension = new double[capacity];
+			declination = new double[capacity];
+			magnitude = new float[capacity];
+			properMotionRa = new float[capacity];
+			properMotionDec = new float[capacity];
+			parallax = new float[capacity];
+			radialVelocity = new float[capacity];
+			return;
+		}
+		ids = Arrays.copyOf(ids, capacity);
+		rightAscension = Arrays.copyOf(rightAscension, capacity);
+		declination = Arrays.copyOf(declination, capacity);
+		magnitude = Arrays.copyOf(magnitude, capacity);
+		properMotionRa = Arrays.copyOf(properMotionRa, capacity);
+		properMotionDec = Arrays.copyOf(properMotionDec, capacity);
+		parallax = Arrays.copyOf(parallax, capacity);
+		radialVelocity = Arrays.copyOf(radialVelocity, capacity);
+	}
+}
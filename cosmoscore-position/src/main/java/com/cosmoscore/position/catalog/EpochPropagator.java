@@ -0,0 +1,209 @@
+package com.cosmoscore.position.catalog;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Propagates every star of a catalog from the catalog epoch to another date, using proper motion,
+ * parallax and radial velocity.
+ * <p>
+ * Each star is moved along a straight line in space (the rigorous model of the Hipparcos catalogue,
+ * volume 1, section 1.5.5), which includes perspective acceleration from the radial velocity. Unit
+ * position vectors and space motions are computed once at construction, so propagating the whole catalog
+ * to a new date costs one multiply-add and two inverse tangents per star, written straight into
+ * caller-supplied right ascension and declination arrays.
+ * <p>
+ * Positions are barycentric unless an observer position is given, in which case annual parallax is
+ * applied for that observer. Light-time across the star's motion is neglected. Instances are immutable
+ * and safe to share between threads.
+ */
+public final class EpochPropagator {
+
+	/**
+	 * One astronomical unit per Julian year, in kilometres per second
+	 */
+	private static final double AU_PER_YEAR = 4.740470446;
+
+	private static final double MILLIARCSECONDS_TO_RADIANS = Math.PI / (180.0 * 3600.0 * 1000.0);
+	private static final double DAYS_PER_JULIAN_YEAR = 365.25;
+
+	private final StarCatalog catalog;
+	private final Vector3DBuffer position;
+	private final Vector3DBuffer motion;
+
+	/**
+	 * Prepares a catalog for propagation.
+	 *
+	 * @param catalog the catalog
+	 */
+	public EpochPropagator(StarCatalog catalog) {
+		this.catalog = Objects.requireNonNull(catalog, "Catalog must not be null");
+		int size = catalog.size();
+		this.position = new Vector3DBuffer(size);
+		this.motion = new Vector3DBuffer(size);
+
+		for (int i = 0; i < size; i++) {
+			double ra = Math.toRadians(catalog.rightAscension[i]);
+			double dec = Math.toRadians(catalog.declination[i]);
+			double sinRa = Math.sin(ra);
+			double cosRa = Math.cos(ra);
+			double sinDec = Math.sin(dec);
+			double cosDec = Math.cos(dec);
+
+			// Radial proper motion: the radial velocity as a relative rate of change of distance
+			double pmRadial = catalog.radialVelocity[i] * catalog.parallax[i] / AU_PER_YEAR * MILLIARCSECONDS_TO_RADIANS;
+			double pmRa = catalog.properMotionRa[i] * MILLIARCSECONDS_TO_RADIANS;
+			double pmDec = catalog.properMotionDec[i] * MILLIARCSECONDS_TO_RADIANS;
+
+			// Unit vectors towards the star (r), east (p) and north (q)
+			double rx = cosDec * cosRa;
+			double ry = cosDec * sinRa;
+			double rz = sinDec;
+			position.set(i, rx, ry, rz);
+			motion.set(i,
+				-sinRa * pmRa - sinDec * cosRa * pmDec + rx * pmRadial,
+				cosRa * pmRa - sinDec * sinRa * pmDec + ry * pmRadial,
+				cosDec * pmDec + rz * pmRadial);
+		}
+	}
+
+	/**
+	 * Returns the catalog being propagated
+	 */
+	public StarCatalog catalog() {
+		return catalog;
+	}
+
+	/**
+	 * Propagates one star.
+	 *
+	 * @param row the star's row in the catalog
+	 * @param target date to propagate to
+	 * @return the barycentric position at the target date
+	 */
+	public EquatorialCoordinate position(int row, JulianDate target) {
+		double years = years(target);
+		Vector3D direction = position.get(row).add(motion.get(row).multiply(years));
+		return toEquatorial(direction.x(), direction.y(), direction.z());
+	}
+
+	/**
+	 * Propagates every star to a date as seen from the solar system barycentre.
+	 *
+	 * @param target date to propagate to
+	 * @param rightAscension receives right ascensions in degrees (0 to 360), one per row
+	 * @param declination receives declinations in degrees, one per row
+	 * @throws IllegalArgumentException if an output array is shorter than the catalog
+	 */
+	public void propagate(JulianDate target, double[] rightAscension, double[] declination) {
+		propagate(target, Vector3D.zero(), rightAscension, declination);
+	}
+
+	/**
+	 * Propagates every star to a date as seen by an observer, applying annual parallax.
+	 * The Earth's barycentric position is close to {@code SunPosition.geocentricPosition(jd).multiply(-1)}.
+	 *
+	 * @param target date to propagate to
+	 * @param observer barycentric position of the observer in astronomical units, in the catalog's equatorial frame
+	 * @param rightAscension receives right ascensions in degrees (0 to 360), one per row
+	 * @param declination receives declinations in degrees, one per row
+	 * @throws IllegalArgumentException if an output array is shorter than the catalog
+	 */
+	public void propagate(JulianDate target, Vector3D observer, double[] rightAscension, double[] declination) {
+		checkOutput(observer, rightAscension, declination);
+		propagate(years(target), observer, rightAscension, declination, 0, catalog.size());
+	}
+
+	/**
+	 * Propagates every star to a date as seen from the solar system barycentre, spreading the work over
+	 * the common {@link ForkJoinPool}.
+	 *
+	 * @param target date to propagate to
+	 * @param rightAscension receives right ascensions in degrees (0 to 360), one per row
+	 * @param declination receives declinations in degrees, one per row
+	 * @throws IllegalArgumentException if an output array is shorter than the catalog
+	 */
+	public void parallelPropagate(JulianDate target, double[] rightAscension, double[] declination) {
+		parallelPropagate(target, Vector3D.zero(), rightAscension, declination);
+	}
+
+	/**
+	 * Propagates every star to a date as seen by an observer, spreading the work over the common
+	 * {@link ForkJoinPool}. Each row is written by exactly one task, so the results equal those of
+	 * {@link #propagate(JulianDate, Vector3D, double[], double[])}.
+	 *
+	 * @param target date to propagate to
+	 * @param observer barycentric position of the observer in astronomical units, in the catalog's equatorial frame
+	 * @param rightAscension receives right ascensions in degrees (0 to 360), one per row
+	 * @param declination receives declinations in degrees, one per row
+	 * @throws IllegalArgumentException if an output array is shorter than the catalog
+	 */
+	public void parallelPropagate(JulianDate target, Vector3D observer, double[] rightAscension, double[] declination) {
+		checkOutput(observer, rightAscension, declination);
+		ForkJoinPool.commonPool().invoke(new PropagationTask(this, years(target), observer, rightAscension,
+			declination, 0, catalog.size()));
+	}
+
+	/**
+	 * Propagates the rows in {@code [from, to)}
+	 */
+	void propagate(double years, Vector3D observer, double[] rightAscension, double[] declination, int from, int to) {
+		float[] parallax = catalog.parallax;
+		double ox = observer.x();
+		double oy = observer.y();
+		double oz = observer.z();
+		boolean barycentric = ox == 0 && oy == 0 && oz == 0;
+
+		for (int i = from; i < to; i++) {
+			double x = position.x(i) + motion.x(i) * years;
+			double y = position.y(i) + motion.y(i) * years;
+			double z = position.z(i) + motion.z(i) * years;
+			if (!barycentric) {
+				double shift = parallax[i] * MILLIARCSECONDS_TO_RADIANS;
+				x -= ox * shift;
+				y -= oy * shift;
+				z -= oz * shift;
+			}
+
+			double ra = Math.toDegrees(Math.atan2(y, x));
+			if (ra < 0) {
+				ra += 360.0;
+			}
+			if (ra >= 360.0) {
+				ra -= 360.0;
+			}
+			rightAscension[i] = ra;
+			declination[i] = Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y)));
+		}
+	}
+
+	private double years(JulianDate target) {
+		Objects.requireNonNull(target, "Target date must not be null");
+		return catalog.epoch().daysUntil(target) / DAYS_PER_JULIAN_YEAR;
+	}
+
+	private void checkOutput(Vector3D observer, double[] rightAscension, double[] declination) {
+		Objects.requireNonNull(observer, "Observer must not be null");
+		Objects.requireNonNull(rightAscension, "Right ascension array must not be null");
+		Objects.requireNonNull(declination, "Declination array must not be null");
+		if (rightAscension.length < catalog.size() || declination.length < catalog.size()) {
+			throw new IllegalArgumentException("Output arrays must hold a position for every star");
+		}
+	}
+
+	private static EquatorialCoordinate toEquatorial(double x, double y, double z) {
+		double ra = Math.toDegrees(Math.atan2(y, x));
+		if (ra < 0) {
+			ra += 360.0;
+		}
+		if (ra >= 360.0) {
+			ra -= 360.0;
+		}
+		return new EquatorialCoordinate(ra, Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y))));
+	}
+}
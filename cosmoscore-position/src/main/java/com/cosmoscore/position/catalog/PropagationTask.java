@@ -0,0 +1,51 @@
+package com.cosmoscore.position.catalog;
+
+import java.util.concurrent.RecursiveAction;
+
+import com.cosmoscore.common.math.Vector3D;
+
+/**
+ * Propagates a range of catalog rows, splitting the range in half until it is small enough to run directly.
+ * Tasks write disjoint ranges of the output arrays, so no synchronisation is needed.
+ */
+final class PropagationTask extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Number of rows below which a task propagates directly instead of splitting
+	 */
+	static final int THRESHOLD = 4096;
+
+	// Tasks are never serialized, so the references they share are not part of their serial form
+	private final transient EpochPropagator propagator;
+	private final double years;
+	private final transient Vector3D observer;
+	private final double[] rightAscension;
+	private final double[] declination;
+	private final int from;
+	private final int to;
+
+	PropagationTask(EpochPropagator propagator, double years, Vector3D observer, double[] rightAscension,
+		double[] declination, int from, int to) {
+		this.propagator = propagator;
+		this.years = years;
+		this.observer = observer;
+		this.rightAscension = rightAscension;
+		this.declination = declination;
+		this.from = from;
+		this.to = to;
+	}
+
+	@Override
+	protected void compute() {
+		if (to - from <= THRESHOLD) {
+			propagator.propagate(years, observer, rightAscension, declination, from, to);
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		invokeAll(
+			new PropagationTask(propagator, years, observer, rightAscension, declination, from, mid),
+			new PropagationTask(propagator, years, observer, rightAscension, declination, mid, to));
+	}
+}
@@ -0,0 +1,246 @@
+package com.cosmoscore.position.catalog;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.index.SkyIndex;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * A star catalog held column by column in primitive arrays, addressed by row index.
+ * <p>
+ * A star costs 44 bytes: a long identifier, right ascension and declination as doubles, and magnitude,
+ * proper motion, parallax and radial velocity as floats, whose seven significant digits are finer than
+ * any catalog quotes them. No object is kept per star; {@link #coordinate(int)}, {@link #coordinates()} and
+ * {@link #forEach(PositionConsumer)} hand out positions on demand. A catalog of two million stars takes
+ * about 88 MB.
+ * <p>
+ * Missing magnitudes are NaN; missing proper motion, parallax and radial velocity are zero.
+ * The catalog is immutable and safe to share between threads.
+ *
+ * @see StarCatalogReader
+ */
+public final class StarCatalog {
+
+	/**
+	 * Epoch of the Hipparcos catalog, J1991.25
+	 */
+	public static final JulianDate HIPPARCOS_EPOCH = new JulianDate(2448349L, 0.0625);
+
+	/**
+	 * Epoch of Gaia DR3, J2016.0
+	 */
+	public static final JulianDate GAIA_DR3_EPOCH = new JulianDate(2457389L, 0.0);
+
+	private final JulianDate epoch;
+
+	// Columns are read directly by the readers, writer and propagation in this package
+	final long[] ids;
+	final double[] rightAscension;
+	final double[] declination;
+	final float[] magnitude;
+	final float[] properMotionRa;
+	final float[] properMotionDec;
+	final float[] parallax;
+	final float[] radialVelocity;
+
+	StarCatalog(JulianDate epoch, long[] ids, double[] rightAscension, double[] declination, float[] magnitude,
+		float[] properMotionRa, float[] properMotionDec, float[] parallax, float[] radialVelocity) {
+		this.epoch = epoch;
+		this.ids = ids;
+		this.rightAscension = rightAscension;
+		this.declination = declination;
+		this.magnitude = magnitude;
+		this.properMotionRa = properMotionRa;
+		this.properMotionDec = properMotionDec;
+		this.parallax = parallax;
+		this.radialVelocity = radialVelocity;
+	}
+
+	/**
+	 * Receives positions from {@link #forEach(PositionConsumer)}.
+	 */
+	@FunctionalInterface
+	public interface PositionConsumer {
+		/**
+		 * @param row row index
+		 * @param rightAscension right ascension in degrees
+		 * @param declination declination in degrees
+		 */
+		void accept(int row, double rightAscension, double declination);
+	}
+
+	/**
+	 * Creates a catalog from columns, which are copied. Optional columns may be null.
+	 *
+	 * @param epoch epoch of the positions
+	 * @param ids identifiers, or null to number rows from zero
+	 * @param rightAscension right ascensions in degrees (0 to 360)
+	 * @param declination declinations in degrees (-90 to +90)
+	 * @param magnitude magnitudes, or null
+	 * @param properMotionRa proper motions in right ascension, μα·cos δ, in milliarcseconds per year, or null
+	 * @param properMotionDec proper motions in declination in milliarcseconds per year, or null
+	 * @param parallax parallaxes in milliarcseconds, or null
+	 * @param radialVelocity radial velocities in kilometres per second, or null
+	 * @return the catalog
+	 * @throws IllegalArgumentException if the columns differ in length or a coordinate is out of range
+	 */
+	public static StarCatalog of(JulianDate epoch, long[] ids, double[] rightAscension, double[] declination,
+		float[] magnitude, float[] properMotionRa, float[] properMotionDec, float[] parallax, float[] radialVelocity) {
+		Objects.requireNonNull(epoch, "Epoch must not be null");
+		Objects.requireNonNull(rightAscension, "Right ascension array must not be null");
+		Objects.requireNonNull(declination, "Declination array must not be null");
+		int size = rightAscension.length;
+		if (declination.length != size
+			|| (ids != null && ids.length != size)
+			|| (magnitude != null && magnitude.length != size)
+			|| (properMotionRa != null && properMotionRa.length != size)
+			|| (properMotionDec != null && properMotionDec.length != size)
+			|| (parallax != null && parallax.length != size)
+			|| (radialVelocity != null && radialVelocity.length != size)) {
+			throw new IllegalArgumentException("Catalog columns must all have the same length");
+		}
+		for (int i = 0; i < size; i++) {
+			checkPosition(rightAscension[i], declination[i]);
+		}
+
+		long[] rows;
+		if (ids != null) {
+			rows = ids.clone();
+		} else {
+			rows = new long[size];
+			Arrays.setAll(rows, row -> row);
+		}
+		return new StarCatalog(epoch, rows, rightAscension.clone(), declination.clone(),
+			copyOrFill(magnitude, size, Float.NaN), copyOrFill(properMotionRa, size, 0f),
+			copyOrFill(properMotionDec, size, 0f), copyOrFill(parallax, size, 0f), copyOrFill(radialVelocity, size, 0f));
+	}
+
+	/**
+	 * Returns the epoch of the positions
+	 */
+	public JulianDate epoch() {
+		return epoch;
+	}
+
+	/**
+	 * Returns the number of stars
+	 */
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * Returns the identifier of a star
+	 */
+	public long id(int row) {
+		return ids[row];
+	}
+
+	/**
+	 * Returns the right ascension of a star in degrees
+	 */
+	public double rightAscension(int row) {
+		return rightAscension[row];
+	}
+
+	/**
+	 * Returns the declination of a star in degrees
+	 */
+	public double declination(int row) {
+		return declination[row];
+	}
+
+	/**
+	 * Returns the magnitude of a star, or NaN if unknown
+	 */
+	public double magnitude(int row) {
+		return magnitude[row];
+	}
+
+	/**
+	 * Returns the proper motion in right ascension, μα·cos δ, in milliarcseconds per year
+	 */
+	public double properMotionRa(int row) {
+		return properMotionRa[row];
+	}
+
+	/**
+	 * Returns the proper motion in declination in milliarcseconds per year
+	 */
+	public double properMotionDec(int row) {
+		return properMotionDec[row];
+	}
+
+	/**
+	 * Returns the parallax in milliarcseconds
+	 */
+	public double parallax(int row) {
+		return parallax[row];
+	}
+
+	/**
+	 * Returns the radial velocity in kilometres per second
+	 */
+	public double radialVelocity(int row) {
+		return radialVelocity[row];
+	}
+
+	/**
+	 * Returns the position of a star at the catalog epoch
+	 */
+	public EquatorialCoordinate coordinate(int row) {
+		return new EquatorialCoordinate(rightAscension[row], declination[row]);
+	}
+
+	/**
+	 * Returns the positions of all stars, created as the stream is consumed
+	 */
+	public Stream<EquatorialCoordinate> coordinates() {
+		return IntStream.range(0, size()).mapToObj(this::coordinate);
+	}
+
+	/**
+	 * Passes every star's position to a consumer in row order, without allocating.
+	 *
+	 * @param consumer receives each row and position
+	 */
+	public void forEach(PositionConsumer consumer) {
+		Objects.requireNonNull(consumer, "Consumer must not be null");
+		for (int i = 0; i < rightAscension.length; i++) {
+			consumer.accept(i, rightAscension[i], declination[i]);
+		}
+	}
+
+	/**
+	 * Builds a spatial index over the catalog positions. Results of the index are row indices.
+	 *
+	 * @return the index
+	 */
+	public SkyIndex skyIndex() {
+		return SkyIndex.build(rightAscension, declination);
+	}
+
+	static void checkPosition(double rightAscension, double declination) {
+		if (!(rightAscension >= 0 && rightAscension < 360)) {
+			throw new IllegalArgumentException("Right ascension must be between 0 and 360 degrees");
+		}
+		if (!(declination >= -90 && declination <= 90)) {
+			throw new IllegalArgumentException("Declination must be between -90 and +90 degrees");
+		}
+	}
+
+	private static float[] copyOrFill(float[] column, int size, float missing) {
+		if (column != null) {
+			return column.clone();
+		}
+		float[] filled = new float[size];
+		if (missing != 0f) {
+			Arrays.fill(filled, missing);
+		}
+		return filled;
+	}
+}
@@ -0,0 +1,380 @@
+package com.cosmoscore.position.catalog;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Reads star catalogs from CSV text or from the binary format written by {@link StarCatalogWriter}.
+ * <p>
+ * CSV input is streamed through a byte buffer and numbers are parsed straight from the bytes, so no
+ * string or object is created per row. The first line that is not blank or a {@code #} comment is a header
+ * naming the columns; {@code ra} and {@code dec} in degrees are required, and {@code id}, {@code mag},
+ * {@code pmra}, {@code pmdec}, {@code parallax} and {@code radial_velocity} are optional. Common Hipparcos
+ * and Gaia column names such as {@code source_id}, {@code phot_g_mean_mag} and {@code plx} are recognised,
+ * and any other column is skipped. Empty fields are treated as missing.
+ */
+public final class StarCatalogReader {
+
+	private static final int ID = 0;
+	private static final int RIGHT_ASCENSION = 1;
+	private static final int DECLINATION = 2;
+	private static final int MAGNITUDE = 3;
+	private static final int PROPER_MOTION_RA = 4;
+	private static final int PROPER_MOTION_DEC = 5;
+	private static final int PARALLAX = 6;
+	private static final int RADIAL_VELOCITY = 7;
+	private static final int COLUMNS = 8;
+
+	private static final String[] COLUMN_NAMES = {
+		"id", "ra", "dec", "magnitude", "pmra", "pmdec", "parallax", "radial velocity"};
+
+	private static final Map<String, Integer> HEADERS = Map.ofEntries(
+		Map.entry("id", ID), Map.entry("source_id", ID), Map.entry("hip", ID),
+		Map.entry("ra", RIGHT_ASCENSION), Map.entry("ra_deg", RIGHT_ASCENSION), Map.entry("radeg", RIGHT_ASCENSION),
+		Map.entry("dec", DECLINATION), Map.entry("de", DECLINATION), Map.entry("dec_deg", DECLINATION),
+		Map.entry("dedeg", DECLINATION),
+		Map.entry("mag", MAGNITUDE), Map.entry("vmag", MAGNITUDE), Map.entry("hpmag", MAGNITUDE),
+		Map.entry("gmag", MAGNITUDE), Map.entry("phot_g_mean_mag", MAGNITUDE),
+		Map.entry("pmra", PROPER_MOTION_RA),
+		Map.entry("pmdec", PROPER_MOTION_DEC), Map.entry("pmde", PROPER_MOTION_DEC),
+		Map.entry("parallax", PARALLAX), Map.entry("plx", PARALLAX),
+		Map.entry("radial_velocity", RADIAL_VELOCITY), Map.entry("rv", RADIAL_VELOCITY));
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Digits that fit a double's 53-bit mantissa exactly
+	 */
+	private static final int EXACT_DIGITS = 15;
+
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+	private final JulianDate epoch;
+	private final CatalogColumns columns = new CatalogColumns();
+	private final double[] values = new double[COLUMNS];
+	private int[] fieldColumns;
+
+	private StarCatalogReader(JulianDate epoch) {
+		this.epoch = epoch;
+	}
+
+	/**
+	 * Reads a catalog from a CSV file.
+	 *
+	 * @param path the file
+	 * @param epoch epoch of the positions in the file
+	 * @return the catalog
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the header or a row is malformed
+	 */
+	public static StarCatalog readCsv(Path path, JulianDate epoch) throws IOException {
+		try (InputStream input = Files.newInputStream(path)) {
+			return readCsv(input, epoch);
+		}
+	}
+
+	/**
+	 * Reads a catalog from CSV text. The stream is read to its end but not closed.
+	 *
+	 * @param input the CSV text
+	 * @param epoch epoch of the positions in the text
+	 * @return the catalog
+	 * @throws IOException if the stream cannot be read
+	 * @throws IllegalArgumentException if the header or a row is malformed
+	 */
+	public static StarCatalog readCsv(InputStream input, JulianDate epoch) throws IOException {
+		Objects.requireNonNull(input, "Input must not be null");
+		Objects.requireNonNull(epoch, "Epoch must not be null");
+		StarCatalogReader reader = new StarCatalogReader(epoch);
+
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int start = 0;
+		int end = 0;
+		int lineNumber = 0;
+		boolean endOfInput = false;
+		while (true) {
+			int newline = start;
+			while (newline < end && buffer[newline] != '\n') {
+				newline++;
+			}
+			if (newline < end) {
+				reader.line(buffer, start, newline, ++lineNumber);
+				start = newline + 1;
+				continue;
+			}
+			if (endOfInput) {
+				if (start < end) {
+					reader.line(buffer, start, end, ++lineNumber);
+				}
+				break;
+			}
+			// Keep the partial line and refill the rest of the buffer, growing it for very long lines
+			System.arraycopy(buffer, start, buffer, 0, end - start);
+			end -= start;
+			start = 0;
+			if (end == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			int read = input.read(buffer, end, buffer.length - end);
+			if (read < 0) {
+				endOfInput = true;
+			} else {
+				end += read;
+			}
+		}
+
+		if (reader.fieldColumns == null) {
+			throw new IllegalArgumentException("CSV input has no header");
+		}
+		return reader.columns.build(epoch);
+	}
+
+	/**
+	 * Reads a catalog written by {@link StarCatalogWriter}. Each column is copied from a mapping of the file
+	 * in one bulk transfer.
+	 *
+	 * @param path the file
+	 * @return the catalog
+	 * @throws IOException if the file cannot be read or is not a star catalog file
+	 */
+	public static StarCatalog readBinary(Path path) throws IOException {
+		ByteBuffer data;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Star catalog file is larger than 2 GiB");
+			}
+			data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		byte[] magic = new byte[StarCatalogWriter.MAGIC.length];
+		if (data.capacity() < StarCatalogWriter.HEADER_SIZE) {
+			throw new IOException("Not a star catalog file");
+		}
+		data.get(0, magic);
+		if (!Arrays.equals(magic, StarCatalogWriter.MAGIC)) {
+			throw new IOException("Not a star catalog file");
+		}
+		int version = data.getInt(8);
+		if (version != StarCatalogWriter.VERSION) {
+			throw new IOException("Unsupported star catalog file version: " + version);
+		}
+		int count = data.getInt(12);
+		if (count < 0 || StarCatalogWriter.HEADER_SIZE + (long) count * StarCatalogWriter.BYTES_PER_STAR != data.capacity()) {
+			throw new IOException("Corrupt star catalog file");
+		}
+		JulianDate epoch = new JulianDate(data.getLong(16), data.getDouble(24));
+
+		int position = StarCatalogWriter.HEADER_SIZE;
+		long[] ids = new long[count];
+		column(data, position, count * Long.BYTES).asLongBuffer().get(ids);
+		position += count * Long.BYTES;
+
+		double[][] doubles = new double[2][count];
+		for (double[] values : doubles) {
+			column(data, position, count * Double.BYTES).asDoubleBuffer().get(values);
+			position += count * Double.BYTES;
+		}
+		float[][] floats = new float[5][count];
+		for (float[] values : floats) {
+			column(data, position, count * Float.BYTES).asFloatBuffer().get(values);
+			position += count * Float.BYTES;
+		}
+		return new StarCatalog(epoch, ids, doubles[0], doubles[1], floats[0], floats[1], floats[2], floats[3], floats[4]);
+	}
+
+	/**
+	 * Parses a decimal number from ASCII bytes. Numbers of up to 15 significant digits with a
+	 * decimal exponent of at most 22 are converted with one correctly rounded multiplication or division;
+	 * anything else falls back to {@link Double#parseDouble(String)}.
+	 *
+	 * @throws NumberFormatException if the bytes are not a number
+	 */
+	static double parseDouble(byte[] bytes, int from, int to) {
+		int i = from;
+		boolean negative = false;
+		if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+			negative = bytes[i] == '-';
+			i++;
+		}
+
+		long mantissa = 0;
+		int significant = 0;
+		int exponent = 0;
+		boolean digits = false;
+		for (; i < to && isDigit(bytes[i]); i++) {
+			digits = true;
+			if (significant < 18) {
+				mantissa = mantissa * 10 + (bytes[i] - '0');
+				if (mantissa != 0) {
+					significant++;
+				}
+			} else {
+				exponent++;
+			}
+		}
+		if (i < to && bytes[i] == '.') {
+			for (i++; i < to && isDigit(bytes[i]); i++) {
+				digits = true;
+				if (significant < 18) {
+					mantissa = mantissa * 10 + (bytes[i] - '0');
+					if (mantissa != 0) {
+						significant++;
+					}
+					exponent--;
+				}
+			}
+		}
+		if (digits && i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+			int j = i + 1;
+			boolean negativeExponent = false;
+			if (j < to && (bytes[j] == '-' || bytes[j] == '+')) {
+				negativeExponent = bytes[j] == '-';
+				j++;
+			}
+			int value = 0;
+			int start = j;
+			for (; j < to && isDigit(bytes[j]) && value < 10000; j++) {
+				value = value * 10 + (bytes[j] - '0');
+			}
+			if (j > start) {
+				exponent += negativeExponent ? -value : value;
+				i = j;
+			}
+		}
+
+		if (!digits || i != to || significant > EXACT_DIGITS
+			|| exponent < -POWERS_OF_TEN.length + 1 || exponent >= POWERS_OF_TEN.length) {
+			return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.US_ASCII));
+		}
+		double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses a decimal integer from ASCII bytes.
+	 *
+	 * @throws NumberFormatException if the bytes are not an integer
+	 */
+	static long parseLong(byte[] bytes, int from, int to) {
+		int i = from;
+		boolean negative = i < to && bytes[i] == '-';
+		if (negative || (i < to && bytes[i] == '+')) {
+			i++;
+		}
+		if (i == to || to - i > 18) {
+			return Long.parseLong(new String(bytes, from, to - from, StandardCharsets.US_ASCII));
+		}
+		long value = 0;
+		for (; i < to; i++) {
+			if (!isDigit(bytes[i])) {
+				throw new NumberFormatException("Not an integer: " + new String(bytes, from, to - from, StandardCharsets.US_ASCII));
+			}
+			value = value * 10 + (bytes[i] - '0');
+		}
+		return negative ? -value : value;
+	}
+
+	private void line(byte[] buffer, int from, int to, int lineNumber) {
+		if (to > from && buffer[to - 1] == '\r') {
+			to--;
+		}
+		if (from == to || buffer[from] == '#') {
+			return;
+		}
+		if (fieldColumns == null) {
+			header(new String(buffer, from, to - from, StandardCharsets.US_ASCII));
+			return;
+		}
+
+		long id = columns.size();
+		values[RIGHT_ASCENSION] = Double.NaN;
+		values[DECLINATION] = Double.NaN;
+		values[MAGNITUDE] = Double.NaN;
+		values[PROPER_MOTION_RA] = 0;
+		values[PROPER_MOTION_DEC] = 0;
+		values[PARALLAX] = 0;
+		values[RADIAL_VELOCITY] = 0;
+
+		int field = 0;
+		int start = from;
+		for (int i = from; i <= to; i++) {
+			if (i < to && buffer[i] != ',') {
+				continue;
+			}
+			int column = field < fieldColumns.length ? fieldColumns[field] : -1;
+			int fieldStart = start;
+			int fieldEnd = i;
+			while (fieldStart < fieldEnd && buffer[fieldStart] == ' ') {
+				fieldStart++;
+			}
+			while (fieldEnd > fieldStart && buffer[fieldEnd - 1] == ' ') {
+				fieldEnd--;
+			}
+			if (column >= 0 && fieldStart < fieldEnd) {
+				try {
+					if (column == ID) {
+						id = parseLong(buffer, fieldStart, fieldEnd);
+					} else {
+						values[column] = parseDouble(buffer, fieldStart, fieldEnd);
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Malformed " + COLUMN_NAMES[column] + " at line " + lineNumber, e);
+				}
+			}
+			field++;
+			start = i + 1;
+		}
+
+		try {
+			StarCatalog.checkPosition(values[RIGHT_ASCENSION], values[DECLINATION]);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(e.getMessage() + " at line " + lineNumber, e);
+		}
+		columns.add(id, values[RIGHT_ASCENSION], values[DECLINATION], values[MAGNITUDE], values[PROPER_MOTION_RA],
+			values[PROPER_MOTION_DEC], values[PARALLAX], values[RADIAL_VELOCITY]);
+	}
+
+	private void header(String line) {
+		String[] names = line.split(",", -1);
+		int[] mapping = new int[names.length];
+		boolean[] seen = new boolean[COLUMNS];
+		for (int i = 0; i < names.length; i++) {
+			String name = names[i].strip().replace("\"", "").toLowerCase(Locale.ROOT);
+			Integer column = HEADERS.get(name);
+			// The first of several aliases for one column wins
+			if (column == null || seen[column]) {
+				mapping[i] = -1;
+			} else {
+				mapping[i] = column;
+				seen[column] = true;
+			}
+		}
+		if (!seen[RIGHT_ASCENSION] || !seen[DECLINATION]) {
+			throw new IllegalArgumentException("CSV header must name ra and dec columns");
+		}
+		fieldColumns = mapping;
+	}
+
+	private static ByteBuffer column(ByteBuffer data, int position, int length) {
+		return data.slice(position, length).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+}
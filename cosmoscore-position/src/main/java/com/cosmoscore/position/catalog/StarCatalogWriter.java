@@ -0,0 +1,87 @@
+package com.cosmoscore.position.catalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Writes a {@link StarCatalog} in the binary catalog format read by {@link StarCatalogReader#readBinary(Path)}.
+ * <p>
+ * The file is little-endian and laid out as:
+ * <pre>
+ * header   magic "CCSTARS1", int version, int star count, long epoch day, double epoch fraction
+ * columns  long ids, double right ascensions, double declinations, then float magnitudes,
+ *          proper motions in right ascension and declination, parallaxes and radial velocities
+ * </pre>
+ * Each column is stored contiguously, so reading one is a single bulk copy.
+ */
+public final class StarCatalogWriter {
+
+	static final byte[] MAGIC = "CCSTARS1".getBytes(StandardCharsets.US_ASCII);
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 8 + 4 + 4 + 8 + 8;
+	static final int BYTES_PER_STAR = Long.BYTES + 2 * Double.BYTES + 5 * Float.BYTES;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private StarCatalogWriter() {
+	}
+
+	/**
+	 * Writes a catalog, replacing any existing file.
+	 *
+	 * @param catalog the catalog
+	 * @param path the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(StarCatalog catalog, Path path) throws IOException {
+		Objects.requireNonNull(catalog, "Catalog must not be null");
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.put(MAGIC)
+			.putInt(VERSION)
+			.putInt(catalog.size())
+			.putLong(catalog.epoch().day())
+			.putDouble(catalog.epoch().fraction());
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+			StandardOpenOption.TRUNCATE_EXISTING)) {
+			for (long id : catalog.ids) {
+				ensureRemaining(channel, buffer, Long.BYTES);
+				buffer.putLong(id);
+			}
+			for (double[] column : new double[][] {catalog.rightAscension, catalog.declination}) {
+				for (double value : column) {
+					ensureRemaining(channel, buffer, Double.BYTES);
+					buffer.putDouble(value);
+				}
+			}
+			for (float[] column : new float[][] {catalog.magnitude, catalog.properMotionRa, catalog.properMotionDec,
+				catalog.parallax, catalog.radialVelocity}) {
+				for (float value : column) {
+					ensureRemaining(channel, buffer, Float.BYTES);
+					buffer.putFloat(value);
+				}
+			}
+			flush(channel, buffer);
+		}
+	}
+
+	private static void ensureRemaining(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush(channel, buffer);
+		}
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
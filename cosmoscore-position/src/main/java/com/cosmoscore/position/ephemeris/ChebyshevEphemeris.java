@@ -0,0 +1,147 @@
+package com.cosmoscore.position.ephemeris;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Approximates a position function of time with Chebyshev segments fitted on demand.
+ * <p>
+ * Time is divided into consecutive spans of equal length counted from J2000. The first request inside
+ * a span fits a {@link ChebyshevSegment} to the source function; later requests evaluate that segment.
+ * Segments are kept for the life of the ephemeris, and the one used last is checked first so sequential
+ * queries skip the map lookup. The ephemeris is safe to share between threads.
+ */
+public final class ChebyshevEphemeris {
+
+	private final Function<JulianDate, Vector3D> source;
+	private final double spanDays;
+	private final int degree;
+	private final ConcurrentHashMap<Long, ChebyshevSegment> segments = new ConcurrentHashMap<>();
+	private volatile ChebyshevSegment last;
+
+	/**
+	 * Creates an ephemeris over a source function.
+	 *
+	 * @param source the position function to approximate
+	 * @param spanDays length of each segment in days
+	 * @param degree degree of the fitted polynomials
+	 * @throws IllegalArgumentException if the span is not positive or the degree is negative
+	 */
+	public ChebyshevEphemeris(Function<JulianDate, Vector3D> source, double spanDays, int degree) {
+		this.source = Objects.requireNonNull(source, "Source must not be null");
+		if (!(spanDays > 0) || Double.isInfinite(spanDays)) {
+			throw new IllegalArgumentException("Segment span must be positive");
+		}
+		if (degree < 0) {
+			throw new IllegalArgumentException("Degree cannot be negative");
+		}
+		this.spanDays = spanDays;
+		this.degree = degree;
+	}
+
+	/**
+	 * Returns the length of each segment in days
+	 */
+	public double spanDays() {
+		return spanDays;
+	}
+
+	/**
+	 * Returns the degree of the fitted polynomials
+	 */
+	public int degree() {
+		return degree;
+	}
+
+	/**
+	 * Returns the number of segments fitted so far
+	 */
+	public int segmentCount() {
+		return segments.size();
+	}
+
+	/**
+	 * Evaluates the approximated position.
+	 *
+	 * @param jd Julian Date
+	 * @return the position, in the units of the source function
+	 */
+	public Vector3D position(JulianDate jd) {
+		return segment(jd).evaluate(jd);
+	}
+
+	/**
+	 * Evaluates the approximated position without allocating once the segment has been fitted.
+	 *
+	 * @param jd Julian Date
+	 * @param result receives x, y and z in its first three elements
+	 */
+	public void position(JulianDate jd, double[] result) {
+		segment(jd).evaluate(jd, result);
+	}
+
+	/**
+	 * Evaluates the approximated position at a base date plus days, without allocating once the segment
+	 * has been fitted. Stepping through time this way avoids creating a date per evaluation.
+	 *
+	 * @param base Julian Date the offset is counted from
+	 * @param days days after the base date
+	 * @param result receives x, y and z in its first three elements
+	 */
+	public void position(JulianDate base, double days, double[] result) {
+		Objects.requireNonNull(base, "Julian Date must not be null");
+		ChebyshevSegment segment = last;
+		if (segment == null || !segment.contains(base, days)) {
+			segment = segment(base.daysSinceJ2000() + days);
+		}
+		segment.evaluate(base, days, result);
+	}
+
+	/**
+	 * Evaluates the direction of the approximated position as equatorial coordinates.
+	 *
+	 * @param jd Julian Date
+	 * @return right ascension and declination of the position vector
+	 */
+	public EquatorialCoordinate equatorial(JulianDate jd) {
+		double[] p = new double[3];
+		position(jd, p);
+		double rightAscension = Math.toDegrees(Math.atan2(p[1], p[0]));
+		if (rightAscension < 0) {
+			rightAscension += 360.0;
+		}
+		if (rightAscension >= 360.0) {
+			rightAscension -= 360.0;
+		}
+		double declination = Math.toDegrees(Math.atan2(p[2], Math.hypot(p[0], p[1])));
+		return new EquatorialCoordinate(rightAscension, declination);
+	}
+
+	/**
+	 * Returns the segment covering a date, fitting it if needed.
+	 *
+	 * @param jd Julian Date
+	 * @return the covering segment
+	 */
+	public ChebyshevSegment segment(JulianDate jd) {
+		Objects.requireNonNull(jd, "Julian Date must not be null");
+		ChebyshevSegment cached = last;
+		if (cached != null && cached.contains(jd)) {
+			return cached;
+		}
+		return segment(jd.daysSinceJ2000());
+	}
+
+	private ChebyshevSegment segment(double daysSinceJ2000) {
+		long index = (long) Math.floor(daysSinceJ2000 / spanDays);
+		ChebyshevSegment segment = segments.computeIfAbsent(index,
+			key -> ChebyshevSegment.fit(source, JulianDate.J2000.plusDays(key * spanDays), spanDays, degree));
+		last = segment;
+		return segment;
+	}
+}
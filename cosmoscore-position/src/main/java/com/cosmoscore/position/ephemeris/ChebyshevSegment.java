@@ -0,0 +1,197 @@
+package com.cosmoscore.position.ephemeris;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Chebyshev polynomials approximating a position over one span of time.
+ * <p>
+ * Each coordinate is held as coefficients of the Chebyshev series in a time variable scaled to
+ * [-1, 1] over the span, and evaluated with Clenshaw's recurrence: one multiply-add pair per coefficient.
+ */
+public final class ChebyshevSegment {
+
+	private final JulianDate start;
+	private final double spanDays;
+	private final double[] x;
+	private final double[] y;
+	private final double[] z;
+
+	/**
+	 * Creates a segment from known coefficients.
+	 *
+	 * @param start start of the span
+	 * @param spanDays length of the span in days
+	 * @param x coefficients of the x coordinate, lowest order first
+	 * @param y coefficients of the y coordinate, lowest order first
+	 * @param z coefficients of the z coordinate, lowest order first
+	 * @throws IllegalArgumentException if the span is not positive or the coefficient arrays differ in length
+	 */
+	public ChebyshevSegment(JulianDate start, double spanDays, double[] x, double[] y, double[] z) {
+		this.start = Objects.requireNonNull(start, "Start date must not be null");
+		if (!(spanDays > 0) || Double.isInfinite(spanDays)) {
+			throw new IllegalArgumentException("Segment span must be positive");
+		}
+		if (x.length == 0 || y.length != x.length || z.length != x.length) {
+			throw new IllegalArgumentException("Coefficient arrays must be non-empty and of the same length");
+		}
+		this.spanDays = spanDays;
+		this.x = x.clone();
+		this.y = y.clone();
+		this.z = z.clone();
+	}
+
+	/**
+	 * Fits a segment by interpolating a function at the Chebyshev nodes of the span.
+	 *
+	 * @param source the function to approximate
+	 * @param start start of the span
+	 * @param spanDays length of the span in days
+	 * @param degree degree of the polynomials
+	 * @return the fitted segment
+	 */
+	public static ChebyshevSegment fit(Function<JulianDate, Vector3D> source, JulianDate start,
+		double spanDays, int degree) {
+		if (degree < 0) {
+			throw new IllegalArgumentException("Degree cannot be negative");
+		}
+		int n = degree + 1;
+		double[] fx = new double[n];
+		double[] fy = new double[n];
+		double[] fz = new double[n];
+		for (int k = 0; k < n; k++) {
+			double node = Math.cos(Math.PI * (k + 0.5) / n);
+			Vector3D value = source.apply(start.plusDays((node + 1.0) * 0.5 * spanDays));
+			fx[k] = value.x();
+			fy[k] = value.y();
+			fz[k] = value.z();
+		}
+
+		double[] cx = new double[n];
+		double[] cy = new double[n];
+		double[] cz = new double[n];
+		for (int j = 0; j < n; j++) {
+			double sx = 0;
+			double sy = 0;
+			double sz = 0;
+			for (int k = 0; k < n; k++) {
+				double weight = Math.cos(Math.PI * j * (k + 0.5) / n);
+				sx += fx[k] * weight;
+				sy += fy[k] * weight;
+				sz += fz[k] * weight;
+			}
+			double scale = (j == 0 ? 1.0 : 2.0) / n;
+			cx[j] = sx * scale;
+			cy[j] = sy * scale;
+			cz[j] = sz * scale;
+		}
+		return new ChebyshevSegment(start, spanDays, cx, cy, cz);
+	}
+
+	/**
+	 * Returns the start of the span
+	 */
+	public JulianDate start() {
+		return start;
+	}
+
+	/**
+	 * Returns the length of the span in days
+	 */
+	public double spanDays() {
+		return spanDays;
+	}
+
+	/**
+	 * Returns the degree of the polynomials
+	 */
+	public int degree() {
+		return x.length - 1;
+	}
+
+	/**
+	 * Returns a copy of the coefficients of one coordinate
+	 *
+	 * @param axis 0 for x, 1 for y, 2 for z
+	 */
+	public double[] coefficients(int axis) {
+		return switch (axis) {
+			case 0 -> x.clone();
+			case 1 -> y.clone();
+			case 2 -> z.clone();
+			default -> throw new IllegalArgumentException("Axis must be 0, 1 or 2");
+		};
+	}
+
+	/**
+	 * Returns whether a date falls inside the span (start inclusive, end exclusive)
+	 */
+	public boolean contains(JulianDate jd) {
+		return contains(jd, 0.0);
+	}
+
+	/**
+	 * Returns whether a date given as a base date plus days falls inside the span
+	 */
+	public boolean contains(JulianDate base, double days) {
+		double offset = start.daysUntil(base) + days;
+		return offset >= 0 && offset < spanDays;
+	}
+
+	/**
+	 * Evaluates the segment.
+	 *
+	 * @param jd Julian Date, normally inside the span
+	 * @return the approximated position
+	 */
+	public Vector3D evaluate(JulianDate jd) {
+		double tau = scaledTime(jd);
+		return new Vector3D(clenshaw(x, tau), clenshaw(y, tau), clenshaw(z, tau));
+	}
+
+	/**
+	 * Evaluates the segment without allocating.
+	 *
+	 * @param jd Julian Date, normally inside the span
+	 * @param result receives x, y and z in its first three elements
+	 */
+	public void evaluate(JulianDate jd, double[] result) {
+		evaluate(jd, 0.0, result);
+	}
+
+	/**
+	 * Evaluates the segment at a base date plus days, without allocating.
+	 *
+	 * @param base Julian Date the offset is counted from
+	 * @param days days after the base date, normally landing inside the span
+	 * @param result receives x, y and z in its first three elements
+	 */
+	public void evaluate(JulianDate base, double days, double[] result) {
+		double tau = 2.0 * (start.daysUntil(base) + days) / spanDays - 1.0;
+		result[0] = clenshaw(x, tau);
+		result[1] = clenshaw(y, tau);
+		result[2] = clenshaw(z, tau);
+	}
+
+	private double scaledTime(JulianDate jd) {
+		return 2.0 * start.daysUntil(jd) / spanDays - 1.0;
+	}
+
+	/**
+	 * Sums a Chebyshev series at tau with Clenshaw's recurrence.
+	 */
+	static double clenshaw(double[] coefficients, double tau) {
+		double twoTau = 2.0 * tau;
+		double b1 = 0;
+		double b2 = 0;
+		for (int j = coefficients.length - 1; j >= 1; j--) {
+			double b0 = twoTau * b1 - b2 + coefficients[j];
+			b2 = b1;
+			b1 = b0;
+		}
+		return tau * b1 - b2 + coefficients[0];
+	}
+}
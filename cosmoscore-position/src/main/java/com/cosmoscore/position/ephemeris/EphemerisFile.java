@@ -0,0 +1,243 @@
+package com.cosmoscore.position.ephemeris;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * A binary ephemeris file written by {@link EphemerisFileWriter}, memory-mapped for reading.
+ * <p>
+ * Coefficients are read straight from the mapping, so nothing is copied onto the heap and every
+ * process reading the same file shares one copy in the operating system's page cache. A date is
+ * located in its segment by a single division. Instances are safe to share between threads;
+ * the mapping is released once the instance is no longer reachable.
+ */
+public final class EphemerisFile {
+
+	private final ByteBuffer data;
+	private final Map<String, Body> bodies;
+
+	private EphemerisFile(ByteBuffer data, Map<String, Body> bodies) {
+		this.data = data;
+		this.bodies = bodies;
+	}
+
+	/**
+	 * Maps an ephemeris file.
+	 *
+	 * @param path the file
+	 * @return the mapped file
+	 * @throws IOException if the file cannot be read or is not an ephemeris file
+	 */
+	public static EphemerisFile open(Path path) throws IOException {
+		MappedByteBuffer mapped;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Ephemeris file is larger than 2 GiB");
+			}
+			mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		ByteBuffer data = mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+		byte[] magic = new byte[EphemerisFileWriter.MAGIC.length];
+		if (data.capacity() < EphemerisFileWriter.HEADER_SIZE) {
+			throw new IOException("Not an ephemeris file");
+		}
+		data.get(0, magic);
+		if (!Arrays.equals(magic, EphemerisFileWriter.MAGIC)) {
+			throw new IOException("Not an ephemeris file");
+		}
+		int version = data.getInt(8);
+		if (version != EphemerisFileWriter.VERSION) {
+			throw new IOException("Unsupported ephemeris file version: " + version);
+		}
+		int count = data.getInt(12);
+		long directoryEnd = EphemerisFileWriter.HEADER_SIZE + (long) count * EphemerisFileWriter.DIRECTORY_ENTRY_SIZE;
+		if (count < 0 || directoryEnd > data.capacity()) {
+			throw new IOException("Corrupt ephemeris file directory");
+		}
+
+		Map<String, Body> bodies = new LinkedHashMap<>();
+		EphemerisFile file = new EphemerisFile(data, Collections.unmodifiableMap(bodies));
+		for (int i = 0; i < count; i++) {
+			int entry = EphemerisFileWriter.HEADER_SIZE + i * EphemerisFileWriter.DIRECTORY_ENTRY_SIZE;
+			byte[] nameBytes = new byte[EphemerisFileWriter.NAME_LENGTH];
+			data.get(entry, nameBytes);
+			int nameLength = 0;
+			while (nameLength < nameBytes.length && nameBytes[nameLength] != 0) {
+				nameLength++;
+			}
+			String name = new String(nameBytes, 0, nameLength, StandardCharsets.US_ASCII);
+			int position = entry + EphemerisFileWriter.NAME_LENGTH;
+			JulianDate start = new JulianDate(data.getLong(position), data.getDouble(position + 8));
+			double spanDays = data.getDouble(position + 16);
+			int degree = data.getInt(position + 24);
+			int segments = data.getInt(position + 28);
+			long offset = data.getLong(position + 32);
+
+			// Both factors are bounded by the capacity before multiplying, so the product cannot overflow
+			long segmentSize = 3L * (degree + 1L) * Double.BYTES;
+			if (!(spanDays > 0) || degree < 0 || segments < 0 || offset < directoryEnd || offset > data.capacity()
+				|| segmentSize > data.capacity() || segments * segmentSize > data.capacity() - offset) {
+				throw new IOException("Corrupt ephemeris file entry for " + name);
+			}
+			bodies.put(name, file.new Body(name, start, spanDays, degree, segments, (int) offset));
+		}
+		return file;
+	}
+
+	/**
+	 * Returns the names of the bodies in the file, in file order
+	 */
+	public Set<String> bodies() {
+		return bodies.keySet();
+	}
+
+	/**
+	 * Returns whether a body is in the file
+	 */
+	public boolean contains(String name) {
+		return bodies.containsKey(Objects.requireNonNull(name, "Name must not be null"));
+	}
+
+	/**
+	 * Returns a body by name.
+	 *
+	 * @param name the body's name
+	 * @return the body
+	 * @throws IllegalArgumentException if the file has no such body
+	 */
+	public Body body(String name) {
+		Body body = bodies.get(name);
+		if (body == null) {
+			throw new IllegalArgumentException("No body named " + name + " in the ephemeris file");
+		}
+		return body;
+	}
+
+	/**
+	 * One body's segments within the mapped file.
+	 */
+	public final class Body {
+
+		private final String name;
+		private final JulianDate start;
+		private final double spanDays;
+		private final int degree;
+		private final int segments;
+		private final int offset;
+
+		private Body(String name, JulianDate start, double spanDays, int degree, int segments, int offset) {
+			this.name = name;
+			this.start = start;
+			this.spanDays = spanDays;
+			this.degree = degree;
+			this.segments = segments;
+			this.offset = offset;
+		}
+
+		/**
+		 * Returns the body's name
+		 */
+		public String name() {
+			return name;
+		}
+
+		/**
+		 * Returns the first date covered
+		 */
+		public JulianDate start() {
+			return start;
+		}
+
+		/**
+		 * Returns the end of the last segment
+		 */
+		public JulianDate end() {
+			return start.plusDays(segments * spanDays);
+		}
+
+		/**
+		 * Evaluates the body's position without allocating.
+		 *
+		 * @param jd Julian Date
+		 * @param result receives x, y and z in its first three elements
+		 * @throws IllegalArgumentException if the date is outside the file
+		 */
+		public void position(JulianDate jd, double[] result) {
+			double days = start.daysUntil(jd);
+			int segment = (int) Math.floor(days / spanDays);
+			if (days < 0 || segment >= segments) {
+				throw new IllegalArgumentException("Julian Date is outside the ephemeris file");
+			}
+
+			double tau = 2.0 * (days - segment * spanDays) / spanDays - 1.0;
+			int coefficients = degree + 1;
+			int base = offset + segment * EphemerisFileWriter.segmentSize(degree);
+			result[0] = clenshaw(base, coefficients, tau);
+			result[1] = clenshaw(base + coefficients * Double.BYTES, coefficients, tau);
+			result[2] = clenshaw(base + 2 * coefficients * Double.BYTES, coefficients, tau);
+		}
+
+		/**
+		 * Evaluates the body's position.
+		 *
+		 * @param jd Julian Date
+		 * @return the position, in the units it was written in
+		 */
+		public Vector3D position(JulianDate jd) {
+			double[] result = new double[3];
+			position(jd, result);
+			return new Vector3D(result[0], result[1], result[2]);
+		}
+
+		/**
+		 * Evaluates the direction of the body's position as equatorial coordinates.
+		 *
+		 * @param jd Julian Date
+		 * @return right ascension and declination of the position vector
+		 */
+		public EquatorialCoordinate equatorial(JulianDate jd) {
+			double[] p = new double[3];
+			position(jd, p);
+			double rightAscension = Math.toDegrees(Math.atan2(p[1], p[0]));
+			if (rightAscension < 0) {
+				rightAscension += 360.0;
+			}
+			if (rightAscension >= 360.0) {
+				rightAscension -= 360.0;
+			}
+			return new EquatorialCoordinate(rightAscension, Math.toDegrees(Math.atan2(p[2], Math.hypot(p[0], p[1]))));
+		}
+
+		/**
+		 * Sums a Chebyshev series stored in the mapping with Clenshaw's recurrence.
+		 */
+		private double clenshaw(int position, int count, double tau) {
+			double twoTau = 2.0 * tau;
+			double b1 = 0;
+			double b2 = 0;
+			for (int j = count - 1; j >= 1; j--) {
+				double b0 = twoTau * b1 - b2 + data.getDouble(position + j * Double.BYTES);
+				b2 = b1;
+				b1 = b0;
+			}
+			return tau * b1 - b2 + data.getDouble(position);
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.cosmoscore.position.ephemeris;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Precomputes positions into a binary ephemeris file of Chebyshev segments, read back by {@link EphemerisFile}.
+ * <p>
+ * The file is little-endian and laid out as:
+ * <pre>
+ * header     magic "CCEPHEM1", int version, int body count
+ * directory  per body: 16-byte ASCII name, long start day, double start fraction,
+ *            double span in days, int degree, int segment count, long data offset
+ * data       per body, per segment: x, y and z coefficients, (degree + 1) doubles each
+ * </pre>
+ * Every body covers the same interval with segments of fixed length, so a date maps to its segment by
+ * one division.
+ */
+public final class EphemerisFileWriter {
+
+	static final byte[] MAGIC = "CCEPHEM1".getBytes(StandardCharsets.US_ASCII);
+	static final int VERSION = 1;
+	static final int NAME_LENGTH = 16;
+	static final int HEADER_SIZE = 16;
+	static final int DIRECTORY_ENTRY_SIZE = NAME_LENGTH + 8 + 8 + 8 + 4 + 4 + 8;
+
+	private final JulianDate start;
+	private final JulianDate end;
+	private final List<Body> bodies = new ArrayList<>();
+
+	private record Body(String name, Function<JulianDate, Vector3D> source, double spanDays, int degree) {
+	}
+
+	/**
+	 * Creates a writer for an interval.
+	 *
+	 * @param start first date covered
+	 * @param end last date covered
+	 * @throws IllegalArgumentException if the end is not after the start
+	 */
+	public EphemerisFileWriter(JulianDate start, JulianDate end) {
+		this.start = Objects.requireNonNull(start, "Start date must not be null");
+		this.end = Objects.requireNonNull(end, "End date must not be null");
+		if (!end.isAfter(start)) {
+			throw new IllegalArgumentException("End date must be after the start date");
+		}
+	}
+
+	/**
+	 * Adds a body to the file.
+	 *
+	 * @param name name of the body, at most 16 ASCII characters
+	 * @param source position function of the body
+	 * @param spanDays length of each segment in days
+	 * @param degree degree of the fitted polynomials
+	 * @return this writer
+	 */
+	public EphemerisFileWriter add(String name, Function<JulianDate, Vector3D> source, double spanDays, int degree) {
+		Objects.requireNonNull(name, "Name must not be null");
+		Objects.requireNonNull(source, "Source must not be null");
+		if (name.isEmpty() || name.length() > NAME_LENGTH || !StandardCharsets.US_ASCII.newEncoder().canEncode(name)) {
+			throw new IllegalArgumentException("Body name must be 1 to 16 ASCII characters");
+		}
+		if (bodies.stream().anyMatch(body -> body.name().equals(name))) {
+			throw new IllegalArgumentException("Duplicate body name: " + name);
+		}
+		if (!(spanDays > 0) || Double.isInfinite(spanDays)) {
+			throw new IllegalArgumentException("Segment span must be positive");
+		}
+		if (degree < 0) {
+			throw new IllegalArgumentException("Degree cannot be negative");
+		}
+		bodies.add(new Body(name, source, spanDays, degree));
+		return this;
+	}
+
+	/**
+	 * Fits every body and writes the file, replacing any existing file.
+	 *
+	 * @param path the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void write(Path path) throws IOException {
+		if (bodies.isEmpty()) {
+			throw new IllegalStateException("No bodies have been added");
+		}
+		double days = start.daysUntil(end);
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + bodies.size() * DIRECTORY_ENTRY_SIZE)
+			.order(ByteOrder.LITTLE_ENDIAN);
+		header.put(MAGIC).putInt(VERSION).putInt(bodies.size());
+		long offset = header.capacity();
+		int[] segmentCounts = new int[bodies.size()];
+		for (int i = 0; i < bodies.size(); i++) {
+			Body body = bodies.get(i);
+			// The last segment covers the end date itself
+			segmentCounts[i] = (int) Math.floor(days / body.spanDays()) + 1;
+			byte[] name = new byte[NAME_LENGTH];
+			byte[] ascii = body.name().getBytes(StandardCharsets.US_ASCII);
+			System.arraycopy(ascii, 0, name, 0, ascii.length);
+			header.put(name)
+				.putLong(start.day())
+				.putDouble(start.fraction())
+				.putDouble(body.spanDays())
+				.putInt(body.degree())
+				.putInt(segmentCounts[i])
+				.putLong(offset);
+			offset += (long) segmentCounts[i] * segmentSize(body.degree());
+		}
+		header.flip();
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+			StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeFully(channel, header);
+			for (int i = 0; i < bodies.size(); i++) {
+				Body body = bodies.get(i);
+				ByteBuffer segmentBuffer = ByteBuffer.allocate(segmentSize(body.degree())).order(ByteOrder.LITTLE_ENDIAN);
+				for (int segment = 0; segment < segmentCounts[i]; segment++) {
+					ChebyshevSegment fitted = ChebyshevSegment.fit(body.source(),
+						start.plusDays(segment * body.spanDays()), body.spanDays(), body.degree());
+					segmentBuffer.clear();
+					for (int axis = 0; axis < 3; axis++) {
+						for (double coefficient : fitted.coefficients(axis)) {
+							segmentBuffer.putDouble(coefficient);
+						}
+					}
+					segmentBuffer.flip();
+					writeFully(channel, segmentBuffer);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Size in bytes of one segment's coefficients
+	 */
+	static int segmentSize(int degree) {
+		return 3 * (degree + 1) * Double.BYTES;
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.cosmoscore.position.frame;
+
+import com.cosmoscore.common.math.Matrix3D;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.Ecliptic;
+import com.cosmoscore.position.Nutation;
+
+/**
+ * Rotations from the ICRS (J2000) frame to the mean and true equator and equinox of date.
+ * <p>
+ * The full rotation is {@code N·P·B}: the frame bias B between the ICRS and the dynamical J2000 frame,
+ * IAU 1976 precession P (Meeus, <i>Astronomical Algorithms</i>, chapter 21) and the full IAU 1980
+ * nutation N. Each matrix maps a unit vector in the source frame to the same direction in the
+ * target frame; the transpose maps it back.
+ */
+public final class FrameRotation {
+
+	private static final double ARCSECONDS_TO_RADIANS = Math.PI / (180.0 * 3600.0);
+
+	// ICRS frame bias in arcseconds: equinox offset dα0 and celestial pole offsets ξ0 and η0
+	private static final double BIAS_RIGHT_ASCENSION = -0.0146;
+	private static final double BIAS_XI = -0.016617;
+	private static final double BIAS_ETA = -0.0068192;
+
+	private static final Matrix3D FRAME_BIAS = Matrix3D.rotationX(-BIAS_ETA * ARCSECONDS_TO_RADIANS)
+		.multiply(Matrix3D.rotationY(BIAS_XI * ARCSECONDS_TO_RADIANS))
+		.multiply(Matrix3D.rotationZ(BIAS_RIGHT_ASCENSION * ARCSECONDS_TO_RADIANS));
+
+	private FrameRotation() {
+	}
+
+	/**
+	 * Returns the frame bias from the ICRS to the mean equator and equinox of J2000
+	 */
+	public static Matrix3D frameBias() {
+		return FRAME_BIAS;
+	}
+
+	/**
+	 * Calculates the precession from the mean equator and equinox of J2000 to those of date.
+	 *
+	 * @param jd Julian Date
+	 * @return the precession matrix
+	 */
+	public static Matrix3D precession(JulianDate jd) {
+		double t = jd.julianCenturies();
+		double zeta = t * (2306.2181 + t * (0.30188 + t * 0.017998)) * ARCSECONDS_TO_RADIANS;
+		double z = t * (2306.2181 + t * (1.09468 + t * 0.018203)) * ARCSECONDS_TO_RADIANS;
+		double theta = t * (2004.3109 - t * (0.42665 + t * 0.041833)) * ARCSECONDS_TO_RADIANS;
+
+		return Matrix3D.rotationZ(-z)
+			.multiply(Matrix3D.rotationY(theta))
+			.multiply(Matrix3D.rotationZ(-zeta));
+	}
+
+	/**
+	 * Calculates the nutation from the mean equator and equinox of date to the true ones.
+	 *
+	 * @param jd Julian Date
+	 * @return the nutation matrix
+	 */
+	public static Matrix3D nutation(JulianDate jd) {
+		double t = jd.julianCenturies();
+		double[] nutation = new double[2];
+		Nutation.iau1980(t, nutation);
+		double meanObliquity = Math.toRadians(Ecliptic.meanObliquity(t));
+		double trueObliquity = meanObliquity + Math.toRadians(nutation[1]);
+
+		return Matrix3D.rotationX(-trueObliquity)
+			.multiply(Matrix3D.rotationZ(-Math.toRadians(nutation[0])))
+			.multiply(Matrix3D.rotationX(meanObliquity));
+	}
+
+	/**
+	 * Calculates the full rotation from the ICRS to the true equator and equinox of date.
+	 *
+	 * @param jd Julian Date
+	 * @return the precession-nutation-bias matrix
+	 */
+	public static Matrix3D icrsToTrueOfDate(JulianDate jd) {
+		return nutation(jd).multiply(precession(jd)).multiply(FRAME_BIAS);
+	}
+}
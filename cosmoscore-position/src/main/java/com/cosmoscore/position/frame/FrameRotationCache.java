@@ -0,0 +1,132 @@
+package com.cosmoscore.position.frame;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.math.Matrix3D;
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * A bounded memo of ICRS to true-of-date rotations, shared by every date within a time bucket.
+ * One series evaluation then serves every star rotated within the bucket.
+ * <p>
+ * Time is divided into buckets of fixed width counted from J2000, and each bucket uses the rotation at its
+ * midpoint. Precession turns the frame by about 0.14 arcseconds per day, so the error is at most about
+ * 0.07 arcseconds per day of bucket width; a width of 1/1440 (one minute) keeps it below 0.0001 arcseconds.
+ * <p>
+ * The cache is direct-mapped: each bucket hashes to one slot and a newer bucket simply replaces the older one.
+ * Slots hold immutable entries, so the cache is safe to share between threads without locking; a racing
+ * thread at worst recomputes a matrix.
+ */
+public final class FrameRotationCache {
+
+	private static final int DEFAULT_CAPACITY = 64;
+
+	private final double bucketDays;
+	private final Entry[] entries;
+	private final int mask;
+
+	/**
+	 * Creates a cache with the default number of slots.
+	 *
+	 * @param bucketDays width of a time bucket in days
+	 * @throws IllegalArgumentException if the width is not positive
+	 */
+	public FrameRotationCache(double bucketDays) {
+		this(bucketDays, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a cache with at least the given number of slots, rounded up to a power of two.
+	 *
+	 * @param bucketDays width of a time bucket in days
+	 * @param capacity number of slots
+	 * @throws IllegalArgumentException if the width is not positive, or capacity is not positive or larger than 2^30
+	 */
+	public FrameRotationCache(double bucketDays, int capacity) {
+		if (!(bucketDays > 0) || Double.isInfinite(bucketDays)) {
+			throw new IllegalArgumentException("Bucket width must be positive");
+		}
+		if (capacity <= 0 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("Cache capacity must be between 1 and 2^30");
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.bucketDays = bucketDays;
+		this.entries = new Entry[size];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Returns the width of a time bucket in days
+	 */
+	public double bucketDays() {
+		return bucketDays;
+	}
+
+	/**
+	 * Returns the rotation from the ICRS to the true equator and equinox of date for a date's bucket,
+	 * computing it on a miss.
+	 *
+	 * @param jd Julian Date
+	 * @return the precession-nutation-bias matrix
+	 * @see FrameRotation#icrsToTrueOfDate(JulianDate)
+	 */
+	public Matrix3D matrix(JulianDate jd) {
+		long bucket = (long) Math.floor(jd.daysSinceJ2000() / bucketDays);
+		int hash = Long.hashCode(bucket);
+		int slot = (hash ^ (hash >>> 16)) & mask;
+
+		Entry entry = entries[slot];
+		if (entry != null && entry.bucket() == bucket) {
+			return entry.matrix();
+		}
+
+		Matrix3D matrix = FrameRotation.icrsToTrueOfDate(JulianDate.J2000.plusDays((bucket + 0.5) * bucketDays));
+		entries[slot] = new Entry(bucket, matrix);
+		return matrix;
+	}
+
+	/**
+	 * Rotates a range of ICRS unit vectors held in parallel arrays to the true frame of date, in place.
+	 *
+	 * @param jd Julian Date
+	 * @param x x components
+	 * @param y y components
+	 * @param z z components
+	 * @param offset index of the first vector
+	 * @param length number of vectors
+	 */
+	public void toTrueOfDate(JulianDate jd, double[] x, double[] y, double[] z, int offset, int length) {
+		matrix(jd).apply(x, y, z, offset, length);
+	}
+
+	/**
+	 * Rotates every vector of a buffer from the ICRS to the true frame of date, in place.
+	 *
+	 * @param jd Julian Date
+	 * @param vectors the vectors
+	 * @return the buffer
+	 */
+	public Vector3DBuffer toTrueOfDate(JulianDate jd, Vector3DBuffer vectors) {
+		Objects.requireNonNull(vectors, "Vectors must not be null");
+		return vectors.transform(matrix(jd));
+	}
+
+	/**
+	 * Rotates every vector of a buffer from the true frame of date back to the ICRS, in place.
+	 *
+	 * @param jd Julian Date
+	 * @param vectors the vectors
+	 * @return the buffer
+	 */
+	public Vector3DBuffer toIcrs(JulianDate jd, Vector3DBuffer vectors) {
+		Objects.requireNonNull(vectors, "Vectors must not be null");
+		return vectors.transform(matrix(jd).transpose());
+	}
+
+	private record Entry(long bucket, Matrix3D matrix) {
+	}
+}
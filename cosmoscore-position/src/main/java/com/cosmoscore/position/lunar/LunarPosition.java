@@ -0,0 +1,24 @@
+package com.cosmoscore.position.lunar;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+
+/**
+ * The apparent geocentric position of the Moon.
+ *
+ * @param equatorial apparent right ascension and declination
+ * @param distance distance between the centers of the Earth and the Moon in kilometers
+ */
+public record LunarPosition(EquatorialCoordinate equatorial, double distance) {
+
+	/**
+	 * Constructor with validation.
+	 */
+	public LunarPosition {
+		Objects.requireNonNull(equatorial, "Equatorial coordinate must not be null");
+		if (!(distance > 0)) {
+			throw new IllegalArgumentException("Distance must be positive");
+		}
+	}
+}
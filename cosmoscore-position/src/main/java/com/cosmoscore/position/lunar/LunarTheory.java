@@ -0,0 +1,306 @@
+package com.cosmoscore.position.lunar;
+
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.Ecliptic;
+import com.cosmoscore.position.Nutation;
+
+/**
+ * The truncated lunar theory of Meeus, <i>Astronomical Algorithms</i>, chapter 47 (tables 47.A and 47.B).
+ * <p>
+ * Every periodic term is the sine or cosine of an integer combination of four fundamental arguments
+ * D, M, M' and F. Rather than evaluating one sine per term, the theory keeps each argument as a unit
+ * phasor (cos, sin), raises it to the few integer powers the tables use, and forms every term's phasor
+ * by complex multiplication. Seeding costs one sine and cosine per argument; after that the phasors can
+ * be advanced by a fixed time step with one complex multiplication each, so a time series needs no
+ * trigonometry for the series at all.
+ * <p>
+ * Instances are mutable and not thread-safe.
+ */
+final class LunarTheory {
+
+	private static final int D = 0;
+	private static final int M = 1;
+	private static final int M_PRIME = 2;
+	private static final int F = 3;
+	private static final int L_PRIME = 4;
+	private static final int A1 = 5;
+	private static final int A2 = 6;
+	private static final int A3 = 7;
+	private static final int ARGUMENTS = 8;
+
+	/**
+	 * Largest integer multiple of D, M, M' or F used by the tables
+	 */
+	private static final int MAX_POWER = 4;
+	private static final int POWERS = 2 * MAX_POWER + 1;
+
+	/**
+	 * Polynomial coefficients of the arguments in degrees, in powers of Julian centuries
+	 */
+	private static final double[][] POLYNOMIALS = {
+		{297.8501921, 445267.1114034, -0.0018819, 1.0 / 545868.0, -1.0 / 113065000.0},
+		{357.5291092, 35999.0502909, -0.0001536, 1.0 / 24490000.0, 0.0},
+		{134.9633964, 477198.8675055, 0.0087414, 1.0 / 69699.0, -1.0 / 14712000.0},
+		{93.2720950, 483202.0175233, -0.0036539, -1.0 / 3526000.0, 1.0 / 863310000.0},
+		{218.3164477, 481267.88123421, -0.0015786, 1.0 / 538841.0, -1.0 / 65194000.0},
+		{119.75, 131.849, 0.0, 0.0, 0.0},
+		{53.09, 479264.290, 0.0, 0.0, 0.0},
+		{313.45, 481266.484, 0.0, 0.0, 0.0},
+	};
+
+	/**
+	 * Table 47.A: multiples of D, M, M', F and the coefficients of longitude (1e-6 degrees)
+	 * and distance (1e-3 km)
+	 */
+	private static final int[][] LR_ARGUMENTS = {
+		{0, 0, 1, 0}, {2, 0, -1, 0}, {2, 0, 0, 0}, {0, 0, 2, 0}, {0, 1, 0, 0},
+		{0, 0, 0, 2}, {2, 0, -2, 0}, {2, -1, -1, 0}, {2, 0, 1, 0}, {2, -1, 0, 0},
+		{0, 1, -1, 0}, {1, 0, 0, 0}, {0, 1, 1, 0}, {2, 0, 0, -2}, {0, 0, 1, 2},
+		{0, 0, 1, -2}, {4, 0, -1, 0}, {0, 0, 3, 0}, {4, 0, -2, 0}, {2, 1, -1, 0},
+		{2, 1, 0, 0}, {1, 0, -1, 0}, {1, 1, 0, 0}, {2, -1, 1, 0}, {2, 0, 2, 0},
+		{4, 0, 0, 0}, {2, 0, -3, 0}, {0, 1, -2, 0}, {2, 0, -1, 2}, {2, -1, -2, 0},
+		{1, 0, 1, 0}, {2, -2, 0, 0}, {0, 1, 2, 0}, {0, 2, 0, 0}, {2, -2, -1, 0},
+		{2, 0, 1, -2}, {2, 0, 0, 2}, {4, -1, -1, 0}, {0, 0, 2, 2}, {3, 0, -1, 0},
+		{2, 1, 1, 0}, {4, -1, -2, 0}, {0, 2, -1, 0}, {2, 2, -1, 0}, {2, 1, -2, 0},
+		{2, -1, 0, -2}, {4, 0, 1, 0}, {0, 0, 4, 0}, {4, -1, 0, 0}, {1, 0, -2, 0},
+		{2, 1, 0, -2}, {0, 0, 2, -2}, {1, 1, 1, 0}, {3, 0, -2, 0}, {4, 0, -3, 0},
+		{2, -1, 2, 0}, {0, 2, 1, 0}, {1, 1, -1, 0}, {2, 0, 3, 0}, {2, 0, -1, -2},
+	};
+
+	private static final double[] LONGITUDE = {
+		6288774, 1274027, 658314, 213618, -185116,
+		-114332, 58793, 57066, 53322, 45758,
+		-40923, -34720, -30383, 15327, -12528,
+		10980, 10675, 10034, 8548, -7888,
+		-6766, -5163, 4987, 4036, 3994,
+		3861, 3665, -2689, -2602, 2390,
+		-2348, 2236, -2120, -2069, 2048,
+		-1773, -1595, 1215, -1110, -892,
+		-810, 759, -713, -700, 691,
+		596, 549, 537, 520, -487,
+		-399, -381, 351, -340, 330,
+		327, -323, 299, 294, 0,
+	};
+
+	private static final double[] DISTANCE = {
+		-20905355, -3699111, -2955968, -569925, 48888,
+		-3149, 246158, -152138, -170733, -204586,
+		-129620, 108743, 104755, 10321, 0,
+		79661, -34782, -23210, -21636, 24208,
+		30824, -8379, -16675, -12831, -10445,
+		-11650, 14403, -7003, 0, 10056,
+		6322, -9884, 5751, 0, -4950,
+		4130, 0, -3958, 0, 3258,
+		2616, -1897, -2117, 2354, 0,
+		0, -1423, -1117, -1571, -1739,
+		0, -4421, 0, 0, 0,
+		0, 1165, 0, 0, 8752,
+	};
+
+	/**
+	 * Table 47.B: multiples of D, M, M', F and the coefficients of latitude (1e-6 degrees)
+	 */
+	private static final int[][] B_ARGUMENTS = {
+		{0, 0, 0, 1}, {0, 0, 1, 1}, {0, 0, 1, -1}, {2, 0, 0, -1}, {2, 0, -1, 1},
+		{2, 0, -1, -1}, {2, 0, 0, 1}, {0, 0, 2, 1}, {2, 0, 1, -1}, {0, 0, 2, -1},
+		{2, -1, 0, -1}, {2, 0, -2, -1}, {2, 0, 1, 1}, {2, 1, 0, -1}, {2, -1, -1, 1},
+		{2, -1, 0, 1}, {2, -1, -1, -1}, {0, 1, -1, -1}, {4, 0, -1, -1}, {0, 1, 0, 1},
+		{0, 0, 0, 3}, {0, 1, -1, 1}, {1, 0, 0, 1}, {0, 1, 1, 1}, {0, 1, 1, -1},
+		{0, 1, 0, -1}, {1, 0, 0, -1}, {0, 0, 3, 1}, {4, 0, 0, -1}, {4, 0, -1, 1},
+		{0, 0, 1, -3}, {4, 0, -2, 1}, {2, 0, 0, -3}, {2, 0, 2, -1}, {2, -1, 1, -1},
+		{2, 0, -2, 1}, {0, 0, 3, -1}, {2, 0, 2, 1}, {2, 0, -3, -1}, {2, 1, -1, 1},
+		{2, 1, 0, 1}, {4, 0, 0, 1}, {2, -1, 1, 1}, {2, -2, 0, -1}, {0, 0, 1, 3},
+		{2, 1, 1, -1}, {1, 1, 0, -1}, {1, 1, 0, 1}, {0, 1, -2, -1}, {2, 1, -1, -1},
+		{1, 0, 1, 1}, {2, -1, -2, -1}, {0, 1, 2, 1}, {4, 0, -2, -1}, {4, -1, -1, -1},
+		{1, 0, 1, -1}, {4, 0, 1, -1}, {1, 0, -1, -1}, {4, -1, 0, -1}, {2, -2, 0, 1},
+	};
+
+	private static final double[] LATITUDE = {
+		5128122, 280602, 277693, 173237, 55413,
+		46271, 32573, 17198, 9266, 8822,
+		8216, 4324, 4200, -3359, 2463,
+		2211, 2065, -1870, 1828, -1794,
+		-1749, -1565, -1491, -1475, -1410,
+		-1344, -1335, 1107, 1021, 833,
+		777, 671, 607, 596, 491,
+		-451, 439, 422, 421, -366,
+		-351, 331, 315, 302, -283,
+		-229, 223, 223, -220, -220,
+		-185, 181, -177, 176, 166,
+		-164, 132, -119, 115, 107,
+	};
+
+	private static final int[] LR_INDEX = powerIndices(LR_ARGUMENTS);
+	private static final int[] B_INDEX = powerIndices(B_ARGUMENTS);
+
+	private final double[] longitudeCoefficients = new double[LONGITUDE.length];
+	private final double[] distanceCoefficients = new double[DISTANCE.length];
+	private final double[] latitudeCoefficients = new double[LATITUDE.length];
+	private final double[] cos = new double[ARGUMENTS];
+	private final double[] sin = new double[ARGUMENTS];
+	private final double[] stepCos = new double[ARGUMENTS];
+	private final double[] stepSin = new double[ARGUMENTS];
+	private final double[] powerCos = new double[4 * POWERS];
+	private final double[] powerSin = new double[4 * POWERS];
+	private final double[] ecliptic = new double[2];
+
+	private double seedCenturies;
+	private double seedMeanLongitude;
+	private double meanLongitudeStep;
+	private double centuriesStep;
+	private long steps;
+	private double termCos;
+	private double termSin;
+
+	/**
+	 * Sets the arguments to their values at a date, evaluating their trigonometry directly.
+	 *
+	 * @param jd Julian Date
+	 * @param stepDays time step that {@link #advance()} will move by
+	 */
+	void seed(JulianDate jd, double stepDays) {
+		double t = jd.julianCenturies();
+		for (int i = 0; i < ARGUMENTS; i++) {
+			double[] c = POLYNOMIALS[i];
+			double angle = Math.toRadians(Ecliptic.normalizeDegrees(c[0] + t * (c[1] + t * (c[2] + t * (c[3] + t * c[4])))));
+			// The rate at the seed absorbs the polynomial terms; their curvature is negligible between reseeds
+			double rate = c[1] + t * (2.0 * c[2] + t * (3.0 * c[3] + t * 4.0 * c[4]));
+			double step = Math.toRadians(rate * stepDays / 36525.0);
+			cos[i] = Math.cos(angle);
+			sin[i] = Math.sin(angle);
+			stepCos[i] = Math.cos(step);
+			stepSin[i] = Math.sin(step);
+			if (i == L_PRIME) {
+				seedMeanLongitude = Math.toDegrees(angle);
+				meanLongitudeStep = rate * stepDays / 36525.0;
+			}
+		}
+		seedCenturies = t;
+		centuriesStep = stepDays / 36525.0;
+		// Terms in M are scaled for the decreasing eccentricity of the Earth's orbit
+		double eccentricity = 1.0 - t * (0.002516 + t * 0.0000074);
+		scale(LONGITUDE, LR_ARGUMENTS, eccentricity, longitudeCoefficients);
+		scale(DISTANCE, LR_ARGUMENTS, eccentricity, distanceCoefficients);
+		scale(LATITUDE, B_ARGUMENTS, eccentricity, latitudeCoefficients);
+		steps = 0;
+	}
+
+	/**
+	 * Moves every argument forward by the time step given to {@link #seed}.
+	 */
+	void advance() {
+		for (int i = 0; i < ARGUMENTS; i++) {
+			double c = cos[i];
+			double s = sin[i];
+			cos[i] = c * stepCos[i] - s * stepSin[i];
+			sin[i] = s * stepCos[i] + c * stepSin[i];
+		}
+		steps++;
+	}
+
+	/**
+	 * Evaluates the apparent position at the current arguments.
+	 *
+	 * @param result receives right ascension and declination in degrees and distance in kilometers
+	 */
+	void evaluate(double[] result) {
+		preparePowers();
+
+		double sumL = 0;
+		double sumR = 0;
+		for (int i = 0; i < LONGITUDE.length; i++) {
+			multiplyTerm(LR_INDEX, i);
+			sumL += longitudeCoefficients[i] * termSin;
+			sumR += distanceCoefficients[i] * termCos;
+		}
+
+		double sumB = 0;
+		for (int i = 0; i < LATITUDE.length; i++) {
+			multiplyTerm(B_INDEX, i);
+			sumB += latitudeCoefficients[i] * termSin;
+		}
+
+		// Additive terms for the action of Venus, Jupiter and the flattening of the Earth
+		sumL += 3958 * sin[A1] + 1962 * sinDifference(L_PRIME, F) + 318 * sin[A2];
+		sumB += -2235 * sin[L_PRIME] + 382 * sin[A3]
+			+ 175 * sinDifference(A1, F) + 175 * sinSum(A1, F)
+			+ 127 * sinDifference(L_PRIME, M_PRIME) - 115 * sinSum(L_PRIME, M_PRIME);
+
+		double t = seedCenturies + steps * centuriesStep;
+		double longitude = seedMeanLongitude + steps * meanLongitudeStep + sumL / 1e6;
+		double latitude = sumB / 1e6;
+
+		Ecliptic.toEquatorial(longitude + Nutation.inLongitude(t), latitude, Nutation.trueObliquity(t), ecliptic);
+		result[0] = ecliptic[0];
+		result[1] = ecliptic[1];
+		result[2] = 385000.56 + sumR / 1000.0;
+	}
+
+	/**
+	 * Builds the phasors of -4 to +4 times each of D, M, M' and F
+	 */
+	private void preparePowers() {
+		for (int argument = D; argument <= F; argument++) {
+			int base = argument * POWERS + MAX_POWER;
+			powerCos[base] = 1.0;
+			powerSin[base] = 0.0;
+			for (int k = 1; k <= MAX_POWER; k++) {
+				double c = powerCos[base + k - 1];
+				double s = powerSin[base + k - 1];
+				powerCos[base + k] = c * cos[argument] - s * sin[argument];
+				powerSin[base + k] = s * cos[argument] + c * sin[argument];
+				powerCos[base - k] = powerCos[base + k];
+				powerSin[base - k] = -powerSin[base + k];
+			}
+		}
+	}
+
+	/**
+	 * Multiplies the phasors of one term's arguments into {@code termCos} and {@code termSin}
+	 */
+	private void multiplyTerm(int[] indices, int term) {
+		int base = term * 4;
+		double c = powerCos[indices[base]];
+		double s = powerSin[indices[base]];
+		for (int k = base + 1; k < base + 4; k++) {
+			double pc = powerCos[indices[k]];
+			double ps = powerSin[indices[k]];
+			double nc = c * pc - s * ps;
+			s = s * pc + c * ps;
+			c = nc;
+		}
+		termCos = c;
+		termSin = s;
+	}
+
+	/**
+	 * Flattens a table's multiples into indices of the power phasors, four per term
+	 */
+	private static int[] powerIndices(int[][] multiples) {
+		int[] indices = new int[multiples.length * 4];
+		for (int i = 0; i < multiples.length; i++) {
+			for (int argument = D; argument <= F; argument++) {
+				indices[i * 4 + argument] = argument * POWERS + MAX_POWER + multiples[i][argument];
+			}
+		}
+		return indices;
+	}
+
+	/**
+	 * Scales a table's coefficients by the eccentricity factor once per multiple of M
+	 */
+	private static void scale(double[] coefficients, int[][] multiples, double eccentricity, double[] scaled) {
+		for (int i = 0; i < coefficients.length; i++) {
+			int power = Math.abs(multiples[i][M]);
+			scaled[i] = coefficients[i] * (power == 0 ? 1.0 : power == 1 ? eccentricity : eccentricity * eccentricity);
+		}
+	}
+
+	private double sinSum(int a, int b) {
+		return sin[a] * cos[b] + cos[a] * sin[b];
+	}
+
+	private double sinDifference(int a, int b) {
+		return sin[a] * cos[b] - cos[a] * sin[b];
+	}
+}
@@ -0,0 +1,71 @@
+package com.cosmoscore.position.lunar;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Calculates the apparent geocentric position of the Moon.
+ * <p>
+ * Uses the truncated lunar theory of Meeus, <i>Astronomical Algorithms</i>, chapter 47, accurate to about
+ * 10 arcseconds in longitude and 4 arcseconds in latitude. Times are taken as Terrestrial Time; the
+ * difference from UTC (about a minute) moves the Moon by roughly half an arcminute.
+ * <p>
+ * For uniformly spaced instants, {@link #series(JulianDate, double)} is much cheaper than repeated calls.
+ */
+public class MoonPosition {
+
+	/**
+	 * Calculates the apparent position of the Moon.
+	 *
+	 * @param dateTime the instant (UTC)
+	 * @return apparent right ascension, declination and distance
+	 */
+	public LunarPosition calculate(LocalDateTime dateTime) {
+		return calculate(JulianDate.fromLocalDateTime(dateTime));
+	}
+
+	/**
+	 * Calculates the apparent position of the Moon.
+	 *
+	 * @param jd Julian Date
+	 * @return apparent right ascension, declination and distance
+	 */
+	public LunarPosition calculate(JulianDate jd) {
+		Objects.requireNonNull(jd, "Julian Date must not be null");
+		double[] result = new double[3];
+		LunarTheory theory = new LunarTheory();
+		theory.seed(jd, 0.0);
+		theory.evaluate(result);
+		return new LunarPosition(new EquatorialCoordinate(result[0], result[1]), result[2]);
+	}
+
+	/**
+	 * Calculates the geocentric position of the Moon as a vector in the true equatorial frame of date.
+	 *
+	 * @param jd Julian Date
+	 * @return position in kilometers
+	 */
+	public Vector3D geocentricPosition(JulianDate jd) {
+		LunarPosition position = calculate(jd);
+		double ra = Math.toRadians(position.equatorial().rightAscension());
+		double dec = Math.toRadians(position.equatorial().declination());
+		double distance = position.distance();
+		double cosDec = Math.cos(dec);
+		return new Vector3D(distance * cosDec * Math.cos(ra), distance * cosDec * Math.sin(ra), distance * Math.sin(dec));
+	}
+
+	/**
+	 * Creates a streaming evaluator for instants starting at a date and spaced by a fixed step.
+	 *
+	 * @param start the first instant
+	 * @param stepDays spacing between instants in days
+	 * @return the evaluator, positioned at the first instant
+	 */
+	public MoonSeries series(JulianDate start, double stepDays) {
+		return new MoonSeries(start, stepDays);
+	}
+}
@@ -0,0 +1,110 @@
+package com.cosmoscore.position.lunar;
+
+import java.util.Objects;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.time.JulianDate;
+
+/**
+ * Evaluates the Moon's position at uniformly spaced instants.
+ * <p>
+ * The fundamental arguments of the lunar theory are advanced from one instant to the next by a fixed
+ * rotation instead of being recomputed, so the periodic series are summed without trigonometry.
+ * To keep rounding from accumulating and to follow the slow change in the arguments' rates, the
+ * arguments are reseeded exactly at least once per simulated day. Results agree with
+ * {@link MoonPosition#calculate(JulianDate)} to far better than the theory's own accuracy.
+ * <p>
+ * Instances are stateful and not thread-safe; use one per thread.
+ */
+public final class MoonSeries {
+
+	/**
+	 * Maximum number of steps between exact reseeds
+	 */
+	static final int MAX_STEPS_PER_SEED = 1440;
+
+	private final LunarTheory theory = new LunarTheory();
+	private final JulianDate start;
+	private final double stepDays;
+	private final int stepsPerSeed;
+	private final double[] buffer = new double[3];
+	private long index;
+
+	MoonSeries(JulianDate start, double stepDays) {
+		this.start = Objects.requireNonNull(start, "Start date must not be null");
+		if (!(stepDays > 0) || Double.isInfinite(stepDays)) {
+			throw new IllegalArgumentException("Time step must be positive");
+		}
+		this.stepDays = stepDays;
+		this.stepsPerSeed = (int) Math.max(1, Math.min(MAX_STEPS_PER_SEED, Math.floor(1.0 / stepDays)));
+		theory.seed(start, stepDays);
+	}
+
+	/**
+	 * Returns the time step in days
+	 */
+	public double stepDays() {
+		return stepDays;
+	}
+
+	/**
+	 * Returns the number of positions produced so far
+	 */
+	public long index() {
+		return index;
+	}
+
+	/**
+	 * Returns the instant of the next position
+	 */
+	public JulianDate current() {
+		return start.plusDays(index * stepDays);
+	}
+
+	/**
+	 * Returns the position at the current instant and moves to the next one.
+	 *
+	 * @return apparent right ascension, declination and distance
+	 */
+	public LunarPosition next() {
+		next(buffer);
+		return new LunarPosition(new EquatorialCoordinate(buffer[0], buffer[1]), buffer[2]);
+	}
+
+	/**
+	 * Writes the position at the current instant and moves to the next one, without allocating.
+	 *
+	 * @param result receives right ascension and declination in degrees and distance in kilometers
+	 */
+	public void next(double[] result) {
+		theory.evaluate(result);
+		index++;
+		if (index % stepsPerSeed == 0) {
+			theory.seed(current(), stepDays);
+		} else {
+			theory.advance();
+		}
+	}
+
+	/**
+	 * Fills parallel arrays with consecutive positions.
+	 *
+	 * @param rightAscension receives right ascensions in degrees
+	 * @param declination receives declinations in degrees
+	 * @param distance receives distances in kilometers
+	 * @param offset index of the first element to write
+	 * @param length number of positions to write
+	 * @throws IndexOutOfBoundsException if the range is outside any of the arrays
+	 */
+	public void fill(double[] rightAscension, double[] declination, double[] distance, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, rightAscension.length);
+		Objects.checkFromIndexSize(offset, length, declination.length);
+		Objects.checkFromIndexSize(offset, length, distance.length);
+		for (int i = offset, end = offset + length; i < end; i++) {
+			next(buffer);
+			rightAscension[i] = buffer[0];
+			declination[i] = buffer[1];
+			distance[i] = buffer[2];
+		}
+	}
+}
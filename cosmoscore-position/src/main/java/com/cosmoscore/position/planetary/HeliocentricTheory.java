@@ -0,0 +1,15 @@
+package com.cosmoscore.position.planetary;
+
+/**
+ * A theory giving a planet's heliocentric position in the ecliptic frame of date.
+ */
+interface HeliocentricTheory {
+
+	/**
+	 * Evaluates the position.
+	 *
+	 * @param t Julian centuries since J2000.0
+	 * @param result receives longitude and latitude in radians and radius in astronomical units
+	 */
+	void evaluate(double t, double[] result);
+}
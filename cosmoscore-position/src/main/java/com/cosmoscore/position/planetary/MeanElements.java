@@ -0,0 +1,115 @@
+package com.cosmoscore.position.planetary;
+
+/**
+ * Keplerian mean elements with linear rates, from Standish, "Keplerian Elements for Approximate Positions
+ * of the Major Planets" (JPL, table 1, fitted to 1800-2050).
+ * <p>
+ * The elements are referred to the J2000 ecliptic and equinox. Results are carried to the equinox of
+ * date by the general precession in longitude, ignoring the slow tilt of the ecliptic (under 47
+ * arcseconds per century). Over the fitted interval the error is a few arcminutes at most, dominated
+ * by Saturn and the outer planets. Dates outside the fitted interval are rejected.
+ */
+final class MeanElements implements HeliocentricTheory {
+
+	/**
+	 * Worst-case error over the fitted interval in arcseconds
+	 */
+	static final double ACCURACY = 600.0;
+
+	/**
+	 * First and last instants of the fitted interval, in Julian centuries since J2000.0
+	 */
+	private static final double FIRST_CENTURY = -2.0;
+	private static final double LAST_CENTURY = 0.5;
+
+	/**
+	 * a (AU), e, I, L, long. perihelion, long. node (degrees), followed by their rates per Julian century
+	 */
+	private static final double[][] ELEMENTS = {
+		{0.38709927, 0.20563593, 7.00497902, 252.25032350, 77.45779628, 48.33076593,
+			0.00000037, 0.00001906, -0.00594749, 149472.67411175, 0.16047689, -0.12534081},
+		{0.72333566, 0.00677672, 3.39467605, 181.97909950, 131.60246718, 76.67984255,
+			0.00000390, -0.00004107, -0.00078890, 58517.81538729, 0.00268329, -0.27769418},
+		{1.00000261, 0.01671123, -0.00001531, 100.46457166, 102.93768193, 0.0,
+			0.00000562, -0.00004392, -0.01294668, 35999.37244981, 0.32327364, 0.0},
+		{1.52371034, 0.09339410, 1.84969142, -4.55343205, -23.94362959, 49.55953891,
+			0.00001847, 0.00007882, -0.00813131, 19140.30268499, 0.44441088, -0.29257343},
+		{5.20288700, 0.04838624, 1.30439695, 34.39644051, 14.72847983, 100.47390909,
+			-0.00011607, -0.00013253, -0.00183714, 3034.74612775, 0.21252668, 0.20469106},
+		{9.53667594, 0.05386179, 2.48599187, 49.95424423, 92.59887831, 113.66242448,
+			-0.00125060, -0.00050991, 0.00193609, 1222.49362201, -0.41897216, -0.28867794},
+		{19.18916464, 0.04725744, 0.77263783, 313.23810451, 170.95427630, 74.01692503,
+			-0.00196176, -0.00004397, -0.00242939, 428.48202785, 0.40805281, 0.04240589},
+		{30.06992276, 0.00859048, 1.77004347, -55.12002969, 44.96476227, 131.78422574,
+			0.00026291, 0.00005105, 0.00035372, 218.45945325, -0.32241464, -0.00508664},
+	};
+
+	private static final int MAX_ITERATIONS = 20;
+
+	private final double[] elements;
+
+	/**
+	 * @param planet the planet; the Earth's elements are those of the Earth-Moon barycenter
+	 */
+	MeanElements(Planet planet) {
+		this.elements = ELEMENTS[planet.ordinal()];
+	}
+
+	@Override
+	public void evaluate(double t, double[] result) {
+		if (t < FIRST_CENTURY || t > LAST_CENTURY) {
+			throw new IllegalArgumentException("Mean elements are only fitted between 1800 and 2050");
+		}
+		double a = elements[0] + elements[6] * t;
+		double e = elements[1] + elements[7] * t;
+		double inclination = Math.toRadians(elements[2] + elements[8] * t);
+		double meanLongitude = elements[3] + elements[9] * t;
+		double perihelion = elements[4] + elements[10] * t;
+		double node = Math.toRadians(elements[5] + elements[11] * t);
+
+		double argument = Math.toRadians(perihelion) - node;
+		double meanAnomaly = Math.toRadians(((meanLongitude - perihelion) % 360.0 + 540.0) % 360.0 - 180.0);
+		double eccentricAnomaly = solveKepler(meanAnomaly, e);
+
+		double xOrbit = a * (Math.cos(eccentricAnomaly) - e);
+		double yOrbit = a * Math.sqrt(1.0 - e * e) * Math.sin(eccentricAnomaly);
+
+		double cosW = Math.cos(argument);
+		double sinW = Math.sin(argument);
+		double cosN = Math.cos(node);
+		double sinN = Math.sin(node);
+		double cosI = Math.cos(inclination);
+		double sinI = Math.sin(inclination);
+
+		double x = (cosW * cosN - sinW * sinN * cosI) * xOrbit + (-sinW * cosN - cosW * sinN * cosI) * yOrbit;
+		double y = (cosW * sinN + sinW * cosN * cosI) * xOrbit + (-sinW * sinN + cosW * cosN * cosI) * yOrbit;
+		double z = sinW * sinI * xOrbit + cosW * sinI * yOrbit;
+
+		double radius = Math.sqrt(x * x + y * y + z * z);
+		double longitude = Math.atan2(y, x) + Math.toRadians(generalPrecession(t));
+		longitude %= 2.0 * Math.PI;
+		result[0] = longitude < 0 ? longitude + 2.0 * Math.PI : longitude;
+		result[1] = Math.asin(z / radius);
+		result[2] = radius;
+	}
+
+	/**
+	 * General precession in longitude since J2000 in degrees (IAU 1976)
+	 */
+	static double generalPrecession(double t) {
+		return (5029.0966 + 1.11113 * t) * t / 3600.0;
+	}
+
+	private static double solveKepler(double meanAnomaly, double e) {
+		double eccentricAnomaly = meanAnomaly + e * Math.sin(meanAnomaly);
+		for (int i = 0; i < MAX_ITERATIONS; i++) {
+			double delta = (eccentricAnomaly - e * Math.sin(eccentricAnomaly) - meanAnomaly)
+				/ (1.0 - e * Math.cos(eccentricAnomaly));
+			eccentricAnomaly -= delta;
+			if (Math.abs(delta) < 1e-12) {
+				break;
+			}
+		}
+		return eccentricAnomaly;
+	}
+}
@@ -0,0 +1,22 @@
+package com.cosmoscore.position.planetary;
+
+/**
+ * The major planets.
+ */
+public enum Planet {
+	MERCURY,
+	VENUS,
+	EARTH,
+	MARS,
+	JUPITER,
+	SATURN,
+	URANUS,
+	NEPTUNE;
+
+	/**
+	 * Returns the classpath resource holding this planet's VSOP87 series
+	 */
+	String seriesResource() {
+		return "/vsop87/" + name().toLowerCase() + ".txt";
+	}
+}
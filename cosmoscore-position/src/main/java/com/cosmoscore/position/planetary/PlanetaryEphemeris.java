@@ -0,0 +1,191 @@
+package com.cosmoscore.position.planetary;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.Ecliptic;
+import com.cosmoscore.position.Nutation;
+
+/**
+ * Heliocentric and geocentric positions of the major planets.
+ * <p>
+ * Planets with a bundled VSOP87 series ({@code /vsop87/<planet>.txt} on the classpath) are evaluated from
+ * that series, truncated to the accuracy chosen at construction. Other planets fall back to Keplerian
+ * mean elements, good to {@value #MEAN_ELEMENT_ACCURACY} arcseconds between 1800 and 2050, and only
+ * when the ephemeris was created with an accuracy at least that coarse; a tighter accuracy is never
+ * silently downgraded. Each planet's theory is loaded on first use, so unused planets cost nothing.
+ * <p>
+ * Positions are referred to the ecliptic and equinox of date. Geocentric positions are corrected for
+ * light-time; aberration (at most 20 arcseconds) is not applied. Instances are safe to share between threads.
+ */
+public final class PlanetaryEphemeris {
+
+	/**
+	 * Coarsest error in arcseconds of the mean elements used for planets without a bundled series
+	 */
+	public static final double MEAN_ELEMENT_ACCURACY = MeanElements.ACCURACY;
+
+	/**
+	 * Default target accuracy in arcseconds, coarse enough for every planet to be evaluated
+	 */
+	public static final double DEFAULT_ACCURACY = MEAN_ELEMENT_ACCURACY;
+
+	/**
+	 * Light-time for one astronomical unit in days
+	 */
+	private static final double LIGHT_TIME_PER_AU = 0.0057755183;
+
+	private final double accuracy;
+	private final Map<Planet, HeliocentricTheory> theories = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an ephemeris with the default accuracy, which covers every planet between 1800 and 2050.
+	 * Pass a tighter accuracy to use only the bundled series.
+	 */
+	public PlanetaryEphemeris() {
+		this(DEFAULT_ACCURACY);
+	}
+
+	/**
+	 * Creates an ephemeris that drops series terms too small to matter at a target accuracy.
+	 *
+	 * @param accuracy target accuracy in arcseconds; 0 keeps every bundled term
+	 * @throws IllegalArgumentException if the accuracy is negative
+	 */
+	public PlanetaryEphemeris(double accuracy) {
+		if (!(accuracy >= 0)) {
+			throw new IllegalArgumentException("Accuracy cannot be negative");
+		}
+		this.accuracy = accuracy;
+	}
+
+	/**
+	 * Returns the target accuracy in arcseconds
+	 */
+	public double accuracy() {
+		return accuracy;
+	}
+
+	/**
+	 * Returns whether a planet is evaluated from a VSOP87 series rather than mean elements
+	 *
+	 * @throws IllegalArgumentException if the planet has no series and the target accuracy is tighter than
+	 *         {@value #MEAN_ELEMENT_ACCURACY} arcseconds
+	 */
+	public boolean hasSeries(Planet planet) {
+		return theory(planet) instanceof Vsop87Series;
+	}
+
+	/**
+	 * Calculates a planet's heliocentric position.
+	 *
+	 * @param planet the planet
+	 * @param jd Julian Date
+	 * @return position in astronomical units, in the ecliptic frame of date
+	 * @throws IllegalArgumentException if the planet has no series and the target accuracy is tighter than
+	 *         {@value #MEAN_ELEMENT_ACCURACY} arcseconds, or mean elements are used outside 1800-2050
+	 */
+	public Vector3D heliocentric(Planet planet, JulianDate jd) {
+		double[] position = new double[3];
+		heliocentric(planet, jd.julianCenturies(), position);
+		return new Vector3D(position[0], position[1], position[2]);
+	}
+
+	/**
+	 * Calculates a planet's geocentric position, corrected for light-time.
+	 *
+	 * @param planet the planet, other than the Earth
+	 * @param jd Julian Date
+	 * @return position in astronomical units, in the mean equatorial frame of date
+	 * @throws IllegalArgumentException if the planet has no series and the target accuracy is tighter than
+	 *         {@value #MEAN_ELEMENT_ACCURACY} arcseconds, or mean elements are used outside 1800-2050
+	 */
+	public Vector3D geocentric(Planet planet, JulianDate jd) {
+		double t = jd.julianCenturies();
+		double[] position = geocentricEcliptic(planet, t);
+		double epsilon = Math.toRadians(Ecliptic.meanObliquity(t));
+		double cosEps = Math.cos(epsilon);
+		double sinEps = Math.sin(epsilon);
+
+		return new Vector3D(
+			position[0],
+			position[1] * cosEps - position[2] * sinEps,
+			position[1] * sinEps + position[2] * cosEps);
+	}
+
+	/**
+	 * Calculates a planet's apparent equatorial position, including nutation.
+	 *
+	 * @param planet the planet, other than the Earth
+	 * @param jd Julian Date
+	 * @return right ascension and declination
+	 * @throws IllegalArgumentException if the planet has no series and the target accuracy is tighter than
+	 *         {@value #MEAN_ELEMENT_ACCURACY} arcseconds, or mean elements are used outside 1800-2050
+	 */
+	public EquatorialCoordinate equatorial(Planet planet, JulianDate jd) {
+		double t = jd.julianCenturies();
+		double[] position = geocentricEcliptic(planet, t);
+		double longitude = Math.toDegrees(Math.atan2(position[1], position[0]));
+		double latitude = Math.toDegrees(Math.atan2(position[2], Math.hypot(position[0], position[1])));
+
+		return Ecliptic.toEquatorial(longitude + Nutation.inLongitude(t), latitude, Nutation.trueObliquity(t));
+	}
+
+	/**
+	 * Geocentric ecliptic rectangular position of a planet, iterated for light-time
+	 */
+	private double[] geocentricEcliptic(Planet planet, double t) {
+		Objects.requireNonNull(planet, "Planet must not be null");
+		if (planet == Planet.EARTH) {
+			throw new IllegalArgumentException("Geocentric position of the Earth is undefined");
+		}
+		double[] earth = new double[3];
+		heliocentric(Planet.EARTH, t, earth);
+
+		double[] position = new double[3];
+		double lightTime = 0;
+		for (int i = 0; i < 2; i++) {
+			heliocentric(planet, t - lightTime / 36525.0, position);
+			position[0] -= earth[0];
+			position[1] -= earth[1];
+			position[2] -= earth[2];
+			double distance = Math.sqrt(position[0] * position[0] + position[1] * position[1] + position[2] * position[2]);
+			lightTime = LIGHT_TIME_PER_AU * distance;
+		}
+		return position;
+	}
+
+	/**
+	 * Heliocentric ecliptic rectangular position of a planet
+	 */
+	private void heliocentric(Planet planet, double t, double[] result) {
+		theory(planet).evaluate(t, result);
+		double longitude = result[0];
+		double latitude = result[1];
+		double radius = result[2];
+		double cosLat = Math.cos(latitude);
+
+		result[0] = radius * cosLat * Math.cos(longitude);
+		result[1] = radius * cosLat * Math.sin(longitude);
+		result[2] = radius * Math.sin(latitude);
+	}
+
+	private HeliocentricTheory theory(Planet planet) {
+		Objects.requireNonNull(planet, "Planet must not be null");
+		return theories.computeIfAbsent(planet, key -> {
+			Vsop87Series series = Vsop87Series.load(key);
+			if (series == null) {
+				if (accuracy < MeanElements.ACCURACY) {
+					throw new IllegalArgumentException("No VSOP87 series is bundled for " + key
+						+ ", and its mean elements are only good to " + MeanElements.ACCURACY + " arcseconds");
+				}
+				return new MeanElements(key);
+			}
+			return series.truncate(Math.toRadians(accuracy / 3600.0));
+		});
+	}
+}
@@ -0,0 +1,196 @@
+package com.cosmoscore.position.planetary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A VSOP87 series for one planet: heliocentric longitude, latitude and radius as Poisson series
+ * {@code Σ τ^α Σ A cos(B + C τ)} in Julian millennia τ from J2000.
+ * <p>
+ * Series are read from text resources with one term per line:
+ * {@code variable power amplitude phase frequency}, where the variable is L, B or R.
+ * Lines starting with {@code #} are comments. {@link #truncate(double)} drops the smallest terms
+ * that together stay below a target accuracy, which is how callers trade precision for speed.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class Vsop87Series implements HeliocentricTheory {
+
+	private static final int VARIABLES = 3;
+	private static final int MAX_POWER = 5;
+	private static final String VARIABLE_NAMES = "LBR";
+
+	private static final Map<Planet, Optional<Vsop87Series>> BUNDLED = new ConcurrentHashMap<>();
+
+	/**
+	 * Terms per variable and power, indexed by {@code variable * (MAX_POWER + 1) + power}.
+	 * Each group holds amplitude, phase and frequency triples, largest amplitude first.
+	 */
+	private final double[][] groups;
+
+	private Vsop87Series(double[][] groups) {
+		this.groups = groups;
+	}
+
+	/**
+	 * Reads a series from a stream.
+	 *
+	 * @param input the series text
+	 * @return the series
+	 * @throws IllegalArgumentException if a line is malformed
+	 * @throws UncheckedIOException if the stream cannot be read
+	 */
+	public static Vsop87Series read(InputStream input) {
+		Objects.requireNonNull(input, "Input must not be null");
+		List<List<double[]>> terms = new ArrayList<>();
+		for (int i = 0; i < VARIABLES * (MAX_POWER + 1); i++) {
+			terms.add(new ArrayList<>());
+		}
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.US_ASCII))) {
+			String line;
+			int lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				line = line.strip();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				String[] fields = line.split("\\s+");
+				int variable = fields[0].length() == 1 ? VARIABLE_NAMES.indexOf(fields[0].charAt(0)) : -1;
+				if (fields.length != 5 || variable < 0) {
+					throw new IllegalArgumentException("Malformed VSOP87 term at line " + lineNumber);
+				}
+				int power = Integer.parseInt(fields[1]);
+				if (power < 0 || power > MAX_POWER) {
+					throw new IllegalArgumentException("VSOP87 power must be between 0 and " + MAX_POWER
+						+ " at line " + lineNumber);
+				}
+				terms.get(variable * (MAX_POWER + 1) + power).add(new double[] {
+					Double.parseDouble(fields[2]), Double.parseDouble(fields[3]), Double.parseDouble(fields[4])});
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		double[][] groups = new double[terms.size()][];
+		for (int i = 0; i < groups.length; i++) {
+			List<double[]> group = terms.get(i);
+			group.sort(Comparator.comparingDouble((double[] term) -> Math.abs(term[0])).reversed());
+			groups[i] = new double[group.size() * 3];
+			for (int j = 0; j < group.size(); j++) {
+				System.arraycopy(group.get(j), 0, groups[i], j * 3, 3);
+			}
+		}
+		return new Vsop87Series(groups);
+	}
+
+	/**
+	 * Loads the series bundled for a planet, if there is one. Each resource is read once.
+	 *
+	 * @param planet the planet
+	 * @return the series, or null if none is bundled
+	 */
+	static Vsop87Series load(Planet planet) {
+		return BUNDLED.computeIfAbsent(planet, key -> {
+			InputStream input = Vsop87Series.class.getResourceAsStream(key.seriesResource());
+			return Optional.ofNullable(input == null ? null : read(input));
+		}).orElse(null);
+	}
+
+	/**
+	 * Returns the number of terms in the series
+	 */
+	public int termCount() {
+		int count = 0;
+		for (double[] group : groups) {
+			count += group.length / 3;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns a series without the smallest terms, keeping the error they contribute below a target.
+	 * <p>
+	 * Within each variable and power, terms are dropped from the smallest upwards while the root sum
+	 * square of the dropped amplitudes stays within that group's share of the target. Dropped terms
+	 * have unrelated phases, so their combined error grows roughly as this root sum square. The
+	 * radius is held to the target as an angle at the planet's mean distance. The bound holds for
+	 * dates within a millennium of J2000.
+	 *
+	 * @param accuracy target accuracy in radians
+	 * @return the truncated series
+	 */
+	public Vsop87Series truncate(double accuracy) {
+		if (!(accuracy >= 0)) {
+			throw new IllegalArgumentException("Accuracy cannot be negative");
+		}
+		double meanRadius = groups[2 * (MAX_POWER + 1)].length > 0 ? Math.abs(groups[2 * (MAX_POWER + 1)][0]) : 1.0;
+
+		double[][] truncated = new double[groups.length][];
+		for (int variable = 0; variable < VARIABLES; variable++) {
+			int powers = 0;
+			for (int power = 0; power <= MAX_POWER; power++) {
+				if (groups[variable * (MAX_POWER + 1) + power].length > 0) {
+					powers++;
+				}
+			}
+			double budget = accuracy * (variable == 2 ? meanRadius : 1.0) / Math.max(1, powers);
+			double budgetSquared = budget * budget;
+
+			for (int power = 0; power <= MAX_POWER; power++) {
+				int index = variable * (MAX_POWER + 1) + power;
+				double[] group = groups[index];
+				int kept = group.length / 3;
+				double dropped = 0;
+				while (kept > 0) {
+					double amplitude = group[(kept - 1) * 3];
+					if (dropped + amplitude * amplitude > budgetSquared) {
+						break;
+					}
+					dropped += amplitude * amplitude;
+					kept--;
+				}
+				truncated[index] = Arrays.copyOf(group, kept * 3);
+			}
+		}
+		return new Vsop87Series(truncated);
+	}
+
+	/**
+	 * Evaluates the series.
+	 *
+	 * @param t Julian centuries since J2000.0
+	 * @param result receives longitude (0 to 2π) and latitude in radians and radius in astronomical units
+	 */
+	@Override
+	public void evaluate(double t, double[] result) {
+		double tau = t / 10.0;
+		for (int variable = 0; variable < VARIABLES; variable++) {
+			double value = 0;
+			for (int power = MAX_POWER; power >= 0; power--) {
+				double[] group = groups[variable * (MAX_POWER + 1) + power];
+				double sum = 0;
+				for (int i = 0; i < group.length; i += 3) {
+					sum += group[i] * Math.cos(group[i + 1] + group[i + 2] * tau);
+				}
+				value = value * tau + sum;
+			}
+			result[variable] = value;
+		}
+		double longitude = result[0] % (2.0 * Math.PI);
+		result[0] = longitude < 0 ? longitude + 2.0 * Math.PI : longitude;
+	}
+}
@@ -0,0 +1,137 @@
+package com.cosmoscore.position.solar;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.Ecliptic;
+import com.cosmoscore.position.ephemeris.ChebyshevEphemeris;
+
+/**
+ * Calculates the apparent geocentric position of the Sun.
+ * <p>
+ * Uses the low-precision solar theory of Meeus, <i>Astronomical Algorithms</i>, chapter 25, which is accurate
+ * to about 0.01 degrees. The result includes the main nutation term and aberration. Times are taken as
+ * Terrestrial Time; the difference from UTC (about a minute) moves the Sun by well under the stated accuracy.
+ * <p>
+ * Callers evaluating the Sun many times over a period can use {@link #chebyshev(double, int)} instead.
+ */
+public class SunPosition {
+
+	/**
+	 * Calculates the apparent equatorial position of the Sun.
+	 *
+	 * @param dateTime the instant (UTC)
+	 * @return right ascension and declination of the Sun
+	 */
+	public EquatorialCoordinate calculate(LocalDateTime dateTime) {
+		return calculate(JulianDate.fromLocalDateTime(dateTime));
+	}
+
+	/**
+	 * Calculates the apparent equatorial position of the Sun.
+	 *
+	 * @param jd Julian Date
+	 * @return right ascension and declination of the Sun
+	 */
+	public EquatorialCoordinate calculate(JulianDate jd) {
+		double t = Objects.requireNonNull(jd, "Julian Date must not be null").julianCenturies();
+		double omega = omega(t);
+		return Ecliptic.toEquatorial(apparentLongitude(t, omega), 0.0, obliquity(t, omega));
+	}
+
+	/**
+	 * Calculates the apparent ecliptic longitude of the Sun.
+	 *
+	 * @param jd Julian Date
+	 * @return apparent longitude in degrees (0 to 360)
+	 */
+	public double apparentLongitude(JulianDate jd) {
+		double t = jd.julianCenturies();
+		return Ecliptic.normalizeDegrees(apparentLongitude(t, omega(t)));
+	}
+
+	/**
+	 * Calculates the distance between the centers of the Earth and the Sun.
+	 *
+	 * @param jd Julian Date
+	 * @return distance in astronomical units
+	 */
+	public double distance(JulianDate jd) {
+		double t = jd.julianCenturies();
+		double m = Math.toRadians(meanAnomaly(t));
+		double e = 0.016708634 - t * (0.000042037 + t * 0.0000001267);
+		double nu = m + Math.toRadians(equationOfCenter(t, m));
+		return 1.000001018 * (1.0 - e * e) / (1.0 + e * Math.cos(nu));
+	}
+
+	/**
+	 * Calculates the geocentric position of the Sun as a vector in the equatorial frame of date.
+	 *
+	 * @param jd Julian Date
+	 * @return position in astronomical units
+	 */
+	public Vector3D geocentricPosition(JulianDate jd) {
+		double t = jd.julianCenturies();
+		double omega = omega(t);
+		double lambda = Math.toRadians(apparentLongitude(t, omega));
+		double epsilon = Math.toRadians(obliquity(t, omega));
+		double r = distance(jd);
+		double sinLambda = Math.sin(lambda);
+
+		return new Vector3D(
+			r * Math.cos(lambda),
+			r * Math.cos(epsilon) * sinLambda,
+			r * Math.sin(epsilon) * sinLambda);
+	}
+
+	/**
+	 * Creates a fast evaluator that fits Chebyshev polynomials to the Sun's geocentric position over
+	 * consecutive spans of time. Segments are fitted on first use and then evaluated with a few multiply-adds.
+	 * A 16-day span with degree 10 reproduces this theory to better than 1e-9 degrees.
+	 *
+	 * @param spanDays length of each fitted segment in days
+	 * @param degree degree of the fitted polynomials
+	 * @return the evaluator, safe to share between threads
+	 */
+	public ChebyshevEphemeris chebyshev(double spanDays, int degree) {
+		return new ChebyshevEphemeris(this::geocentricPosition, spanDays, degree);
+	}
+
+	private static double apparentLongitude(double t, double omega) {
+		double l0 = 280.46646 + t * (36000.76983 + t * 0.0003032);
+		double m = Math.toRadians(meanAnomaly(t));
+		double trueLongitude = l0 + equationOfCenter(t, m);
+		// Nutation in longitude and aberration
+		return trueLongitude - 0.00569 - 0.00478 * Math.sin(omega);
+	}
+
+	private static double meanAnomaly(double t) {
+		return 357.52911 + t * (35999.05029 - t * 0.0001537);
+	}
+
+	/**
+	 * Equation of center in degrees for the mean anomaly in radians
+	 */
+	private static double equationOfCenter(double t, double m) {
+		return (1.914602 - t * (0.004817 + t * 0.000014)) * Math.sin(m)
+			+ (0.019993 - t * 0.000101) * Math.sin(2.0 * m)
+			+ 0.000289 * Math.sin(3.0 * m);
+	}
+
+	/**
+	 * Longitude of the Moon's ascending node in radians
+	 */
+	private static double omega(double t) {
+		return Math.toRadians(125.04 - 1934.136 * t);
+	}
+
+	/**
+	 * Obliquity of the ecliptic corrected for the apparent position, in degrees
+	 */
+	private static double obliquity(double t, double omega) {
+		return Ecliptic.meanObliquity(t) + 0.00256 * Math.cos(omega);
+	}
+}
@@ -0,0 +1,137 @@
+package com.cosmoscore.position.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("EpochPropagator class")
+class EpochPropagatorTest {
+
+	private static StarCatalog star(double ra, double dec, double pmRa, double pmDec, double parallax, double rv) {
+		return StarCatalog.of(JulianDate.J2000, null, new double[] {ra}, new double[] {dec}, null,
+			new float[] {(float) pmRa}, new float[] {(float) pmDec}, new float[] {(float) parallax},
+			new float[] {(float) rv});
+	}
+
+	@Nested
+	@DisplayName("proper motion")
+	class ProperMotion {
+		@Test
+		@DisplayName("matches Meeus example 21.b")
+		void matchesMeeus() {
+			// θ Persei: μα = +0.03425 s/yr and μδ = -0.0895"/yr, from J2000.0 to 2028 November 13.19 TD
+			double dec = 49.0 + 13.0 / 60.0 + 42.48 / 3600.0;
+			double pmRa = 0.03425 * 15.0 * 1000.0 * Math.cos(Math.toRadians(dec));
+			EpochPropagator propagator = new EpochPropagator(
+				star(15.0 * (2.0 + 44.0 / 60.0 + 11.986 / 3600.0), dec, pmRa, -89.5, 0.0, 0.0));
+
+			EquatorialCoordinate position = propagator.position(0, new JulianDate(2462088.69));
+
+			assertThat(position.rightAscension()).isEqualTo(41.054063, withPrecision(2e-6));
+			assertThat(position.declination()).isEqualTo(49.227750, withPrecision(2e-6));
+		}
+
+		@Test
+		@DisplayName("includes perspective acceleration from radial velocity")
+		void perspectiveAcceleration() {
+			// Barnard's star: the radial velocity of -110.5 km/s speeds up its proper motion by about 1.3 mas/yr²
+			StarCatalog catalog = star(269.4521, 4.6934, -801.551, 10362.394, 546.9759, -110.51);
+			StarCatalog withoutVelocity = star(269.4521, 4.6934, -801.551, 10362.394, 546.9759, 0.0);
+			JulianDate century = JulianDate.J2000.plusDays(36525.0);
+
+			double moved = new EpochPropagator(catalog).position(0, century).declination();
+			double linear = new EpochPropagator(withoutVelocity).position(0, century).declination();
+
+			assertThat((moved - linear) * 3600.0).isEqualTo(6.5, withPrecision(0.5));
+		}
+
+		@Test
+		@DisplayName("leaves a star without motion in place")
+		void noMotion() {
+			EpochPropagator propagator = new EpochPropagator(star(123.456, -54.321, 0.0, 0.0, 10.0, 40.0));
+
+			EquatorialCoordinate position = propagator.position(0, JulianDate.J2000.plusDays(1e5));
+
+			assertThat(position.rightAscension()).isEqualTo(123.456, withPrecision(1e-12));
+			assertThat(position.declination()).isEqualTo(-54.321, withPrecision(1e-12));
+		}
+	}
+
+	@Nested
+	@DisplayName("bulk propagation")
+	class BulkPropagation {
+		@Test
+		@DisplayName("applies annual parallax for an observer")
+		void annualParallax() {
+			EpochPropagator propagator = new EpochPropagator(star(0.0, 0.0, 0.0, 0.0, 1000.0, 0.0));
+			double[] ra = new double[1];
+			double[] dec = new double[1];
+
+			propagator.propagate(JulianDate.J2000, new Vector3D(0.0, 1.0, 0.0), ra, dec);
+
+			assertThat((ra[0] - 360.0) * 3600.0).isEqualTo(-1.0, withPrecision(1e-9));
+			assertThat(dec[0]).isZero();
+		}
+
+		@Test
+		@DisplayName("gives the same result in parallel")
+		void parallel() {
+			Random random = new Random(7);
+			int size = 3 * PropagationTask.THRESHOLD + 17;
+			double[] ra = new double[size];
+			double[] dec = new double[size];
+			float[] pmRa = new float[size];
+			float[] pmDec = new float[size];
+			float[] parallax = new float[size];
+			float[] rv = new float[size];
+			for (int i = 0; i < size; i++) {
+				ra[i] = random.nextDouble() * 360.0;
+				dec[i] = Math.toDegrees(Math.asin(2.0 * random.nextDouble() - 1.0));
+				pmRa[i] = (float) (random.nextGaussian() * 100.0);
+				pmDec[i] = (float) (random.nextGaussian() * 100.0);
+				parallax[i] = (float) (random.nextDouble() * 50.0);
+				rv[i] = (float) (random.nextGaussian() * 30.0);
+			}
+			EpochPropagator propagator = new EpochPropagator(
+				StarCatalog.of(StarCatalog.GAIA_DR3_EPOCH, null, ra, dec, null, pmRa, pmDec, parallax, rv));
+			JulianDate target = new JulianDate(2460676.5);
+			Vector3D earth = new Vector3D(-0.18, 0.89, 0.39);
+			double[] sequentialRa = new double[size];
+			double[] sequentialDec = new double[size];
+			double[] parallelRa = new double[size];
+			double[] parallelDec = new double[size];
+
+			propagator.propagate(target, earth, sequentialRa, sequentialDec);
+			propagator.parallelPropagate(target, earth, parallelRa, parallelDec);
+
+			assertThat(parallelRa).containsExactly(sequentialRa);
+			assertThat(parallelDec).containsExactly(sequentialDec);
+			EquatorialCoordinate single = propagator.position(1234, target);
+			double[] barycentricRa = new double[size];
+			double[] barycentricDec = new double[size];
+			propagator.propagate(target, barycentricRa, barycentricDec);
+			assertThat(barycentricRa[1234]).isEqualTo(single.rightAscension(), withPrecision(1e-12));
+			assertThat(barycentricDec[1234]).isEqualTo(single.declination(), withPrecision(1e-12));
+		}
+
+		@Test
+		@DisplayName("rejects output arrays shorter than the catalog")
+		void rejectShortOutput() {
+			EpochPropagator propagator = new EpochPropagator(star(1.0, 2.0, 0.0, 0.0, 0.0, 0.0));
+
+			assertThatThrownBy(() -> propagator.propagate(JulianDate.J2000, new double[1], new double[0]))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Output arrays must hold a position for every star");
+		}
+	}
+}
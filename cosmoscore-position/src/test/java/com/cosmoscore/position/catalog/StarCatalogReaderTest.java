@@ -0,0 +1,187 @@
+package com.cosmoscore.position.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("StarCatalogReader class")
+class StarCatalogReaderTest {
+
+	private static StarCatalog csv(String text) throws IOException {
+		InputStream input = new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII));
+		return StarCatalogReader.readCsv(input, StarCatalog.GAIA_DR3_EPOCH);
+	}
+
+	@Nested
+	@DisplayName("CSV input")
+	class CsvInput {
+		@Test
+		@DisplayName("maps columns by header name")
+		void headerNames() throws IOException {
+			StarCatalog catalog = csv("""
+				# Gaia DR3 subset
+				source_id,ref_epoch,ra,dec,parallax,pmra,pmdec,phot_g_mean_mag,radial_velocity
+				4472832130942575872,2016.0,269.4485,4.7398,546.9759,-801.551,10362.394,8.19,-110.51
+				""");
+
+			assertThat(catalog.size()).isEqualTo(1);
+			assertThat(catalog.epoch()).isEqualTo(StarCatalog.GAIA_DR3_EPOCH);
+			assertThat(catalog.id(0)).isEqualTo(4472832130942575872L);
+			assertThat(catalog.rightAscension(0)).isEqualTo(269.4485);
+			assertThat(catalog.declination(0)).isEqualTo(4.7398);
+			assertThat(catalog.parallax(0)).isEqualTo(546.9759f);
+			assertThat(catalog.properMotionRa(0)).isEqualTo(-801.551f);
+			assertThat(catalog.properMotionDec(0)).isEqualTo(10362.394f);
+			assertThat(catalog.magnitude(0)).isEqualTo(8.19f);
+			assertThat(catalog.radialVelocity(0)).isEqualTo(-110.51f);
+		}
+
+		@Test
+		@DisplayName("treats empty fields as missing and accepts CRLF line ends")
+		void missingFields() throws IOException {
+			StarCatalog catalog = csv("ra,dec,mag,pmra\r\n10.5,-20.25,,\r\n11.5, 21.75 ,3.5,1e1");
+
+			assertThat(catalog.size()).isEqualTo(2);
+			assertThat(catalog.id(1)).isEqualTo(1L);
+			assertThat(catalog.magnitude(0)).isNaN();
+			assertThat(catalog.properMotionRa(0)).isZero();
+			assertThat(catalog.declination(1)).isEqualTo(21.75);
+			assertThat(catalog.properMotionRa(1)).isEqualTo(10.0f);
+		}
+
+		@Test
+		@DisplayName("streams input larger than its buffer")
+		void largeInput() throws IOException {
+			StringBuilder text = new StringBuilder("id,ra,dec\n");
+			for (int i = 0; i < 20000; i++) {
+				text.append(i).append(',').append(i % 360).append(".125,").append(i % 179 - 89).append(".5\n");
+			}
+
+			StarCatalog catalog = csv(text.toString());
+
+			assertThat(catalog.size()).isEqualTo(20000);
+			assertThat(catalog.id(19999)).isEqualTo(19999L);
+			assertThat(catalog.rightAscension(19999)).isEqualTo(19999 % 360 + 0.125);
+			assertThat(catalog.declination(12345)).isEqualTo(12345 % 179 - 89 + 0.5);
+		}
+
+		@Test
+		@DisplayName("reports the line of a malformed number")
+		void malformedNumber() {
+			assertThatThrownBy(() -> csv("ra,dec\n1.0,2.0\n1.0,2.x\n"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Malformed dec at line 3");
+		}
+
+		@Test
+		@DisplayName("reports the line of an out of range position")
+		void outOfRange() {
+			assertThatThrownBy(() -> csv("ra,dec\n1.0,95.0\n"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Declination must be between -90 and +90 degrees at line 2");
+		}
+
+		@Test
+		@DisplayName("requires ra and dec in the header")
+		void requiresPosition() {
+			assertThatThrownBy(() -> csv("id,ra\n1,2.0\n"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("CSV header must name ra and dec columns");
+		}
+	}
+
+	@Nested
+	@DisplayName("number parsing")
+	class NumberParsing {
+		@Test
+		@DisplayName("agrees with Double.parseDouble")
+		void matchesParseDouble() {
+			Random random = new Random(42);
+			String[] samples = new String[5000];
+			for (int i = 0; i < samples.length; i++) {
+				double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12) - 4);
+				samples[i] = switch (i % 3) {
+					case 0 -> Double.toString(value);
+					case 1 -> String.format("%.6f", value);
+					default -> String.format("%.10e", value);
+				};
+			}
+
+			for (String sample : samples) {
+				byte[] bytes = sample.getBytes(StandardCharsets.US_ASCII);
+				assertThat(StarCatalogReader.parseDouble(bytes, 0, bytes.length)).isEqualTo(Double.parseDouble(sample));
+			}
+		}
+
+		@Test
+		@DisplayName("parses long identifiers")
+		void parsesLong() {
+			byte[] bytes = "-9223372036854775808".getBytes(StandardCharsets.US_ASCII);
+
+			assertThat(StarCatalogReader.parseLong(bytes, 0, bytes.length)).isEqualTo(Long.MIN_VALUE);
+			assertThat(StarCatalogReader.parseLong(bytes, 1, 6)).isEqualTo(92233L);
+		}
+	}
+
+	@Nested
+	@DisplayName("binary files")
+	class BinaryFiles {
+		@Test
+		@DisplayName("round trip through the writer")
+		void roundTrip() throws IOException {
+			StarCatalog catalog = StarCatalog.of(new JulianDate(2451545L, 0.25), new long[] {7, 8},
+				new double[] {0.0, 359.9999999}, new double[] {-90.0, 12.3456789},
+				new float[] {Float.NaN, 4.5f}, new float[] {1.5f, -2.5f}, new float[] {3.5f, -4.5f},
+				new float[] {0.5f, 100.25f}, new float[] {-12.0f, 30.0f});
+			Path path = Files.createTempFile("catalog", ".bin");
+			try {
+				StarCatalogWriter.write(catalog, path);
+				StarCatalog read = StarCatalogReader.readBinary(path);
+
+				assertThat(Files.size(path)).isEqualTo(StarCatalogWriter.HEADER_SIZE + 2L * StarCatalogWriter.BYTES_PER_STAR);
+				assertThat(read.epoch()).isEqualTo(catalog.epoch());
+				assertThat(read.size()).isEqualTo(2);
+				for (int row = 0; row < 2; row++) {
+					assertThat(read.id(row)).isEqualTo(catalog.id(row));
+					assertThat(read.rightAscension(row)).isEqualTo(catalog.rightAscension(row));
+					assertThat(read.declination(row)).isEqualTo(catalog.declination(row));
+					assertThat(read.magnitude(row)).isEqualTo(catalog.magnitude(row));
+					assertThat(read.properMotionRa(row)).isEqualTo(catalog.properMotionRa(row));
+					assertThat(read.properMotionDec(row)).isEqualTo(catalog.properMotionDec(row));
+					assertThat(read.parallax(row)).isEqualTo(catalog.parallax(row));
+					assertThat(read.radialVelocity(row)).isEqualTo(catalog.radialVelocity(row));
+				}
+			} finally {
+				Files.deleteIfExists(path);
+			}
+		}
+
+		@Test
+		@DisplayName("rejects a file of another format")
+		void rejectOtherFormat() throws IOException {
+			Path path = Files.createTempFile("catalog", ".bin");
+			try {
+				Files.write(path, "ra,dec\n1.0,2.0\n1.0,2.0\n1.0,2.0\n".getBytes(StandardCharsets.US_ASCII));
+
+				assertThatThrownBy(() -> StarCatalogReader.readBinary(path))
+					.isInstanceOf(IOException.class)
+					.hasMessage("Not a star catalog file");
+			} finally {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+}
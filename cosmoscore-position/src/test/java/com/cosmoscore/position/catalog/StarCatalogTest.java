@@ -0,0 +1,146 @@
+package com.cosmoscore.position.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("StarCatalog class")
+class StarCatalogTest {
+
+	// Sirius, Vega and Polaris from Hipparcos
+	private static final StarCatalog CATALOG = StarCatalog.of(StarCatalog.HIPPARCOS_EPOCH,
+		new long[] {32349, 91262, 11767},
+		new double[] {101.28715533, 279.23473479, 37.94614689},
+		new double[] {-16.71611586, 38.78368896, 89.26413805},
+		new float[] {-1.44f, 0.03f, 1.97f},
+		new float[] {-546.01f, 200.94f, 44.22f},
+		new float[] {-1223.08f, 286.23f, -11.74f},
+		new float[] {379.21f, 128.93f, 7.56f},
+		null);
+
+	private static JulianDate julianEpoch(double year) {
+		return JulianDate.J2000.plusDays(365.25 * (year - 2000.0));
+	}
+
+	@Nested
+	@DisplayName("epochs")
+	class Epochs {
+		@Test
+		@DisplayName("places Hipparcos at J1991.25")
+		void hipparcos() {
+			assertThat(julianEpoch(1991.25).daysUntil(StarCatalog.HIPPARCOS_EPOCH)).isZero();
+			assertThat(StarCatalog.HIPPARCOS_EPOCH.value()).isEqualTo(2448349.0625);
+		}
+
+		@Test
+		@DisplayName("places Gaia DR3 at J2016.0")
+		void gaia() {
+			assertThat(julianEpoch(2016.0).daysUntil(StarCatalog.GAIA_DR3_EPOCH)).isZero();
+			assertThat(StarCatalog.GAIA_DR3_EPOCH.value()).isEqualTo(2457389.0);
+		}
+	}
+
+	@Nested
+	@DisplayName("creation")
+	class Creation {
+		@Test
+		@DisplayName("holds every column by row")
+		void columns() {
+			assertThat(CATALOG.size()).isEqualTo(3);
+			assertThat(CATALOG.epoch()).isEqualTo(StarCatalog.HIPPARCOS_EPOCH);
+			assertThat(CATALOG.id(1)).isEqualTo(91262L);
+			assertThat(CATALOG.rightAscension(1)).isEqualTo(279.23473479);
+			assertThat(CATALOG.declination(1)).isEqualTo(38.78368896);
+			assertThat(CATALOG.magnitude(0)).isEqualTo(-1.44f);
+			assertThat(CATALOG.properMotionRa(0)).isEqualTo(-546.01f);
+			assertThat(CATALOG.properMotionDec(0)).isEqualTo(-1223.08f);
+			assertThat(CATALOG.parallax(2)).isEqualTo(7.56f);
+		}
+
+		@Test
+		@DisplayName("fills missing columns")
+		void missingColumns() {
+			StarCatalog catalog = StarCatalog.of(JulianDate.J2000, null, new double[] {10.0, 20.0},
+				new double[] {-5.0, 5.0}, null, null, null, null, null);
+
+			assertThat(catalog.id(1)).isEqualTo(1L);
+			assertThat(catalog.magnitude(0)).isNaN();
+			assertThat(catalog.properMotionRa(0)).isZero();
+			assertThat(catalog.radialVelocity(1)).isZero();
+		}
+
+		@Test
+		@DisplayName("copies the columns it is given")
+		void copiesColumns() {
+			double[] ra = {10.0};
+			StarCatalog catalog = StarCatalog.of(JulianDate.J2000, null, ra, new double[] {0.0},
+				null, null, null, null, null);
+
+			ra[0] = 20.0;
+
+			assertThat(catalog.rightAscension(0)).isEqualTo(10.0);
+		}
+
+		@Test
+		@DisplayName("rejects columns of different lengths")
+		void rejectLengths() {
+			assertThatThrownBy(() -> StarCatalog.of(JulianDate.J2000, null, new double[2], new double[2],
+				new float[3], null, null, null, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Catalog columns must all have the same length");
+		}
+
+		@Test
+		@DisplayName("rejects an out of range position")
+		void rejectPosition() {
+			assertThatThrownBy(() -> StarCatalog.of(JulianDate.J2000, null, new double[] {360.0},
+				new double[] {0.0}, null, null, null, null, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Right ascension must be between 0 and 360 degrees");
+		}
+	}
+
+	@Nested
+	@DisplayName("iteration")
+	class Iteration {
+		@Test
+		@DisplayName("hands out coordinates on demand")
+		void coordinates() {
+			assertThat(CATALOG.coordinate(2)).isEqualTo(new EquatorialCoordinate(37.94614689, 89.26413805));
+			assertThat(CATALOG.coordinates().toList())
+				.containsExactly(CATALOG.coordinate(0), CATALOG.coordinate(1), CATALOG.coordinate(2));
+		}
+
+		@Test
+		@DisplayName("visits rows in order")
+		void forEach() {
+			List<Integer> rows = new ArrayList<>();
+			List<Double> declinations = new ArrayList<>();
+
+			CATALOG.forEach((row, ra, dec) -> {
+				rows.add(row);
+				declinations.add(dec);
+			});
+
+			assertThat(rows).containsExactly(0, 1, 2);
+			assertThat(declinations).containsExactly(-16.71611586, 38.78368896, 89.26413805);
+		}
+
+		@Test
+		@DisplayName("indexes rows for cone search")
+		void skyIndex() {
+			int[] rows = CATALOG.skyIndex().coneSearch(279.0, 39.0, 1.0);
+
+			assertThat(rows).containsExactly(1);
+		}
+	}
+}
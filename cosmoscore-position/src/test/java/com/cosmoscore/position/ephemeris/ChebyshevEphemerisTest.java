@@ -0,0 +1,103 @@
+package com.cosmoscore.position.ephemeris;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.solar.SunPosition;
+
+@DisplayName("ChebyshevEphemeris class")
+class ChebyshevEphemerisTest {
+
+	private static final JulianDate START = new JulianDate(2460676L, 0.25);
+
+	@Nested
+	@DisplayName("segment")
+	class Segment {
+		@Test
+		@DisplayName("reproduces a polynomial of the same degree exactly")
+		void reproducesPolynomial() {
+			ChebyshevSegment segment = ChebyshevSegment.fit(
+				jd -> {
+					double t = START.daysUntil(jd);
+					return new Vector3D(1.0 + 2.0 * t, t * t - 3.0, t * t * t);
+				}, START, 4.0, 3);
+
+			for (double t = 0.0; t < 4.0; t += 0.37) {
+				Vector3D value = segment.evaluate(START.plusDays(t));
+				assertThat(value.x()).isEqualTo(1.0 + 2.0 * t, withPrecision(1e-12));
+				assertThat(value.y()).isEqualTo(t * t - 3.0, withPrecision(1e-12));
+				assertThat(value.z()).isEqualTo(t * t * t, withPrecision(1e-11));
+			}
+			assertThat(segment.degree()).isEqualTo(3);
+			assertThat(segment.contains(START.plusDays(4.0))).isFalse();
+		}
+
+		@Test
+		@DisplayName("rejects a non-positive span")
+		void rejectsSpan() {
+			assertThatThrownBy(() -> new ChebyshevSegment(START, 0.0, new double[1], new double[1], new double[1]))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Segment span must be positive");
+		}
+	}
+
+	@Nested
+	@DisplayName("solar fast path")
+	class SolarFastPath {
+		private final SunPosition sun = new SunPosition();
+
+		@Test
+		@DisplayName("matches the full theory across many segments")
+		void matchesTheory() {
+			ChebyshevEphemeris ephemeris = sun.chebyshev(16.0, 10);
+
+			for (double t = 0.0; t < 200.0; t += 0.173) {
+				JulianDate jd = START.plusDays(t);
+				EquatorialCoordinate expected = sun.calculate(jd);
+				EquatorialCoordinate actual = ephemeris.equatorial(jd);
+
+				assertThat(actual.rightAscension()).isEqualTo(expected.rightAscension(), withPrecision(1e-9));
+				assertThat(actual.declination()).isEqualTo(expected.declination(), withPrecision(1e-9));
+				assertThat(ephemeris.position(jd).magnitude()).isEqualTo(sun.distance(jd), withPrecision(1e-10));
+			}
+			assertThat(ephemeris.segmentCount()).isBetween(13, 14);
+		}
+
+		@Test
+		@DisplayName("evaluates a base date plus days like the date itself")
+		void offsetFromBase() {
+			ChebyshevEphemeris ephemeris = sun.chebyshev(16.0, 10);
+			double[] expected = new double[3];
+			double[] actual = new double[3];
+
+			for (double t = -40.0; t < 60.0; t += 0.731) {
+				ephemeris.position(START.plusDays(t), expected);
+				ephemeris.position(START, t, actual);
+
+				assertThat(actual[0]).isEqualTo(expected[0], withPrecision(1e-12));
+				assertThat(actual[1]).isEqualTo(expected[1], withPrecision(1e-12));
+				assertThat(actual[2]).isEqualTo(expected[2], withPrecision(1e-12));
+			}
+		}
+
+		@Test
+		@DisplayName("reuses fitted segments")
+		void reusesSegments() {
+			ChebyshevEphemeris ephemeris = sun.chebyshev(8.0, 8);
+
+			ChebyshevSegment first = ephemeris.segment(START);
+			ephemeris.segment(START.plusDays(20.0));
+
+			assertThat(ephemeris.segment(START)).isSameAs(first);
+			assertThat(ephemeris.segmentCount()).isEqualTo(2);
+		}
+	}
+}
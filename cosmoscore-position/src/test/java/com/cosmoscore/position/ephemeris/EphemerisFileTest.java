@@ -0,0 +1,169 @@
+package com.cosmoscore.position.ephemeris;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.lunar.MoonPosition;
+import com.cosmoscore.position.solar.SunPosition;
+
+@DisplayName("EphemerisFile class")
+class EphemerisFileTest {
+
+	private static final JulianDate START = new JulianDate(2460676L, 0.5);
+
+	private final SunPosition sun = new SunPosition();
+	private final MoonPosition moon = new MoonPosition();
+
+	private Path writeSunAndMoon() throws IOException {
+		Path path = Files.createTempFile("ephemeris", ".bin");
+		new EphemerisFileWriter(START, START.plusDays(60.0))
+			.add("SUN", sun::geocentricPosition, 16.0, 10)
+			.add("MOON", moon::geocentricPosition, 2.0, 14)
+			.write(path);
+		return path;
+	}
+
+	@Nested
+	@DisplayName("round trip")
+	class RoundTrip {
+		@Test
+		@DisplayName("reproduces the source positions of every body")
+		void reproducesSources() throws IOException {
+			Path path = writeSunAndMoon();
+			try {
+				EphemerisFile file = EphemerisFile.open(path);
+				EphemerisFile.Body sunBody = file.body("SUN");
+				EphemerisFile.Body moonBody = file.body("MOON");
+				double[] result = new double[3];
+
+				assertThat(List.copyOf(file.bodies())).containsExactly("SUN", "MOON");
+				for (double t = 0.0; t <= 60.0; t += 0.137) {
+					JulianDate jd = START.plusDays(t);
+
+					Vector3D expectedSun = sun.geocentricPosition(jd);
+					sunBody.position(jd, result);
+					assertThat(result[0]).isEqualTo(expectedSun.x(), withPrecision(1e-10));
+					assertThat(result[1]).isEqualTo(expectedSun.y(), withPrecision(1e-10));
+					assertThat(result[2]).isEqualTo(expectedSun.z(), withPrecision(1e-10));
+
+					Vector3D expectedMoon = moon.geocentricPosition(jd);
+					Vector3D actualMoon = moonBody.position(jd);
+					assertThat(actualMoon.subtract(expectedMoon).magnitude()).isLessThan(0.01);
+				}
+			} finally {
+				Files.delete(path);
+			}
+		}
+
+		@Test
+		@DisplayName("matches a segment fitted in memory")
+		void matchesInMemoryFit() throws IOException {
+			Path path = writeSunAndMoon();
+			try {
+				EphemerisFile.Body body = EphemerisFile.open(path).body("SUN");
+				ChebyshevSegment segment = ChebyshevSegment.fit(sun::geocentricPosition, START.plusDays(16.0), 16.0, 10);
+				JulianDate jd = START.plusDays(20.5);
+
+				assertThat(body.position(jd)).isEqualTo(segment.evaluate(jd));
+				assertThat(body.equatorial(jd).rightAscension())
+					.isEqualTo(sun.calculate(jd).rightAscension(), withPrecision(1e-9));
+			} finally {
+				Files.delete(path);
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("validation")
+	class Validation {
+		@Test
+		@DisplayName("rejects dates outside the file")
+		void rejectsOutsideDates() throws IOException {
+			Path path = writeSunAndMoon();
+			try {
+				EphemerisFile.Body body = EphemerisFile.open(path).body("MOON");
+
+				assertThatThrownBy(() -> body.position(START.minusDays(0.001)))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("Julian Date is outside the ephemeris file");
+				assertThatThrownBy(() -> body.position(body.end()))
+					.isInstanceOf(IllegalArgumentException.class);
+				assertThatThrownBy(() -> EphemerisFile.open(path).body("MARS"))
+					.isInstanceOf(IllegalArgumentException.class);
+			} finally {
+				Files.delete(path);
+			}
+		}
+
+		@Test
+		@DisplayName("rejects files that are not ephemeris files")
+		void rejectsForeignFiles() throws IOException {
+			Path path = Files.createTempFile("ephemeris", ".bin");
+			try {
+				Files.writeString(path, "this is not an ephemeris file");
+
+				assertThatThrownBy(() -> EphemerisFile.open(path))
+					.isInstanceOf(IOException.class)
+					.hasMessage("Not an ephemeris file");
+			} finally {
+				Files.delete(path);
+			}
+		}
+
+		@Test
+		@DisplayName("rejects directory entries that point outside the segment data")
+		void rejectsCorruptEntries() throws IOException {
+			int entry = EphemerisFileWriter.HEADER_SIZE;
+			int degree = entry + EphemerisFileWriter.NAME_LENGTH + 24;
+			int segments = entry + EphemerisFileWriter.NAME_LENGTH + 28;
+			int offset = entry + EphemerisFileWriter.NAME_LENGTH + 32;
+
+			assertCorrupt(offset, 8, -8L);
+			assertCorrupt(offset, 8, 0L);
+			assertCorrupt(offset, 8, Long.MAX_VALUE);
+			assertCorrupt(degree, 4, Integer.MAX_VALUE);
+			assertCorrupt(segments, 4, Integer.MAX_VALUE);
+		}
+
+		private void assertCorrupt(int position, int length, long value) throws IOException {
+			Path path = writeSunAndMoon();
+			try {
+				ByteBuffer patch = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(value);
+				try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+					channel.write(patch.flip().limit(length), position);
+				}
+
+				assertThatThrownBy(() -> EphemerisFile.open(path))
+					.isInstanceOf(IOException.class)
+					.hasMessage("Corrupt ephemeris file entry for SUN");
+			} finally {
+				Files.delete(path);
+			}
+		}
+
+		@Test
+		@DisplayName("rejects invalid body names")
+		void rejectsNames() {
+			EphemerisFileWriter writer = new EphemerisFileWriter(START, START.plusDays(1.0));
+
+			assertThatThrownBy(() -> writer.add("A_NAME_LONGER_THAN_16", sun::geocentricPosition, 1.0, 5))
+				.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+}
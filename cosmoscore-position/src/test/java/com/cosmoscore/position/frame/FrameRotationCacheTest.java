@@ -0,0 +1,110 @@
+package com.cosmoscore.position.frame;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.math.Matrix3D;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.math.Vector3DBuffer;
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("FrameRotationCache class")
+class FrameRotationCacheTest {
+
+	// A bucket boundary for whole-day buckets, which are counted from J2000 at noon
+	private static final JulianDate DATE = new JulianDate(2460311.0);
+
+	@Nested
+	@DisplayName("matrix lookup")
+	class MatrixLookup {
+		@Test
+		@DisplayName("shares one matrix within a bucket")
+		void sharesBucket() {
+			FrameRotationCache cache = new FrameRotationCache(1.0);
+
+			Matrix3D first = cache.matrix(DATE.plusDays(0.1));
+			Matrix3D second = cache.matrix(DATE.plusDays(0.9));
+
+			assertThat(second).isSameAs(first);
+			assertThat(cache.matrix(DATE.plusDays(1.1))).isNotEqualTo(first);
+		}
+
+		@Test
+		@DisplayName("stays within the documented bucket error")
+		void bucketError() {
+			FrameRotationCache cache = new FrameRotationCache(1.0);
+			Vector3D star = FrameRotationTest.unitVector(279.234735, 38.783689);
+
+			for (double hours = 0; hours < 48; hours += 1.5) {
+				JulianDate jd = DATE.plusDays(hours / 24.0);
+				Vector3D cached = cache.matrix(jd).multiply(star);
+				Vector3D exact = FrameRotation.icrsToTrueOfDate(jd).multiply(star);
+
+				double separation = Math.toDegrees(cached.subtract(exact).magnitude()) * 3600.0;
+				assertThat(separation).isLessThan(0.07);
+			}
+		}
+
+		@Test
+		@DisplayName("is exact at a bucket midpoint")
+		void exactAtMidpoint() {
+			FrameRotationCache cache = new FrameRotationCache(1.0 / 1440.0);
+			JulianDate midpoint = JulianDate.J2000.plusDays(9000.5 / 1440.0);
+
+			assertThat(cache.matrix(midpoint)).isEqualTo(FrameRotation.icrsToTrueOfDate(midpoint));
+		}
+
+		@Test
+		@DisplayName("rejects a bucket width that is not positive")
+		void rejectWidth() {
+			assertThatThrownBy(() -> new FrameRotationCache(0.0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Bucket width must be positive");
+		}
+	}
+
+	@Nested
+	@DisplayName("bulk rotation")
+	class BulkRotation {
+		@Test
+		@DisplayName("rotates arrays and buffers like the matrix")
+		void rotateBulk() {
+			FrameRotationCache cache = new FrameRotationCache(1.0 / 24.0);
+			Vector3D star = FrameRotationTest.unitVector(37.954561, 89.264109);
+			Vector3D expected = cache.matrix(DATE).multiply(star);
+			double[] x = {star.x()};
+			double[] y = {star.y()};
+			double[] z = {star.z()};
+			Vector3DBuffer buffer = Vector3DBuffer.of(List.of(star));
+
+			cache.toTrueOfDate(DATE, x, y, z, 0, 1);
+			cache.toTrueOfDate(DATE, buffer);
+
+			assertThat(x[0]).isEqualTo(expected.x(), withPrecision(1e-15));
+			assertThat(y[0]).isEqualTo(expected.y(), withPrecision(1e-15));
+			assertThat(z[0]).isEqualTo(expected.z(), withPrecision(1e-15));
+			assertThat(buffer.get(0)).isEqualTo(new Vector3D(x[0], y[0], z[0]));
+		}
+
+		@Test
+		@DisplayName("rotates back to the ICRS")
+		void roundTrip() {
+			FrameRotationCache cache = new FrameRotationCache(1.0);
+			Vector3D star = FrameRotationTest.unitVector(88.792939, 7.407064);
+			Vector3DBuffer buffer = Vector3DBuffer.of(List.of(star));
+
+			cache.toIcrs(DATE, cache.toTrueOfDate(DATE, buffer));
+
+			assertThat(buffer.x(0)).isEqualTo(star.x(), withPrecision(1e-14));
+			assertThat(buffer.y(0)).isEqualTo(star.y(), withPrecision(1e-14));
+			assertThat(buffer.z(0)).isEqualTo(star.z(), withPrecision(1e-14));
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.cosmoscore.position.frame;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.math.Matrix3D;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.Ecliptic;
+import com.cosmoscore.position.Nutation;
+
+@DisplayName("FrameRotation class")
+class FrameRotationTest {
+
+	@Nested
+	@DisplayName("precession")
+	class Precession {
+		@Test
+		@DisplayName("matches Meeus example 21.b")
+		void matchesMeeus() {
+			// θ Persei at J2000, already corrected for proper motion, precessed to 2028 November 13.19 TD
+			Vector3D position = FrameRotation.precession(new JulianDate(2462088.69))
+				.multiply(unitVector(41.054063, 49.227750));
+
+			assertThat(rightAscension(position)).isEqualTo(41.547214, withPrecision(1e-5));
+			assertThat(declination(position)).isEqualTo(49.348483, withPrecision(1e-5));
+		}
+
+		@Test
+		@DisplayName("is the identity at J2000")
+		void identityAtJ2000() {
+			Matrix3D precession = FrameRotation.precession(JulianDate.J2000);
+
+			assertThat(precession).isEqualTo(Matrix3D.identity());
+		}
+	}
+
+	@Nested
+	@DisplayName("nutation")
+	class NutationRotation {
+		// Meeus, Astronomical Algorithms, Example 22.a: 1987 April 10.0 TD
+		private static final JulianDate EXAMPLE = new JulianDate(2446895.5);
+
+		@Test
+		@DisplayName("uses the full series of Meeus example 22.a")
+		void matchesMeeus() {
+			double t = EXAMPLE.julianCenturies();
+			double[] nutation = new double[2];
+
+			Nutation.iau1980(t, nutation);
+
+			assertThat(nutation[0] * 3600.0).isEqualTo(-3.788, withPrecision(1e-3));
+			assertThat(nutation[1] * 3600.0).isEqualTo(9.443, withPrecision(1e-3));
+			assertThat(Ecliptic.meanObliquity(t)).isEqualTo(23.0 + 26.0 / 60.0 + 27.407 / 3600.0, withPrecision(1e-6));
+		}
+
+		@Test
+		@DisplayName("shifts the equinox by the nutation in right ascension")
+		void shiftsEquinox() {
+			double t = EXAMPLE.julianCenturies();
+			double[] nutation = new double[2];
+			Nutation.iau1980(t, nutation);
+			double trueObliquity = Math.toRadians(Ecliptic.meanObliquity(t) + nutation[1]);
+			double longitude = Math.toRadians(nutation[0]);
+			double expected = Math.toDegrees(Math.atan2(Math.cos(trueObliquity) * Math.sin(longitude), Math.cos(longitude)));
+
+			Vector3D equinox = FrameRotation.nutation(EXAMPLE).multiply(new Vector3D(1.0, 0.0, 0.0));
+
+			assertThat(rightAscension(equinox) - 360.0).isEqualTo(expected, withPrecision(1e-8));
+		}
+	}
+
+	@Nested
+	@DisplayName("full rotation")
+	class FullRotation {
+		@Test
+		@DisplayName("applies bias, precession and nutation in order")
+		void composition() {
+			JulianDate jd = new JulianDate(2460000.5);
+			Vector3D star = unitVector(101.287155, -16.716116);
+
+			Vector3D combined = FrameRotation.icrsToTrueOfDate(jd).multiply(star);
+			Vector3D stepwise = FrameRotation.nutation(jd).multiply(
+				FrameRotation.precession(jd).multiply(FrameRotation.frameBias().multiply(star)));
+
+			assertThat(combined.x()).isEqualTo(stepwise.x(), withPrecision(1e-15));
+			assertThat(combined.y()).isEqualTo(stepwise.y(), withPrecision(1e-15));
+			assertThat(combined.z()).isEqualTo(stepwise.z(), withPrecision(1e-15));
+		}
+
+		@Test
+		@DisplayName("frame bias places the ICRS origin 14.6 milliarcseconds east of the J2000 equinox")
+		void frameBias() {
+			Vector3D equinox = FrameRotation.frameBias().multiply(new Vector3D(1.0, 0.0, 0.0));
+
+			assertThat(rightAscension(equinox) * 3600.0).isEqualTo(0.0146, withPrecision(1e-6));
+		}
+	}
+
+	static Vector3D unitVector(double rightAscension, double declination) {
+		double ra = Math.toRadians(rightAscension);
+		double dec = Math.toRadians(declination);
+		return new Vector3D(Math.cos(dec) * Math.cos(ra), Math.cos(dec) * Math.sin(ra), Math.sin(dec));
+	}
+
+	static double rightAscension(Vector3D vector) {
+		double ra = Math.toDegrees(Math.atan2(vector.y(), vector.x()));
+		return ra < 0 ? ra + 360.0 : ra;
+	}
+
+	static double declination(Vector3D vector) {
+		return Math.toDegrees(Math.atan2(vector.z(), Math.hypot(vector.x(), vector.y())));
+	}
+}
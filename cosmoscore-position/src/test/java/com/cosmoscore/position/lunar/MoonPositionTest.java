@@ -0,0 +1,91 @@
+package com.cosmoscore.position.lunar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("MoonPosition class")
+class MoonPositionTest {
+
+	private final MoonPosition moon = new MoonPosition();
+
+	// Meeus, Astronomical Algorithms, Example 47.a: 1992 April 12.0 TD
+	private static final JulianDate EXAMPLE = new JulianDate(2448724.5);
+
+	@Nested
+	@DisplayName("apparent position")
+	class ApparentPosition {
+		@Test
+		@DisplayName("matches Meeus example 47.a")
+		void matchesMeeus() {
+			LunarPosition position = moon.calculate(EXAMPLE);
+
+			// The example uses the full nutation theory; the four-term nutation differs by under 0.5"
+			assertThat(position.equatorial().rightAscension()).isEqualTo(134.688470, withPrecision(2e-4));
+			assertThat(position.equatorial().declination()).isEqualTo(13.768368, withPrecision(2e-4));
+			assertThat(position.distance()).isEqualTo(368409.7, withPrecision(0.1));
+		}
+
+		@Test
+		@DisplayName("accepts a LocalDateTime")
+		void fromLocalDateTime() {
+			assertThat(moon.calculate(LocalDateTime.of(1992, 4, 12, 0, 0))).isEqualTo(moon.calculate(EXAMPLE));
+		}
+	}
+
+	@Nested
+	@DisplayName("series")
+	class Series {
+		@Test
+		@DisplayName("matches direct evaluation every minute across reseeds")
+		void matchesDirect() {
+			MoonSeries series = moon.series(EXAMPLE, 1.0 / 1440.0);
+			double[] result = new double[3];
+
+			for (int minute = 0; minute < 3 * 1440; minute++) {
+				JulianDate jd = series.current();
+				series.next(result);
+				if (minute % 61 == 0 || minute % 1440 == 1439) {
+					LunarPosition expected = moon.calculate(jd);
+					assertThat(result[0]).isEqualTo(expected.equatorial().rightAscension(), withPrecision(1e-7));
+					assertThat(result[1]).isEqualTo(expected.equatorial().declination(), withPrecision(1e-7));
+					assertThat(result[2]).isEqualTo(expected.distance(), withPrecision(1e-3));
+				}
+			}
+			assertThat(series.index()).isEqualTo(3 * 1440);
+		}
+
+		@Test
+		@DisplayName("fills arrays with the same values as next")
+		void fillsArrays() {
+			double[] ra = new double[50];
+			double[] dec = new double[50];
+			double[] distance = new double[50];
+			moon.series(EXAMPLE, 0.3).fill(ra, dec, distance, 0, 50);
+
+			MoonSeries series = moon.series(EXAMPLE, 0.3);
+			for (int i = 0; i < 50; i++) {
+				LunarPosition position = series.next();
+				assertThat(ra[i]).isEqualTo(position.equatorial().rightAscension());
+				assertThat(dec[i]).isEqualTo(position.equatorial().declination());
+				assertThat(distance[i]).isEqualTo(position.distance());
+			}
+		}
+
+		@Test
+		@DisplayName("rejects a non-positive step")
+		void rejectsStep() {
+			assertThatThrownBy(() -> moon.series(EXAMPLE, 0.0))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Time step must be positive");
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package com.cosmoscore.position.planetary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+import com.cosmoscore.position.solar.SunPosition;
+
+@DisplayName("PlanetaryEphemeris class")
+class PlanetaryEphemerisTest {
+
+	// Meeus, Astronomical Algorithms, Example 25.b: 1992 October 13.0 TD
+	private static final JulianDate EARTH_EXAMPLE = new JulianDate(2448908.5);
+
+	// Meeus, Astronomical Algorithms, Example 33.a: Venus on 1992 December 20.0 TD
+	private static final JulianDate VENUS_EXAMPLE = new JulianDate(2448976.5);
+
+	private static double longitude(Vector3D position) {
+		double longitude = Math.toDegrees(Math.atan2(position.y(), position.x()));
+		return longitude < 0 ? longitude + 360.0 : longitude;
+	}
+
+	private static double latitude(Vector3D position) {
+		return Math.toDegrees(Math.asin(position.z() / position.magnitude()));
+	}
+
+	@Nested
+	@DisplayName("VSOP87 series")
+	class Series {
+		@Test
+		@DisplayName("places the Earth as in Meeus example 25.b")
+		void earthMatchesMeeus() {
+			PlanetaryEphemeris ephemeris = new PlanetaryEphemeris(0.0);
+			Vector3D earth = ephemeris.heliocentric(Planet.EARTH, EARTH_EXAMPLE);
+
+			assertThat(ephemeris.hasSeries(Planet.EARTH)).isTrue();
+			assertThat(longitude(earth)).isEqualTo(19.907372, withPrecision(1e-6));
+			assertThat(latitude(earth)).isEqualTo(-0.000179, withPrecision(1e-6));
+			assertThat(earth.magnitude()).isEqualTo(0.99760775, withPrecision(1e-8));
+		}
+
+		@Test
+		@DisplayName("drops more terms for a coarser accuracy while staying within it")
+		void truncatesToAccuracy() {
+			Vsop87Series full = Vsop87Series.load(Planet.EARTH);
+			Vsop87Series arcsecond = full.truncate(Math.toRadians(1.0 / 3600.0));
+			Vsop87Series arcminute = full.truncate(Math.toRadians(1.0 / 60.0));
+
+			assertThat(arcsecond.termCount()).isLessThan(full.termCount());
+			assertThat(arcminute.termCount()).isLessThan(arcsecond.termCount());
+
+			double[] exact = new double[3];
+			double[] coarse = new double[3];
+			for (double t = -1.0; t <= 1.0; t += 0.0137) {
+				full.evaluate(t, exact);
+				arcminute.evaluate(t, coarse);
+				double difference = Math.abs(exact[0] - coarse[0]);
+				assertThat(Math.toDegrees(Math.min(difference, 2.0 * Math.PI - difference))).isLessThan(1.0 / 60.0);
+				assertThat(Math.toDegrees(Math.abs(exact[1] - coarse[1]))).isLessThan(1.0 / 60.0);
+				assertThat(Math.abs(exact[2] - coarse[2])).isLessThan(Math.toRadians(1.0 / 60.0));
+			}
+		}
+
+		@Test
+		@DisplayName("places the Sun where the solar theory does")
+		void agreesWithSolarTheory() {
+			PlanetaryEphemeris ephemeris = new PlanetaryEphemeris(1.0);
+			SunPosition sun = new SunPosition();
+
+			for (int day = 0; day < 365; day += 7) {
+				JulianDate jd = EARTH_EXAMPLE.plusDays(day);
+				double sunLongitude = longitude(ephemeris.heliocentric(Planet.EARTH, jd)) + 180.0;
+				double difference = Math.abs(sunLongitude % 360.0 - sun.apparentLongitude(jd));
+				// The solar theory's apparent longitude includes about 20" of aberration and nutation
+				assertThat(Math.min(difference, 360.0 - difference)).isLessThan(0.015);
+			}
+		}
+
+		@Test
+		@DisplayName("rejects malformed series text")
+		void rejectsMalformed() {
+			assertThatThrownBy(() -> Vsop87Series.read(new ByteArrayInputStream("X 0 1 2 3".getBytes())))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Malformed VSOP87 term at line 1");
+		}
+	}
+
+	@Nested
+	@DisplayName("geocentric positions")
+	class Geocentric {
+		@Test
+		@DisplayName("places Venus near Meeus example 33.a")
+		void venusMatchesMeeus() {
+			PlanetaryEphemeris ephemeris = new PlanetaryEphemeris(PlanetaryEphemeris.MEAN_ELEMENT_ACCURACY);
+			EquatorialCoordinate venus = ephemeris.equatorial(Planet.VENUS, VENUS_EXAMPLE);
+
+			// 21h04m41.454s, -18°53'16.84"; Venus is evaluated from mean elements here
+			EquatorialCoordinate expected = new EquatorialCoordinate(316.172725, -18.888011);
+			assertThat(ephemeris.hasSeries(Planet.VENUS)).isFalse();
+			assertThat(venus.angularSeparation(expected)).isLessThan(1.0 / 60.0);
+		}
+
+		@Test
+		@DisplayName("returns a mean equatorial vector toward the planet")
+		void equatorialVector() {
+			PlanetaryEphemeris ephemeris = new PlanetaryEphemeris(PlanetaryEphemeris.MEAN_ELEMENT_ACCURACY);
+			Vector3D jupiter = ephemeris.geocentric(Planet.JUPITER, VENUS_EXAMPLE);
+			EquatorialCoordinate apparent = ephemeris.equatorial(Planet.JUPITER, VENUS_EXAMPLE);
+
+			assertThat(jupiter.magnitude()).isBetween(3.9, 6.5);
+			EquatorialCoordinate direction = new EquatorialCoordinate(longitude(jupiter), latitude(jupiter));
+			// Differs from the apparent place only by nutation
+			assertThat(direction.angularSeparation(apparent)).isLessThan(0.01);
+		}
+
+		@Test
+		@DisplayName("places every planet with the default accuracy")
+		void defaultAccuracy() {
+			PlanetaryEphemeris ephemeris = new PlanetaryEphemeris();
+			Vector3D earth = ephemeris.heliocentric(Planet.EARTH, VENUS_EXAMPLE);
+			Vector3D exact = new PlanetaryEphemeris(0.0).heliocentric(Planet.EARTH, VENUS_EXAMPLE);
+			Vector3D mars = ephemeris.geocentric(Planet.MARS, VENUS_EXAMPLE);
+			Vector3D jupiter = ephemeris.geocentric(Planet.JUPITER, VENUS_EXAMPLE);
+
+			assertThat(ephemeris.hasSeries(Planet.MARS)).isFalse();
+			assertThat(ephemeris.hasSeries(Planet.JUPITER)).isFalse();
+			assertThat(Math.abs(longitude(earth) - longitude(exact)))
+				.isLessThan(PlanetaryEphemeris.DEFAULT_ACCURACY / 3600.0);
+			// Mars was three weeks from opposition, Jupiter near quadrature
+			assertThat(mars.magnitude()).isBetween(0.5, 0.8);
+			assertThat(jupiter.magnitude()).isBetween(4.9, 6.0);
+			assertThat(ephemeris.equatorial(Planet.MARS, VENUS_EXAMPLE).declination()).isBetween(20.0, 30.0);
+			assertThat(ephemeris.equatorial(Planet.JUPITER, VENUS_EXAMPLE).declination()).isBetween(-10.0, 5.0);
+		}
+
+		@Test
+		@DisplayName("refuses mean elements under a tighter accuracy")
+		void tighterThanMeanElements() {
+			PlanetaryEphemeris ephemeris = new PlanetaryEphemeris(1.0);
+
+			assertThat(ephemeris.hasSeries(Planet.EARTH)).isTrue();
+			assertThatThrownBy(() -> ephemeris.equatorial(Planet.VENUS, VENUS_EXAMPLE))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("No VSOP87 series is bundled for VENUS, and its mean elements are only good to 600.0 arcseconds");
+		}
+
+		@Test
+		@DisplayName("refuses mean elements outside their fitted interval")
+		void outsideFittedInterval() {
+			PlanetaryEphemeris ephemeris = new PlanetaryEphemeris(PlanetaryEphemeris.MEAN_ELEMENT_ACCURACY);
+
+			assertThatThrownBy(() -> ephemeris.equatorial(Planet.MARS, new JulianDate(2488070.5)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Mean elements are only fitted between 1800 and 2050");
+		}
+
+		@Test
+		@DisplayName("rejects the Earth")
+		void rejectsEarth() {
+			assertThatThrownBy(() -> new PlanetaryEphemeris().equatorial(Planet.EARTH, VENUS_EXAMPLE))
+				.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+}
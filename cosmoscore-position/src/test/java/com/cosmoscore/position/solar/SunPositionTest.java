@@ -0,0 +1,72 @@
+package com.cosmoscore.position.solar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withPrecision;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.cosmoscore.common.coordinate.EquatorialCoordinate;
+import com.cosmoscore.common.math.Vector3D;
+import com.cosmoscore.common.time.JulianDate;
+
+@DisplayName("SunPosition class")
+class SunPositionTest {
+
+	private final SunPosition sun = new SunPosition();
+
+	// Meeus, Astronomical Algorithms, Example 25.a: 1992 October 13.0 TD
+	private static final JulianDate EXAMPLE = new JulianDate(2448908.5);
+
+	@Nested
+	@DisplayName("apparent position")
+	class ApparentPosition {
+		@Test
+		@DisplayName("matches Meeus example 25.a")
+		void matchesMeeus() {
+			EquatorialCoordinate position = sun.calculate(EXAMPLE);
+
+			assertThat(position.rightAscension()).isEqualTo(198.38083, withPrecision(1e-4));
+			assertThat(position.declination()).isEqualTo(-7.78507, withPrecision(1e-4));
+			assertThat(sun.apparentLongitude(EXAMPLE)).isEqualTo(199.90895, withPrecision(1e-4));
+			assertThat(sun.distance(EXAMPLE)).isEqualTo(0.99766, withPrecision(1e-5));
+		}
+
+		@Test
+		@DisplayName("accepts a LocalDateTime")
+		void fromLocalDateTime() {
+			EquatorialCoordinate position = sun.calculate(LocalDateTime.of(1992, 10, 13, 0, 0));
+
+			assertThat(position).isEqualTo(sun.calculate(EXAMPLE));
+		}
+
+		@Test
+		@DisplayName("lies near the vernal equinox in late March")
+		void equinox() {
+			EquatorialCoordinate position = sun.calculate(LocalDateTime.of(2024, 3, 20, 3, 6));
+
+			assertThat(position.declination()).isEqualTo(0.0, withPrecision(0.01));
+		}
+	}
+
+	@Nested
+	@DisplayName("geocentric vector")
+	class GeocentricVector {
+		@Test
+		@DisplayName("points at the apparent position at the solar distance")
+		void consistentWithPosition() {
+			Vector3D vector = sun.geocentricPosition(EXAMPLE);
+			EquatorialCoordinate position = sun.calculate(EXAMPLE);
+
+			double rightAscension = Math.toDegrees(Math.atan2(vector.y(), vector.x())) + 360.0;
+			double declination = Math.toDegrees(Math.asin(vector.z() / vector.magnitude()));
+
+			assertThat(vector.magnitude()).isEqualTo(sun.distance(EXAMPLE), withPrecision(1e-12));
+			assertThat(rightAscension).isEqualTo(position.rightAscension(), withPrecision(1e-9));
+			assertThat(declination).isEqualTo(position.declination(), withPrecision(1e-9));
+		}
+	}
+}